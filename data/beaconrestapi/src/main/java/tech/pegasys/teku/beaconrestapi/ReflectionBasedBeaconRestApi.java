@@ -55,6 +55,7 @@ import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon.GetEth1VotingSumma
 import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon.GetProposersData;
 import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon.GetProtoArray;
 import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon.GetStateByBlockRoot;
+import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon.GetStateMemoryFootprint;
 import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.node.GetPeersScore;
 import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.validatorInclusion.GetGlobalValidatorInclusion;
 import tech.pegasys.teku.beaconrestapi.handlers.tekuv1.validatorInclusion.GetValidatorInclusion;
@@ -184,7 +185,7 @@ public class ReflectionBasedBeaconRestApi implements BeaconRestApi {
     addExceptionHandlers();
     addStandardApiHandlers(
         dataProvider, spec, eventChannels, asyncRunner, timeProvider, configuration);
-    addTekuSpecificHandlers(dataProvider, eth1DataProvider, spec);
+    addTekuSpecificHandlers(dataProvider, eth1DataProvider, asyncRunner, spec);
     migratedOpenApi = openApiDocBuilder.build();
   }
 
@@ -385,7 +386,10 @@ public class ReflectionBasedBeaconRestApi implements BeaconRestApi {
   }
 
   private void addTekuSpecificHandlers(
-      final DataProvider provider, final Eth1DataProvider eth1DataProvider, final Spec spec) {
+      final DataProvider provider,
+      final Eth1DataProvider eth1DataProvider,
+      final AsyncRunner asyncRunner,
+      final Spec spec) {
     addMigratedEndpoint(new PutLogLevel());
     addMigratedEndpoint(new GetStateByBlockRoot(provider, spec));
     addMigratedEndpoint(new Liveness(provider));
@@ -393,6 +397,7 @@ public class ReflectionBasedBeaconRestApi implements BeaconRestApi {
     addMigratedEndpoint(new GetAllBlocksAtSlot(provider, schemaCache));
     addMigratedEndpoint(new GetPeersScore(provider));
     addMigratedEndpoint(new GetProtoArray(provider));
+    addMigratedEndpoint(new GetStateMemoryFootprint(provider, asyncRunner));
     addMigratedEndpoint(new GetProposersData(provider));
     addMigratedEndpoint(new GetDeposits(eth1DataProvider));
     addMigratedEndpoint(new GetEth1Data(provider, eth1DataProvider));
@@ -0,0 +1,147 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon;
+
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_OK;
+import static tech.pegasys.teku.infrastructure.http.RestApiConstants.CACHE_NONE;
+import static tech.pegasys.teku.infrastructure.http.RestApiConstants.RES_INTERNAL_ERROR;
+import static tech.pegasys.teku.infrastructure.http.RestApiConstants.RES_OK;
+import static tech.pegasys.teku.infrastructure.http.RestApiConstants.RES_SERVICE_UNAVAILABLE;
+import static tech.pegasys.teku.infrastructure.http.RestApiConstants.SERVICE_UNAVAILABLE;
+import static tech.pegasys.teku.infrastructure.http.RestApiConstants.TAG_TEKU;
+import static tech.pegasys.teku.infrastructure.json.types.CoreTypes.BOOLEAN_TYPE;
+import static tech.pegasys.teku.infrastructure.json.types.CoreTypes.STRING_TYPE;
+import static tech.pegasys.teku.infrastructure.json.types.CoreTypes.UINT64_TYPE;
+import static tech.pegasys.teku.infrastructure.json.types.SerializableTypeDefinition.listOf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.javalin.core.util.Header;
+import io.javalin.http.Context;
+import io.javalin.plugin.openapi.annotations.HttpMethod;
+import io.javalin.plugin.openapi.annotations.OpenApi;
+import io.javalin.plugin.openapi.annotations.OpenApiContent;
+import io.javalin.plugin.openapi.annotations.OpenApiResponse;
+import tech.pegasys.teku.api.ChainDataProvider;
+import tech.pegasys.teku.api.DataProvider;
+import tech.pegasys.teku.api.response.v1.teku.GetStateMemoryFootprintResponse;
+import tech.pegasys.teku.beaconrestapi.MigratingEndpointAdapter;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.json.types.SerializableTypeDefinition;
+import tech.pegasys.teku.infrastructure.restapi.endpoints.AsyncApiResponse;
+import tech.pegasys.teku.infrastructure.restapi.endpoints.EndpointMetadata;
+import tech.pegasys.teku.infrastructure.restapi.endpoints.RestApiRequest;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.FieldFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.OwnerFootprint;
+
+public class GetStateMemoryFootprint extends MigratingEndpointAdapter {
+  public static final String ROUTE = "/teku/v1/debug/beacon/state_memory";
+
+  private static final SerializableTypeDefinition<OwnerFootprint> OWNER_FOOTPRINT_TYPE =
+      SerializableTypeDefinition.<OwnerFootprint>object()
+          .name("StateOwnerFootprint")
+          .withField("owner", STRING_TYPE, OwnerFootprint::getName)
+          .withField("state_count", UINT64_TYPE, owner -> UInt64.valueOf(owner.getStateCount()))
+          .withField("unique_bytes", UINT64_TYPE, owner -> UInt64.valueOf(owner.getUniqueBytes()))
+          .withField("shared_bytes", UINT64_TYPE, owner -> UInt64.valueOf(owner.getSharedBytes()))
+          .build();
+
+  private static final SerializableTypeDefinition<FieldFootprint> FIELD_FOOTPRINT_TYPE =
+      SerializableTypeDefinition.<FieldFootprint>object()
+          .name("StateFieldFootprint")
+          .withField("field", STRING_TYPE, FieldFootprint::getName)
+          .withField("unique_bytes", UINT64_TYPE, field -> UInt64.valueOf(field.getUniqueBytes()))
+          .withField("shared_bytes", UINT64_TYPE, field -> UInt64.valueOf(field.getSharedBytes()))
+          .build();
+
+  private static final SerializableTypeDefinition<StateMemoryFootprint> RESPONSE_TYPE =
+      SerializableTypeDefinition.<StateMemoryFootprint>object()
+          .name("StateMemoryFootprint")
+          .withField(
+              "state_count", UINT64_TYPE, footprint -> UInt64.valueOf(footprint.getStateCount()))
+          .withField(
+              "skipped_state_count",
+              UINT64_TYPE,
+              footprint -> UInt64.valueOf(footprint.getSkippedStateCount()))
+          .withField("truncated", BOOLEAN_TYPE, StateMemoryFootprint::isTruncated)
+          .withField(
+              "total_bytes", UINT64_TYPE, footprint -> UInt64.valueOf(footprint.getTotalBytes()))
+          .withField(
+              "unique_bytes", UINT64_TYPE, footprint -> UInt64.valueOf(footprint.getUniqueBytes()))
+          .withField(
+              "shared_bytes", UINT64_TYPE, footprint -> UInt64.valueOf(footprint.getSharedBytes()))
+          .withField("owners", listOf(OWNER_FOOTPRINT_TYPE), StateMemoryFootprint::getOwners)
+          .withField("fields", listOf(FIELD_FOOTPRINT_TYPE), StateMemoryFootprint::getFields)
+          .build();
+
+  private final ChainDataProvider chainDataProvider;
+  private final AsyncRunner asyncRunner;
+
+  public GetStateMemoryFootprint(final DataProvider dataProvider, final AsyncRunner asyncRunner) {
+    this(dataProvider.getChainDataProvider(), asyncRunner);
+  }
+
+  public GetStateMemoryFootprint(
+      final ChainDataProvider chainDataProvider, final AsyncRunner asyncRunner) {
+    super(
+        EndpointMetadata.get(ROUTE)
+            .operationId("getStateMemoryFootprint")
+            .summary("Get memory used by cached states")
+            .description(
+                "Get an estimate of the heap used by the states held in memory, split into bytes "
+                    + "unique to a single state and bytes shared between states. The number of "
+                    + "tree nodes visited is limited and the result is marked as truncated if the "
+                    + "limit is reached. "
+                    + "This API is considered unstable and the returned data format may change in the future.")
+            .tags(TAG_TEKU)
+            .response(SC_OK, "Request successful", RESPONSE_TYPE)
+            .withServiceUnavailableResponse()
+            .build());
+    this.chainDataProvider = chainDataProvider;
+    this.asyncRunner = asyncRunner;
+  }
+
+  @OpenApi(
+      path = ROUTE,
+      method = HttpMethod.GET,
+      summary = "Get memory used by cached states",
+      tags = {TAG_TEKU},
+      description =
+          "Get an estimate of the heap used by the states held in memory, split into bytes "
+              + "unique to a single state and bytes shared between states. The number of "
+              + "tree nodes visited is limited and the result is marked as truncated if the "
+              + "limit is reached. "
+              + "This API is considered unstable and the returned data format may change in the future.",
+      responses = {
+        @OpenApiResponse(
+            status = RES_OK,
+            content = @OpenApiContent(from = GetStateMemoryFootprintResponse.class)),
+        @OpenApiResponse(status = RES_INTERNAL_ERROR),
+        @OpenApiResponse(status = RES_SERVICE_UNAVAILABLE, description = SERVICE_UNAVAILABLE)
+      })
+  @Override
+  public void handle(final Context ctx) throws Exception {
+    adapt(ctx);
+  }
+
+  @Override
+  public void handleRequest(RestApiRequest request) throws JsonProcessingException {
+    request.header(Header.CACHE_CONTROL, CACHE_NONE);
+    // Walking the cached states is slow so keep it off the request handling thread
+    request.respondAsync(
+        asyncRunner.runAsync(
+            () -> AsyncApiResponse.respondOk(chainDataProvider.getStateMemoryFootprint())));
+  }
+}
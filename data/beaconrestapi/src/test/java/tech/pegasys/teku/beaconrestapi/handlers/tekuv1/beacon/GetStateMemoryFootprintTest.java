@@ -0,0 +1,89 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SyncAsyncRunner.SYNC_RUNNER;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_BAD_REQUEST;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_INTERNAL_SERVER_ERROR;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_OK;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_SERVICE_UNAVAILABLE;
+import static tech.pegasys.teku.infrastructure.restapi.MetadataTestUtil.getResponseStringFromMetadata;
+import static tech.pegasys.teku.infrastructure.restapi.MetadataTestUtil.verifyMetadataErrorResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.beaconrestapi.AbstractMigratedBeaconHandlerTest;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.FieldFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.OwnerFootprint;
+
+public class GetStateMemoryFootprintTest extends AbstractMigratedBeaconHandlerTest {
+  private final StateMemoryFootprint footprint =
+      new StateMemoryFootprint(
+          2,
+          1,
+          true,
+          100,
+          50,
+          List.of(new OwnerFootprint("block_states", 2, 100, 50)),
+          List.of(
+              new FieldFootprint("validators", 60, 50), new FieldFootprint("balances", 40, 0)));
+
+  @BeforeEach
+  void setup() {
+    setHandler(new GetStateMemoryFootprint(chainDataProvider, SYNC_RUNNER));
+  }
+
+  @Test
+  public void shouldReturnStateMemoryFootprint() throws JsonProcessingException {
+    when(chainDataProvider.getStateMemoryFootprint()).thenReturn(footprint);
+
+    handler.handleRequest(request);
+
+    assertThat(request.getResponseCode()).isEqualTo(SC_OK);
+    assertThat(request.getResponseBody()).isEqualTo(footprint);
+  }
+
+  @Test
+  void metadata_shouldHandle400() throws JsonProcessingException {
+    verifyMetadataErrorResponse(handler, SC_BAD_REQUEST);
+  }
+
+  @Test
+  void metadata_shouldHandle500() throws JsonProcessingException {
+    verifyMetadataErrorResponse(handler, SC_INTERNAL_SERVER_ERROR);
+  }
+
+  @Test
+  void metadata_shouldHandle503() throws JsonProcessingException {
+    verifyMetadataErrorResponse(handler, SC_SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  void metadata_shouldHandle200() throws IOException {
+    final String data = getResponseStringFromMetadata(handler, SC_OK, footprint);
+    final String expected =
+        Resources.toString(
+            Resources.getResource(GetStateMemoryFootprint.class, "getStateMemoryFootprint.json"),
+            UTF_8);
+    assertThat(data).isEqualTo(expected);
+  }
+}
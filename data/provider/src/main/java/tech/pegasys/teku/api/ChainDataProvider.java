@@ -66,6 +66,8 @@ import tech.pegasys.teku.spec.datastructures.metadata.StateAndMetaData;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.state.CommitteeAssignment;
 import tech.pegasys.teku.spec.datastructures.state.SyncCommittee;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprintAnalyzer;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
 import tech.pegasys.teku.storage.client.ChainDataUnavailableException;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
@@ -73,6 +75,8 @@ import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class ChainDataProvider {
   private static final Logger LOG = LogManager.getLogger();
+  // Keeps the analysis to roughly 100MB of temporary heap and a few seconds of CPU
+  private static final int MAX_STATE_MEMORY_FOOTPRINT_NODES = 2_000_000;
   private final BlockSelectorFactory defaultBlockSelectorFactory;
   private final StateSelectorFactory defaultStateSelectorFactory;
   private final Spec spec;
@@ -207,6 +211,23 @@ public class ChainDataProvider {
         .orElse(emptyList());
   }
 
+  public StateMemoryFootprint getStateMemoryFootprint() {
+    if (!isStoreAvailable()) {
+      throw new ChainDataUnavailableException();
+    }
+    final StateMemoryFootprintAnalyzer analyzer =
+        new StateMemoryFootprintAnalyzer(MAX_STATE_MEMORY_FOOTPRINT_NODES);
+    recentChainData
+        .getStore()
+        .getCachedBlockStates()
+        .forEach(state -> analyzer.addState("block_states", state));
+    recentChainData
+        .getStore()
+        .getCachedCheckpointStates()
+        .forEach(state -> analyzer.addState("checkpoint_states", state));
+    return analyzer.analyze();
+  }
+
   private Optional<Integer> validatorParameterToIndex(
       final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState state,
       final String validatorParameter) {
@@ -46,7 +46,6 @@ import tech.pegasys.teku.spec.executionlayer.ExecutionLayerChannel;
 import tech.pegasys.teku.spec.logic.common.block.AbstractBlockProcessor;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.EpochProcessor;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.results.BlockImportResult;
@@ -182,12 +181,12 @@ public class EpochTransitionBenchmark {
   @Benchmark
   public void applyDeltas(Blackhole bh) {
     final SszMutableUInt64List balances = preEpochTransitionMutableState.getBalances();
-    int validatorsSize = preEpochTransitionMutableState.getValidators().size();
-    for (int i = 0; i < validatorsSize; i++) {
-      final RewardAndPenalty delta = attestationDeltas.getDelta(i);
-      balances.setElement(
-          i, balances.getElement(i).plus(delta.getReward()).minusMinZero(delta.getPenalty()));
+    final long[] currentBalances = balances.toLongArray();
+    final long[] newBalances = new long[currentBalances.length];
+    for (int i = 0; i < newBalances.length; i++) {
+      newBalances[i] = attestationDeltas.applyToBalance(i, currentBalances[i]);
     }
+    balances.setAllElements(currentBalances, newBalances);
   }
 
   public static void main(String[] args) throws Exception {
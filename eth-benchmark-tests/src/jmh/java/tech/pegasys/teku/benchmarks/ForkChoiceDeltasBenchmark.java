@@ -0,0 +1,114 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.BlockCheckpoints;
+import tech.pegasys.teku.spec.datastructures.forkchoice.StubVoteUpdater;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.storage.protoarray.ForkChoiceStrategy;
+import tech.pegasys.teku.storage.protoarray.ProtoArray;
+import tech.pegasys.teku.storage.protoarray.ProtoArrayTestUtil;
+
+/**
+ * Measures applying pending votes to fork choice, which is dominated by computing the weight deltas
+ * of every validator. Balances alternate between runs so that every vote contributes to the deltas.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class ForkChoiceDeltasBenchmark {
+
+  private static final int BLOCK_COUNT = 64;
+
+  @Param({"100000", "500000"})
+  int validatorsCount;
+
+  private final Spec spec = TestSpecFactory.createMainnetAltair();
+  private final StubVoteUpdater voteUpdater = new StubVoteUpdater();
+  private final List<List<UInt64>> balances = new ArrayList<>();
+  private Checkpoint checkpoint;
+  private ForkChoiceStrategy forkChoiceStrategy;
+  private int run;
+
+  @Setup(Level.Trial)
+  public void init() {
+    checkpoint = new Checkpoint(UInt64.ZERO, ProtoArrayTestUtil.getHash(0));
+    final ProtoArray protoArray =
+        ProtoArray.builder()
+            .justifiedCheckpoint(checkpoint)
+            .finalizedCheckpoint(checkpoint)
+            .build();
+    final BlockCheckpoints blockCheckpoints =
+        new BlockCheckpoints(checkpoint, checkpoint, checkpoint, checkpoint);
+    for (int i = 0; i < BLOCK_COUNT; i++) {
+      protoArray.onBlock(
+          UInt64.valueOf(i),
+          ProtoArrayTestUtil.getHash(i),
+          i == 0 ? Bytes32.ZERO : ProtoArrayTestUtil.getHash(i - 1),
+          Bytes32.ZERO,
+          blockCheckpoints,
+          Bytes32.ZERO,
+          false);
+    }
+    forkChoiceStrategy = ForkChoiceStrategy.initialize(spec, protoArray);
+
+    final List<UInt64> balances1 = new ArrayList<>(validatorsCount);
+    final List<UInt64> balances2 = new ArrayList<>(validatorsCount);
+    for (int i = 0; i < validatorsCount; i++) {
+      final Bytes32 root = ProtoArrayTestUtil.getHash(i % BLOCK_COUNT);
+      voteUpdater.putVote(UInt64.valueOf(i), new VoteTracker(root, root, UInt64.ZERO));
+      balances1.add(UInt64.valueOf(32_000_000_000L));
+      balances2.add(UInt64.valueOf(31_000_000_000L));
+    }
+    balances.add(balances1);
+    balances.add(balances2);
+  }
+
+  @Benchmark
+  public void applyPendingVotes(Blackhole bh) {
+    bh.consume(
+        forkChoiceStrategy.applyPendingVotes(
+            voteUpdater,
+            Optional.empty(),
+            checkpoint,
+            checkpoint,
+            balances.get(run++ % 2),
+            UInt64.ZERO));
+  }
+}
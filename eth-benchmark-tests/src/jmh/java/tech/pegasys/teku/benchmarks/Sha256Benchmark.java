@@ -24,12 +24,19 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
 
 @State(Scope.Thread)
 public class Sha256Benchmark {
 
+  private static final int PAIR_COUNT = 1024;
+  private static final Sha256PairHasher JCA_PAIR_HASHER = Sha256PairHasher.jca();
+  private static final Sha256PairHasher PURE_JAVA_PAIR_HASHER = Sha256PairHasher.pureJava();
+
   private MutableBytes data = Bytes.wrap(new byte[33]).mutableCopy();
   private byte[] dataArray = new byte[33];
+  private byte[] pairs = new byte[PAIR_COUNT * Sha256PairHasher.PAIR_SIZE];
+  private byte[] pairHashes = new byte[PAIR_COUNT * Sha256PairHasher.HASH_SIZE];
   private int cnt = 0;
 
   @Benchmark
@@ -51,4 +58,22 @@ public class Sha256Benchmark {
     byte[] hash = Hash.sha256(dataArray).toArrayUnsafe();
     bh.consume(hash);
   }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256of1024PairsJca(Blackhole bh) {
+    pairs[cnt++ % pairs.length]++;
+    JCA_PAIR_HASHER.hashPairs(pairs, PAIR_COUNT, pairHashes);
+    bh.consume(pairHashes);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256of1024PairsPureJava(Blackhole bh) {
+    pairs[cnt++ % pairs.length]++;
+    PURE_JAVA_PAIR_HASHER.hashPairs(pairs, PAIR_COUNT, pairHashes);
+    bh.consume(pairHashes);
+  }
 }
@@ -80,6 +80,12 @@ public abstract class SszAbstractContainerBenchmark<TView extends SszData> {
     bh.consume(container.sszSerialize());
   }
 
+  @Benchmark
+  public void benchCreateAndHashTreeRoot(Blackhole bh) {
+    TView container = createContainer();
+    bh.consume(container.hashTreeRoot());
+  }
+
   @Benchmark
   public void benchDeserialize(Blackhole bh) {
     bh.consume(getContainerType().sszDeserialize(aContainerSsz));
@@ -103,6 +109,7 @@ public abstract class SszAbstractContainerBenchmark<TView extends SszData> {
     benches.put("benchIterate", this::benchIterate);
     benches.put("benchCreateAndIterate", this::benchCreateAndIterate);
     benches.put("benchSerialize", this::benchSerialize);
+    benches.put("benchCreateAndHashTreeRoot", this::benchCreateAndHashTreeRoot);
     benches.put("benchDeserialize", this::benchDeserialize);
     benches.put("benchDeserializeAndIterate", this::benchDeserializeAndIterate);
 
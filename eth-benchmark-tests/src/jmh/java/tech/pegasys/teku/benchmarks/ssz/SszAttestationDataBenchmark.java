@@ -0,0 +1,43 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.ssz;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+
+public class SszAttestationDataBenchmark extends SszAbstractContainerBenchmark<AttestationData> {
+
+  private static final Bytes32 ROOT = Bytes32.random();
+  private static final Checkpoint SOURCE = new Checkpoint(UInt64.valueOf(0x1122), ROOT);
+  private static final Checkpoint TARGET = new Checkpoint(UInt64.valueOf(0x1123), ROOT);
+
+  @Override
+  protected AttestationData createContainer() {
+    return new AttestationData(UInt64.valueOf(0x112233), UInt64.valueOf(7), ROOT, SOURCE, TARGET);
+  }
+
+  @Override
+  protected SszSchema<AttestationData> getContainerType() {
+    return AttestationData.SSZ_SCHEMA;
+  }
+
+  @Override
+  protected void iterateData(AttestationData ad, Blackhole bh) {
+    SszBenchUtil.iterateData(ad, bh);
+  }
+}
@@ -29,8 +29,10 @@ import tech.pegasys.teku.spec.datastructures.operations.IndexedAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.spec.datastructures.operations.VoluntaryExit;
+import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncCommitteeContribution;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 
 public class SszBenchUtil {
   private static final Spec SPEC = TestSpecFactory.createDefault();
@@ -128,4 +130,23 @@ public class SszBenchUtil {
     bh.consume(cp.getEpoch());
     bh.consume(cp.getRoot());
   }
+
+  public static void iterateData(Validator v, Blackhole bh) {
+    bh.consume(v.getPubkeyBytes());
+    bh.consume(v.getWithdrawalCredentials());
+    bh.consume(v.getEffectiveBalance());
+    bh.consume(v.isSlashed());
+    bh.consume(v.getActivationEligibilityEpoch());
+    bh.consume(v.getActivationEpoch());
+    bh.consume(v.getExitEpoch());
+    bh.consume(v.getWithdrawableEpoch());
+  }
+
+  public static void iterateData(SyncCommitteeContribution c, Blackhole bh) {
+    bh.consume(c.getSlot());
+    bh.consume(c.getBeaconBlockRoot());
+    bh.consume(c.getSubcommitteeIndex());
+    bh.consume(c.getAggregationBits());
+    bh.consume(c.getSignature());
+  }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.ssz;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszBitvector;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncCommitteeContribution;
+import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncCommitteeContributionSchema;
+import tech.pegasys.teku.spec.schemas.SchemaDefinitionsAltair;
+
+public class SszSyncCommitteeContributionBenchmark
+    extends SszAbstractContainerBenchmark<SyncCommitteeContribution> {
+
+  private static final SyncCommitteeContributionSchema SCHEMA =
+      SchemaDefinitionsAltair.required(
+              TestSpecFactory.createMainnetAltair().getGenesisSchemaDefinitions())
+          .getSyncCommitteeContributionSchema();
+  private static final Bytes32 ROOT = Bytes32.random();
+  private static final SszBitvector AGGREGATION_BITS =
+      SCHEMA.getAggregationBitsSchema().ofBits(0, 3, 7, 100);
+  private static final BLSSignature SIGNATURE = BLSSignature.empty();
+
+  @Override
+  protected SyncCommitteeContribution createContainer() {
+    return SCHEMA.create(
+        UInt64.valueOf(0x112233), ROOT, UInt64.valueOf(3), AGGREGATION_BITS, SIGNATURE);
+  }
+
+  @Override
+  protected SszSchema<SyncCommitteeContribution> getContainerType() {
+    return SCHEMA;
+  }
+
+  @Override
+  protected void iterateData(SyncCommitteeContribution contribution, Blackhole bh) {
+    SszBenchUtil.iterateData(contribution, bh);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.ssz;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+
+public class SszValidatorBenchmark extends SszAbstractContainerBenchmark<Validator> {
+
+  private static final Bytes48 PUBKEY = Bytes48.random();
+  private static final Bytes32 WITHDRAWAL_CREDENTIALS = Bytes32.random();
+
+  @Override
+  protected Validator createContainer() {
+    return new Validator(
+        PUBKEY,
+        WITHDRAWAL_CREDENTIALS,
+        UInt64.valueOf(32_000_000_000L),
+        false,
+        UInt64.valueOf(1),
+        UInt64.valueOf(2),
+        UInt64.MAX_VALUE,
+        UInt64.MAX_VALUE);
+  }
+
+  @Override
+  protected SszSchema<Validator> getContainerType() {
+    return Validator.SSZ_SCHEMA;
+  }
+
+  @Override
+  protected void iterateData(Validator validator, Blackhole bh) {
+    SszBenchUtil.iterateData(validator, bh);
+  }
+}
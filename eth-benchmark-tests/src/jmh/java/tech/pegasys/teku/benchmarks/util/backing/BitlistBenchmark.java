@@ -15,6 +15,7 @@ package tech.pegasys.teku.benchmarks.util.backing;
 
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Warmup;
@@ -27,6 +28,11 @@ public class BitlistBenchmark {
   static SszBitlistSchema<?> type = SszBitlistSchema.create(4096);
   static SszBitlist bitlist =
       type.ofBits(4096, IntStream.range(0, 4096).filter(i -> i % 3 == 0).toArray());
+  static SszBitlist otherBitlist =
+      type.ofBits(4096, IntStream.range(0, 4096).filter(i -> i % 5 == 1).toArray());
+  static SszBitlist subsetBitlist =
+      type.ofBits(4096, IntStream.range(0, 4096).filter(i -> i % 6 == 0).toArray());
+  static Bytes serializedBitlist = bitlist.sszSerialize();
 
   @Benchmark
   @Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
@@ -42,4 +48,39 @@ public class BitlistBenchmark {
     SszBitlist freshListView = type.createFromBackingNode(bitlist.getBackingNode());
     bh.consume(freshListView.getAllSetBits());
   }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  public void intersects(Blackhole bh) {
+    bh.consume(bitlist.intersects(otherBitlist));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  public void isSuperSetOf(Blackhole bh) {
+    bh.consume(bitlist.isSuperSetOf(subsetBitlist));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  public void or(Blackhole bh) {
+    bh.consume(bitlist.or(otherBitlist));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  public void getBitCount(Blackhole bh) {
+    bh.consume(bitlist.getBitCount());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+  public void sszDeserialize(Blackhole bh) {
+    bh.consume(type.sszDeserialize(serializedBitlist));
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.util.backing;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSTestUtil;
+import tech.pegasys.teku.infrastructure.crypto.MessageDigestFactory;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeHasher;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateSchema;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+/** Compares full state rehashing, as happens after a state is deserialized. */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class StateHashTreeRootBenchmark {
+
+  private static final BLSPublicKey PUBKEY = BLSTestUtil.randomPublicKey(0);
+  private static final DataStructureUtil DATA_STRUCTURE_UTIL =
+      new DataStructureUtil(0, TestSpecFactory.createMainnetAltair())
+          .withPubKeyGenerator(() -> PUBKEY);
+  private static final BeaconState BEACON_STATE = DATA_STRUCTURE_UTIL.randomBeaconState(100_000);
+  private static final BeaconStateSchema<?, ?> STATE_SCHEMA = BEACON_STATE.getBeaconStateSchema();
+  private static final Bytes STATE_SSZ = BEACON_STATE.sszSerialize();
+
+  private static final TreeHasher JCA_TREE_HASHER = new TreeHasher(Sha256PairHasher.jca());
+  private static final TreeHasher PURE_JAVA_TREE_HASHER =
+      new TreeHasher(Sha256PairHasher.pureJava());
+
+  private TreeNode unhashedTree;
+
+  @Setup(Level.Invocation)
+  public void deserializeState() {
+    unhashedTree = STATE_SCHEMA.sszDeserialize(STATE_SSZ).getBackingNode();
+  }
+
+  @Benchmark
+  public void hashRecursive(Blackhole bh) {
+    bh.consume(unhashedTree.hashTreeRoot(MessageDigestFactory.createSha256()));
+  }
+
+  @Benchmark
+  public void hashLevelOrderJca(Blackhole bh) {
+    bh.consume(JCA_TREE_HASHER.hashTreeRoot(unhashedTree));
+  }
+
+  @Benchmark
+  public void hashLevelOrderPureJava(Blackhole bh) {
+    bh.consume(PURE_JAVA_TREE_HASHER.hashTreeRoot(unhashedTree));
+  }
+}
@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.dataproviders.generators;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -151,6 +152,11 @@ public class CachingTaskQueue<K, V> {
     return Optional.ofNullable(cache.get(key));
   }
 
+  /** Returns a snapshot of the values currently held in the cache. */
+  public List<V> getCachedValues() {
+    return List.copyOf(cache.values());
+  }
+
   private void queueTask(final CacheableTask<K, V> task) {
     queuedTasks.add(task);
     tryProcessNext();
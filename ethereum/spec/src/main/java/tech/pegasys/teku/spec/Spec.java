@@ -22,6 +22,7 @@ import com.google.common.base.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntList;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,7 @@ import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.bytes.Bytes4;
 import tech.pegasys.teku.infrastructure.ssz.Merkleizable;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBitlist;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.cache.IndexedAttestationCache;
 import tech.pegasys.teku.spec.config.SpecConfig;
@@ -85,6 +87,7 @@ import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.StateTrans
 import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
+import tech.pegasys.teku.spec.logic.versions.altair.helpers.BeaconStateAccessorsAltair;
 import tech.pegasys.teku.spec.logic.versions.bellatrix.block.OptimisticExecutionPayloadExecutor;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitions;
 
@@ -264,6 +267,18 @@ public class Spec {
         .sszDeserialize(serializedState);
   }
 
+  /**
+   * Deserializes a state from a buffer, such as a memory mapped file, without first copying the
+   * whole state onto the heap.
+   */
+  public BeaconState deserializeBeaconState(final ByteBuffer serializedState) {
+    final UInt64 slot = BeaconStateInvariants.extractSlot(Bytes.wrapByteBuffer(serializedState));
+    return atSlot(slot)
+        .getSchemaDefinitions()
+        .getBeaconStateSchema()
+        .sszDeserialize(SszReader.fromByteBuffer(serializedState));
+  }
+
   public SignedBeaconBlock deserializeSignedBeaconBlock(final Bytes serializedSignedBlock) {
     final UInt64 slot = BeaconBlockInvariants.extractSignedBeaconBlockSlot(serializedSignedBlock);
     return atSlot(slot)
@@ -645,6 +660,7 @@ public class Spec {
       throws StateTransitionException {
     try {
       final BeaconState blockSlotState = stateTransition.processSlots(preState, block.getSlot());
+      // The block was fully validated, including all signatures, when it was first imported
       return getBlockProcessor(block.getSlot())
           .processUnsignedBlock(
               blockSlotState,
@@ -723,6 +739,16 @@ public class Spec {
     return atState(state).getAttestationUtil().getAttestingIndices(state, data, bits);
   }
 
+  /**
+   * Returns the participation flag indices an attestation with the given data would set if it
+   * were included after {@code inclusionDelay} slots. Only available from Altair.
+   */
+  public List<Integer> getAttestationParticipationFlagIndices(
+      final BeaconState state, final AttestationData data, final UInt64 inclusionDelay) {
+    return BeaconStateAccessorsAltair.required(atState(state).beaconStateAccessors())
+        .getAttestationParticipationFlagIndices(state, data, inclusionDelay);
+  }
+
   public AttestationData getGenericAttestationData(
       final UInt64 slot,
       final BeaconState state,
@@ -744,6 +770,26 @@ public class Spec {
             getForkAtSlot(slot), state, attestation, blsSignatureVerifier);
   }
 
+  public SafeFuture<AttestationProcessingResult> isValidIndexedAttestation(
+      BeaconState state,
+      ValidateableAttestation attestation,
+      AsyncBLSSignatureVerifier blsSignatureVerifier,
+      Bytes signingRoot) {
+    final UInt64 slot = attestation.getData().getSlot();
+    return atSlot(slot)
+        .getAttestationUtil()
+        .isValidIndexedAttestationAsync(
+            getForkAtSlot(slot), state, attestation, blsSignatureVerifier, signingRoot);
+  }
+
+  public Bytes getAttestationSigningRoot(
+      final BeaconState state, final AttestationData attestationData) {
+    final UInt64 slot = attestationData.getSlot();
+    return atSlot(slot)
+        .getAttestationUtil()
+        .getAttestationSigningRoot(getForkAtSlot(slot), state, attestationData);
+  }
+
   public AttestationWorthinessChecker createAttestationWorthinessChecker(final BeaconState state) {
     return atState(state).createAttestationWorthinessChecker(state);
   }
@@ -25,6 +25,25 @@ public interface VoteUpdater {
 
   UInt64 getHighestVotedValidatorIndex();
 
+  /**
+   * Passes the vote of every validator up to {@link #getHighestVotedValidatorIndex()} to the
+   * visitor, in validator index order. Implementations which store votes in primitive form should
+   * override this to avoid creating a {@link VoteTracker} and a {@link UInt64} per validator.
+   */
+  default void forEachVote(final VoteVisitor visitor) {
+    final int voteCount = Math.toIntExact(getHighestVotedValidatorIndex().longValue()) + 1;
+    for (int validatorIndex = 0; validatorIndex < voteCount; validatorIndex++) {
+      final VoteTracker vote = getVote(UInt64.valueOf(validatorIndex));
+      visitor.onVote(
+          validatorIndex,
+          vote.getCurrentRoot(),
+          vote.getNextRoot(),
+          vote.getNextEpoch().longValue(),
+          vote.isCurrentEquivocating(),
+          vote.isNextEquivocating());
+    }
+  }
+
   void putVote(UInt64 validatorIndex, VoteTracker vote);
 
   Bytes32 applyForkChoiceScoreChanges(
@@ -35,4 +54,15 @@ public interface VoteUpdater {
       UInt64 proposerScoreBoostAmount);
 
   void commit();
+
+  @FunctionalInterface
+  interface VoteVisitor {
+    void onVote(
+        int validatorIndex,
+        Bytes32 currentRoot,
+        Bytes32 nextRoot,
+        long nextEpoch,
+        boolean currentEquivocating,
+        boolean nextEquivocating);
+  }
 }
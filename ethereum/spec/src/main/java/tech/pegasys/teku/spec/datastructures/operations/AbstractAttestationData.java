@@ -0,0 +1,160 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.operations;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.ssz.containers.Container5;
+import tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema5;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+
+/** Autogenerated by tech.pegasys.teku.infrastructure.ssz.SpecialisedContainersGenerator */
+public abstract class AbstractAttestationData
+    extends Container5<AttestationData, SszUInt64, SszUInt64, SszBytes32, Checkpoint, Checkpoint> {
+
+  private static final long SLOT_GINDEX = 8;
+  private static final long INDEX_GINDEX = 9;
+  private static final long BEACON_BLOCK_ROOT_GINDEX = 10;
+  private static final long SOURCE_GINDEX = 11;
+  private static final long TARGET_GINDEX = 12;
+
+  private static final Bytes32 ZERO_ROOT_1 = Hash.sha256(Bytes32.ZERO, Bytes32.ZERO);
+
+  // Field values are immutable so it is safe to cache them without synchronization
+  private UInt64 slot;
+  private UInt64 index;
+  private Bytes32 beaconBlockRoot;
+
+  /**
+   * Views over an existing tree usually find the root already cached in that tree, so the unrolled
+   * hashing only kicks in for views built from field values
+   */
+  private final boolean builtFromFields;
+
+  private Bytes32 cachedHashTreeRoot;
+
+  protected AbstractAttestationData(
+      ContainerSchema5<AttestationData, SszUInt64, SszUInt64, SszBytes32, Checkpoint, Checkpoint>
+          schema) {
+    super(schema);
+    this.builtFromFields = false;
+  }
+
+  protected AbstractAttestationData(
+      ContainerSchema5<AttestationData, SszUInt64, SszUInt64, SszBytes32, Checkpoint, Checkpoint>
+          schema,
+      TreeNode backingNode) {
+    super(schema, backingNode);
+    this.builtFromFields = false;
+  }
+
+  protected AbstractAttestationData(
+      ContainerSchema5<AttestationData, SszUInt64, SszUInt64, SszBytes32, Checkpoint, Checkpoint>
+          schema,
+      SszUInt64 arg0,
+      SszUInt64 arg1,
+      SszBytes32 arg2,
+      Checkpoint arg3,
+      Checkpoint arg4) {
+    super(schema, arg0, arg1, arg2, arg3, arg4);
+    this.builtFromFields = true;
+    this.slot = arg0.get();
+    this.index = arg1.get();
+    this.beaconBlockRoot = arg2.get();
+  }
+
+  public UInt64 getSlot() {
+    UInt64 value = this.slot;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(SLOT_GINDEX), 0);
+      this.slot = value;
+    }
+    return value;
+  }
+
+  public UInt64 getIndex() {
+    UInt64 value = this.index;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(INDEX_GINDEX), 0);
+      this.index = value;
+    }
+    return value;
+  }
+
+  public Bytes32 getBeaconBlockRoot() {
+    Bytes32 value = this.beaconBlockRoot;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.BYTES32_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(BEACON_BLOCK_ROOT_GINDEX), 0);
+      this.beaconBlockRoot = value;
+    }
+    return value;
+  }
+
+  @Override
+  public Bytes sszSerialize() {
+    final SszByteArrayWriter writer = new SszByteArrayWriter(getSchema().getSszFixedPartSize());
+    sszSerialize(writer);
+    return writer.toBytes();
+  }
+
+  @Override
+  public int sszSerialize(SszWriter writer) {
+    final TreeNode node = getBackingNode();
+    int size = 0;
+    size += SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(node.get(SLOT_GINDEX), writer);
+    size += SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(node.get(INDEX_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.BYTES32_SCHEMA.sszSerializeTree(
+            node.get(BEACON_BLOCK_ROOT_GINDEX), writer);
+    size += getSchema().getChildSchema(3).sszSerializeTree(node.get(SOURCE_GINDEX), writer);
+    size += getSchema().getChildSchema(4).sszSerializeTree(node.get(TARGET_GINDEX), writer);
+    return size;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    if (!builtFromFields) {
+      return super.hashTreeRoot();
+    }
+    Bytes32 hashTreeRoot = cachedHashTreeRoot;
+    if (hashTreeRoot == null) {
+      final TreeNode node = getBackingNode();
+      final Bytes32 fieldRoot0 = node.get(SLOT_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot1 = node.get(INDEX_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot2 = node.get(BEACON_BLOCK_ROOT_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot3 = node.get(SOURCE_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot4 = node.get(TARGET_GINDEX).hashTreeRoot();
+      hashTreeRoot =
+          Hash.sha256(
+              Hash.sha256(Hash.sha256(fieldRoot0, fieldRoot1), Hash.sha256(fieldRoot2, fieldRoot3)),
+              Hash.sha256(Hash.sha256(fieldRoot4, Bytes32.ZERO), ZERO_ROOT_1));
+      cachedHashTreeRoot = hashTreeRoot;
+    }
+    return hashTreeRoot;
+  }
+}
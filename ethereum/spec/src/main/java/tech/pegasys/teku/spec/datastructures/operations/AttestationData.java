@@ -14,7 +14,6 @@
 package tech.pegasys.teku.spec.datastructures.operations;
 
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.infrastructure.ssz.containers.Container5;
 import tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema5;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
@@ -24,8 +23,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 
-public class AttestationData
-    extends Container5<AttestationData, SszUInt64, SszUInt64, SszBytes32, Checkpoint, Checkpoint> {
+public class AttestationData extends AbstractAttestationData {
 
   public static class AttestationDataSchema
       extends ContainerSchema5<
@@ -74,18 +72,6 @@ public class AttestationData
     return getSlot().plus(UInt64.ONE).max(getTarget().getEpochStartSlot(spec));
   }
 
-  public UInt64 getSlot() {
-    return getField0().get();
-  }
-
-  public UInt64 getIndex() {
-    return getField1().get();
-  }
-
-  public Bytes32 getBeaconBlockRoot() {
-    return getField2().get();
-  }
-
   public Checkpoint getSource() {
     return getField3();
   }
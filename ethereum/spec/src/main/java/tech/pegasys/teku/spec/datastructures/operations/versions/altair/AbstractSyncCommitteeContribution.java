@@ -0,0 +1,183 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.operations.versions.altair;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszBitvector;
+import tech.pegasys.teku.infrastructure.ssz.containers.Container5;
+import tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema5;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.type.SszSignature;
+
+/** Autogenerated by tech.pegasys.teku.infrastructure.ssz.SpecialisedContainersGenerator */
+public abstract class AbstractSyncCommitteeContribution
+    extends Container5<
+        SyncCommitteeContribution, SszUInt64, SszBytes32, SszUInt64, SszBitvector, SszSignature> {
+
+  private static final long SLOT_GINDEX = 8;
+  private static final long BEACON_BLOCK_ROOT_GINDEX = 9;
+  private static final long SUBCOMMITTEE_INDEX_GINDEX = 10;
+  private static final long AGGREGATION_BITS_GINDEX = 11;
+  private static final long SIGNATURE_GINDEX = 12;
+
+  private static final Bytes32 ZERO_ROOT_1 = Hash.sha256(Bytes32.ZERO, Bytes32.ZERO);
+
+  // Field values are immutable so it is safe to cache them without synchronization
+  private UInt64 slot;
+  private Bytes32 beaconBlockRoot;
+  private UInt64 subcommitteeIndex;
+
+  /**
+   * Views over an existing tree usually find the root already cached in that tree, so the unrolled
+   * hashing only kicks in for views built from field values
+   */
+  private final boolean builtFromFields;
+
+  private Bytes32 cachedHashTreeRoot;
+
+  protected AbstractSyncCommitteeContribution(
+      ContainerSchema5<
+              SyncCommitteeContribution,
+              SszUInt64,
+              SszBytes32,
+              SszUInt64,
+              SszBitvector,
+              SszSignature>
+          schema) {
+    super(schema);
+    this.builtFromFields = false;
+  }
+
+  protected AbstractSyncCommitteeContribution(
+      ContainerSchema5<
+              SyncCommitteeContribution,
+              SszUInt64,
+              SszBytes32,
+              SszUInt64,
+              SszBitvector,
+              SszSignature>
+          schema,
+      TreeNode backingNode) {
+    super(schema, backingNode);
+    this.builtFromFields = false;
+  }
+
+  protected AbstractSyncCommitteeContribution(
+      ContainerSchema5<
+              SyncCommitteeContribution,
+              SszUInt64,
+              SszBytes32,
+              SszUInt64,
+              SszBitvector,
+              SszSignature>
+          schema,
+      SszUInt64 arg0,
+      SszBytes32 arg1,
+      SszUInt64 arg2,
+      SszBitvector arg3,
+      SszSignature arg4) {
+    super(schema, arg0, arg1, arg2, arg3, arg4);
+    this.builtFromFields = true;
+    this.slot = arg0.get();
+    this.beaconBlockRoot = arg1.get();
+    this.subcommitteeIndex = arg2.get();
+  }
+
+  public UInt64 getSlot() {
+    UInt64 value = this.slot;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(SLOT_GINDEX), 0);
+      this.slot = value;
+    }
+    return value;
+  }
+
+  public Bytes32 getBeaconBlockRoot() {
+    Bytes32 value = this.beaconBlockRoot;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.BYTES32_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(BEACON_BLOCK_ROOT_GINDEX), 0);
+      this.beaconBlockRoot = value;
+    }
+    return value;
+  }
+
+  public UInt64 getSubcommitteeIndex() {
+    UInt64 value = this.subcommitteeIndex;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(SUBCOMMITTEE_INDEX_GINDEX), 0);
+      this.subcommitteeIndex = value;
+    }
+    return value;
+  }
+
+  @Override
+  public Bytes sszSerialize() {
+    final SszByteArrayWriter writer = new SszByteArrayWriter(getSchema().getSszFixedPartSize());
+    sszSerialize(writer);
+    return writer.toBytes();
+  }
+
+  @Override
+  public int sszSerialize(SszWriter writer) {
+    final TreeNode node = getBackingNode();
+    int size = 0;
+    size += SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(node.get(SLOT_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.BYTES32_SCHEMA.sszSerializeTree(
+            node.get(BEACON_BLOCK_ROOT_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(
+            node.get(SUBCOMMITTEE_INDEX_GINDEX), writer);
+    size +=
+        getSchema().getChildSchema(3).sszSerializeTree(node.get(AGGREGATION_BITS_GINDEX), writer);
+    size += getSchema().getChildSchema(4).sszSerializeTree(node.get(SIGNATURE_GINDEX), writer);
+    return size;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    if (!builtFromFields) {
+      return super.hashTreeRoot();
+    }
+    Bytes32 hashTreeRoot = cachedHashTreeRoot;
+    if (hashTreeRoot == null) {
+      final TreeNode node = getBackingNode();
+      final Bytes32 fieldRoot0 = node.get(SLOT_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot1 = node.get(BEACON_BLOCK_ROOT_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot2 = node.get(SUBCOMMITTEE_INDEX_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot3 = node.get(AGGREGATION_BITS_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot4 = node.get(SIGNATURE_GINDEX).hashTreeRoot();
+      hashTreeRoot =
+          Hash.sha256(
+              Hash.sha256(Hash.sha256(fieldRoot0, fieldRoot1), Hash.sha256(fieldRoot2, fieldRoot3)),
+              Hash.sha256(Hash.sha256(fieldRoot4, Bytes32.ZERO), ZERO_ROOT_1));
+      cachedHashTreeRoot = hashTreeRoot;
+    }
+    return hashTreeRoot;
+  }
+}
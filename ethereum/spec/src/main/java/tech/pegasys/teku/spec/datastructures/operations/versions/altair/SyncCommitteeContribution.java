@@ -13,19 +13,14 @@
 
 package tech.pegasys.teku.spec.datastructures.operations.versions.altair;
 
-import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBitvector;
-import tech.pegasys.teku.infrastructure.ssz.containers.Container5;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
-import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.type.SszSignature;
 
-public class SyncCommitteeContribution
-    extends Container5<
-        SyncCommitteeContribution, SszUInt64, SszBytes32, SszUInt64, SszBitvector, SszSignature> {
+public class SyncCommitteeContribution extends AbstractSyncCommitteeContribution {
 
   protected SyncCommitteeContribution(final SyncCommitteeContributionSchema schema) {
     super(schema);
@@ -46,18 +41,6 @@ public class SyncCommitteeContribution
     super(schema, slot, beaconBlockRoot, subcommitteeIndex, aggregationBits, signature);
   }
 
-  public UInt64 getSlot() {
-    return getField0().get();
-  }
-
-  public Bytes32 getBeaconBlockRoot() {
-    return getField1().get();
-  }
-
-  public UInt64 getSubcommitteeIndex() {
-    return getField2().get();
-  }
-
   public SszBitvector getAggregationBits() {
     return getField3();
   }
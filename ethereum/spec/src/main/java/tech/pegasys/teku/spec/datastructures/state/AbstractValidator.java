@@ -0,0 +1,268 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.ssz.containers.Container8;
+import tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema8;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszBit;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.type.SszPublicKey;
+
+/** Autogenerated by tech.pegasys.teku.infrastructure.ssz.SpecialisedContainersGenerator */
+public abstract class AbstractValidator
+    extends Container8<
+        Validator,
+        SszPublicKey,
+        SszBytes32,
+        SszUInt64,
+        SszBit,
+        SszUInt64,
+        SszUInt64,
+        SszUInt64,
+        SszUInt64> {
+
+  private static final long PUBKEY_GINDEX = 8;
+  private static final long WITHDRAWAL_CREDENTIALS_GINDEX = 9;
+  private static final long EFFECTIVE_BALANCE_GINDEX = 10;
+  private static final long SLASHED_GINDEX = 11;
+  private static final long ACTIVATION_ELIGIBILITY_EPOCH_GINDEX = 12;
+  private static final long ACTIVATION_EPOCH_GINDEX = 13;
+  private static final long EXIT_EPOCH_GINDEX = 14;
+  private static final long WITHDRAWABLE_EPOCH_GINDEX = 15;
+
+  // Field values are immutable so it is safe to cache them without synchronization
+  private Bytes32 withdrawalCredentials;
+  private UInt64 effectiveBalance;
+  private Boolean slashed;
+  private UInt64 activationEligibilityEpoch;
+  private UInt64 activationEpoch;
+  private UInt64 exitEpoch;
+  private UInt64 withdrawableEpoch;
+
+  /**
+   * Views over an existing tree usually find the root already cached in that tree, so the unrolled
+   * hashing only kicks in for views built from field values
+   */
+  private final boolean builtFromFields;
+
+  private Bytes32 cachedHashTreeRoot;
+
+  protected AbstractValidator(
+      ContainerSchema8<
+              Validator,
+              SszPublicKey,
+              SszBytes32,
+              SszUInt64,
+              SszBit,
+              SszUInt64,
+              SszUInt64,
+              SszUInt64,
+              SszUInt64>
+          schema) {
+    super(schema);
+    this.builtFromFields = false;
+  }
+
+  protected AbstractValidator(
+      ContainerSchema8<
+              Validator,
+              SszPublicKey,
+              SszBytes32,
+              SszUInt64,
+              SszBit,
+              SszUInt64,
+              SszUInt64,
+              SszUInt64,
+              SszUInt64>
+          schema,
+      TreeNode backingNode) {
+    super(schema, backingNode);
+    this.builtFromFields = false;
+  }
+
+  protected AbstractValidator(
+      ContainerSchema8<
+              Validator,
+              SszPublicKey,
+              SszBytes32,
+              SszUInt64,
+              SszBit,
+              SszUInt64,
+              SszUInt64,
+              SszUInt64,
+              SszUInt64>
+          schema,
+      SszPublicKey arg0,
+      SszBytes32 arg1,
+      SszUInt64 arg2,
+      SszBit arg3,
+      SszUInt64 arg4,
+      SszUInt64 arg5,
+      SszUInt64 arg6,
+      SszUInt64 arg7) {
+    super(schema, arg0, arg1, arg2, arg3, arg4, arg5, arg6, arg7);
+    this.builtFromFields = true;
+    this.withdrawalCredentials = arg1.get();
+    this.effectiveBalance = arg2.get();
+    this.slashed = arg3.get();
+    this.activationEligibilityEpoch = arg4.get();
+    this.activationEpoch = arg5.get();
+    this.exitEpoch = arg6.get();
+    this.withdrawableEpoch = arg7.get();
+  }
+
+  public Bytes32 getWithdrawalCredentials() {
+    Bytes32 value = this.withdrawalCredentials;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.BYTES32_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(WITHDRAWAL_CREDENTIALS_GINDEX), 0);
+      this.withdrawalCredentials = value;
+    }
+    return value;
+  }
+
+  public UInt64 getEffectiveBalance() {
+    UInt64 value = this.effectiveBalance;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(EFFECTIVE_BALANCE_GINDEX), 0);
+      this.effectiveBalance = value;
+    }
+    return value;
+  }
+
+  public boolean isSlashed() {
+    Boolean value = this.slashed;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.BIT_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(SLASHED_GINDEX), 0);
+      this.slashed = value;
+    }
+    return value;
+  }
+
+  public UInt64 getActivationEligibilityEpoch() {
+    UInt64 value = this.activationEligibilityEpoch;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(ACTIVATION_ELIGIBILITY_EPOCH_GINDEX), 0);
+      this.activationEligibilityEpoch = value;
+    }
+    return value;
+  }
+
+  public UInt64 getActivationEpoch() {
+    UInt64 value = this.activationEpoch;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(ACTIVATION_EPOCH_GINDEX), 0);
+      this.activationEpoch = value;
+    }
+    return value;
+  }
+
+  public UInt64 getExitEpoch() {
+    UInt64 value = this.exitEpoch;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(EXIT_EPOCH_GINDEX), 0);
+      this.exitEpoch = value;
+    }
+    return value;
+  }
+
+  public UInt64 getWithdrawableEpoch() {
+    UInt64 value = this.withdrawableEpoch;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(WITHDRAWABLE_EPOCH_GINDEX), 0);
+      this.withdrawableEpoch = value;
+    }
+    return value;
+  }
+
+  @Override
+  public Bytes sszSerialize() {
+    final SszByteArrayWriter writer = new SszByteArrayWriter(getSchema().getSszFixedPartSize());
+    sszSerialize(writer);
+    return writer.toBytes();
+  }
+
+  @Override
+  public int sszSerialize(SszWriter writer) {
+    final TreeNode node = getBackingNode();
+    int size = 0;
+    size += getSchema().getChildSchema(0).sszSerializeTree(node.get(PUBKEY_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.BYTES32_SCHEMA.sszSerializeTree(
+            node.get(WITHDRAWAL_CREDENTIALS_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(
+            node.get(EFFECTIVE_BALANCE_GINDEX), writer);
+    size += SszPrimitiveSchemas.BIT_SCHEMA.sszSerializeTree(node.get(SLASHED_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(
+            node.get(ACTIVATION_ELIGIBILITY_EPOCH_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(
+            node.get(ACTIVATION_EPOCH_GINDEX), writer);
+    size += SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(node.get(EXIT_EPOCH_GINDEX), writer);
+    size +=
+        SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(
+            node.get(WITHDRAWABLE_EPOCH_GINDEX), writer);
+    return size;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    if (!builtFromFields) {
+      return super.hashTreeRoot();
+    }
+    Bytes32 hashTreeRoot = cachedHashTreeRoot;
+    if (hashTreeRoot == null) {
+      final TreeNode node = getBackingNode();
+      final Bytes32 fieldRoot0 = node.get(PUBKEY_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot1 = node.get(WITHDRAWAL_CREDENTIALS_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot2 = node.get(EFFECTIVE_BALANCE_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot3 = node.get(SLASHED_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot4 = node.get(ACTIVATION_ELIGIBILITY_EPOCH_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot5 = node.get(ACTIVATION_EPOCH_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot6 = node.get(EXIT_EPOCH_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot7 = node.get(WITHDRAWABLE_EPOCH_GINDEX).hashTreeRoot();
+      hashTreeRoot =
+          Hash.sha256(
+              Hash.sha256(Hash.sha256(fieldRoot0, fieldRoot1), Hash.sha256(fieldRoot2, fieldRoot3)),
+              Hash.sha256(
+                  Hash.sha256(fieldRoot4, fieldRoot5), Hash.sha256(fieldRoot6, fieldRoot7)));
+      cachedHashTreeRoot = hashTreeRoot;
+    }
+    return hashTreeRoot;
+  }
+}
@@ -14,7 +14,6 @@
 package tech.pegasys.teku.spec.datastructures.state;
 
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.infrastructure.ssz.containers.Container2;
 import tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema2;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
@@ -24,7 +23,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
 
-public class Checkpoint extends Container2<Checkpoint, SszUInt64, SszBytes32> {
+public class Checkpoint extends AbstractCheckpoint {
 
   public static class CheckpointSchema extends ContainerSchema2<Checkpoint, SszUInt64, SszBytes32> {
 
@@ -51,14 +50,6 @@ public class Checkpoint extends Container2<Checkpoint, SszUInt64, SszBytes32> {
     super(SSZ_SCHEMA, SszUInt64.of(epoch), SszBytes32.of(root));
   }
 
-  public UInt64 getEpoch() {
-    return getField0().get();
-  }
-
-  public Bytes32 getRoot() {
-    return getField1().get();
-  }
-
   public UInt64 getEpochStartSlot(final Spec spec) {
     return spec.computeStartSlotAtEpoch(getEpoch());
   }
@@ -16,7 +16,6 @@ package tech.pegasys.teku.spec.datastructures.state;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.teku.bls.BLSPublicKey;
-import tech.pegasys.teku.infrastructure.ssz.containers.Container8;
 import tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema8;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszBit;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
@@ -29,17 +28,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.type.SszPublicKey;
 import tech.pegasys.teku.spec.datastructures.type.SszPublicKeySchema;
 
-public class Validator
-    extends Container8<
-        Validator,
-        SszPublicKey,
-        SszBytes32,
-        SszUInt64,
-        SszBit,
-        SszUInt64,
-        SszUInt64,
-        SszUInt64,
-        SszUInt64> {
+public class Validator extends AbstractValidator {
 
   public static class ValidatorSchema
       extends ContainerSchema8<
@@ -136,34 +125,6 @@ public class Validator
     return getField0().getBLSPublicKey();
   }
 
-  public Bytes32 getWithdrawalCredentials() {
-    return getField1().get();
-  }
-
-  public UInt64 getEffectiveBalance() {
-    return getField2().get();
-  }
-
-  public boolean isSlashed() {
-    return getField3().get();
-  }
-
-  public UInt64 getActivationEligibilityEpoch() {
-    return getField4().get();
-  }
-
-  public UInt64 getActivationEpoch() {
-    return getField5().get();
-  }
-
-  public UInt64 getExitEpoch() {
-    return getField6().get();
-  }
-
-  public UInt64 getWithdrawableEpoch() {
-    return getField7().get();
-  }
-
   public Validator withEffectiveBalance(UInt64 effectiveBalance) {
     return new Validator(
         getPubkeyBytes(),
@@ -14,13 +14,15 @@
 package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.SszContainer;
 import tech.pegasys.teku.infrastructure.ssz.SszData;
+import tech.pegasys.teku.infrastructure.ssz.cache.BoundedIntCache;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
-import tech.pegasys.teku.infrastructure.ssz.cache.SoftRefIntCache;
 import tech.pegasys.teku.infrastructure.ssz.impl.SszContainerImpl;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszCompositeSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.impl.AbstractSszContainerSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeHasher;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
@@ -57,6 +59,14 @@ public abstract class AbstractBeaconState<TMutable extends MutableBeaconState>
     return (BeaconStateSchema<?, ?>) getSchema();
   }
 
+  @Override
+  public Bytes32 hashTreeRoot() {
+    // A state loaded from disk or checkpoint sync has no cached hashes at all, which makes it worth
+    // hashing the independent subtrees (validators, balances etc) in parallel. The few nodes
+    // changed by processing a block are below the parallel threshold and hashed on this thread.
+    return TreeHasher.getDefault().hashTreeRootInParallel(getBackingNode());
+  }
+
   @Override
   public <E1 extends Exception, E2 extends Exception, E3 extends Exception> BeaconState updated(
       Mutator<MutableBeaconState, E1, E2, E3> mutator) throws E1, E2, E3 {
@@ -82,7 +92,7 @@ public abstract class AbstractBeaconState<TMutable extends MutableBeaconState>
 
   @Override
   protected IntCache<SszData> createCache() {
-    return new SoftRefIntCache<>(super::createCache);
+    return new BoundedIntCache<>(size(), BeaconStateViewCaches.STATE_FIELDS_STATS, size());
   }
 
   @Override
@@ -23,6 +23,8 @@ import tech.pegasys.teku.infrastructure.ssz.schema.SszFieldName;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints.SszChildViewCacheHint;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints.SszSuperNodeHint;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszVectorSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszBitvectorSchema;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszField;
@@ -154,7 +156,11 @@ public enum BeaconStateFields implements SszFieldName {
                 SszListSchema.create(
                     Validator.SSZ_SCHEMA,
                     specConfig.getValidatorRegistryLimit(),
-                    SszSchemaHints.sszSuperNode(8)));
+                    SszSchemaHints.of(
+                        new SszSuperNodeHint(8),
+                        new SszChildViewCacheHint(
+                            BeaconStateViewCaches.MAX_CACHED_VALIDATORS,
+                            BeaconStateViewCaches.VALIDATORS_STATS))));
     SszField balancesField =
         new SszField(
             12,
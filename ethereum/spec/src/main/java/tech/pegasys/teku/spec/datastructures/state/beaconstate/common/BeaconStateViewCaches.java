@@ -0,0 +1,37 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import tech.pegasys.teku.infrastructure.ssz.cache.IntCacheStats;
+
+/**
+ * Budgets and stats of the bounded child view caches used by beacon state views.
+ *
+ * <p>The caches hold strong references, so a cached state retains at most the budgeted number of
+ * child views regardless of heap pressure.
+ */
+public final class BeaconStateViewCaches {
+
+  /**
+   * Maximum number of {@link tech.pegasys.teku.spec.datastructures.state.Validator} views cached
+   * per validators list. Keeps the views retained by each cached state to a few MB. A full registry
+   * scan evicts the oldest views rather than growing the cache to the registry size.
+   */
+  public static final int MAX_CACHED_VALIDATORS = 1 << 15;
+
+  public static final IntCacheStats STATE_FIELDS_STATS = new IntCacheStats();
+  public static final IntCacheStats VALIDATORS_STATS = new IntCacheStats();
+
+  private BeaconStateViewCaches() {}
+}
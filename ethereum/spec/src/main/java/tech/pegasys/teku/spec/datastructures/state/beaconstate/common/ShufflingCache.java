@@ -0,0 +1,91 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.nio.ByteBuffer;
+import java.util.function.BiFunction;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
+
+/**
+ * Caches committee shufflings for all states rather than per state.
+ *
+ * <p>Shufflings are keyed by the epoch seed together with a hash of the active validator indices
+ * that were shuffled, so states on different forks share a shuffling only when both the seed and
+ * the validator set match. Unlike the {@link TransitionCaches} entries are therefore never copied
+ * or reset along with a state, and a shuffling calculated on one fork is reused by all others.
+ *
+ * <p>Shufflings are held as immutable lists backed by a single {@code int[]}.
+ */
+public class ShufflingCache {
+  public static final int DEFAULT_MAX_SHUFFLINGS = 16;
+
+  private final Cache<Bytes32, IntList> shufflings;
+
+  /**
+   * Hashes of the active validator index lists, held by identity. States keep a single cached list
+   * per epoch so each list is only hashed once however many committees are calculated from it.
+   */
+  private final Cache<IntList, Bytes32> activeValidatorIndicesHashes;
+
+  public ShufflingCache() {
+    this(DEFAULT_MAX_SHUFFLINGS);
+  }
+
+  public ShufflingCache(final int maxShufflings) {
+    this.shufflings = CacheBuilder.newBuilder().maximumSize(maxShufflings).build();
+    this.activeValidatorIndicesHashes = CacheBuilder.newBuilder().weakKeys().build();
+  }
+
+  /**
+   * Returns the shuffling of {@code activeValidatorIndices} for {@code seed}, calculating it with
+   * {@code shuffler} if it isn't cached. Concurrent requests for the same seed and validator set
+   * wait for a single calculation rather than each shuffling the list.
+   */
+  public IntList getShuffling(
+      final Bytes32 seed,
+      final IntList activeValidatorIndices,
+      final BiFunction<IntList, Bytes32, IntList> shuffler) {
+    final Bytes32 key = Hash.sha256(seed, hashActiveValidatorIndices(activeValidatorIndices));
+    return shufflings
+        .asMap()
+        .computeIfAbsent(key, k -> shuffler.apply(activeValidatorIndices, seed));
+  }
+
+  private Bytes32 hashActiveValidatorIndices(final IntList activeValidatorIndices) {
+    return activeValidatorIndicesHashes
+        .asMap()
+        .computeIfAbsent(
+            activeValidatorIndices,
+            indices -> {
+              final ByteBuffer buffer = ByteBuffer.allocate(indices.size() * Integer.BYTES);
+              for (int i = 0; i < indices.size(); i++) {
+                buffer.putInt(indices.getInt(i));
+              }
+              return Hash.sha256(buffer.array());
+            });
+  }
+
+  public long size() {
+    return shufflings.size();
+  }
+
+  public void clear() {
+    shufflings.invalidateAll();
+    activeValidatorIndicesHashes.invalidateAll();
+  }
+}
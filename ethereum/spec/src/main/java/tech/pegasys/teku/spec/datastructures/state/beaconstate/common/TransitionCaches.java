@@ -17,7 +17,6 @@ import it.unimi.dsi.fastutil.ints.IntList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.infrastructure.collections.TekuPair;
 import tech.pegasys.teku.infrastructure.collections.cache.Cache;
@@ -35,7 +34,6 @@ public class TransitionCaches {
   private static final int MAX_BEACON_PROPOSER_INDEX_CACHE = 1;
   private static final int MAX_BEACON_COMMITTEE_CACHE = 64 * 64;
   private static final int MAX_TOTAL_ACTIVE_BALANCE_CACHE = 2;
-  private static final int MAX_COMMITTEE_SHUFFLE_CACHE = 3;
   private static final int MAX_EFFECTIVE_BALANCE_CACHE = 1;
   private static final int MAX_SYNC_COMMITTEE_CACHE = 2;
   public static final int MAX_BASE_REWARD_PER_INCREMENT_CACHE = 1;
@@ -52,7 +50,6 @@ public class TransitionCaches {
           NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache(),
           ProgressiveTotalBalancesUpdates.NOOP) {
 
         @Override
@@ -78,7 +75,6 @@ public class TransitionCaches {
   private final Cache<UInt64, UInt64> totalActiveBalance;
   private final Cache<UInt64, BLSPublicKey> validatorsPubKeys;
   private final ValidatorIndexCache validatorIndexCache;
-  private final Cache<Bytes32, IntList> committeeShuffle;
   private final Cache<UInt64, List<UInt64>> effectiveBalances;
   private final Cache<UInt64, UInt64> baseRewardPerIncrement;
 
@@ -95,7 +91,6 @@ public class TransitionCaches {
     totalActiveBalance = LRUCache.create(MAX_TOTAL_ACTIVE_BALANCE_CACHE);
     validatorsPubKeys = LRUCache.create(Integer.MAX_VALUE - 1);
     validatorIndexCache = new ValidatorIndexCache();
-    committeeShuffle = LRUCache.create(MAX_COMMITTEE_SHUFFLE_CACHE);
     effectiveBalances = LRUCache.create(MAX_EFFECTIVE_BALANCE_CACHE);
     syncCommitteeCache = LRUCache.create(MAX_SYNC_COMMITTEE_CACHE);
     baseRewardPerIncrement = LRUCache.create(MAX_BASE_REWARD_PER_INCREMENT_CACHE);
@@ -110,7 +105,6 @@ public class TransitionCaches {
       Cache<UInt64, UInt64> totalActiveBalance,
       Cache<UInt64, BLSPublicKey> validatorsPubKeys,
       ValidatorIndexCache validatorIndexCache,
-      Cache<Bytes32, IntList> committeeShuffle,
       Cache<UInt64, List<UInt64>> effectiveBalances,
       Cache<UInt64, Map<UInt64, SyncSubcommitteeAssignments>> syncCommitteeCache,
       Cache<UInt64, UInt64> baseRewardPerIncrement,
@@ -122,7 +116,6 @@ public class TransitionCaches {
     this.totalActiveBalance = totalActiveBalance;
     this.validatorsPubKeys = validatorsPubKeys;
     this.validatorIndexCache = validatorIndexCache;
-    this.committeeShuffle = committeeShuffle;
     this.effectiveBalances = effectiveBalances;
     this.syncCommitteeCache = syncCommitteeCache;
     this.baseRewardPerIncrement = baseRewardPerIncrement;
@@ -187,11 +180,6 @@ public class TransitionCaches {
     return validatorIndexCache;
   }
 
-  /** (epoch committee seed) -> (validators shuffle for epoch) cache */
-  public Cache<Bytes32, IntList> getCommitteeShuffle() {
-    return committeeShuffle;
-  }
-
   /**
    * (epoch) -> (validator effective balances) cache. Note that inactive validators report an
    * effective balance of 0.
@@ -224,7 +212,6 @@ public class TransitionCaches {
         totalActiveBalance.copy(),
         validatorsPubKeys,
         validatorIndexCache,
-        committeeShuffle.copy(),
         effectiveBalances.copy(),
         syncCommitteeCache.copy(),
         baseRewardPerIncrement.copy(),
@@ -16,6 +16,7 @@ package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.infrastructure.collections.cache.Cache;
 import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
@@ -27,6 +28,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 public class ValidatorIndexCache {
   private final Cache<BLSPublicKey, Integer> validatorIndices;
   private final AtomicInteger lastIndex;
+  private final ValidatorPublicKeyRegistry registry;
 
   private static final int INDEX_NONE = -1;
   static final ValidatorIndexCache NO_OP_INSTANCE =
@@ -34,13 +36,25 @@ public class ValidatorIndexCache {
 
   @VisibleForTesting
   ValidatorIndexCache(final Cache<BLSPublicKey, Integer> validatorIndices, final int lastIndex) {
-    this.validatorIndices = validatorIndices;
-    this.lastIndex = new AtomicInteger(lastIndex);
+    this(validatorIndices, lastIndex, ValidatorPublicKeyRegistry.getInstance());
+  }
+
+  @VisibleForTesting
+  ValidatorIndexCache(final ValidatorPublicKeyRegistry registry) {
+    this(LRUCache.create(Integer.MAX_VALUE - 1), INDEX_NONE, registry);
   }
 
   public ValidatorIndexCache() {
-    this.validatorIndices = LRUCache.create(Integer.MAX_VALUE - 1);
-    this.lastIndex = new AtomicInteger(INDEX_NONE);
+    this(ValidatorPublicKeyRegistry.getInstance());
+  }
+
+  private ValidatorIndexCache(
+      final Cache<BLSPublicKey, Integer> validatorIndices,
+      final int lastIndex,
+      final ValidatorPublicKeyRegistry registry) {
+    this.validatorIndices = validatorIndices;
+    this.lastIndex = new AtomicInteger(lastIndex);
+    this.registry = registry;
   }
 
   public Optional<Integer> getValidatorIndex(
@@ -55,15 +69,34 @@ public class ValidatorIndexCache {
       return validatorIndex.filter(index -> index < state.getValidators().size());
     }
 
+    final Optional<Integer> registeredIndex =
+        findIndexFromRegistry(state.getValidators(), publicKey);
+    if (registeredIndex.isPresent()) {
+      validatorIndices.invalidateWithNewValue(publicKey, registeredIndex.get());
+      return registeredIndex;
+    }
+
     return findIndexFromState(state.getValidators(), publicKey, lastIndexSnapshot);
   }
 
+  private Optional<Integer> findIndexFromRegistry(
+      final SszList<Validator> validatorList, final BLSPublicKey publicKey) {
+    final Bytes48 publicKeyBytes = publicKey.toBytesCompressed();
+    // The registry is shared with other chains so confirm the index against this state
+    return registry
+        .getValidatorIndex(publicKeyBytes)
+        .filter(
+            index ->
+                index < validatorList.size()
+                    && validatorList.get(index).getPubkeyBytes().equals(publicKeyBytes));
+  }
+
   private Optional<Integer> findIndexFromState(
       final SszList<Validator> validatorList,
       final BLSPublicKey publicKey,
       final int lastIndexSnapshot) {
     for (int i = Math.max(lastIndexSnapshot, 0); i < validatorList.size(); i++) {
-      BLSPublicKey pubKey = validatorList.get(i).getPublicKey();
+      BLSPublicKey pubKey = registry.getPublicKey(i, validatorList.get(i).getPubkeyBytes());
       validatorIndices.invalidateWithNewValue(pubKey, i);
       if (pubKey.equals(publicKey)) {
         updateLastIndex(i);
@@ -0,0 +1,235 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.bls.BLSConstants;
+import tech.pegasys.teku.bls.BLSPublicKey;
+
+/**
+ * Process wide, append only registry of validator public keys shared by all states regardless of
+ * which fork or lineage they belong to.
+ *
+ * <p>Maps validator index to the {@link BLSPublicKey} instance first seen at that index, so the
+ * expensive decompression of a key happens once per process rather than once per state lineage,
+ * and maps public key back to validator index through an open addressing hash table of primitive
+ * ints. Lookups never block, registrations are serialized and only ever add entries.
+ *
+ * <p>Entries are not tied to a particular chain so callers must confirm a result against the state
+ * they are working with before relying on it. Within a network the validator at a given index never
+ * changes, so confirmation only fails when states from unrelated chains share the process, in
+ * which case the registry simply doesn't help.
+ */
+public class ValidatorPublicKeyRegistry {
+  private static final ValidatorPublicKeyRegistry INSTANCE = new ValidatorPublicKeyRegistry();
+
+  private static final int PAGE_BITS = 14;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int MAX_PAGES = 1 << 16;
+  private static final int INITIAL_TABLE_CAPACITY = 1 << 10;
+  private static final int EMPTY_SLOT = 0;
+  private static final int SERIALIZED_ENTRY_SIZE =
+      Integer.BYTES + BLSConstants.BLS_PUBKEY_UNCOMPRESSED_SIZE;
+
+  /** Keys by validator index, allocated a page at a time as the registry grows */
+  private final AtomicReferenceArray<AtomicReferenceArray<BLSPublicKey>> pages =
+      new AtomicReferenceArray<>(MAX_PAGES);
+
+  /** (validator index + 1) by public key hash, {@link #EMPTY_SLOT} marks a free slot */
+  private volatile AtomicIntegerArray indexTable = new AtomicIntegerArray(INITIAL_TABLE_CAPACITY);
+
+  private int indexTableEntries = 0;
+  private volatile int size = 0;
+
+  @VisibleForTesting
+  ValidatorPublicKeyRegistry() {}
+
+  public static ValidatorPublicKeyRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the public key for a validator, reusing the registered instance if it matches the
+   * supplied bytes and registering a new key otherwise.
+   *
+   * @param validatorIndex the index of the validator in the state being processed
+   * @param compressedPublicKey the validator's public key bytes as recorded in that state
+   * @return the public key, already decompressed if it has previously been used
+   */
+  public BLSPublicKey getPublicKey(final int validatorIndex, final Bytes48 compressedPublicKey) {
+    final Optional<BLSPublicKey> registeredKey = getRegisteredPublicKey(validatorIndex);
+    if (registeredKey.isPresent()
+        && registeredKey.get().toBytesCompressed().equals(compressedPublicKey)) {
+      return registeredKey.get();
+    }
+    final BLSPublicKey publicKey = BLSPublicKey.fromBytesCompressed(compressedPublicKey);
+    register(validatorIndex, publicKey);
+    return publicKey;
+  }
+
+  public Optional<BLSPublicKey> getRegisteredPublicKey(final int validatorIndex) {
+    if (validatorIndex < 0 || validatorIndex >= size) {
+      return Optional.empty();
+    }
+    final AtomicReferenceArray<BLSPublicKey> page = pages.get(validatorIndex >>> PAGE_BITS);
+    return page == null
+        ? Optional.empty()
+        : Optional.ofNullable(page.get(validatorIndex & (PAGE_SIZE - 1)));
+  }
+
+  /**
+   * Returns the index the public key was registered at. The result must be checked against the
+   * state in use as it may have been registered by an unrelated chain.
+   */
+  public Optional<Integer> getValidatorIndex(final Bytes48 compressedPublicKey) {
+    final AtomicIntegerArray table = indexTable;
+    final int mask = table.length() - 1;
+    for (int slot = hash(compressedPublicKey) & mask; ; slot = (slot + 1) & mask) {
+      final int entry = table.get(slot);
+      if (entry == EMPTY_SLOT) {
+        return Optional.empty();
+      }
+      final int validatorIndex = entry - 1;
+      if (matches(validatorIndex, compressedPublicKey)) {
+        return Optional.of(validatorIndex);
+      }
+    }
+  }
+
+  /**
+   * Registers the key at the given index. The first key registered at an index wins, later
+   * registrations of a different key at the same index are ignored.
+   */
+  public synchronized void register(final int validatorIndex, final BLSPublicKey publicKey) {
+    checkArgument(
+        validatorIndex >= 0 && validatorIndex < MAX_PAGES * PAGE_SIZE,
+        "Validator index %s out of range",
+        validatorIndex);
+    final int pageIndex = validatorIndex >>> PAGE_BITS;
+    AtomicReferenceArray<BLSPublicKey> page = pages.get(pageIndex);
+    if (page == null) {
+      page = new AtomicReferenceArray<>(PAGE_SIZE);
+      pages.set(pageIndex, page);
+    }
+    if (!page.compareAndSet(validatorIndex & (PAGE_SIZE - 1), null, publicKey)) {
+      return;
+    }
+    size = Math.max(size, validatorIndex + 1);
+
+    if ((indexTableEntries + 1) * 2 > indexTable.length()) {
+      indexTable = rehash(indexTable, indexTable.length() * 2);
+    }
+    if (insert(indexTable, validatorIndex, publicKey.toBytesCompressed())) {
+      indexTableEntries++;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Serializes the registered keys which have already been decompressed in uncompressed form, so
+   * they can be loaded back without decompressing each key. Keys that have never been used are
+   * left out rather than being decompressed just to write them.
+   */
+  public Bytes serialize() {
+    final int count = size;
+    final List<Bytes> entries = new ArrayList<>();
+    for (int index = 0; index < count; index++) {
+      final Optional<BLSPublicKey> key = getRegisteredPublicKey(index);
+      if (key.isPresent() && key.get().isDecompressed()) {
+        entries.add(Bytes.ofUnsignedInt(index));
+        entries.add(key.get().toBytesUncompressed());
+      }
+    }
+    return Bytes.concatenate(entries.toArray(Bytes[]::new));
+  }
+
+  /**
+   * Registers the keys from data produced by {@link #serialize()}.
+   *
+   * @return the number of keys registered
+   * @throws IllegalArgumentException if the data is not a valid serialized registry
+   */
+  public int deserialize(final Bytes data) {
+    checkArgument(
+        data.size() % SERIALIZED_ENTRY_SIZE == 0, "Invalid validator public key registry data");
+    final int count = data.size() / SERIALIZED_ENTRY_SIZE;
+    for (int i = 0; i < count; i++) {
+      final int offset = i * SERIALIZED_ENTRY_SIZE;
+      final int validatorIndex = data.getInt(offset);
+      final BLSPublicKey publicKey =
+          BLSPublicKey.fromBytesUncompressed(
+              data.slice(offset + Integer.BYTES, BLSConstants.BLS_PUBKEY_UNCOMPRESSED_SIZE));
+      register(validatorIndex, publicKey);
+    }
+    return count;
+  }
+
+  private AtomicIntegerArray rehash(final AtomicIntegerArray table, final int newCapacity) {
+    final AtomicIntegerArray newTable = new AtomicIntegerArray(newCapacity);
+    for (int slot = 0; slot < table.length(); slot++) {
+      final int entry = table.get(slot);
+      if (entry != EMPTY_SLOT) {
+        final int validatorIndex = entry - 1;
+        insert(newTable, validatorIndex, getKeyBytes(validatorIndex));
+      }
+    }
+    return newTable;
+  }
+
+  private boolean insert(
+      final AtomicIntegerArray table, final int validatorIndex, final Bytes48 compressedPublicKey) {
+    final int mask = table.length() - 1;
+    for (int slot = hash(compressedPublicKey) & mask; ; slot = (slot + 1) & mask) {
+      final int entry = table.get(slot);
+      if (entry == EMPTY_SLOT) {
+        table.set(slot, validatorIndex + 1);
+        return true;
+      }
+      if (matches(entry - 1, compressedPublicKey)) {
+        // Same key already registered at another index, keep the first
+        return false;
+      }
+    }
+  }
+
+  private boolean matches(final int validatorIndex, final Bytes48 compressedPublicKey) {
+    return getKeyBytes(validatorIndex).equals(compressedPublicKey);
+  }
+
+  private Bytes48 getKeyBytes(final int validatorIndex) {
+    // Entries are only added to the index table after the key is stored so this can't be absent
+    return pages
+        .get(validatorIndex >>> PAGE_BITS)
+        .get(validatorIndex & (PAGE_SIZE - 1))
+        .toBytesCompressed();
+  }
+
+  private static int hash(final Bytes48 compressedPublicKey) {
+    // Key bytes are effectively random apart from the flag bits in the leading byte
+    final int h = compressedPublicKey.getInt(BLSConstants.BLS_PUBKEY_SIZE - Integer.BYTES);
+    return h ^ (h >>> 16);
+  }
+}
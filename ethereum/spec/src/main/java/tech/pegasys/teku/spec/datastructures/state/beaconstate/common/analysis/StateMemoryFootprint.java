@@ -0,0 +1,142 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis;
+
+import java.util.List;
+
+/** The result of a {@link StateMemoryFootprintAnalyzer} run. All sizes are in bytes. */
+public class StateMemoryFootprint {
+  private final int stateCount;
+  private final int skippedStateCount;
+  private final boolean truncated;
+  private final long uniqueBytes;
+  private final long sharedBytes;
+  private final List<OwnerFootprint> owners;
+  private final List<FieldFootprint> fields;
+
+  public StateMemoryFootprint(
+      final int stateCount,
+      final int skippedStateCount,
+      final boolean truncated,
+      final long uniqueBytes,
+      final long sharedBytes,
+      final List<OwnerFootprint> owners,
+      final List<FieldFootprint> fields) {
+    this.stateCount = stateCount;
+    this.skippedStateCount = skippedStateCount;
+    this.truncated = truncated;
+    this.uniqueBytes = uniqueBytes;
+    this.sharedBytes = sharedBytes;
+    this.owners = owners;
+    this.fields = fields;
+  }
+
+  /** Number of states that were analysed, including a state that was only partially analysed. */
+  public int getStateCount() {
+    return stateCount;
+  }
+
+  /** Number of states that were not analysed because the node limit had been reached. */
+  public int getSkippedStateCount() {
+    return skippedStateCount;
+  }
+
+  /** True if the node limit was reached, in which case the sizes only cover part of the states. */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  /** Total size of all distinct tree nodes reachable from the analysed states. */
+  public long getTotalBytes() {
+    return uniqueBytes + sharedBytes;
+  }
+
+  /** Size of the nodes referenced by exactly one state. */
+  public long getUniqueBytes() {
+    return uniqueBytes;
+  }
+
+  /** Size of the nodes referenced by more than one state, each node counted once. */
+  public long getSharedBytes() {
+    return sharedBytes;
+  }
+
+  public List<OwnerFootprint> getOwners() {
+    return owners;
+  }
+
+  public List<FieldFootprint> getFields() {
+    return fields;
+  }
+
+  public static class OwnerFootprint {
+    private final String name;
+    private final int stateCount;
+    private final long uniqueBytes;
+    private final long sharedBytes;
+
+    public OwnerFootprint(
+        final String name, final int stateCount, final long uniqueBytes, final long sharedBytes) {
+      this.name = name;
+      this.stateCount = stateCount;
+      this.uniqueBytes = uniqueBytes;
+      this.sharedBytes = sharedBytes;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getStateCount() {
+      return stateCount;
+    }
+
+    /** Size of the nodes only referenced by a single state of this owner. */
+    public long getUniqueBytes() {
+      return uniqueBytes;
+    }
+
+    /**
+     * Size of the nodes this owner references that are also referenced by other states. These
+     * bytes are counted against every owner that references them.
+     */
+    public long getSharedBytes() {
+      return sharedBytes;
+    }
+  }
+
+  public static class FieldFootprint {
+    private final String name;
+    private final long uniqueBytes;
+    private final long sharedBytes;
+
+    public FieldFootprint(final String name, final long uniqueBytes, final long sharedBytes) {
+      this.name = name;
+      this.uniqueBytes = uniqueBytes;
+      this.sharedBytes = sharedBytes;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getUniqueBytes() {
+      return uniqueBytes;
+    }
+
+    public long getSharedBytes() {
+      return sharedBytes;
+    }
+  }
+}
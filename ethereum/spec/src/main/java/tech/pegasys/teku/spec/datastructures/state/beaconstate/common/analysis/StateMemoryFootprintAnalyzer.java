@@ -0,0 +1,239 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszContainerSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.BranchNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.LazyBranchNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.LeafDataNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.FieldFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.OwnerFootprint;
+
+/**
+ * Estimates how much heap a set of {@link BeaconState} instances retain, taking into account that
+ * states share unchanged subtrees with each other.
+ *
+ * <p>Each state is registered with the name of the cache that owns it. Tree nodes are deduplicated
+ * by identity: a node reachable from a single state is counted as unique to that state, a node
+ * reachable from more than one state is counted as shared and attributed to every owner that
+ * references it. The pre-allocated zero trees are global and ignored. Lazily loaded branches and
+ * {@link tech.pegasys.teku.infrastructure.ssz.tree.SszSuperNode}s are not descended into so that
+ * the analysis never loads data or expands packed nodes.
+ *
+ * <p>Sizes are estimates for a 64-bit JVM with compressed oops and assume branch hashes have been
+ * computed, which is the case for any state held in a cache.
+ *
+ * <p>The number of distinct nodes visited is bounded so the analysis has a predictable cost. Once
+ * the limit is reached the remaining fields and states are skipped and the result is marked as
+ * truncated.
+ */
+public class StateMemoryFootprintAnalyzer {
+  static final int MAX_OWNERS = Integer.SIZE;
+
+  private static final long OBJECT_HEADER_SIZE = 12;
+  private static final long REFERENCE_SIZE = 4;
+  private static final long ARRAY_HEADER_SIZE = 16;
+  private static final long BYTES_WRAPPER_SIZE = 24;
+  private static final long BRANCH_NODE_SIZE =
+      align(OBJECT_HEADER_SIZE + 3 * REFERENCE_SIZE) + bytesSize(32);
+  private static final long LEAF_NODE_SIZE = align(OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE);
+
+  private final Map<TreeNode, NodeInfo> nodes = new IdentityHashMap<>();
+  private final Map<String, Integer> ownerIndices = new LinkedHashMap<>();
+  private final List<Integer> ownerStateCounts = new ArrayList<>();
+  private final Map<String, Integer> fieldIndices = new LinkedHashMap<>();
+  private final int maxNodes;
+  private int stateCount = 0;
+  private int skippedStateCount = 0;
+  private boolean truncated = false;
+
+  public StateMemoryFootprintAnalyzer() {
+    this(Integer.MAX_VALUE);
+  }
+
+  public StateMemoryFootprintAnalyzer(final int maxNodes) {
+    checkArgument(maxNodes > 0, "Max nodes must be positive");
+    this.maxNodes = maxNodes;
+  }
+
+  public StateMemoryFootprintAnalyzer addState(final String owner, final BeaconState state) {
+    if (truncated) {
+      skippedStateCount++;
+      return this;
+    }
+    final int ownerBit = 1 << getOwnerIndex(owner);
+    final int stateIndex = stateCount++;
+    final SszContainerSchema<?> schema = state.getSchema();
+    final TreeNode backingNode = state.getBackingNode();
+    for (int i = 0; i < schema.getFieldsCount() && !truncated; i++) {
+      final int fieldIndex =
+          fieldIndices.computeIfAbsent(schema.getFieldNames().get(i), __ -> fieldIndices.size());
+      addSubtree(
+          backingNode.get(schema.getChildGeneralizedIndex(i)), fieldIndex, stateIndex, ownerBit);
+    }
+    return this;
+  }
+
+  public StateMemoryFootprint analyze() {
+    final long[] fieldUniqueBytes = new long[fieldIndices.size()];
+    final long[] fieldSharedBytes = new long[fieldIndices.size()];
+    final long[] ownerUniqueBytes = new long[ownerIndices.size()];
+    final long[] ownerSharedBytes = new long[ownerIndices.size()];
+    long uniqueBytes = 0;
+    long sharedBytes = 0;
+    for (NodeInfo info : nodes.values()) {
+      if (info.shared) {
+        sharedBytes += info.size;
+        fieldSharedBytes[info.fieldIndex] += info.size;
+        for (int owner = 0; owner < ownerSharedBytes.length; owner++) {
+          if ((info.ownerMask & (1 << owner)) != 0) {
+            ownerSharedBytes[owner] += info.size;
+          }
+        }
+      } else {
+        uniqueBytes += info.size;
+        fieldUniqueBytes[info.fieldIndex] += info.size;
+        ownerUniqueBytes[Integer.numberOfTrailingZeros(info.ownerMask)] += info.size;
+      }
+    }
+
+    final List<OwnerFootprint> owners = new ArrayList<>();
+    ownerIndices.forEach(
+        (name, index) ->
+            owners.add(
+                new OwnerFootprint(
+                    name,
+                    ownerStateCounts.get(index),
+                    ownerUniqueBytes[index],
+                    ownerSharedBytes[index])));
+    final List<FieldFootprint> fields = new ArrayList<>();
+    fieldIndices.forEach(
+        (name, index) ->
+            fields.add(new FieldFootprint(name, fieldUniqueBytes[index], fieldSharedBytes[index])));
+    return new StateMemoryFootprint(
+        stateCount, skippedStateCount, truncated, uniqueBytes, sharedBytes, owners, fields);
+  }
+
+  private int getOwnerIndex(final String owner) {
+    Integer index = ownerIndices.get(owner);
+    if (index == null) {
+      checkArgument(ownerIndices.size() < MAX_OWNERS, "Too many state owners");
+      index = ownerIndices.size();
+      ownerIndices.put(owner, index);
+      ownerStateCounts.add(0);
+    }
+    ownerStateCounts.set(index, ownerStateCounts.get(index) + 1);
+    return index;
+  }
+
+  private void addSubtree(
+      final TreeNode root, final int fieldIndex, final int stateIndex, final int ownerBit) {
+    final Deque<TreeNode> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      final TreeNode node = stack.pop();
+      if (isZeroTree(node)) {
+        continue;
+      }
+      final NodeInfo info = nodes.get(node);
+      if (info == null) {
+        if (nodes.size() >= maxNodes) {
+          truncated = true;
+          return;
+        }
+        nodes.put(node, new NodeInfo(estimateSize(node), fieldIndex, stateIndex, ownerBit));
+        pushChildren(stack, node);
+      } else if (info.lastStateIndex != stateIndex) {
+        // Reached from another state, so this node and everything below it is shared
+        info.lastStateIndex = stateIndex;
+        markShared(node, ownerBit);
+      }
+    }
+  }
+
+  private void markShared(final TreeNode root, final int ownerBit) {
+    final Deque<TreeNode> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      final TreeNode node = stack.pop();
+      final NodeInfo info = isZeroTree(node) ? null : nodes.get(node);
+      if (info == null || (info.shared && (info.ownerMask & ownerBit) != 0)) {
+        // Descendants of a node that is already shared with this owner are too
+        continue;
+      }
+      info.shared = true;
+      info.ownerMask |= ownerBit;
+      pushChildren(stack, node);
+    }
+  }
+
+  private static void pushChildren(final Deque<TreeNode> stack, final TreeNode node) {
+    if (node instanceof BranchNode && !(node instanceof LazyBranchNode)) {
+      final BranchNode branchNode = (BranchNode) node;
+      stack.push(branchNode.right());
+      stack.push(branchNode.left());
+    }
+  }
+
+  private static boolean isZeroTree(final TreeNode node) {
+    return node instanceof TreeUtil.ZeroBranchNode || node instanceof TreeUtil.ZeroLeafNode;
+  }
+
+  static long estimateSize(final TreeNode node) {
+    if (node instanceof BranchNode) {
+      return BRANCH_NODE_SIZE;
+    } else if (node instanceof LeafDataNode) {
+      // Leaf nodes holding 32 bytes use the data as the cached hash
+      return LEAF_NODE_SIZE + bytesSize(((LeafDataNode) node).getData().size());
+    } else {
+      return LEAF_NODE_SIZE;
+    }
+  }
+
+  private static long bytesSize(final int length) {
+    return BYTES_WRAPPER_SIZE + align(ARRAY_HEADER_SIZE + length);
+  }
+
+  private static long align(final long size) {
+    return (size + 7) & ~7L;
+  }
+
+  private static class NodeInfo {
+    private final long size;
+    private final int fieldIndex;
+    private int lastStateIndex;
+    private int ownerMask;
+    private boolean shared = false;
+
+    private NodeInfo(
+        final long size, final int fieldIndex, final int lastStateIndex, final int ownerMask) {
+      this.size = size;
+      this.fieldIndex = fieldIndex;
+      this.lastStateIndex = lastStateIndex;
+      this.ownerMask = ownerMask;
+    }
+  }
+}
@@ -13,17 +13,65 @@
 
 package tech.pegasys.teku.spec.datastructures.util;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import tech.pegasys.teku.infrastructure.io.resource.ResourceLoader;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 
 public class ChainDataLoader {
+  private static final Logger LOG = LogManager.getLogger();
+
+  /**
+   * Loads a state from a local file or URL.
+   *
+   * <p>States are deserialized from a memory mapped file rather than being read onto the heap
+   * first. Remote states are downloaded to a temporary file which is removed once loaded.
+   */
   public static BeaconState loadState(final Spec spec, final String source) throws IOException {
-    return spec.deserializeBeaconState(
-        ResourceLoader.urlOrFile("application/octet-stream")
-            .loadBytes(source)
-            .orElseThrow(() -> new FileNotFoundException("Not found")));
+    final File file = new File(source);
+    if (file.isFile()) {
+      return loadStateFromFile(spec, file.toPath());
+    }
+
+    final Path tempFile = Files.createTempFile("teku-state-", ".ssz");
+    try {
+      try (InputStream in =
+          ResourceLoader.urlOrFile("application/octet-stream")
+              .load(source)
+              .orElseThrow(() -> new FileNotFoundException("Not found"))) {
+        Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return loadStateFromFile(spec, tempFile);
+    } finally {
+      deleteTempFile(tempFile);
+    }
+  }
+
+  private static BeaconState loadStateFromFile(final Spec spec, final Path path)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return spec.deserializeBeaconState(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  private static void deleteTempFile(final Path tempFile) {
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (IOException e) {
+      // Some platforms don't allow deleting a file while it is still mapped
+      LOG.debug("Failed to delete temporary state file {}", tempFile, e);
+      tempFile.toFile().deleteOnExit();
+    }
   }
 }
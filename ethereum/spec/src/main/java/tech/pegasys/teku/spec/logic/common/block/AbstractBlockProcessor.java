@@ -309,7 +309,8 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     processBlockHeader(state, block);
     processRandaoNoValidation(state, block.getBody());
     processEth1Data(state, block.getBody());
-    processOperationsNoValidation(state, block.getBody(), indexedAttestationCache);
+    processOperationsNoValidation(
+        state, block.getBody(), indexedAttestationCache, signatureVerifier);
   }
 
   @Override
@@ -396,10 +397,16 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     return state.getEth1DataVotes().stream().filter(item -> item.equals(eth1Data)).count();
   }
 
+  /**
+   * Processes the block operations without checking their signatures, except for attester
+   * slashings whose signatures are passed to {@code signatureVerifier} so that, when it is
+   * batching, they are verified along with the rest of the block's signatures.
+   */
   protected void processOperationsNoValidation(
       final MutableBeaconState state,
       final BeaconBlockBody body,
-      final IndexedAttestationCache indexedAttestationCache)
+      final IndexedAttestationCache indexedAttestationCache,
+      final BLSSignatureVerifier signatureVerifier)
       throws BlockProcessingException {
     safelyProcess(
         () -> {
@@ -417,7 +424,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
               "process_operations: Verify that outstanding deposits are processed up to the maximum number of deposits");
 
           processProposerSlashingsNoValidation(state, body.getProposerSlashings());
-          processAttesterSlashings(state, body.getAttesterSlashings());
+          processAttesterSlashings(state, body.getAttesterSlashings(), signatureVerifier);
           processAttestationsNoVerification(state, body.getAttestations(), indexedAttestationCache);
           processDeposits(state, body.getDeposits());
           processVoluntaryExitsNoValidation(state, body.getVoluntaryExits());
@@ -484,6 +491,14 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
   public void processAttesterSlashings(
       MutableBeaconState state, SszList<AttesterSlashing> attesterSlashings)
       throws BlockProcessingException {
+    processAttesterSlashings(state, attesterSlashings, BLSSignatureVerifier.SIMPLE);
+  }
+
+  protected void processAttesterSlashings(
+      final MutableBeaconState state,
+      final SszList<AttesterSlashing> attesterSlashings,
+      final BLSSignatureVerifier signatureVerifier)
+      throws BlockProcessingException {
     safelyProcess(
         () -> {
           // For each attester_slashing in block.body.attester_slashings:
@@ -491,7 +506,11 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
             List<UInt64> indicesToSlash = new ArrayList<>();
             final Optional<OperationInvalidReason> invalidReason =
                 operationValidator.validateAttesterSlashing(
-                    state.getFork(), state, attesterSlashing, indicesToSlash::add);
+                    state.getFork(),
+                    state,
+                    attesterSlashing,
+                    indicesToSlash::add,
+                    signatureVerifier);
 
             checkArgument(
                 invalidReason.isEmpty(),
@@ -36,6 +36,7 @@ import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPublicKeyRegistry;
 
 public abstract class BeaconStateAccessors {
   protected final SpecConfig config;
@@ -80,12 +81,16 @@ public abstract class BeaconStateAccessors {
             .get(
                 validatorIndex,
                 i -> {
-                  BLSPublicKey pubKey = state.getValidators().get(i.intValue()).getPublicKey();
+                  // Reuse the process wide instance so keys are only decompressed once
+                  final int index = i.intValue();
+                  BLSPublicKey pubKey =
+                      ValidatorPublicKeyRegistry.getInstance()
+                          .getPublicKey(index, state.getValidators().get(index).getPubkeyBytes());
 
                   // eagerly pre-cache pubKey => validatorIndex mapping
                   BeaconStateCache.getTransitionCaches(state)
                       .getValidatorIndexCache()
-                      .invalidateWithNewValue(pubKey, i.intValue());
+                      .invalidateWithNewValue(pubKey, index);
                   return pubKey;
                 }));
   }
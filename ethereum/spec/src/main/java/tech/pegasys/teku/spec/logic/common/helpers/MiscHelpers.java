@@ -32,7 +32,7 @@ import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.datastructures.state.ForkData;
 import tech.pegasys.teku.spec.datastructures.state.SigningData;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
-import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ShufflingCache;
 
 public class MiscHelpers {
 
@@ -40,6 +40,7 @@ public class MiscHelpers {
   public static final UInt64 MAX_RANDOM_BYTE = UInt64.valueOf(255);
 
   protected final SpecConfig specConfig;
+  private final ShufflingCache shufflingCache = new ShufflingCache();
 
   public MiscHelpers(final SpecConfig specConfig) {
     this.specConfig = specConfig;
@@ -137,19 +138,18 @@ public class MiscHelpers {
       BeaconState state, IntList indices, Bytes32 seed, int index, int count) {
     int start = Math.floorDiv(indices.size() * index, count);
     int end = Math.floorDiv(indices.size() * (index + 1), count);
-    return computeCommitteeShuffle(state, indices, seed, start, end);
+    return computeCommitteeShuffle(indices, seed, start, end);
   }
 
   private IntList computeCommitteeShuffle(
-      BeaconState state, IntList indices, Bytes32 seed, int fromIndex, int toIndex) {
+      IntList indices, Bytes32 seed, int fromIndex, int toIndex) {
     if (fromIndex < toIndex) {
       int indexCount = indices.size();
       checkArgument(fromIndex < indexCount, "CommitteeUtil.getShuffledIndex1");
       checkArgument(toIndex <= indexCount, "CommitteeUtil.getShuffledIndex1");
     }
-    return BeaconStateCache.getTransitionCaches(state)
-        .getCommitteeShuffle()
-        .get(seed, s -> shuffleList(indices, s))
+    return shufflingCache
+        .getShuffling(seed, indices, this::shuffleList)
         .subList(fromIndex, toIndex);
   }
 
@@ -19,6 +19,7 @@ import static tech.pegasys.teku.spec.logic.common.operations.validation.Operatio
 
 import java.util.Optional;
 import java.util.Set;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.operations.AttesterSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.IndexedAttestation;
@@ -55,6 +56,16 @@ public class AttesterSlashingValidator
       final BeaconState state,
       final AttesterSlashing attesterSlashing,
       final SlashedIndicesCaptor slashedIndicesCaptor) {
+    return validate(
+        fork, state, attesterSlashing, slashedIndicesCaptor, BLSSignatureVerifier.SIMPLE);
+  }
+
+  public Optional<OperationInvalidReason> validate(
+      final Fork fork,
+      final BeaconState state,
+      final AttesterSlashing attesterSlashing,
+      final SlashedIndicesCaptor slashedIndicesCaptor,
+      final BLSSignatureVerifier signatureVerifier) {
     IndexedAttestation attestation1 = attesterSlashing.getAttestation1();
     IndexedAttestation attestation2 = attesterSlashing.getAttestation2();
     return firstOf(
@@ -65,11 +76,15 @@ public class AttesterSlashingValidator
                 AttesterSlashingInvalidReason.ATTESTATIONS_NOT_SLASHABLE),
         () ->
             check(
-                attestationUtil.isValidIndexedAttestation(fork, state, attestation1).isSuccessful(),
+                attestationUtil
+                    .isValidIndexedAttestation(fork, state, attestation1, signatureVerifier)
+                    .isSuccessful(),
                 AttesterSlashingInvalidReason.ATTESTATION_1_INVALID),
         () ->
             check(
-                attestationUtil.isValidIndexedAttestation(fork, state, attestation2).isSuccessful(),
+                attestationUtil
+                    .isValidIndexedAttestation(fork, state, attestation2, signatureVerifier)
+                    .isSuccessful(),
                 AttesterSlashingInvalidReason.ATTESTATION_2_INVALID),
         () -> {
           boolean slashedAny = false;
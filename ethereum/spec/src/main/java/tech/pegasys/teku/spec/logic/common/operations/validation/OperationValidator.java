@@ -14,6 +14,7 @@
 package tech.pegasys.teku.spec.logic.common.operations.validation;
 
 import java.util.Optional;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
 import tech.pegasys.teku.spec.datastructures.operations.AttesterSlashing;
@@ -83,6 +84,16 @@ public class OperationValidator {
     return attesterSlashingValidator.validate(fork, state, attesterSlashing, slashedIndicesCaptor);
   }
 
+  public Optional<OperationInvalidReason> validateAttesterSlashing(
+      final Fork fork,
+      final BeaconState state,
+      final AttesterSlashing attesterSlashing,
+      final SlashedIndicesCaptor slashedIndicesCaptor,
+      final BLSSignatureVerifier signatureVerifier) {
+    return attesterSlashingValidator.validate(
+        fork, state, attesterSlashing, slashedIndicesCaptor, signatureVerifier);
+  }
+
   public Optional<OperationInvalidReason> validateProposerSlashing(
       final Fork fork, final BeaconState state, final ProposerSlashing proposerSlashing) {
     return proposerSlashingValidator.validate(fork, state, proposerSlashing);
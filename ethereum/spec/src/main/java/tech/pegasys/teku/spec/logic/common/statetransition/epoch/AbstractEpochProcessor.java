@@ -21,7 +21,6 @@ import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.SszMutableList;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBitvector;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
-import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.ProgressiveBalancesMode;
 import tech.pegasys.teku.spec.config.SpecConfig;
@@ -37,7 +36,6 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.Transition
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateMutators;
 import tech.pegasys.teku.spec.logic.common.helpers.MiscHelpers;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ProgressiveTotalBalancesUpdates;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
@@ -287,13 +285,13 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
   protected void applyDeltas(
       final MutableBeaconState state, final RewardAndPenaltyDeltas attestationDeltas) {
     final SszMutableUInt64List balances = state.getBalances();
-    // To optimize performance, calculate validator size once outside of the loop
-    int validatorsCount = state.getValidators().size();
-    for (int i = 0; i < validatorsCount; i++) {
-      final RewardAndPenalty delta = attestationDeltas.getDelta(i);
-      balances.setElement(
-          i, balances.getElement(i).plus(delta.getReward()).minusMinZero(delta.getPenalty()));
+    // Every balance is potentially updated so read and write them in bulk rather than per element
+    final long[] currentBalances = balances.toLongArray();
+    final long[] newBalances = new long[currentBalances.length];
+    for (int i = 0; i < newBalances.length; i++) {
+      newBalances[i] = attestationDeltas.applyToBalance(i, currentBalances[i]);
     }
+    balances.setAllElements(currentBalances, newBalances);
   }
 
   /** Processes validator registry updates */
@@ -427,22 +425,29 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
       final MutableBeaconState state, final List<ValidatorStatus> statuses) {
     // Update effective balances with hysteresis
     SszMutableList<Validator> validators = state.getValidators();
-    SszUInt64List balances = state.getBalances();
+    final long[] balances = state.getBalances().toLongArray();
+    final long effectiveBalanceIncrement = specConfig.getEffectiveBalanceIncrement().longValue();
+    final long maxEffectiveBalance = specConfig.getMaxEffectiveBalance().longValue();
+    final long hysteresisIncrement =
+        effectiveBalanceIncrement / specConfig.getHysteresisQuotient().longValue();
+    final long downwardThreshold =
+        Math.multiplyExact(
+            hysteresisIncrement, specConfig.getHysteresisDownwardMultiplier().longValue());
+    final long upwardThreshold =
+        Math.multiplyExact(
+            hysteresisIncrement, specConfig.getHysteresisUpwardMultiplier().longValue());
     for (int index = 0; index < validators.size(); index++) {
-      ValidatorStatus status = statuses.get(index);
-      UInt64 balance = balances.getElement(index);
+      final ValidatorStatus status = statuses.get(index);
+      final long balance = balances[index];
 
-      final UInt64 hysteresisIncrement =
-          specConfig.getEffectiveBalanceIncrement().dividedBy(specConfig.getHysteresisQuotient());
-      final UInt64 currentEffectiveBalance = status.getCurrentEpochEffectiveBalance();
-      if (shouldDecreaseEffectiveBalance(balance, hysteresisIncrement, currentEffectiveBalance)
+      final long currentEffectiveBalance = status.getCurrentEpochEffectiveBalance().longValue();
+      if (shouldDecreaseEffectiveBalance(balance, downwardThreshold, currentEffectiveBalance)
           || shouldIncreaseEffectiveBalance(
-              balance, hysteresisIncrement, currentEffectiveBalance)) {
+              balance, upwardThreshold, currentEffectiveBalance, maxEffectiveBalance)) {
         Validator validator = validators.get(index);
         final UInt64 newEffectiveBalance =
-            balance
-                .minus(balance.mod(specConfig.getEffectiveBalanceIncrement()))
-                .min(specConfig.getMaxEffectiveBalance());
+            UInt64.valueOf(
+                Math.min(balance - balance % effectiveBalanceIncrement, maxEffectiveBalance));
         BeaconStateCache.getTransitionCaches(state)
             .getProgressiveTotalBalances()
             .onEffectiveBalanceChange(status, newEffectiveBalance);
@@ -451,25 +456,20 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
     }
   }
 
-  private boolean shouldIncreaseEffectiveBalance(
-      final UInt64 balance,
-      final UInt64 hysteresisIncrement,
-      final UInt64 currentEffectiveBalance) {
-    final UInt64 upwardThreshold =
-        hysteresisIncrement.times(specConfig.getHysteresisUpwardMultiplier());
+  private static boolean shouldIncreaseEffectiveBalance(
+      final long balance,
+      final long upwardThreshold,
+      final long currentEffectiveBalance,
+      final long maxEffectiveBalance) {
     // This condition doesn't match the spec but is an optimisation to avoid creating a new
     // validator with the same effective balance when it's already at the maximum.
-    return !currentEffectiveBalance.equals(specConfig.getMaxEffectiveBalance())
-        && currentEffectiveBalance.plus(upwardThreshold).isLessThan(balance);
+    return currentEffectiveBalance != maxEffectiveBalance
+        && Math.addExact(currentEffectiveBalance, upwardThreshold) < balance;
   }
 
-  private boolean shouldDecreaseEffectiveBalance(
-      final UInt64 balance,
-      final UInt64 hysteresisIncrement,
-      final UInt64 currentEffectiveBalance) {
-    final UInt64 downwardThreshold =
-        hysteresisIncrement.times(specConfig.getHysteresisDownwardMultiplier());
-    return balance.plus(downwardThreshold).isLessThan(currentEffectiveBalance);
+  private static boolean shouldDecreaseEffectiveBalance(
+      final long balance, final long downwardThreshold, final long currentEffectiveBalance) {
+    return Math.addExact(balance, downwardThreshold) < currentEffectiveBalance;
   }
 
   @Override
@@ -21,6 +21,7 @@ import com.google.common.collect.Comparators;
 import it.unimi.dsi.fastutil.ints.IntList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -158,6 +159,31 @@ public class AttestationUtil {
       final BeaconState state,
       final ValidateableAttestation attestation,
       final AsyncBLSSignatureVerifier blsSignatureVerifier) {
+    return isValidIndexedAttestationAsync(
+        fork, state, attestation, blsSignatureVerifier, Optional.empty());
+  }
+
+  /**
+   * As {@link #isValidIndexedAttestationAsync(Fork, BeaconState, ValidateableAttestation,
+   * AsyncBLSSignatureVerifier)} but using a signing root previously calculated with {@link
+   * #getAttestationSigningRoot(Fork, BeaconState, AttestationData)} for the same attestation data.
+   */
+  public SafeFuture<AttestationProcessingResult> isValidIndexedAttestationAsync(
+      final Fork fork,
+      final BeaconState state,
+      final ValidateableAttestation attestation,
+      final AsyncBLSSignatureVerifier blsSignatureVerifier,
+      final Bytes signingRoot) {
+    return isValidIndexedAttestationAsync(
+        fork, state, attestation, blsSignatureVerifier, Optional.of(signingRoot));
+  }
+
+  private SafeFuture<AttestationProcessingResult> isValidIndexedAttestationAsync(
+      final Fork fork,
+      final BeaconState state,
+      final ValidateableAttestation attestation,
+      final AsyncBLSSignatureVerifier blsSignatureVerifier,
+      final Optional<Bytes> maybeSigningRoot) {
     if (attestation.isValidIndexedAttestation()
         && attestation.getIndexedAttestation().isPresent()) {
       return completedFuture(AttestationProcessingResult.SUCCESSFUL);
@@ -176,7 +202,11 @@ public class AttestationUtil {
               if (attestation.isValidIndexedAttestation()) {
                 return completedFuture(AttestationProcessingResult.SUCCESSFUL);
               }
-              return isValidIndexedAttestationAsync(fork, state, att, blsSignatureVerifier);
+              final Bytes signingRoot =
+                  maybeSigningRoot.orElseGet(
+                      () -> getAttestationSigningRoot(fork, state, att.getData()));
+              return isValidIndexedAttestationAsync(
+                  state, att, blsSignatureVerifier, signingRoot);
             })
         .thenApply(
             result -> {
@@ -228,6 +258,29 @@ public class AttestationUtil {
       final BeaconState state,
       final IndexedAttestation indexedAttestation,
       final AsyncBLSSignatureVerifier signatureVerifier) {
+    return isValidIndexedAttestationAsync(
+        state,
+        indexedAttestation,
+        signatureVerifier,
+        getAttestationSigningRoot(fork, state, indexedAttestation.getData()));
+  }
+
+  public Bytes getAttestationSigningRoot(
+      final Fork fork, final BeaconState state, final AttestationData attestationData) {
+    final Bytes32 domain =
+        beaconStateAccessors.getDomain(
+            Domain.BEACON_ATTESTER,
+            attestationData.getTarget().getEpoch(),
+            fork,
+            state.getGenesisValidatorsRoot());
+    return miscHelpers.computeSigningRoot(attestationData, domain);
+  }
+
+  private SafeFuture<AttestationProcessingResult> isValidIndexedAttestationAsync(
+      final BeaconState state,
+      final IndexedAttestation indexedAttestation,
+      final AsyncBLSSignatureVerifier signatureVerifier,
+      final Bytes signingRoot) {
     final SszUInt64List indices = indexedAttestation.getAttestingIndices();
 
     if (indices.isEmpty()
@@ -247,14 +300,6 @@ public class AttestationUtil {
     }
 
     final BLSSignature signature = indexedAttestation.getSignature();
-    final Bytes32 domain =
-        beaconStateAccessors.getDomain(
-            Domain.BEACON_ATTESTER,
-            indexedAttestation.getData().getTarget().getEpoch(),
-            fork,
-            state.getGenesisValidatorsRoot());
-    final Bytes signingRoot = miscHelpers.computeSigningRoot(indexedAttestation.getData(), domain);
-
     return signatureVerifier
         .verify(pubkeys, signingRoot, signature)
         .thenApply(
@@ -87,6 +87,8 @@ public class BlockProposalUtil {
             block -> {
               // Run state transition and set state root
               // Skip verifying signatures as all operations are coming from our own pools.
+              // Pooled operations, including attester slashings, have their signatures checked
+              // when added to the pool and again when selected for the block.
 
               final BeaconState newState =
                   blockProcessor.processUnsignedBlock(
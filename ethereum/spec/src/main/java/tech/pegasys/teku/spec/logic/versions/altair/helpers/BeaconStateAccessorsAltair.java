@@ -53,6 +53,16 @@ public class BeaconStateAccessorsAltair extends BeaconStateAccessors {
     this.altairConfig = config;
   }
 
+  public static BeaconStateAccessorsAltair required(
+      final BeaconStateAccessors beaconStateAccessors) {
+    if (!(beaconStateAccessors instanceof BeaconStateAccessorsAltair)) {
+      throw new IllegalArgumentException(
+          "Expected altair beacon state accessors but got: "
+              + beaconStateAccessors.getClass().getSimpleName());
+    }
+    return (BeaconStateAccessorsAltair) beaconStateAccessors;
+  }
+
   public UInt64 getBaseRewardPerIncrement(final BeaconState state) {
     return BeaconStateCache.getTransitionCaches(state)
         .getBaseRewardPerIncrement()
@@ -151,6 +151,11 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
     final SszMutableUInt64List inactivityScores = state.getInactivityScores();
     final List<ValidatorStatus> statuses = validatorStatuses.getStatuses();
     final boolean isInInactivityLeak = beaconStateAccessors.isInactivityLeak(state);
+    final long inactivityScoreBias = specConfigAltair.getInactivityScoreBias().longValue();
+    final long recoveryRate = specConfigAltair.getInactivityScoreRecoveryRate().longValue();
+    // Read all scores in one pass but only write back the changed ones so unchanged parts of the
+    // tree keep their cached hashes
+    final long[] currentScores = inactivityScores.toLongArray();
     for (int i = 0; i < statuses.size(); i++) {
       final ValidatorStatus validatorStatus = statuses.get(i);
       if (!validatorStatus.isEligibleValidator()) {
@@ -158,19 +163,19 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
       }
 
       // Increase inactivity score of inactive validators
-      final UInt64 currentScore = inactivityScores.getElement(i);
-      UInt64 newScore;
+      final long currentScore = currentScores[i];
+      long newScore;
       if (validatorStatus.isNotSlashed() && validatorStatus.isPreviousEpochTargetAttester()) {
-        newScore = currentScore.minusMinZero(1);
+        newScore = Math.max(currentScore - 1, 0);
       } else {
-        newScore = currentScore.plus(specConfigAltair.getInactivityScoreBias());
+        newScore = Math.addExact(currentScore, inactivityScoreBias);
       }
       // Decrease the score of all validators for forgiveness when not during a leak
       if (!isInInactivityLeak) {
-        newScore = newScore.minusMinZero(specConfigAltair.getInactivityScoreRecoveryRate());
+        newScore = Math.max(newScore - recoveryRate, 0);
       }
-      if (!currentScore.equals(newScore)) {
-        inactivityScores.setElement(i, newScore);
+      if (currentScore != newScore) {
+        inactivityScores.setElement(i, UInt64.valueOf(newScore));
       }
     }
   }
@@ -15,19 +15,17 @@ package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
 
 import static tech.pegasys.teku.spec.constants.IncentivizationWeights.WEIGHT_DENOMINATOR;
 import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
 import static tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair.PARTICIPATION_FLAG_WEIGHTS;
 
-import java.util.List;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfigAltair;
 import tech.pegasys.teku.spec.constants.ParticipationFlags;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardsAndPenaltiesCalculator;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
 import tech.pegasys.teku.spec.logic.versions.altair.helpers.BeaconStateAccessorsAltair;
 import tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair;
@@ -39,6 +37,9 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
 
   private final BeaconStateAltair stateAltair;
 
+  private ValidatorStatusColumns statusColumns;
+  private long[] inactivityScores;
+
   public RewardsAndPenaltiesCalculatorAltair(
       final SpecConfigAltair specConfig,
       final BeaconStateAltair state,
@@ -51,17 +52,31 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
     this.beaconStateAccessorsAltair = beaconStateAccessors;
   }
 
-  /** Return attestation reward/penalty deltas for each validator */
+  /**
+   * Return attestation reward/penalty deltas for each validator
+   *
+   * <p>All flag and inactivity deltas for a validator are calculated in a single pass over the
+   * primitive status columns, with chunks of validators processed in parallel.
+   */
   @Override
   public RewardAndPenaltyDeltas getDeltas() throws IllegalArgumentException {
     final RewardAndPenaltyDeltas deltas =
         new RewardAndPenaltyDeltas(validatorStatuses.getValidatorCount());
-
-    for (int flagIndex = 0; flagIndex < PARTICIPATION_FLAG_WEIGHTS.size(); flagIndex++) {
-      processFlagIndexDeltas(deltas, flagIndex);
+    final FlagIndexRewards[] flagIndexRewards =
+        new FlagIndexRewards[PARTICIPATION_FLAG_WEIGHTS.size()];
+    for (int flagIndex = 0; flagIndex < flagIndexRewards.length; flagIndex++) {
+      flagIndexRewards[flagIndex] = getFlagIndexRewards(flagIndex);
     }
-    processInactivityPenaltyDeltas(deltas);
-
+    final long[] scores = getInactivityScores();
+
+    ValidatorStatusColumns.processInChunks(
+        validatorStatuses.getValidatorCount(),
+        (fromIndex, toIndex) -> {
+          for (final FlagIndexRewards rewards : flagIndexRewards) {
+            processFlagIndexDeltas(deltas, rewards, fromIndex, toIndex);
+          }
+          processInactivityPenaltyDeltas(deltas, scores, fromIndex, toIndex);
+        });
     return deltas;
   }
 
@@ -75,7 +90,41 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
    * @param flagIndex The flag index to process
    */
   public void processFlagIndexDeltas(final RewardAndPenaltyDeltas deltas, final int flagIndex) {
-    final List<ValidatorStatus> statusList = validatorStatuses.getStatuses();
+    final FlagIndexRewards rewards = getFlagIndexRewards(flagIndex);
+    ValidatorStatusColumns.processInChunks(
+        validatorStatuses.getValidatorCount(),
+        (fromIndex, toIndex) -> processFlagIndexDeltas(deltas, rewards, fromIndex, toIndex));
+  }
+
+  private void processFlagIndexDeltas(
+      final RewardAndPenaltyDeltas deltas,
+      final FlagIndexRewards rewards,
+      final int fromIndex,
+      final int toIndex) {
+    final ValidatorStatusColumns columns = getStatusColumns();
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (!columns.isEligibleValidator(i)) {
+        continue;
+      }
+      final long baseRewardTimesWeight =
+          Math.multiplyExact(
+              getBaseReward(rewards.baseRewardPerIncrement, columns.getEffectiveBalance(i)),
+              rewards.weight);
+      if (columns.isUnslashedPreviousEpochParticipant(i, rewards.flagIndex)) {
+        if (!isInactivityLeak()) {
+          final long rewardNumerator =
+              Math.multiplyExact(baseRewardTimesWeight, rewards.unslashedParticipatingIncrements);
+          deltas.reward(i, rewardNumerator / rewards.rewardDenominator);
+        }
+      } else if (rewards.flagIndex != TIMELY_HEAD_FLAG_INDEX) {
+        deltas.penalize(i, baseRewardTimesWeight / WEIGHT_DENOMINATOR.longValue());
+      }
+    }
+  }
+
+  private FlagIndexRewards getFlagIndexRewards(final int flagIndex) {
+    // Make sure the columns exist before any parallel processing starts
+    getStatusColumns();
     final TotalBalances totalBalances = validatorStatuses.getTotalBalances();
 
     final UInt64 effectiveBalanceIncrement = specConfigAltair.getEffectiveBalanceIncrement();
@@ -89,44 +138,26 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
     // looking it up from there for every single validator is quite expensive.
     final UInt64 baseRewardPerIncrement =
         beaconStateAccessorsAltair.getBaseRewardPerIncrement(stateAltair);
-    for (int i = 0; i < statusList.size(); i++) {
-      final ValidatorStatus validator = statusList.get(i);
-      if (!validator.isEligibleValidator()) {
-        continue;
-      }
-      final RewardAndPenalty validatorDeltas = deltas.getDelta(i);
-
-      final UInt64 baseReward =
-          getBaseReward(effectiveBalanceIncrement, baseRewardPerIncrement, validator);
-      if (isUnslashedPrevEpochParticipatingIndex(validator, flagIndex)) {
-        if (!isInactivityLeak()) {
-          final UInt64 rewardNumerator =
-              baseReward.times(weight).times(unslashedParticipatingIncrements);
-          validatorDeltas.reward(
-              rewardNumerator.dividedBy(activeIncrements.times(WEIGHT_DENOMINATOR)));
-        }
-      } else if (flagIndex != TIMELY_HEAD_FLAG_INDEX) {
-        validatorDeltas.penalize(baseReward.times(weight).dividedBy(WEIGHT_DENOMINATOR));
-      }
-    }
+    return new FlagIndexRewards(
+        flagIndex,
+        weight.longValue(),
+        unslashedParticipatingIncrements.longValue(),
+        activeIncrements.times(WEIGHT_DENOMINATOR).longValue(),
+        baseRewardPerIncrement.longValue());
   }
 
   /**
    * Calculate the base reward for the validator.
    *
    * <p>This is equivalent to {@link BeaconStateAccessorsAltair#getBaseReward(BeaconState, int)} but
-   * uses the ValidatorStatus to get the effective balance and uses the precalculated
+   * uses the effective balance from the status columns and the precalculated
    * baseRewardPerIncrement. This is significantly faster than having to go back to the state for
    * the data.
    */
-  private UInt64 getBaseReward(
-      final UInt64 effectiveBalanceIncrement,
-      final UInt64 baseRewardPerIncrement,
-      final ValidatorStatus validator) {
-    return validator
-        .getCurrentEpochEffectiveBalance()
-        .dividedBy(effectiveBalanceIncrement)
-        .times(baseRewardPerIncrement);
+  private long getBaseReward(final long baseRewardPerIncrement, final long effectiveBalance) {
+    return Math.multiplyExact(
+        effectiveBalance / specConfigAltair.getEffectiveBalanceIncrement().longValue(),
+        baseRewardPerIncrement);
   }
 
   /**
@@ -138,24 +169,29 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
    * @param deltas The deltas accumulator (holding deltas for all validators) to be updated
    */
   public void processInactivityPenaltyDeltas(final RewardAndPenaltyDeltas deltas) {
-    final List<ValidatorStatus> statusList = validatorStatuses.getStatuses();
-    for (int i = 0; i < statusList.size(); i++) {
-      final ValidatorStatus validator = statusList.get(i);
-      if (!validator.isEligibleValidator()) {
-        continue;
-      }
-      if (validator.isPreviousEpochTargetAttester() && !validator.isSlashed()) {
+    final long[] scores = getInactivityScores();
+    ValidatorStatusColumns.processInChunks(
+        validatorStatuses.getValidatorCount(),
+        (fromIndex, toIndex) -> processInactivityPenaltyDeltas(deltas, scores, fromIndex, toIndex));
+  }
+
+  private void processInactivityPenaltyDeltas(
+      final RewardAndPenaltyDeltas deltas,
+      final long[] scores,
+      final int fromIndex,
+      final int toIndex) {
+    final ValidatorStatusColumns columns = getStatusColumns();
+    final long penaltyDenominator =
+        specConfigAltair.getInactivityScoreBias().times(getInactivityPenaltyQuotient()).longValue();
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (!columns.isEligibleValidator(i)
+          || columns.isUnslashedPreviousEpochParticipant(i, TIMELY_TARGET_FLAG_INDEX)) {
         continue;
       }
 
-      final UInt64 penaltyNumerator =
-          validator
-              .getCurrentEpochEffectiveBalance()
-              .times(stateAltair.getInactivityScores().get(i).get());
-      final UInt64 penaltyDenominator =
-          specConfigAltair.getInactivityScoreBias().times(getInactivityPenaltyQuotient());
-      final UInt64 penalty = penaltyNumerator.dividedBy(penaltyDenominator);
-      deltas.getDelta(i).penalize(penalty);
+      final long penaltyNumerator =
+          Math.multiplyExact(columns.getEffectiveBalance(i), scores[i]);
+      deltas.penalize(i, penaltyNumerator / penaltyDenominator);
     }
   }
 
@@ -163,18 +199,20 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
     return specConfigAltair.getInactivityPenaltyQuotientAltair();
   }
 
-  private boolean validatorHasPrevEpochParticipationFlag(
-      final ValidatorStatus validator, final int flagIndex) {
-    switch (flagIndex) {
-      case TIMELY_HEAD_FLAG_INDEX:
-        return validator.isPreviousEpochHeadAttester();
-      case ParticipationFlags.TIMELY_TARGET_FLAG_INDEX:
-        return validator.isPreviousEpochTargetAttester();
-      case ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX:
-        return validator.isPreviousEpochSourceAttester();
-      default:
-        throw new IllegalArgumentException("Unable to process unknown flag index:" + flagIndex);
+  private ValidatorStatusColumns getStatusColumns() {
+    if (statusColumns == null) {
+      statusColumns = ValidatorStatusColumns.create(validatorStatuses.getStatuses());
     }
+    return statusColumns;
+  }
+
+  private long[] getInactivityScores() {
+    if (inactivityScores == null) {
+      inactivityScores = stateAltair.getInactivityScores().toLongArray();
+    }
+    // Make sure the columns exist before any parallel processing starts
+    getStatusColumns();
+    return inactivityScores;
   }
 
   private UInt64 getPrevEpochTotalParticipatingBalance(final int flagIndex) {
@@ -191,9 +229,24 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
     }
   }
 
-  private boolean isUnslashedPrevEpochParticipatingIndex(
-      final ValidatorStatus validatorStatus, final int flagIndex) {
-    return validatorStatus.isNotSlashed()
-        && validatorHasPrevEpochParticipationFlag(validatorStatus, flagIndex);
+  private static class FlagIndexRewards {
+    private final int flagIndex;
+    private final long weight;
+    private final long unslashedParticipatingIncrements;
+    private final long rewardDenominator;
+    private final long baseRewardPerIncrement;
+
+    private FlagIndexRewards(
+        final int flagIndex,
+        final long weight,
+        final long unslashedParticipatingIncrements,
+        final long rewardDenominator,
+        final long baseRewardPerIncrement) {
+      this.flagIndex = flagIndex;
+      this.weight = weight;
+      this.unslashedParticipatingIncrements = unslashedParticipatingIncrements;
+      this.rewardDenominator = rewardDenominator;
+      this.baseRewardPerIncrement = baseRewardPerIncrement;
+    }
   }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
+
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
+
+/**
+ * The per-validator data needed for Altair rewards and inactivity processing, held in primitive
+ * arrays so the processing loops don't have to go through a {@link ValidatorStatus} per validator.
+ *
+ * <p>Work over the columns is split into chunks of consecutive validators which are processed in
+ * parallel on a dedicated pool for large validator sets. Each chunk must only write to the entries
+ * of its own validators.
+ */
+public class ValidatorStatusColumns {
+  static final int CHUNK_SIZE = 8192;
+  private static final int MIN_VALIDATORS_FOR_PARALLEL = 4 * CHUNK_SIZE;
+
+  // Epoch processing gets its own pool so it neither starves nor waits on common pool users
+  private static final ForkJoinPool EPOCH_PROCESSING_POOL =
+      new ForkJoinPool(
+          Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+          pool -> {
+            final ForkJoinWorkerThread thread =
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("epoch-processing-" + thread.getPoolIndex());
+            return thread;
+          },
+          null,
+          false);
+
+  // The lowest bits hold the previous epoch participation flags, indexed by flag index
+  private static final int ELIGIBLE = 1 << 5;
+  private static final int SLASHED = 1 << 6;
+
+  private final long[] effectiveBalances;
+  private final byte[] flags;
+
+  private ValidatorStatusColumns(final long[] effectiveBalances, final byte[] flags) {
+    this.effectiveBalances = effectiveBalances;
+    this.flags = flags;
+  }
+
+  public static ValidatorStatusColumns create(final List<ValidatorStatus> statuses) {
+    final long[] effectiveBalances = new long[statuses.size()];
+    final byte[] flags = new byte[statuses.size()];
+    processInChunks(
+        statuses.size(),
+        (fromIndex, toIndex) -> {
+          for (int i = fromIndex; i < toIndex; i++) {
+            final ValidatorStatus status = statuses.get(i);
+            effectiveBalances[i] = status.getCurrentEpochEffectiveBalance().longValue();
+            int validatorFlags = 0;
+            if (status.isPreviousEpochSourceAttester()) {
+              validatorFlags |= 1 << TIMELY_SOURCE_FLAG_INDEX;
+            }
+            if (status.isPreviousEpochTargetAttester()) {
+              validatorFlags |= 1 << TIMELY_TARGET_FLAG_INDEX;
+            }
+            if (status.isPreviousEpochHeadAttester()) {
+              validatorFlags |= 1 << TIMELY_HEAD_FLAG_INDEX;
+            }
+            if (status.isEligibleValidator()) {
+              validatorFlags |= ELIGIBLE;
+            }
+            if (status.isSlashed()) {
+              validatorFlags |= SLASHED;
+            }
+            flags[i] = (byte) validatorFlags;
+          }
+        });
+    return new ValidatorStatusColumns(effectiveBalances, flags);
+  }
+
+  public int size() {
+    return flags.length;
+  }
+
+  public long getEffectiveBalance(final int validatorIndex) {
+    return effectiveBalances[validatorIndex];
+  }
+
+  public boolean isEligibleValidator(final int validatorIndex) {
+    return (flags[validatorIndex] & ELIGIBLE) != 0;
+  }
+
+  public boolean isUnslashedPreviousEpochParticipant(
+      final int validatorIndex, final int flagIndex) {
+    final int flagBit = 1 << flagIndex;
+    return (flags[validatorIndex] & (SLASHED | flagBit)) == flagBit;
+  }
+
+  /**
+   * Calls the processor for consecutive ranges of validator indices covering {@code
+   * validatorCount} validators, in parallel on a dedicated pool when there are enough validators to
+   * make it worthwhile.
+   */
+  public static void processInChunks(final int validatorCount, final ChunkProcessor processor) {
+    if (validatorCount < MIN_VALIDATORS_FOR_PARALLEL) {
+      for (int fromIndex = 0; fromIndex < validatorCount; fromIndex += CHUNK_SIZE) {
+        processor.process(fromIndex, Math.min(validatorCount, fromIndex + CHUNK_SIZE));
+      }
+      return;
+    }
+    final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (int fromIndex = 0; fromIndex < validatorCount; fromIndex += CHUNK_SIZE) {
+      final int chunkFromIndex = fromIndex;
+      final int chunkToIndex = Math.min(validatorCount, fromIndex + CHUNK_SIZE);
+      tasks.add(ForkJoinTask.adapt(() -> processor.process(chunkFromIndex, chunkToIndex)));
+    }
+    EPOCH_PROCESSING_POOL.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+  }
+
+  public interface ChunkProcessor {
+    void process(int fromIndex, int toIndex);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.ssz.SszData;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncCommitteeContribution;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.schemas.SchemaDefinitionsAltair;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+/** Checks the generated specialised containers against the generic schema code paths */
+class SpecialisedContainersTest {
+
+  private static final Spec SPEC = TestSpecFactory.createMinimalAltair();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(SPEC);
+
+  static Stream<Arguments> containers() {
+    final DataStructureUtil dataStructureUtil = new DataStructureUtil(SPEC);
+    return Stream.of(
+        Arguments.of("Checkpoint", dataStructureUtil.randomCheckpoint()),
+        Arguments.of("AttestationData", dataStructureUtil.randomAttestationData()),
+        Arguments.of("Validator", dataStructureUtil.randomValidator()),
+        Arguments.of(
+            "SyncCommitteeContribution",
+            dataStructureUtil.randomSyncCommitteeContribution(UInt64.ONE)));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("containers")
+  void sszSerialize_shouldMatchSchemaSerialization(final String name, final SszData container) {
+    final Bytes expected = container.getSchema().sszSerializeTree(container.getBackingNode());
+
+    assertThat(container.sszSerialize()).isEqualTo(expected);
+
+    final SszByteArrayWriter writer = new SszByteArrayWriter(expected.size());
+    assertThat(container.sszSerialize(writer)).isEqualTo(expected.size());
+    assertThat(writer.toBytes()).isEqualTo(expected);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("containers")
+  void hashTreeRoot_shouldMatchBackingTreeRoot(final String name, final SszData container) {
+    assertThat(container.hashTreeRoot()).isEqualTo(container.getBackingNode().hashTreeRoot());
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("containers")
+  void shouldRoundTripViaSsz(final String name, final SszData container) {
+    final SszData deserialized = container.getSchema().sszDeserialize(container.sszSerialize());
+
+    assertThat(deserialized).isEqualTo(container);
+    assertThat(deserialized.hashTreeRoot()).isEqualTo(container.hashTreeRoot());
+    assertThat(deserialized.sszSerialize()).isEqualTo(container.sszSerialize());
+  }
+
+  @Test
+  void checkpoint_shouldReadTypedFieldsFromTree() {
+    final Checkpoint checkpoint = dataStructureUtil.randomCheckpoint();
+    final Checkpoint deserialized = Checkpoint.SSZ_SCHEMA.sszDeserialize(checkpoint.sszSerialize());
+
+    assertThat(deserialized.getEpoch()).isEqualTo(checkpoint.getEpoch());
+    assertThat(deserialized.getRoot()).isEqualTo(checkpoint.getRoot());
+  }
+
+  @Test
+  void attestationData_shouldReadTypedFieldsFromTree() {
+    final AttestationData data = dataStructureUtil.randomAttestationData();
+    final AttestationData deserialized =
+        AttestationData.SSZ_SCHEMA.sszDeserialize(data.sszSerialize());
+
+    assertThat(deserialized.getSlot()).isEqualTo(data.getSlot());
+    assertThat(deserialized.getIndex()).isEqualTo(data.getIndex());
+    assertThat(deserialized.getBeaconBlockRoot()).isEqualTo(data.getBeaconBlockRoot());
+    assertThat(deserialized.getSource()).isEqualTo(data.getSource());
+    assertThat(deserialized.getTarget()).isEqualTo(data.getTarget());
+  }
+
+  @Test
+  void validator_shouldReadTypedFieldsFromTree() {
+    final Validator validator = dataStructureUtil.randomValidator().withSlashed(true);
+    final Validator deserialized = Validator.SSZ_SCHEMA.sszDeserialize(validator.sszSerialize());
+
+    assertThat(deserialized.getPubkeyBytes()).isEqualTo(validator.getPubkeyBytes());
+    assertThat(deserialized.getWithdrawalCredentials())
+        .isEqualTo(validator.getWithdrawalCredentials());
+    assertThat(deserialized.getEffectiveBalance()).isEqualTo(validator.getEffectiveBalance());
+    assertThat(deserialized.isSlashed()).isTrue();
+    assertThat(deserialized.getActivationEligibilityEpoch())
+        .isEqualTo(validator.getActivationEligibilityEpoch());
+    assertThat(deserialized.getActivationEpoch()).isEqualTo(validator.getActivationEpoch());
+    assertThat(deserialized.getExitEpoch()).isEqualTo(validator.getExitEpoch());
+    assertThat(deserialized.getWithdrawableEpoch()).isEqualTo(validator.getWithdrawableEpoch());
+  }
+
+  @Test
+  void syncCommitteeContribution_shouldReadTypedFieldsFromTree() {
+    final SyncCommitteeContribution contribution =
+        dataStructureUtil.randomSyncCommitteeContribution(UInt64.ONE);
+    final SyncCommitteeContribution deserialized =
+        SchemaDefinitionsAltair.required(SPEC.getGenesisSchemaDefinitions())
+            .getSyncCommitteeContributionSchema()
+            .sszDeserialize(contribution.sszSerialize());
+
+    assertThat(deserialized.getSlot()).isEqualTo(contribution.getSlot());
+    assertThat(deserialized.getBeaconBlockRoot()).isEqualTo(contribution.getBeaconBlockRoot());
+    assertThat(deserialized.getSubcommitteeIndex()).isEqualTo(contribution.getSubcommitteeIndex());
+    assertThat(deserialized.getAggregationBits()).isEqualTo(contribution.getAggregationBits());
+    assertThat(deserialized.getSignature()).isEqualTo(contribution.getSignature());
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ShufflingCacheTest {
+  private static final Bytes32 SEED_1 = Bytes32.fromHexString("0x01");
+  private static final Bytes32 SEED_2 = Bytes32.fromHexString("0x02");
+  private static final Bytes32 SEED_3 = Bytes32.fromHexString("0x03");
+
+  private final AtomicInteger shuffleCount = new AtomicInteger();
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  private final ShufflingCache cache = new ShufflingCache(2);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldReuseShufflingForSameSeedAndValidatorSet() {
+    final IntList indices = IntList.of(1, 2, 3, 4);
+
+    final IntList shuffling = cache.getShuffling(SEED_1, indices, this::countingShuffle);
+
+    assertThat(shuffling).isEqualTo(shuffle(indices, SEED_1));
+    // Different list instances with the same content share the shuffling too
+    assertThat(cache.getShuffling(SEED_1, IntList.of(1, 2, 3, 4), this::countingShuffle))
+        .isSameAs(shuffling);
+    assertThat(shuffleCount).hasValue(1);
+  }
+
+  @Test
+  void shouldNotShareShufflingBetweenValidatorSetsOfDifferentSize() {
+    final IntList indices = IntList.of(1, 2, 3, 4);
+    final IntList moreIndices = IntList.of(1, 2, 3, 4, 5);
+
+    final IntList shuffling = cache.getShuffling(SEED_1, indices, this::countingShuffle);
+    final IntList otherShuffling = cache.getShuffling(SEED_1, moreIndices, this::countingShuffle);
+
+    assertThat(otherShuffling).isEqualTo(shuffle(moreIndices, SEED_1));
+    assertThat(cache.getShuffling(SEED_1, indices, this::countingShuffle)).isSameAs(shuffling);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotShareShufflingBetweenValidatorSetsOfSameSizeWithSameSeed() {
+    // Same size and the same IntList.hashCode() but different validators
+    final IntList indices = IntList.of(0, 31);
+    final IntList otherIndices = IntList.of(1, 0);
+    assertThat(indices.hashCode()).isEqualTo(otherIndices.hashCode());
+
+    cache.getShuffling(SEED_1, indices, this::countingShuffle);
+    final IntList otherShuffling = cache.getShuffling(SEED_1, otherIndices, this::countingShuffle);
+
+    assertThat(otherShuffling).containsExactlyInAnyOrderElementsOf(otherIndices);
+    assertThat(otherShuffling).isEqualTo(shuffle(otherIndices, SEED_1));
+  }
+
+  @Test
+  void shouldCalculateShufflingOnceForConcurrentRequests() throws Exception {
+    final IntList indices = IntList.of(1, 2, 3, 4);
+    final CountDownLatch shuffleStarted = new CountDownLatch(1);
+    final CountDownLatch releaseShuffle = new CountDownLatch(1);
+    final BiFunction<IntList, Bytes32, IntList> blockingShuffler =
+        (input, seed) -> {
+          shuffleStarted.countDown();
+          try {
+            releaseShuffle.await();
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+          return countingShuffle(input, seed);
+        };
+
+    final Future<IntList> first =
+        executor.submit(() -> cache.getShuffling(SEED_1, indices, blockingShuffler));
+    assertThat(shuffleStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    final Future<IntList> second =
+        executor.submit(() -> cache.getShuffling(SEED_1, indices, blockingShuffler));
+    releaseShuffle.countDown();
+
+    assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(second.get(10, TimeUnit.SECONDS));
+    assertThat(shuffleCount).hasValue(1);
+  }
+
+  @Test
+  void shouldEvictShufflingsBeyondMaximumSize() {
+    final IntList indices = IntList.of(1, 2, 3, 4);
+    cache.getShuffling(SEED_1, indices, this::countingShuffle);
+    cache.getShuffling(SEED_2, indices, this::countingShuffle);
+    cache.getShuffling(SEED_3, indices, this::countingShuffle);
+
+    assertThat(cache.size()).isEqualTo(2);
+
+    // The least recently used shuffling was evicted so it has to be calculated again
+    final IntList shuffling = cache.getShuffling(SEED_1, indices, this::countingShuffle);
+    assertThat(shuffling).isEqualTo(shuffle(indices, SEED_1));
+    assertThat(shuffleCount).hasValue(4);
+  }
+
+  @Test
+  void clear_shouldRemoveAllShufflings() {
+    cache.getShuffling(SEED_1, IntList.of(1, 2, 3, 4), this::countingShuffle);
+
+    cache.clear();
+
+    assertThat(cache.size()).isZero();
+  }
+
+  private IntList countingShuffle(final IntList input, final Bytes32 seed) {
+    shuffleCount.incrementAndGet();
+    return shuffle(input, seed);
+  }
+
+  /** Deterministic stand-in for the real shuffle which depends on both the seed and the input */
+  private static IntList shuffle(final IntList input, final Bytes32 seed) {
+    final IntList result = new IntArrayList(input);
+    final int rotation = seed.get(Bytes32.SIZE - 1) % Math.max(1, input.size());
+    for (int i = 0; i < rotation; i++) {
+      result.add(result.removeInt(0));
+    }
+    return IntList.of(result.toIntArray());
+  }
+}
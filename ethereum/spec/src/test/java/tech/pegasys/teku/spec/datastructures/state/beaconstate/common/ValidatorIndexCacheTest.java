@@ -74,7 +74,8 @@ public class ValidatorIndexCacheTest {
 
   @Test
   public void shouldPopulateCacheItemsFromState() {
-    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache();
+    final ValidatorIndexCache validatorIndexCache =
+        new ValidatorIndexCache(new ValidatorPublicKeyRegistry());
     final BLSPublicKey foundKey =
         BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkeyBytes());
 
@@ -84,6 +85,36 @@ public class ValidatorIndexCacheTest {
     assertThat(validatorIndexCache.getValidatorIndices().size()).isEqualTo(11);
   }
 
+  @Test
+  public void shouldFindIndexFromRegistryWithoutScanningState() {
+    final ValidatorPublicKeyRegistry registry = new ValidatorPublicKeyRegistry();
+    final BLSPublicKey foundKey =
+        BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkeyBytes());
+    registry.register(10, foundKey);
+
+    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache(registry);
+    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, foundKey);
+
+    assertThat(index).contains(10);
+    assertThat(validatorIndexCache.getLastIndex()).isEqualTo(-1);
+    assertThat(validatorIndexCache.getValidatorIndices().size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldScanStateWhenRegistryIndexDoesNotMatchState() {
+    final ValidatorPublicKeyRegistry registry = new ValidatorPublicKeyRegistry();
+    final BLSPublicKey foundKey =
+        BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkeyBytes());
+    // Registered at a different index by some other chain
+    registry.register(3, foundKey);
+
+    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache(registry);
+    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, foundKey);
+
+    assertThat(index).contains(10);
+    assertThat(validatorIndexCache.getLastIndex()).isEqualTo(10);
+  }
+
   @Test
   public void shouldFilterItemsBeyondStateIndex() {
     final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache();
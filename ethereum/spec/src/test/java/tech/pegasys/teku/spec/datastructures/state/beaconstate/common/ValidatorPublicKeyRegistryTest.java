@@ -0,0 +1,136 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSTestUtil;
+
+public class ValidatorPublicKeyRegistryTest {
+  private final ValidatorPublicKeyRegistry registry = new ValidatorPublicKeyRegistry();
+  private final BLSPublicKey key1 = BLSTestUtil.randomPublicKey(1);
+  private final BLSPublicKey key2 = BLSTestUtil.randomPublicKey(2);
+
+  @Test
+  void shouldLookUpRegisteredKeysByIndexAndPublicKey() {
+    registry.register(0, key1);
+    registry.register(5, key2);
+
+    assertThat(registry.size()).isEqualTo(6);
+    assertThat(registry.getRegisteredPublicKey(0)).containsSame(key1);
+    assertThat(registry.getRegisteredPublicKey(5)).containsSame(key2);
+    assertThat(registry.getRegisteredPublicKey(3)).isEmpty();
+    assertThat(registry.getRegisteredPublicKey(6)).isEmpty();
+    assertThat(registry.getValidatorIndex(key1.toBytesCompressed())).contains(0);
+    assertThat(registry.getValidatorIndex(key2.toBytesCompressed())).contains(5);
+    assertThat(registry.getValidatorIndex(BLSTestUtil.randomPublicKey(3).toBytesCompressed()))
+        .isEmpty();
+  }
+
+  @Test
+  void shouldKeepFirstKeyRegisteredAtIndex() {
+    registry.register(0, key1);
+    registry.register(0, key2);
+
+    assertThat(registry.getRegisteredPublicKey(0)).containsSame(key1);
+    assertThat(registry.getValidatorIndex(key2.toBytesCompressed())).isEmpty();
+  }
+
+  @Test
+  void getPublicKey_shouldReuseRegisteredInstanceWhenBytesMatch() {
+    registry.register(0, key1);
+
+    assertThat(registry.getPublicKey(0, key1.toBytesCompressed())).isSameAs(key1);
+  }
+
+  @Test
+  void getPublicKey_shouldReturnSuppliedKeyWhenRegisteredKeyDiffers() {
+    registry.register(0, key1);
+
+    final BLSPublicKey result = registry.getPublicKey(0, key2.toBytesCompressed());
+    assertThat(result).isEqualTo(key2);
+    assertThat(registry.getRegisteredPublicKey(0)).containsSame(key1);
+  }
+
+  @Test
+  void getPublicKey_shouldRegisterUnknownKeys() {
+    final BLSPublicKey result = registry.getPublicKey(7, key1.toBytesCompressed());
+
+    assertThat(registry.getRegisteredPublicKey(7)).containsSame(result);
+    assertThat(registry.getValidatorIndex(key1.toBytesCompressed())).contains(7);
+  }
+
+  @Test
+  void shouldFindAllKeysAfterGrowing() {
+    final Random random = new Random(1);
+    final List<BLSPublicKey> keys =
+        IntStream.range(0, 3000)
+            .mapToObj(i -> BLSPublicKey.fromBytesCompressed(Bytes48.random(random)))
+            .collect(Collectors.toList());
+    for (int i = 0; i < keys.size(); i++) {
+      // Spread entries across pages
+      registry.register(i * 7, keys.get(i));
+    }
+
+    for (int i = 0; i < keys.size(); i++) {
+      assertThat(registry.getValidatorIndex(keys.get(i).toBytesCompressed())).contains(i * 7);
+      assertThat(registry.getRegisteredPublicKey(i * 7)).containsSame(keys.get(i));
+    }
+  }
+
+  @Test
+  void shouldRoundTripThroughSerializedForm() {
+    registry.register(0, key1);
+    registry.register(9, key2);
+
+    final ValidatorPublicKeyRegistry restored = new ValidatorPublicKeyRegistry();
+    assertThat(restored.deserialize(registry.serialize())).isEqualTo(2);
+
+    assertThat(restored.size()).isEqualTo(10);
+    assertThat(restored.getRegisteredPublicKey(0)).contains(key1);
+    assertThat(restored.getRegisteredPublicKey(9)).contains(key2);
+    assertThat(restored.getValidatorIndex(key2.toBytesCompressed())).contains(9);
+  }
+
+  @Test
+  void serialize_shouldOnlyIncludeKeysWhichHaveBeenDecompressed() {
+    final BLSPublicKey unusedKey = BLSPublicKey.fromBytesCompressed(key2.toBytesCompressed());
+    registry.register(0, key1);
+    registry.register(1, unusedKey);
+
+    final ValidatorPublicKeyRegistry restored = new ValidatorPublicKeyRegistry();
+    assertThat(restored.deserialize(registry.serialize())).isEqualTo(1);
+    assertThat(restored.getRegisteredPublicKey(0)).contains(key1);
+    assertThat(restored.getRegisteredPublicKey(1)).isEmpty();
+    assertThat(unusedKey.isDecompressed()).isFalse();
+  }
+
+  @Test
+  void deserialize_shouldRejectTruncatedData() {
+    registry.register(0, key1);
+    final Bytes data = registry.serialize();
+
+    assertThatThrownBy(() -> registry.deserialize(data.slice(0, data.size() - 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
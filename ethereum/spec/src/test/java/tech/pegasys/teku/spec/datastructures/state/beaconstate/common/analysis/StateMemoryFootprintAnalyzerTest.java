@@ -0,0 +1,135 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.FieldFootprint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.StateMemoryFootprint.OwnerFootprint;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class StateMemoryFootprintAnalyzerTest {
+  private final Spec spec = TestSpecFactory.createMinimalAltair();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final BeaconState state = dataStructureUtil.randomBeaconState(32);
+
+  @Test
+  void shouldReportAllBytesAsUniqueForSingleState() {
+    final StateMemoryFootprint footprint =
+        new StateMemoryFootprintAnalyzer().addState("owner", state).analyze();
+
+    assertThat(footprint.getStateCount()).isEqualTo(1);
+    assertThat(footprint.isTruncated()).isFalse();
+    assertThat(footprint.getUniqueBytes()).isPositive();
+    assertThat(footprint.getSharedBytes()).isZero();
+    assertThat(footprint.getFields()).hasSize(state.getSchema().getFieldsCount());
+    assertThat(footprint.getFields().stream().mapToLong(FieldFootprint::getUniqueBytes).sum())
+        .isEqualTo(footprint.getUniqueBytes());
+    assertThat(footprint.getOwners()).hasSize(1);
+    final OwnerFootprint owner = footprint.getOwners().get(0);
+    assertThat(owner.getName()).isEqualTo("owner");
+    assertThat(owner.getStateCount()).isEqualTo(1);
+    assertThat(owner.getUniqueBytes()).isEqualTo(footprint.getUniqueBytes());
+  }
+
+  @Test
+  void shouldReportAllBytesAsSharedWhenSameStateIsHeldTwice() {
+    final long singleStateBytes =
+        new StateMemoryFootprintAnalyzer().addState("a", state).analyze().getTotalBytes();
+
+    final StateMemoryFootprint footprint =
+        new StateMemoryFootprintAnalyzer().addState("a", state).addState("b", state).analyze();
+
+    assertThat(footprint.getStateCount()).isEqualTo(2);
+    assertThat(footprint.getUniqueBytes()).isZero();
+    assertThat(footprint.getSharedBytes()).isEqualTo(singleStateBytes);
+    assertThat(footprint.getOwners())
+        .allSatisfy(
+            owner -> {
+              assertThat(owner.getUniqueBytes()).isZero();
+              assertThat(owner.getSharedBytes()).isEqualTo(singleStateBytes);
+            });
+  }
+
+  @Test
+  void shouldOnlyReportChangedNodesAsUnique() {
+    final BeaconState updatedState =
+        state.updated(mutableState -> mutableState.setSlot(state.getSlot().increment()));
+
+    final StateMemoryFootprint footprint =
+        new StateMemoryFootprintAnalyzer()
+            .addState("owner", state)
+            .addState("owner", updatedState)
+            .analyze();
+
+    assertThat(getField(footprint, "slot").getUniqueBytes()).isPositive();
+    assertThat(getField(footprint, "slot").getSharedBytes()).isZero();
+    assertThat(getField(footprint, "validators").getUniqueBytes()).isZero();
+    assertThat(getField(footprint, "validators").getSharedBytes()).isPositive();
+    assertThat(footprint.getUniqueBytes()).isEqualTo(getField(footprint, "slot").getUniqueBytes());
+
+    final OwnerFootprint owner = footprint.getOwners().get(0);
+    assertThat(owner.getStateCount()).isEqualTo(2);
+    assertThat(owner.getUniqueBytes()).isEqualTo(footprint.getUniqueBytes());
+    assertThat(owner.getSharedBytes()).isEqualTo(footprint.getSharedBytes());
+  }
+
+  @Test
+  void shouldAttributeSharedBytesToEveryOwnerReferencingThem() {
+    final BeaconState updatedState =
+        state.updated(mutableState -> mutableState.setSlot(state.getSlot().increment()));
+
+    final StateMemoryFootprint footprint =
+        new StateMemoryFootprintAnalyzer()
+            .addState("a", state)
+            .addState("b", updatedState)
+            .analyze();
+
+    final OwnerFootprint ownerA = footprint.getOwners().get(0);
+    final OwnerFootprint ownerB = footprint.getOwners().get(1);
+    assertThat(ownerA.getSharedBytes()).isEqualTo(footprint.getSharedBytes());
+    assertThat(ownerB.getSharedBytes()).isEqualTo(footprint.getSharedBytes());
+    assertThat(ownerA.getUniqueBytes() + ownerB.getUniqueBytes())
+        .isEqualTo(footprint.getUniqueBytes());
+  }
+
+  @Test
+  void shouldStopAndReportTruncatedWhenNodeLimitIsReached() {
+    final StateMemoryFootprint fullFootprint =
+        new StateMemoryFootprintAnalyzer().addState("owner", state).analyze();
+    final BeaconState otherState = dataStructureUtil.randomBeaconState(32);
+
+    final StateMemoryFootprint footprint =
+        new StateMemoryFootprintAnalyzer(10)
+            .addState("owner", state)
+            .addState("owner", otherState)
+            .analyze();
+
+    assertThat(footprint.isTruncated()).isTrue();
+    assertThat(footprint.getStateCount()).isEqualTo(1);
+    assertThat(footprint.getSkippedStateCount()).isEqualTo(1);
+    assertThat(footprint.getTotalBytes()).isPositive().isLessThan(fullFootprint.getTotalBytes());
+  }
+
+  private FieldFootprint getField(final StateMemoryFootprint footprint, final String name) {
+    return footprint.getFields().stream()
+        .filter(field -> field.getName().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+}
@@ -14,10 +14,18 @@
 package tech.pegasys.teku.spec.logic.common.block;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.Bytes48;
@@ -26,23 +34,33 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.ssz.SszList;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBytes32Vector;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecVersion;
+import tech.pegasys.teku.spec.cache.IndexedAttestationCache;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.datastructures.blocks.Eth1Data;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation;
+import tech.pegasys.teku.spec.datastructures.operations.AttesterSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.Deposit;
 import tech.pegasys.teku.spec.datastructures.operations.DepositData;
 import tech.pegasys.teku.spec.datastructures.operations.DepositMessage;
 import tech.pegasys.teku.spec.datastructures.operations.DepositWithIndex;
+import tech.pegasys.teku.spec.datastructures.operations.IndexedAttestation;
 import tech.pegasys.teku.spec.datastructures.state.Fork;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.util.MerkleTree;
+import tech.pegasys.teku.spec.generator.ChainBuilder;
+import tech.pegasys.teku.spec.generator.ChainBuilder.BlockOptions;
+import tech.pegasys.teku.spec.logic.common.statetransition.blockvalidator.BatchSignatureVerifier;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.BlockProcessingException;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.StateTransitionException;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 
 @ExtendWith(BouncyCastleExtension.class)
@@ -160,6 +178,107 @@ public abstract class BlockProcessorTest {
         "The balances list has changed.");
   }
 
+  @Test
+  void processUnsignedBlock_shouldVerifyAttesterSlashingSignaturesWithBlockSignatureVerifier()
+      throws Exception {
+    final ChainBuilder chainBuilder = ChainBuilder.create(spec);
+    chainBuilder.generateGenesis();
+    final SignedBlockAndState attestedBlock = chainBuilder.generateBlockAtSlot(1);
+    final AttesterSlashing attesterSlashing = createAttesterSlashing(chainBuilder, attestedBlock);
+    final SignedBlockAndState block =
+        chainBuilder.generateBlockAtSlot(
+            2, BlockOptions.create().addAttesterSlashing(attesterSlashing));
+    final BLSSignatureVerifier signatureVerifier = mock(BLSSignatureVerifier.class);
+    when(signatureVerifier.verify(anyList(), any(Bytes.class), any(BLSSignature.class)))
+        .thenReturn(true);
+
+    blockProcessor.processUnsignedBlock(
+        spec.processSlots(attestedBlock.getState(), block.getSlot()),
+        block.getBlock().getMessage(),
+        IndexedAttestationCache.NOOP,
+        signatureVerifier,
+        Optional.empty());
+
+    verify(signatureVerifier)
+        .verify(anyList(), any(Bytes.class), eq(attesterSlashing.getAttestation1().getSignature()));
+    verify(signatureVerifier)
+        .verify(anyList(), any(Bytes.class), eq(attesterSlashing.getAttestation2().getSignature()));
+  }
+
+  @Test
+  void processAndValidateBlock_shouldAcceptBlockWithValidAttesterSlashing() throws Exception {
+    final ChainBuilder chainBuilder = ChainBuilder.create(spec);
+    chainBuilder.generateGenesis();
+    final SignedBlockAndState attestedBlock = chainBuilder.generateBlockAtSlot(1);
+    final AttesterSlashing attesterSlashing = createAttesterSlashing(chainBuilder, attestedBlock);
+    final SignedBlockAndState block =
+        chainBuilder.generateBlockAtSlot(
+            2, BlockOptions.create().addAttesterSlashing(attesterSlashing));
+
+    final BeaconState postState =
+        blockProcessor.processAndValidateBlock(
+            block.getBlock(),
+            spec.processSlots(attestedBlock.getState(), block.getSlot()),
+            IndexedAttestationCache.NOOP,
+            Optional.empty());
+
+    assertThat(postState).isEqualTo(block.getState());
+  }
+
+  @Test
+  void processAndValidateBlock_shouldFailBatchVerificationWhenAttesterSlashingSignatureInvalid()
+      throws Exception {
+    final ChainBuilder chainBuilder = ChainBuilder.create(spec);
+    chainBuilder.generateGenesis();
+    final SignedBlockAndState attestedBlock = chainBuilder.generateBlockAtSlot(1);
+    final AttesterSlashing validSlashing = createAttesterSlashing(chainBuilder, attestedBlock);
+    final IndexedAttestation attestation2 = validSlashing.getAttestation2();
+    // Signed by the right validator but over the data of the other attestation
+    final IndexedAttestation badlySignedAttestation2 =
+        attestation2
+            .getSchema()
+            .create(
+                attestation2.getAttestingIndices(),
+                attestation2.getData(),
+                validSlashing.getAttestation1().getSignature());
+    final AttesterSlashing invalidSlashing =
+        validSlashing.getSchema().create(validSlashing.getAttestation1(), badlySignedAttestation2);
+    final SignedBlockAndState block =
+        chainBuilder.generateBlockAtSlot(
+            2, BlockOptions.create().addAttesterSlashing(invalidSlashing));
+    final BeaconState blockSlotState = spec.processSlots(attestedBlock.getState(), block.getSlot());
+
+    // The invalid signature is only added to the batch, not checked while processing the block
+    final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+    blockProcessor.processUnsignedBlock(
+        blockSlotState,
+        block.getBlock().getMessage(),
+        IndexedAttestationCache.NOOP,
+        signatureVerifier,
+        Optional.empty());
+    assertThat(signatureVerifier.batchVerify()).isFalse();
+
+    assertThatThrownBy(
+            () ->
+                blockProcessor.processAndValidateBlock(
+                    block.getBlock(),
+                    blockSlotState,
+                    IndexedAttestationCache.NOOP,
+                    Optional.empty()))
+        .isInstanceOf(StateTransitionException.class)
+        .hasMessageContaining("Batch signature verification failed");
+  }
+
+  private AttesterSlashing createAttesterSlashing(
+      final ChainBuilder chainBuilder, final SignedBlockAndState attestedBlock) {
+    final Attestation attestation =
+        chainBuilder
+            .streamValidAttestationsWithTargetBlock(attestedBlock)
+            .findFirst()
+            .orElseThrow();
+    return chainBuilder.createAttesterSlashingForAttestation(attestation, attestedBlock);
+  }
+
   private BeaconState createBeaconState() {
     return createBeaconState(false, null, null);
   }
@@ -13,14 +13,23 @@
 
 package tech.pegasys.teku.statetransition;
 
+import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.MinimalBeaconBlockSummary;
 import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.SlotProcessingException;
 import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
@@ -29,13 +38,42 @@ public class EpochCachePrimer {
 
   private final Spec spec;
   private final RecentChainData recentChainData;
+  private final AsyncRunner asyncRunner;
 
-  public EpochCachePrimer(final Spec spec, final RecentChainData recentChainData) {
+  private final Counter headMatchedPrecomputeCounter;
+  private final Counter headChangedPrecomputeCounter;
+  private final Counter skippedPrecomputeCounter;
+
+  /** The epoch start state last precomputed, until it is known whether the chain built on it */
+  private volatile Optional<SlotAndBlockRoot> pendingPrecompute = Optional.empty();
+
+  public EpochCachePrimer(
+      final Spec spec,
+      final RecentChainData recentChainData,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem) {
     this.spec = spec;
     this.recentChainData = recentChainData;
+    this.asyncRunner = asyncRunner;
+    final LabelledMetric<Counter> precomputeCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.BEACON,
+            "epoch_precompute_total",
+            "Number of speculative epoch transition precomputations by whether the canonical chain "
+                + "crossed the epoch boundary on the precomputed head",
+            "result");
+    headMatchedPrecomputeCounter = precomputeCounter.labels("head_matched");
+    headChangedPrecomputeCounter = precomputeCounter.labels("head_changed");
+    skippedPrecomputeCounter = precomputeCounter.labels("skipped");
   }
 
+  /**
+   * Speculatively processes empty slots from the current head block through to the start of {@code
+   * epoch}, caching the resulting state as a checkpoint state. Block import and attestation
+   * validation reuse it when the first block of the epoch builds on the same head.
+   */
   public void primeCacheForEpoch(final UInt64 epoch) {
+    recordPendingPrecomputeOutcome();
     final UInt64 firstSlot = spec.computeStartSlotAtEpoch(epoch);
     recentChainData
         .getHeadBlock()
@@ -46,11 +84,106 @@ public class EpochCachePrimer {
                     && isAfterHeadBlockEpoch(epoch, headBlock))
         .ifPresent(
             headBlock ->
-                recentChainData
-                    .retrieveStateAtSlot(new SlotAndBlockRoot(firstSlot, headBlock.getRoot()))
-                    .finish(
-                        maybeState -> maybeState.ifPresent(this::primeEpochStateCaches),
-                        error -> LOG.warn("Failed to precompute epoch transition", error)));
+                precomputeEpochStartState(new SlotAndBlockRoot(firstSlot, headBlock.getRoot())));
+  }
+
+  private void precomputeEpochStartState(final SlotAndBlockRoot epochStart) {
+    pendingPrecompute = Optional.of(epochStart);
+    recentChainData
+        .retrieveBlockState(epochStart.getBlockRoot())
+        .thenCompose(
+            maybeState ->
+                maybeState
+                    .map(state -> asyncRunner.runAsync(() -> processEmptySlots(state, epochStart)))
+                    .orElseGet(() -> SafeFuture.completedFuture(Optional.empty())))
+        .thenCompose(
+            maybeEpochState ->
+                maybeEpochState
+                    .map(epochState -> cacheEpochStartState(epochStart, epochState))
+                    .orElseGet(() -> SafeFuture.completedFuture(Optional.empty())))
+        .finish(
+            maybeEpochState -> maybeEpochState.ifPresent(this::primeEpochStateCaches),
+            error -> LOG.warn("Failed to precompute epoch transition", error));
+  }
+
+  /**
+   * Processes the empty slots one at a time, checking before each one whether a new head has
+   * arrived. The state built on the old head is almost certainly wasted in that case, so the
+   * remaining slots, including the epoch transition, are abandoned.
+   */
+  private Optional<BeaconState> processEmptySlots(
+      final BeaconState blockState, final SlotAndBlockRoot epochStart)
+      throws SlotProcessingException, EpochProcessingException {
+    BeaconState state = blockState;
+    while (!isHeadChanged(epochStart)) {
+      if (state.getSlot().isGreaterThanOrEqualTo(epochStart.getSlot())) {
+        return Optional.of(state);
+      }
+      state = spec.processSlots(state, state.getSlot().plus(1));
+    }
+    pendingPrecompute = Optional.empty();
+    skippedPrecomputeCounter.inc();
+    return Optional.empty();
+  }
+
+  private SafeFuture<Optional<BeaconState>> cacheEpochStartState(
+      final SlotAndBlockRoot epochStart, final BeaconState epochState) {
+    final Checkpoint checkpoint =
+        new Checkpoint(spec.computeEpochAtSlot(epochStart.getSlot()), epochStart.getBlockRoot());
+    return recentChainData.getStore().retrieveCheckpointState(checkpoint, epochState);
+  }
+
+  private boolean isHeadChanged(final SlotAndBlockRoot epochStart) {
+    return !recentChainData
+        .getBestBlockRoot()
+        .map(headRoot -> headRoot.equals(epochStart.getBlockRoot()))
+        .orElse(false);
+  }
+
+  private void recordPendingPrecomputeOutcome() {
+    final Optional<SlotAndBlockRoot> maybePrecompute = pendingPrecompute;
+    pendingPrecompute = Optional.empty();
+    maybePrecompute.ifPresent(
+        precompute -> {
+          // Records whether the canonical chain went through the epoch boundary on top of the
+          // block the state was precomputed from. That is when the precomputed state could be
+          // reused, but it doesn't track whether it was actually read.
+          final boolean headMatched =
+              recentChainData
+                  .getBlockRootBySlot(precompute.getSlot().minusMinZero(1))
+                  .map(root -> root.equals(precompute.getBlockRoot()))
+                  .orElse(false);
+          if (headMatched) {
+            headMatchedPrecomputeCounter.inc();
+          } else {
+            headChangedPrecomputeCounter.inc();
+          }
+        });
+  }
+
+  /**
+   * Calculates the committee shuffling for {@code epoch} from the current head state in the
+   * background. Shufflings are shared between all states with the same seed so blocks and
+   * attestations from other forks don't have to wait for the shuffling to be calculated either.
+   */
+  public void primeShufflingForEpoch(final UInt64 epoch) {
+    recentChainData
+        .getBestState()
+        .ifPresent(
+            stateFuture ->
+                stateFuture
+                    .thenCompose(
+                        state -> asyncRunner.runAsync(() -> calculateShuffling(state, epoch)))
+                    .finish(error -> LOG.warn("Failed to precompute shuffling", error)));
+  }
+
+  private void calculateShuffling(final BeaconState state, final UInt64 epoch) {
+    if (epoch.isGreaterThan(spec.getMaxLookaheadEpoch(state))
+        || epoch.isLessThan(spec.getCurrentEpoch(state))) {
+      return;
+    }
+    // All committees in the epoch come from the one shuffling so a single committee is enough
+    spec.getBeaconCommittee(state, spec.computeStartSlotAtEpoch(epoch), UInt64.ZERO);
   }
 
   private boolean isWithinOneEpochOfHeadBlock(
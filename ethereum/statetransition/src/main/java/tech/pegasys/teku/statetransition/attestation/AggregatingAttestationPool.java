@@ -14,18 +14,17 @@
 package tech.pegasys.teku.statetransition.attestation;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -47,6 +46,10 @@ import tech.pegasys.teku.spec.logic.common.statetransition.attestation.Attestati
  * or as an aggregate to publish as part of the naive attestation aggregation algorithm. In both
  * cases the returned attestations are aggregated to maximise the number of validators that can be
  * included.
+ *
+ * <p>Attestation groups are indexed by slot and committee index in concurrent maps and each group
+ * synchronizes on itself, so gossip, block import and block production don't contend on a single
+ * pool-wide lock.
  */
 public class AggregatingAttestationPool implements SlotEventsChannel {
   /**
@@ -72,8 +75,11 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
   public static final int DEFAULT_MAXIMUM_ATTESTATION_COUNT = 40_000;
 
   private final Map<Bytes, MatchingDataAttestationGroup> attestationGroupByDataHash =
-      new HashMap<>();
-  private final NavigableMap<UInt64, Set<Bytes>> dataHashBySlot = new TreeMap<>();
+      new ConcurrentHashMap<>();
+
+  /** (slot) -> (committee index) -> (attestation data hashes) */
+  private final NavigableMap<UInt64, Map<UInt64, Set<Bytes>>> dataHashBySlotAndCommittee =
+      new ConcurrentSkipListMap<>();
 
   private final Spec spec;
   private final AtomicInteger size = new AtomicInteger(0);
@@ -92,31 +98,34 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     this.maximumAttestationCount = maximumAttestationCount;
   }
 
-  public synchronized void add(final ValidateableAttestation attestation) {
+  public void add(final ValidateableAttestation attestation) {
     final AttestationData attestationData = attestation.getAttestation().getData();
     final boolean add = getOrCreateAttestationGroup(attestationData).add(attestation);
     if (add) {
       updateSize(1);
     }
     // Always keep the latest slot attestations so we don't discard everything
-    while (dataHashBySlot.size() > 1 && size.get() > maximumAttestationCount) {
-      final UInt64 firstSlotToKeep = dataHashBySlot.firstKey().plus(1);
-      removeAttestationsPriorToSlot(firstSlotToKeep);
+    while (dataHashBySlotAndCommittee.size() > 1 && size.get() > maximumAttestationCount) {
+      removeOldestSlot();
     }
   }
 
   private MatchingDataAttestationGroup getOrCreateAttestationGroup(
       final AttestationData attestationData) {
-    dataHashBySlot
-        .computeIfAbsent(attestationData.getSlot(), slot -> new HashSet<>())
-        .add(attestationData.hashTreeRoot());
-    return attestationGroupByDataHash.computeIfAbsent(
-        attestationData.hashTreeRoot(),
-        key -> new MatchingDataAttestationGroup(spec, attestationData));
+    final Bytes32 dataHash = attestationData.hashTreeRoot();
+    final MatchingDataAttestationGroup group =
+        attestationGroupByDataHash.computeIfAbsent(
+            dataHash, key -> new MatchingDataAttestationGroup(spec, attestationData));
+    // Index after creating the group so a concurrent prune of this slot can't orphan it
+    dataHashBySlotAndCommittee
+        .computeIfAbsent(attestationData.getSlot(), slot -> new ConcurrentHashMap<>())
+        .computeIfAbsent(attestationData.getIndex(), index -> ConcurrentHashMap.newKeySet())
+        .add(dataHash);
+    return group;
   }
 
   @Override
-  public synchronized void onSlot(final UInt64 slot) {
+  public void onSlot(final UInt64 slot) {
     if (slot.compareTo(ATTESTATION_RETENTION_SLOTS) <= 0) {
       return;
     }
@@ -125,20 +134,31 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
   }
 
   private void removeAttestationsPriorToSlot(final UInt64 firstValidAttestationSlot) {
-    final Collection<Set<Bytes>> dataHashesToRemove =
-        dataHashBySlot.headMap(firstValidAttestationSlot, false).values();
-    dataHashesToRemove.stream()
+    while (!dataHashBySlotAndCommittee.isEmpty()
+        && dataHashBySlotAndCommittee.firstKey().isLessThan(firstValidAttestationSlot)) {
+      removeOldestSlot();
+    }
+  }
+
+  private void removeOldestSlot() {
+    // Polling is atomic so concurrent callers each remove a different slot
+    final Map.Entry<UInt64, Map<UInt64, Set<Bytes>>> oldestSlot =
+        dataHashBySlotAndCommittee.pollFirstEntry();
+    if (oldestSlot == null) {
+      return;
+    }
+    oldestSlot.getValue().values().stream()
         .flatMap(Set::stream)
         .forEach(
             key -> {
-              final int removed = attestationGroupByDataHash.get(key).size();
-              attestationGroupByDataHash.remove(key);
-              updateSize(-removed);
+              final MatchingDataAttestationGroup group = attestationGroupByDataHash.remove(key);
+              if (group != null) {
+                updateSize(-group.markRemoved());
+              }
             });
-    dataHashesToRemove.clear();
   }
 
-  public synchronized void onAttestationsIncludedInBlock(
+  public void onAttestationsIncludedInBlock(
       final UInt64 slot, final Iterable<Attestation> attestations) {
     attestations.forEach(attestation -> onAttestationIncludedInBlock(slot, attestation));
   }
@@ -155,68 +175,69 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     sizeGauge.set(currentSize);
   }
 
-  public synchronized int getSize() {
+  public int getSize() {
     return size.get();
   }
 
-  public synchronized SszList<Attestation> getAttestationsForBlock(
+  /**
+   * Selects the attestations to include in a block built on the given state.
+   *
+   * <p>Doesn't lock the pool so block production never waits for attestations arriving via gossip.
+   * Each group's aggregates are maintained as attestations are added, so this only needs to filter
+   * the groups that can be included and pack their aggregates into the block.
+   */
+  public SszList<Attestation> getAttestationsForBlock(
       final BeaconState stateAtBlockSlot,
       final AttestationForkChecker forkChecker,
       final AttestationWorthinessChecker worthinessChecker) {
-    final UInt64 currentEpoch = spec.getCurrentEpoch(stateAtBlockSlot);
-    final int previousEpochLimit = spec.getPreviousEpochAttestationCapacity(stateAtBlockSlot);
-
     final SszListSchema<Attestation, ?> attestationsSchema =
         spec.atSlot(stateAtBlockSlot.getSlot())
             .getSchemaDefinitions()
             .getBeaconBlockBodySchema()
             .getAttestationsSchema();
 
-    final AtomicInteger prevEpochCount = new AtomicInteger(0);
-    return dataHashBySlot
-        // We can immediately skip any attestations from the block slot or later
-        .headMap(stateAtBlockSlot.getSlot(), false)
-        .descendingMap()
-        .values()
+    final List<ValidateableAttestation> candidates =
+        dataHashBySlotAndCommittee
+            // We can immediately skip any attestations from the block slot or later
+            .headMap(stateAtBlockSlot.getSlot(), false)
+            .descendingMap()
+            .values()
+            .stream()
+            .flatMap(dataHashesByCommittee -> dataHashesByCommittee.values().stream())
+            .flatMap(Collection::stream)
+            .map(attestationGroupByDataHash::get)
+            .filter(Objects::nonNull)
+            .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
+            .filter(forkChecker::areAttestationsFromCorrectFork)
+            .filter(group -> worthinessChecker.areAttestationsWorthy(group.getAttestationData()))
+            .flatMap(group -> group.getAggregates().stream())
+            .collect(Collectors.toList());
+
+    return new BlockAttestationPacker(spec, stateAtBlockSlot)
+        .pack(
+            candidates,
+            Math.toIntExact(attestationsSchema.getMaxLength()),
+            spec.getPreviousEpochAttestationCapacity(stateAtBlockSlot))
         .stream()
-        .flatMap(Collection::stream)
-        .map(attestationGroupByDataHash::get)
-        .filter(Objects::nonNull)
-        .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
-        .filter(forkChecker::areAttestationsFromCorrectFork)
-        .filter(group -> worthinessChecker.areAttestationsWorthy(group.getAttestationData()))
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .limit(attestationsSchema.getMaxLength())
-        .map(ValidateableAttestation::getAttestation)
-        .filter(
-            att -> {
-              if (spec.computeEpochAtSlot(att.getData().getSlot()).isLessThan(currentEpoch)) {
-                final int currentCount = prevEpochCount.getAndIncrement();
-                return currentCount < previousEpochLimit;
-              }
-              return true;
-            })
         .collect(attestationsSchema.collector());
   }
 
-  public synchronized List<Attestation> getAttestations(
+  public List<Attestation> getAttestations(
       final Optional<UInt64> maybeSlot, final Optional<UInt64> maybeCommitteeIndex) {
-    final Predicate<Map.Entry<UInt64, Set<Bytes>>> filterForSlot =
-        (entry) -> maybeSlot.map(slot -> entry.getKey().equals(slot)).orElse(true);
-
-    final Predicate<MatchingDataAttestationGroup> filterForCommitteeIndex =
-        (group) ->
-            maybeCommitteeIndex
-                .map(index -> group.getAttestationData().getIndex().equals(index))
-                .orElse(true);
-
-    return dataHashBySlot.descendingMap().entrySet().stream()
-        .filter(filterForSlot)
-        .map(Map.Entry::getValue)
+    final Stream<Map<UInt64, Set<Bytes>>> slots =
+        maybeSlot
+            .map(slot -> Optional.ofNullable(dataHashBySlotAndCommittee.get(slot)).stream())
+            .orElseGet(() -> dataHashBySlotAndCommittee.descendingMap().values().stream());
+
+    return slots
+        .flatMap(
+            dataHashesByCommittee ->
+                maybeCommitteeIndex
+                    .map(index -> Optional.ofNullable(dataHashesByCommittee.get(index)).stream())
+                    .orElseGet(() -> dataHashesByCommittee.values().stream()))
         .flatMap(Collection::stream)
         .map(attestationGroupByDataHash::get)
         .filter(Objects::nonNull)
-        .filter(filterForCommitteeIndex)
         .flatMap(MatchingDataAttestationGroup::stream)
         .map(ValidateableAttestation::getAttestation)
         .collect(Collectors.toList());
@@ -227,13 +248,13 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     return spec.validateAttestation(stateAtBlockSlot, attestationData).isEmpty();
   }
 
-  public synchronized Optional<ValidateableAttestation> createAggregateFor(
+  public Optional<ValidateableAttestation> createAggregateFor(
       final Bytes32 attestationHashTreeRoot) {
     return Optional.ofNullable(attestationGroupByDataHash.get(attestationHashTreeRoot))
-        .flatMap(attestations -> attestations.stream().findFirst());
+        .flatMap(MatchingDataAttestationGroup::getBestAggregate);
   }
 
-  public synchronized void onReorg(final UInt64 commonAncestorSlot) {
+  public void onReorg(final UInt64 commonAncestorSlot) {
     attestationGroupByDataHash.values().forEach(group -> group.onReorg(commonAncestorSlot));
   }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+
+/**
+ * Chooses which aggregates to include in a block, greedily taking the aggregate that adds the most
+ * new votes until the block is full.
+ *
+ * <p>From Altair a vote is new if the aggregate would set a participation flag (timely source,
+ * target or head) the validator doesn't already have for the target epoch in the state the block is
+ * built on, and the validator isn't already covered by an aggregate for the same target epoch
+ * chosen earlier. Aggregates whose validators have already been included elsewhere are pushed down
+ * or dropped. Before Altair the state doesn't record participation in a usable form so every
+ * aggregation bit counts. Candidates with equal value keep the order they were supplied in.
+ */
+class BlockAttestationPacker {
+
+  private final Spec spec;
+  private final BeaconState state;
+  private final UInt64 currentEpoch;
+  private final Optional<BeaconStateAltair> altairState;
+  private final BitSet currentEpochCoveredValidators = new BitSet();
+  private final BitSet previousEpochCoveredValidators = new BitSet();
+  private Bytes currentEpochParticipation;
+  private Bytes previousEpochParticipation;
+
+  BlockAttestationPacker(final Spec spec, final BeaconState state) {
+    this.spec = spec;
+    this.state = state;
+    this.currentEpoch = spec.getCurrentEpoch(state);
+    this.altairState = state.toVersionAltair();
+  }
+
+  /**
+   * Selects attestations for the block.
+   *
+   * @param candidates aggregates available for inclusion, in order of preference when they add the
+   *     same number of new votes
+   * @param maxAttestations the maximum number of attestations allowed in a block
+   * @param previousEpochLimit the maximum number of attestations from the previous epoch
+   * @return the selected attestations, most valuable first
+   */
+  List<Attestation> pack(
+      final List<ValidateableAttestation> candidates,
+      final int maxAttestations,
+      final int previousEpochLimit) {
+    final PriorityQueue<Candidate> queue =
+        new PriorityQueue<>(
+            Math.max(1, candidates.size()),
+            Comparator.comparingInt((Candidate candidate) -> candidate.newVotes)
+                .reversed()
+                .thenComparingInt(candidate -> candidate.order));
+    for (int i = 0; i < candidates.size(); i++) {
+      final Attestation attestation = candidates.get(i).getAttestation();
+      final Candidate candidate =
+          new Candidate(attestation, i, getParticipationFlags(attestation.getData()));
+      candidate.newVotes = countNewVotes(candidate);
+      if (candidate.newVotes > 0) {
+        queue.add(candidate);
+      }
+    }
+
+    final List<Attestation> selected = new ArrayList<>();
+    int previousEpochCount = 0;
+    while (selected.size() < maxAttestations && !queue.isEmpty()) {
+      final Candidate candidate = queue.poll();
+      // Earlier selections may have covered some of this candidate's validators
+      final int newVotes = countNewVotes(candidate);
+      if (newVotes < candidate.newVotes) {
+        candidate.newVotes = newVotes;
+        if (newVotes > 0) {
+          queue.add(candidate);
+        }
+        continue;
+      }
+      if (isFromPreviousEpoch(candidate.attestation.getData())) {
+        if (previousEpochCount >= previousEpochLimit) {
+          continue;
+        }
+        previousEpochCount++;
+      }
+      markCovered(candidate);
+      selected.add(candidate.attestation);
+    }
+    return selected;
+  }
+
+  private boolean isFromPreviousEpoch(final AttestationData data) {
+    return spec.computeEpochAtSlot(data.getSlot()).isLessThan(currentEpoch);
+  }
+
+  private int countNewVotes(final Candidate candidate) {
+    if (altairState.isEmpty()) {
+      return candidate.attestation.getAggregationBits().getBitCount();
+    }
+    final int flags = candidate.participationFlags;
+    if (flags == 0) {
+      return 0;
+    }
+    final IntList attestingIndices = getAttestingIndices(candidate);
+    final AttestationData data = candidate.attestation.getData();
+    final Bytes participation = getParticipation(data);
+    final BitSet coveredValidators = getCoveredValidators(data);
+    int newVotes = 0;
+    for (int i = 0; i < attestingIndices.size(); i++) {
+      final int validatorIndex = attestingIndices.getInt(i);
+      if (!coveredValidators.get(validatorIndex)
+          && (validatorIndex >= participation.size()
+              || (participation.get(validatorIndex) & flags) != flags)) {
+        newVotes++;
+      }
+    }
+    return newVotes;
+  }
+
+  private void markCovered(final Candidate candidate) {
+    if (altairState.isPresent()) {
+      getAttestingIndices(candidate)
+          .forEach(getCoveredValidators(candidate.attestation.getData())::set);
+    }
+  }
+
+  private int getParticipationFlags(final AttestationData data) {
+    if (altairState.isEmpty()) {
+      return 0;
+    }
+    int flags = 0;
+    for (int flagIndex :
+        spec.getAttestationParticipationFlagIndices(
+            state, data, state.getSlot().minusMinZero(data.getSlot()))) {
+      flags |= 1 << flagIndex;
+    }
+    return flags;
+  }
+
+  private BitSet getCoveredValidators(final AttestationData data) {
+    return data.getTarget().getEpoch().equals(currentEpoch)
+        ? currentEpochCoveredValidators
+        : previousEpochCoveredValidators;
+  }
+
+  private IntList getAttestingIndices(final Candidate candidate) {
+    if (candidate.attestingIndices == null) {
+      final Attestation attestation = candidate.attestation;
+      candidate.attestingIndices =
+          spec.getAttestingIndices(state, attestation.getData(), attestation.getAggregationBits());
+    }
+    return candidate.attestingIndices;
+  }
+
+  private Bytes getParticipation(final AttestationData data) {
+    // Serializing the participation list once is far cheaper than reading it element by element
+    if (data.getTarget().getEpoch().equals(currentEpoch)) {
+      if (currentEpochParticipation == null) {
+        currentEpochParticipation =
+            altairState.orElseThrow().getCurrentEpochParticipation().sszSerialize();
+      }
+      return currentEpochParticipation;
+    } else {
+      if (previousEpochParticipation == null) {
+        previousEpochParticipation =
+            altairState.orElseThrow().getPreviousEpochParticipation().sszSerialize();
+      }
+      return previousEpochParticipation;
+    }
+  }
+
+  private static class Candidate {
+    private final Attestation attestation;
+    private final int order;
+    private final int participationFlags;
+    private int newVotes;
+    private IntList attestingIndices;
+
+    private Candidate(
+        final Attestation attestation, final int order, final int participationFlags) {
+      this.attestation = attestation;
+      this.order = order;
+      this.participationFlags = participationFlags;
+    }
+  }
+}
@@ -13,16 +13,18 @@
 
 package tech.pegasys.teku.statetransition.attestation;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszBitlist;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -36,15 +38,25 @@ import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
  * AttestationData}.
  *
  * <p>So that the added attestations can be aggregated into the smallest number of aggregates, even
- * as the contents of the collection change, aggregation is actually done during iteration.
- * Aggregation starts with the attestation that already includes the most validators then continues
- * adding attestations in order of the number of validators they contain.
+ * as the contents of the collection change, aggregation is done when the aggregates are first
+ * requested. Aggregation starts with the attestation that already includes the most validators then
+ * continues adding attestations in order of the number of validators they contain. The resulting
+ * aggregates are retained and attestations added later are merged into them incrementally, so
+ * reading the aggregates (e.g. when producing a block) doesn't repeat the aggregation work.
+ *
+ * <p>All methods are synchronized on the group so the pool can be updated and read concurrently
+ * without a pool-wide lock.
  *
  * <p>Note that the resulting aggregate will be invalid if attestations with different
  * AttestationData are added.
  */
 class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation> {
 
+  private static final Comparator<ValidateableAttestation> MOST_VALIDATORS_FIRST =
+      Comparator.<ValidateableAttestation>comparingInt(
+              attestation -> attestation.getAttestation().getAggregationBits().getBitCount())
+          .reversed();
+
   private final NavigableMap<Integer, Set<ValidateableAttestation>> attestationsByValidatorCount =
       new TreeMap<>(Comparator.reverseOrder()); // Most validators first
 
@@ -69,6 +81,18 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
   /** Precalculated combined list of included validators across all blocks. */
   private SszBitlist includedValidators;
 
+  /**
+   * Aggregates of the attestations in this group, most validators first, or null if they need to
+   * be recalculated.
+   */
+  private List<ValidateableAttestation> aggregates;
+
+  /** Validators covered by {@link #aggregates} or already included on chain. */
+  private SszBitlist aggregatedValidators;
+
+  /** Set once the pool has dropped this group so late additions aren't counted. */
+  private boolean removed = false;
+
   public MatchingDataAttestationGroup(final Spec spec, final AttestationData attestationData) {
     this.spec = spec;
     this.attestationData = attestationData;
@@ -93,7 +117,10 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    * @param attestation the attestation to add
    * @return True if the attestation was added, false otherwise
    */
-  public boolean add(final ValidateableAttestation attestation) {
+  public synchronized boolean add(final ValidateableAttestation attestation) {
+    if (removed) {
+      return false;
+    }
     if (includedValidators.isSuperSetOf(attestation.getAttestation().getAggregationBits())) {
       // All attestation bits have already been included on chain
       return false;
@@ -101,11 +128,48 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
     if (committeeShufflingSeed.isEmpty()) {
       committeeShufflingSeed = attestation.getCommitteeShufflingSeed();
     }
-    return attestationsByValidatorCount
-        .computeIfAbsent(
-            attestation.getAttestation().getAggregationBits().getBitCount(),
-            count -> new HashSet<>())
-        .add(attestation);
+    final boolean added =
+        attestationsByValidatorCount
+            .computeIfAbsent(
+                attestation.getAttestation().getAggregationBits().getBitCount(),
+                count -> new HashSet<>())
+            .add(attestation);
+    if (added) {
+      updateAggregates(attestation);
+    }
+    return added;
+  }
+
+  private void updateAggregates(final ValidateableAttestation attestation) {
+    if (aggregates == null) {
+      // Will be calculated in full when next requested
+      return;
+    }
+    final SszBitlist aggregationBits = attestation.getAttestation().getAggregationBits();
+    if (aggregatedValidators.isSuperSetOf(aggregationBits)) {
+      return;
+    }
+    final List<ValidateableAttestation> updatedAggregates = new ArrayList<>(aggregates);
+    boolean merged = false;
+    for (int i = 0; i < updatedAggregates.size() && !merged; i++) {
+      final AggregateAttestationBuilder builder =
+          new AggregateAttestationBuilder(spec, attestationData);
+      builder.aggregate(updatedAggregates.get(i));
+      if (builder.canAggregate(attestation)) {
+        builder.aggregate(attestation);
+        updatedAggregates.set(i, builder.buildAggregate());
+        merged = true;
+      }
+    }
+    if (!merged) {
+      final AggregateAttestationBuilder builder =
+          new AggregateAttestationBuilder(spec, attestationData);
+      builder.aggregate(attestation);
+      updatedAggregates.add(builder.buildAggregate());
+    }
+    updatedAggregates.sort(MOST_VALIDATORS_FIRST);
+    aggregates = Collections.unmodifiableList(updatedAggregates);
+    aggregatedValidators = aggregatedValidators.or(aggregationBits);
   }
 
   /**
@@ -120,11 +184,30 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    */
   @Override
   public Iterator<ValidateableAttestation> iterator() {
-    return new AggregatingIterator();
+    return getAggregates().iterator();
   }
 
   public Stream<ValidateableAttestation> stream() {
-    return StreamSupport.stream(spliterator(), false);
+    return getAggregates().stream();
+  }
+
+  /**
+   * Returns the aggregates of the attestations in this group, most validators first. The returned
+   * list is immutable and unaffected by later changes to the group.
+   */
+  public synchronized List<ValidateableAttestation> getAggregates() {
+    if (aggregates == null) {
+      final List<ValidateableAttestation> newAggregates = new ArrayList<>();
+      final AggregatingIterator iterator = new AggregatingIterator();
+      iterator.forEachRemaining(newAggregates::add);
+      aggregates = Collections.unmodifiableList(newAggregates);
+      aggregatedValidators = iterator.includedValidators;
+    }
+    return aggregates;
+  }
+
+  public Optional<ValidateableAttestation> getBestAggregate() {
+    return getAggregates().stream().findFirst();
   }
 
   /**
@@ -132,14 +215,24 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    *
    * @return true if this group is empty.
    */
-  public boolean isEmpty() {
+  public synchronized boolean isEmpty() {
     return attestationsByValidatorCount.isEmpty();
   }
 
-  public int size() {
+  public synchronized int size() {
     return attestationsByValidatorCount.values().stream().map(Set::size).reduce(0, Integer::sum);
   }
 
+  /**
+   * Marks this group as removed from the pool so no further attestations are added to it.
+   *
+   * @return the number of attestations in the group when it was removed
+   */
+  public synchronized int markRemoved() {
+    removed = true;
+    return size();
+  }
+
   /**
    * Updates {@code seenAggregationBits} and removes any attestation from this group whose
    * aggregation bits have all been seen.
@@ -148,7 +241,8 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    *
    * @param attestation the attestation to logically remove from the pool.
    */
-  public int onAttestationIncludedInBlock(final UInt64 slot, final Attestation attestation) {
+  public synchronized int onAttestationIncludedInBlock(
+      final UInt64 slot, final Attestation attestation) {
     // Record validators in attestation as seen in this slot
     // Important to do even if the attestation is redundant so we handle re-orgs correctly
     includedValidatorsBySlot.merge(slot, attestation.getAggregationBits(), SszBitlist::or);
@@ -158,6 +252,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
       return 0;
     }
     includedValidators = includedValidators.or(attestation.getAggregationBits());
+    aggregates = null;
 
     final Collection<Set<ValidateableAttestation>> attestationSets =
         attestationsByValidatorCount.values();
@@ -179,7 +274,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
     return numRemoved;
   }
 
-  public void onReorg(final UInt64 commonAncestorSlot) {
+  public synchronized void onReorg(final UInt64 commonAncestorSlot) {
     final NavigableMap<UInt64, SszBitlist> removedSlots =
         includedValidatorsBySlot.tailMap(commonAncestorSlot, false);
     if (removedSlots.isEmpty()) {
@@ -192,9 +287,10 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
     includedValidators =
         includedValidatorsBySlot.values().stream()
             .reduce(createEmptyAggregationBits(), SszBitlist::or);
+    aggregates = null;
   }
 
-  public boolean matchesCommitteeShufflingSeed(final Set<Bytes32> validSeeds) {
+  public synchronized boolean matchesCommitteeShufflingSeed(final Set<Bytes32> validSeeds) {
     return committeeShufflingSeed.map(validSeeds::contains).orElse(false);
   }
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation;
+
+import com.google.common.annotations.VisibleForTesting;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.infrastructure.async.ExceptionThrowingFutureSupplier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+
+/**
+ * Caches the parts of attestation validation which depend only on the {@link AttestationData},
+ * keyed by its hash tree root, so that the state lookup and committee calculations are performed
+ * once per distinct data rather than once per attestation received.
+ *
+ * <p>Entries are grouped by attestation slot and only the most recent slots are retained. Lookups
+ * which fail or find no state to validate against are not cached so later attestations retry them.
+ */
+class AttestationDataValidationCache {
+  static final int SLOTS_TO_RETAIN = 2;
+
+  private final NavigableMap<UInt64, Map<Bytes32, SafeFuture<Optional<ValidationContext>>>>
+      contextsBySlot = new ConcurrentSkipListMap<>();
+
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  AttestationDataValidationCache(final MetricsSystem metricsSystem) {
+    hitCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "attestation_data_validation_cache_hits",
+            "Number of attestations validated using a cached state and committee for their data");
+    missCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "attestation_data_validation_cache_misses",
+            "Number of attestations which required a state and committee lookup for their data");
+  }
+
+  SafeFuture<Optional<ValidationContext>> getOrLoad(
+      final AttestationData data,
+      final ExceptionThrowingFutureSupplier<Optional<ValidationContext>> loader) {
+    final UInt64 slot = data.getSlot();
+    final Bytes32 dataRoot = data.hashTreeRoot();
+    final Map<Bytes32, SafeFuture<Optional<ValidationContext>>> contexts =
+        contextsBySlot.computeIfAbsent(slot, __ -> new ConcurrentHashMap<>());
+    final SafeFuture<Optional<ValidationContext>> existing = contexts.get(dataRoot);
+    if (existing != null) {
+      hitCounter.inc();
+      return existing;
+    }
+
+    final SafeFuture<Optional<ValidationContext>> result = new SafeFuture<>();
+    final SafeFuture<Optional<ValidationContext>> raced = contexts.putIfAbsent(dataRoot, result);
+    if (raced != null) {
+      hitCounter.inc();
+      return raced;
+    }
+    missCounter.inc();
+    prune(slot);
+
+    // Load outside the map so a slow lookup doesn't hold up other attestation data
+    result.whenComplete(
+        (maybeContext, error) -> {
+          if (error != null || maybeContext.isEmpty()) {
+            contexts.remove(dataRoot, result);
+          }
+        });
+    SafeFuture.of(loader).propagateTo(result);
+    return result;
+  }
+
+  private void prune(final UInt64 latestSlot) {
+    contextsBySlot.headMap(latestSlot.minusMinZero(SLOTS_TO_RETAIN - 1)).clear();
+  }
+
+  @VisibleForTesting
+  int size() {
+    return contextsBySlot.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /** The result of the data dependent checks shared by every attestation with the same data. */
+  static class ValidationContext {
+    private final BeaconState state;
+    private final Optional<IntList> committee;
+    private final int subnetId;
+    private final Bytes signingRoot;
+
+    ValidationContext(
+        final BeaconState state,
+        final Optional<IntList> committee,
+        final int subnetId,
+        final Bytes signingRoot) {
+      this.state = state;
+      this.committee = committee;
+      this.subnetId = subnetId;
+      this.signingRoot = signingRoot;
+    }
+
+    public BeaconState getState() {
+      return state;
+    }
+
+    /** The beacon committee, empty if the committee index is out of range. */
+    public Optional<IntList> getCommittee() {
+      return committee;
+    }
+
+    public int getSubnetId() {
+      return subnetId;
+    }
+
+    public Bytes getSigningRoot() {
+      return signingRoot;
+    }
+  }
+}
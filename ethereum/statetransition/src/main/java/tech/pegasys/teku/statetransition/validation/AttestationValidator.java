@@ -21,7 +21,10 @@ import static tech.pegasys.teku.spec.config.Constants.ATTESTATION_PROPAGATION_SL
 import static tech.pegasys.teku.statetransition.validation.ValidationResultCode.ACCEPT;
 
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Optional;
 import java.util.OptionalInt;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -31,6 +34,7 @@ import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
+import tech.pegasys.teku.statetransition.validation.AttestationDataValidationCache.ValidationContext;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class AttestationValidator {
@@ -42,15 +46,25 @@ public class AttestationValidator {
   private final RecentChainData recentChainData;
   private final AsyncBLSSignatureVerifier signatureVerifier;
   private final AttestationStateSelector stateSelector;
+  private final AttestationDataValidationCache validationCache;
 
   public AttestationValidator(
       final Spec spec,
       RecentChainData recentChainData,
       AsyncBLSSignatureVerifier signatureVerifier) {
+    this(spec, recentChainData, signatureVerifier, new NoOpMetricsSystem());
+  }
+
+  public AttestationValidator(
+      final Spec spec,
+      final RecentChainData recentChainData,
+      final AsyncBLSSignatureVerifier signatureVerifier,
+      final MetricsSystem metricsSystem) {
     this.recentChainData = recentChainData;
     this.spec = spec;
     this.signatureVerifier = signatureVerifier;
     this.stateSelector = new AttestationStateSelector(spec, recentChainData);
+    this.validationCache = new AttestationDataValidationCache(metricsSystem);
   }
 
   public SafeFuture<InternalValidationResult> validate(
@@ -113,20 +127,19 @@ public class AttestationValidator {
       return completedFuture(InternalValidationResultWithState.saveForFuture());
     }
 
-    return stateSelector
-        .getStateToValidate(attestation.getData())
+    return validationCache
+        .getOrLoad(data, () -> loadValidationContext(attestation))
         .thenCompose(
-            maybeState -> {
-              if (maybeState.isEmpty()) {
+            maybeContext -> {
+              if (maybeContext.isEmpty()) {
                 // We know the block is imported but now don't have a state to validate against
                 // Must have got pruned between checks
                 return completedFuture(InternalValidationResultWithState.ignore());
               }
-              final BeaconState state = maybeState.get();
+              final ValidationContext context = maybeContext.get();
+              final BeaconState state = context.getState();
               // The committee index is within the expected range
-              if (data.getIndex()
-                  .isGreaterThanOrEqualTo(
-                      spec.getCommitteeCountPerSlot(state, data.getTarget().getEpoch()))) {
+              if (context.getCommittee().isEmpty()) {
                 return completedFuture(
                     InternalValidationResultWithState.reject(
                         "Committee index %s is out of range", data.getIndex()));
@@ -135,8 +148,7 @@ public class AttestationValidator {
               // The attestation's committee index (attestation.data.index) is for the correct
               // subnet.
               if (receivedOnSubnetId.isPresent()
-                  && spec.computeSubnetForAttestation(state, attestation)
-                      != receivedOnSubnetId.getAsInt()) {
+                  && context.getSubnetId() != receivedOnSubnetId.getAsInt()) {
                 return completedFuture(
                     InternalValidationResultWithState.reject(
                         "Attestation received on incorrect subnet (%s) for specified committee index (%s)",
@@ -146,8 +158,7 @@ public class AttestationValidator {
               // The check below is not specified in the Eth2 networking spec, yet an attestation
               // with aggregation bits size greater/less than the committee size is invalid. So we
               // reject those attestations at the networking layer.
-              final IntList committee =
-                  spec.getBeaconCommittee(state, data.getSlot(), data.getIndex());
+              final IntList committee = context.getCommittee().get();
               if (committee.size() != attestation.getAggregationBits().size()) {
                 return completedFuture(
                     InternalValidationResultWithState.reject(
@@ -156,7 +167,7 @@ public class AttestationValidator {
               }
 
               return spec.isValidIndexedAttestation(
-                      state, validateableAttestation, signatureVerifier)
+                      state, validateableAttestation, signatureVerifier, context.getSigningRoot())
                   .thenApply(
                       signatureResult -> {
                         if (!signatureResult.isSuccessful()) {
@@ -192,6 +203,33 @@ public class AttestationValidator {
             });
   }
 
+  private SafeFuture<Optional<ValidationContext>> loadValidationContext(
+      final Attestation attestation) {
+    final AttestationData data = attestation.getData();
+    return stateSelector
+        .getStateToValidate(data)
+        .thenApply(
+            maybeState ->
+                maybeState.map(
+                    state -> {
+                      final boolean isCommitteeIndexInRange =
+                          data.getIndex()
+                              .isLessThan(
+                                  spec.getCommitteeCountPerSlot(
+                                      state, data.getTarget().getEpoch()));
+                      final Optional<IntList> committee =
+                          isCommitteeIndexInRange
+                              ? Optional.of(
+                                  spec.getBeaconCommittee(state, data.getSlot(), data.getIndex()))
+                              : Optional.empty();
+                      return new ValidationContext(
+                          state,
+                          committee,
+                          spec.computeSubnetForAttestation(state, attestation),
+                          spec.getAttestationSigningRoot(state, data));
+                    }));
+  }
+
   private boolean isCurrentTimeBeforeMinimumAttestationBroadcastTime(
       final Attestation attestation, final UInt64 currentTimeMillis) {
     final UInt64 minimumBroadcastTimeMillis =
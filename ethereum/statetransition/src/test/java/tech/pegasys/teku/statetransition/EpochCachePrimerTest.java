@@ -13,10 +13,14 @@
 
 package tech.pegasys.teku.statetransition;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
@@ -28,6 +32,9 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
@@ -47,10 +54,15 @@ class EpochCachePrimerTest {
   private final BeaconStateUtil beaconStateUtil = mock(BeaconStateUtil.class);
   private final RecentChainData recentChainData = storageSystem.recentChainData();
 
-  private final EpochCachePrimer primer = new EpochCachePrimer(mockSpec, recentChainData);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+
+  private final EpochCachePrimer primer =
+      new EpochCachePrimer(mockSpec, recentChainData, asyncRunner, metricsSystem);
 
   @BeforeEach
-  void setUp() {
+  void setUp() throws Exception {
     storageSystem.chainUpdater().initializeGenesis();
     final SignedBlockAndState head = storageSystem.chainUpdater().advanceChainUntil(5);
     storageSystem.chainUpdater().updateBestBlock(head);
@@ -68,6 +80,11 @@ class EpochCachePrimerTest {
     when(mockSpec.getSpecConfig(any()))
         .thenAnswer(invocation -> realSpec.getSpecConfig(invocation.getArgument(0)));
 
+    when(mockSpec.processSlots(any(), any()))
+        .thenAnswer(
+            invocation ->
+                realSpec.processSlots(invocation.getArgument(0), invocation.getArgument(1)));
+
     when(mockSpec.getBeaconStateUtil(any())).thenReturn(beaconStateUtil);
 
     when(mockSpec.getCommitteeCountPerSlot(any(), any()))
@@ -80,6 +97,7 @@ class EpochCachePrimerTest {
   @Test
   void shouldNotPrecomputeEpochsBeforeHeadBlock() {
     primer.primeCacheForEpoch(UInt64.ZERO);
+    asyncRunner.executeQueuedActions();
 
     verify(mockSpec, never()).getBeaconProposerIndex(any(), any());
   }
@@ -87,6 +105,7 @@ class EpochCachePrimerTest {
   @Test
   void shouldNotPrecomputeMoreThanOneEpochAhead() {
     primer.primeCacheForEpoch(UInt64.valueOf(2));
+    asyncRunner.executeQueuedActions();
 
     verify(mockSpec, never()).getBeaconProposerIndex(any(), any());
   }
@@ -96,6 +115,7 @@ class EpochCachePrimerTest {
     final UInt64 epoch = UInt64.ONE;
 
     primer.primeCacheForEpoch(epoch);
+    asyncRunner.executeQueuedActions();
 
     final BeaconState state = getStateForEpoch(epoch);
     forEachSlotInEpoch(epoch, slot -> verify(mockSpec).getBeaconProposerIndex(state, slot));
@@ -106,6 +126,7 @@ class EpochCachePrimerTest {
     final UInt64 epoch = UInt64.ONE;
 
     primer.primeCacheForEpoch(epoch);
+    asyncRunner.executeQueuedActions();
 
     final BeaconState state = getStateForEpoch(epoch);
     forEachSlotInEpoch(
@@ -117,6 +138,7 @@ class EpochCachePrimerTest {
     final UInt64 epoch = UInt64.ONE;
 
     primer.primeCacheForEpoch(epoch);
+    asyncRunner.executeQueuedActions();
 
     final BeaconState state = getStateForEpoch(epoch);
     final UInt64 lookaheadEpoch = epoch.plus(1);
@@ -138,6 +160,110 @@ class EpochCachePrimerTest {
             any());
   }
 
+  @Test
+  void shouldRecordPrecomputeAsHeadMatchedWhenChainBuildsOnPrecomputedHead() {
+    primer.primeCacheForEpoch(UInt64.ONE);
+    asyncRunner.executeQueuedActions();
+
+    final SignedBlockAndState newHead =
+        storageSystem.chainUpdater().advanceChain(realSpec.computeStartSlotAtEpoch(UInt64.ONE));
+    storageSystem.chainUpdater().updateBestBlock(newHead);
+    primer.primeCacheForEpoch(UInt64.valueOf(2));
+
+    assertThat(getPrecomputeCount("head_matched")).isEqualTo(1);
+    assertThat(getPrecomputeCount("head_changed")).isZero();
+  }
+
+  @Test
+  void shouldRecordPrecomputeAsHeadChangedWhenHeadChangesBeforeEpochBoundary() {
+    primer.primeCacheForEpoch(UInt64.ONE);
+    asyncRunner.executeQueuedActions();
+
+    // A late block in the last slot of the epoch means the precomputed state won't be used
+    final SignedBlockAndState newHead = storageSystem.chainUpdater().advanceChain(7);
+    storageSystem.chainUpdater().updateBestBlock(newHead);
+    primer.primeCacheForEpoch(UInt64.ONE);
+
+    assertThat(getPrecomputeCount("head_matched")).isZero();
+    assertThat(getPrecomputeCount("head_changed")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldProcessEmptySlotsUpToEpochStartInBackground() throws Exception {
+    primer.primeCacheForEpoch(UInt64.ONE);
+    verify(mockSpec, never()).processSlots(any(), any());
+
+    asyncRunner.executeQueuedActions();
+    // Head block is at slot 5 so each of slots 6, 7 and 8 is processed separately
+    verify(mockSpec, times(3)).processSlots(any(), any());
+    assertThat(getPrecomputeCount("skipped")).isZero();
+  }
+
+  @Test
+  void shouldSkipPrecomputeWhenHeadChangesBeforeProcessingStarts() throws Exception {
+    primer.primeCacheForEpoch(UInt64.ONE);
+
+    final SignedBlockAndState newHead = storageSystem.chainUpdater().advanceChain(6);
+    storageSystem.chainUpdater().updateBestBlock(newHead);
+    asyncRunner.executeQueuedActions();
+
+    verify(mockSpec, never()).processSlots(any(), any());
+    verify(mockSpec, never()).getBeaconProposerIndex(any(), any());
+    assertThat(getPrecomputeCount("skipped")).isEqualTo(1);
+
+    // The abandoned precompute is not counted again when the epoch is precomputed again
+    primer.primeCacheForEpoch(UInt64.ONE);
+    assertThat(getPrecomputeCount("head_matched")).isZero();
+    assertThat(getPrecomputeCount("head_changed")).isZero();
+  }
+
+  @Test
+  void shouldCancelEmptySlotProcessingWhenHeadChangesBetweenSlots() throws Exception {
+    doAnswer(
+            invocation -> {
+              // A late block arrives while the first empty slot is being processed
+              final SignedBlockAndState newHead = storageSystem.chainUpdater().advanceChain(6);
+              storageSystem.chainUpdater().updateBestBlock(newHead);
+              return realSpec.processSlots(invocation.getArgument(0), invocation.getArgument(1));
+            })
+        .when(mockSpec)
+        .processSlots(any(), any());
+
+    primer.primeCacheForEpoch(UInt64.ONE);
+    asyncRunner.executeQueuedActions();
+
+    // The remaining slots, including the epoch transition at slot 8, are never processed
+    verify(mockSpec, times(1)).processSlots(any(), eq(UInt64.valueOf(6)));
+    verify(mockSpec, never()).processSlots(any(), eq(UInt64.valueOf(7)));
+    verify(mockSpec, never()).processSlots(any(), eq(UInt64.valueOf(8)));
+    verify(mockSpec, never()).getBeaconProposerIndex(any(), any());
+    assertThat(getPrecomputeCount("skipped")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldPrecomputeShufflingForNextEpochInBackground() {
+    final BeaconState headState = safeJoin(recentChainData.getBestState().orElseThrow());
+    final UInt64 nextEpoch = realSpec.getCurrentEpoch(headState).plus(1);
+
+    primer.primeShufflingForEpoch(nextEpoch);
+    verify(mockSpec, never()).getBeaconCommittee(any(), any(), any());
+
+    asyncRunner.executeQueuedActions();
+    verify(mockSpec)
+        .getBeaconCommittee(headState, realSpec.computeStartSlotAtEpoch(nextEpoch), UInt64.ZERO);
+  }
+
+  @Test
+  void shouldNotPrecomputeShufflingBeyondLookahead() {
+    final BeaconState headState = safeJoin(recentChainData.getBestState().orElseThrow());
+    final UInt64 epoch = realSpec.getCurrentEpoch(headState).plus(2);
+
+    primer.primeShufflingForEpoch(epoch);
+    asyncRunner.executeQueuedActions();
+
+    verify(mockSpec, never()).getBeaconCommittee(any(), any(), any());
+  }
+
   @Test
   void shouldPrimeJustifiedCheckpoint() {
     // Make sure we have a justified checkpoint to prime.
@@ -145,6 +271,7 @@ class EpochCachePrimerTest {
     final UInt64 epoch = realSpec.getCurrentEpoch(newHead.getState()).plus(1);
 
     primer.primeCacheForEpoch(epoch);
+    asyncRunner.executeQueuedActions();
 
     final BeaconState state = getStateForEpoch(epoch);
     final BeaconState justifiedState =
@@ -153,6 +280,12 @@ class EpochCachePrimerTest {
     verify(beaconStateUtil).getEffectiveBalances(justifiedState);
   }
 
+  private long getPrecomputeCount(final String result) {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.BEACON, "epoch_precompute_total")
+        .getValue(result);
+  }
+
   private void forEachSlotInEpoch(final UInt64 epoch, final Consumer<UInt64> action) {
     UInt64.range(
             realSpec.computeStartSlotAtEpoch(epoch),
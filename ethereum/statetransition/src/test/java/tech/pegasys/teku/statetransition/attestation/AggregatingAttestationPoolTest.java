@@ -227,6 +227,32 @@ class AggregatingAttestationPoolTest {
         .containsExactly(attestation3, attestation2, attestation1);
   }
 
+  @Test
+  void getAttestationsForBlock_shouldIncludeAttestationsWithMoreValidatorsFirst() {
+    final Attestation attestation1 = addAttestationFromValidators(UInt64.valueOf(5), 1, 2, 3);
+    final Attestation attestation2 = addAttestationFromValidators(UInt64.valueOf(6), 4);
+
+    final BeaconState stateAtBlockSlot = dataStructureUtil.randomBeaconState(UInt64.valueOf(10));
+
+    assertThat(
+            aggregatingPool.getAttestationsForBlock(
+                stateAtBlockSlot, forkChecker, worthinessChecker))
+        .containsExactly(attestation1, attestation2);
+  }
+
+  @Test
+  void getAttestations_shouldReturnAttestationsForGivenSlotAndCommitteeIndex() {
+    final AttestationData attestationData = dataStructureUtil.randomAttestationData(SLOT);
+    final Attestation attestation = addAttestationFromValidators(attestationData, 1, 2);
+    addAttestationFromValidators(dataStructureUtil.randomAttestationData(SLOT), 3);
+    addAttestationFromValidators(dataStructureUtil.randomAttestationData(SLOT.plus(1)), 4);
+
+    assertThat(
+            aggregatingPool.getAttestations(
+                Optional.of(SLOT), Optional.of(attestationData.getIndex())))
+        .containsExactly(attestation);
+  }
+
   @Test
   public void getAttestationsForBlock_shouldNotAddMoreAttestationsThanAllowedInBlock() {
     final BeaconState state = dataStructureUtil.randomBeaconState(ONE);
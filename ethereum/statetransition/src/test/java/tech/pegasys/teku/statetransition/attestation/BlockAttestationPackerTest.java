@@ -0,0 +1,207 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszBitlist;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszByte;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation.AttestationSchema;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class BlockAttestationPackerTest {
+  private static final UInt64 CURRENT_EPOCH = UInt64.valueOf(2);
+  private static final int SOURCE = 1 << TIMELY_SOURCE_FLAG_INDEX;
+  private static final int TARGET = 1 << TIMELY_TARGET_FLAG_INDEX;
+  private static final int ALL_FLAGS = SOURCE | TARGET | (1 << TIMELY_HEAD_FLAG_INDEX);
+
+  private final Spec spec = TestSpecFactory.createMinimalAltair();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final AttestationSchema attestationSchema =
+      spec.getGenesisSchemaDefinitions().getAttestationSchema();
+  private final Spec mockSpec = mock(Spec.class);
+  private final BeaconState state = mock(BeaconState.class);
+  private final BeaconStateAltair altairState = mock(BeaconStateAltair.class);
+
+  @SuppressWarnings("unchecked")
+  private final SszList<SszByte> currentEpochParticipation = mock(SszList.class);
+
+  @SuppressWarnings("unchecked")
+  private final SszList<SszByte> previousEpochParticipation = mock(SszList.class);
+
+  private final UInt64 currentEpochSlot = spec.computeStartSlotAtEpoch(CURRENT_EPOCH).plus(1);
+  private final UInt64 previousEpochSlot =
+      currentEpochSlot.minus(spec.getSlotsPerEpoch(UInt64.ZERO));
+
+  @BeforeEach
+  void setUp() {
+    when(state.toVersionAltair()).thenReturn(Optional.of(altairState));
+    when(altairState.getCurrentEpochParticipation()).thenReturn(currentEpochParticipation);
+    when(altairState.getPreviousEpochParticipation()).thenReturn(previousEpochParticipation);
+    setParticipation(currentEpochParticipation);
+    setParticipation(previousEpochParticipation);
+
+    when(state.getSlot()).thenReturn(currentEpochSlot.plus(1));
+    when(mockSpec.getCurrentEpoch(state)).thenReturn(CURRENT_EPOCH);
+    // Attestations are timely unless a test says otherwise
+    when(mockSpec.getAttestationParticipationFlagIndices(any(), any(), any()))
+        .thenReturn(
+            List.of(TIMELY_SOURCE_FLAG_INDEX, TIMELY_TARGET_FLAG_INDEX, TIMELY_HEAD_FLAG_INDEX));
+    when(mockSpec.computeEpochAtSlot(any()))
+        .thenAnswer(i -> spec.computeEpochAtSlot(i.getArgument(0)));
+    // Treat each aggregation bit as the validator with the same index
+    when(mockSpec.getAttestingIndices(any(), any(), any()))
+        .thenAnswer(i -> i.<SszBitlist>getArgument(2).getAllSetBits());
+  }
+
+  @Test
+  void shouldPreferAggregatesWithMoreNewVotes() {
+    setParticipation(currentEpochParticipation, ALL_FLAGS, ALL_FLAGS, 0, 0, 0);
+    // Three validators but two have already been included in the state
+    final Attestation attestation1 = createAttestation(currentEpochSlot, 0, 1, 2);
+    final Attestation attestation2 = createAttestation(currentEpochSlot, 3, 4);
+
+    assertThat(pack(10, 10, attestation1, attestation2))
+        .containsExactly(attestation2, attestation1);
+  }
+
+  @Test
+  void shouldDropAggregatesWithNoNewVotes() {
+    setParticipation(currentEpochParticipation, ALL_FLAGS, 0, 0, 0);
+    final Attestation alreadyIncluded = createAttestation(currentEpochSlot, 0);
+    final Attestation attestation1 = createAttestation(currentEpochSlot, 1, 2, 3);
+    // Different data but the same validators as attestation1, so adds nothing once it is included
+    final Attestation attestation2 = createAttestation(currentEpochSlot, 1, 2);
+
+    assertThat(pack(10, 10, alreadyIncluded, attestation2, attestation1))
+        .containsExactly(attestation1);
+  }
+
+  @Test
+  void shouldCountVotesThatWouldSetFlagsMissingFromState() {
+    // Validator 0 was included too late for the head flag, validator 1 has every flag
+    setParticipation(currentEpochParticipation, SOURCE | TARGET, ALL_FLAGS);
+    final Attestation attestation1 = createAttestation(currentEpochSlot, 0);
+    final Attestation attestation2 = createAttestation(currentEpochSlot, 1);
+
+    assertThat(pack(10, 10, attestation1, attestation2)).containsExactly(attestation1);
+  }
+
+  @Test
+  void shouldNotCountVotesWhenAttestationOnlySetsFlagsAlreadyInState() {
+    setParticipation(currentEpochParticipation, SOURCE, 0);
+    final Attestation lateAttestation = createAttestation(currentEpochSlot, 0);
+    final Attestation timelyAttestation = createAttestation(currentEpochSlot, 1);
+    when(mockSpec.getAttestationParticipationFlagIndices(
+            any(), eq(lateAttestation.getData()), any()))
+        .thenReturn(List.of(TIMELY_SOURCE_FLAG_INDEX));
+
+    assertThat(pack(10, 10, lateAttestation, timelyAttestation))
+        .containsExactly(timelyAttestation);
+  }
+
+  @Test
+  void shouldCountSameValidatorSeparatelyForEachTargetEpoch() {
+    final Attestation previous = createAttestation(previousEpochSlot, 0, 1);
+    final Attestation current = createAttestation(currentEpochSlot, 0);
+
+    assertThat(pack(10, 10, previous, current)).containsExactly(previous, current);
+  }
+
+  @Test
+  void shouldKeepSuppliedOrderWhenValueIsEqual() {
+    final Attestation attestation1 = createAttestation(currentEpochSlot, 0, 1);
+    final Attestation attestation2 = createAttestation(currentEpochSlot, 2, 3);
+    final Attestation attestation3 = createAttestation(currentEpochSlot, 4, 5);
+
+    assertThat(pack(2, 10, attestation1, attestation2, attestation3))
+        .containsExactly(attestation1, attestation2);
+  }
+
+  @Test
+  void shouldLimitPreviousEpochAttestations() {
+    final Attestation previous1 = createAttestation(previousEpochSlot, 0, 1, 2);
+    final Attestation previous2 = createAttestation(previousEpochSlot, 3, 4);
+    final Attestation current = createAttestation(currentEpochSlot, 5);
+
+    assertThat(pack(10, 1, previous1, previous2, current)).containsExactly(previous1, current);
+  }
+
+  @Test
+  void shouldCountAggregationBitsBeforeAltair() {
+    when(state.toVersionAltair()).thenReturn(Optional.empty());
+    final Attestation attestation1 = createAttestation(currentEpochSlot, 0);
+    final Attestation attestation2 = createAttestation(currentEpochSlot, 0, 1);
+
+    assertThat(pack(10, 10, attestation1, attestation2))
+        .containsExactly(attestation2, attestation1);
+  }
+
+  private List<Attestation> pack(
+      final int maxAttestations, final int previousEpochLimit, final Attestation... attestations) {
+    return new BlockAttestationPacker(mockSpec, state)
+        .pack(
+            Stream.of(attestations)
+                .map(attestation -> ValidateableAttestation.from(spec, attestation))
+                .collect(Collectors.toList()),
+            maxAttestations,
+            previousEpochLimit);
+  }
+
+  private void setParticipation(
+      final SszList<SszByte> participation, final int... participationFlags) {
+    final byte[] bytes = new byte[16];
+    for (int i = 0; i < participationFlags.length; i++) {
+      bytes[i] = (byte) participationFlags[i];
+    }
+    when(participation.sszSerialize()).thenReturn(Bytes.wrap(bytes));
+  }
+
+  private Attestation createAttestation(final UInt64 slot, final int... validators) {
+    final UInt64 epoch = spec.computeEpochAtSlot(slot);
+    final AttestationData data =
+        new AttestationData(
+            slot,
+            UInt64.ZERO,
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomCheckpoint(),
+            new Checkpoint(epoch, dataStructureUtil.randomBytes32()));
+    final SszBitlist bits = attestationSchema.getAggregationBitsSchema().ofBits(16, validators);
+    return attestationSchema.create(bits, data, dataStructureUtil.randomSignature());
+  }
+}
@@ -154,6 +154,53 @@ class MatchingDataAttestationGroupTest {
             mediumAttestation);
   }
 
+  @Test
+  void getAggregates_shouldMergeAttestationsAddedAfterAggregatesCalculated() {
+    final ValidateableAttestation attestation1 = addAttestation(1, 2);
+    assertThat(group.getAggregates()).containsExactly(attestation1);
+
+    final ValidateableAttestation attestation2 = addAttestation(3);
+
+    assertThat(group.getAggregates())
+        .containsExactly(
+            ValidateableAttestation.from(
+                spec,
+                aggregateAttestations(
+                    attestation1.getAttestation(), attestation2.getAttestation())));
+  }
+
+  @Test
+  void getAggregates_shouldKeepAggregateWithMostValidatorsFirstWhenAddingIncrementally() {
+    final ValidateableAttestation littleAttestation = addAttestation(2, 3);
+    assertThat(group.getAggregates()).containsExactly(littleAttestation);
+
+    final ValidateableAttestation bigAttestation = addAttestation(1, 3, 5, 7);
+    // Already covered by the existing aggregates so doesn't change them
+    addAttestation(5, 7);
+
+    assertThat(group.getAggregates()).containsExactly(bigAttestation, littleAttestation);
+    assertThat(group.getBestAggregate()).contains(bigAttestation);
+  }
+
+  @Test
+  void getAggregates_shouldRecalculateAfterAttestationIncludedInBlock() {
+    addAttestation(1, 2);
+    final ValidateableAttestation attestation2 = addAttestation(2, 3);
+    assertThat(group.getAggregates()).hasSize(2);
+
+    group.onAttestationIncludedInBlock(UInt64.ZERO, createAttestation(1, 2).getAttestation());
+
+    assertThat(group.getAggregates()).containsExactly(attestation2);
+  }
+
+  @Test
+  void add_shouldIgnoreAttestationsOnceRemoved() {
+    addAttestation(1);
+
+    assertThat(group.markRemoved()).isEqualTo(1);
+    assertThat(group.add(createAttestation(2))).isFalse();
+  }
+
   @Test
   public void iterator_shouldNotAggregateAttestationsWhenValidatorsOverlap() {
     final ValidateableAttestation attestation1 = addAttestation(1, 2, 5);
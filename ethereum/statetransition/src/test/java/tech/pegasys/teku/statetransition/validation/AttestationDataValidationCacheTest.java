@@ -0,0 +1,136 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.async.ExceptionThrowingFutureSupplier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.statetransition.validation.AttestationDataValidationCache.ValidationContext;
+
+class AttestationDataValidationCacheTest {
+  private final Spec spec = TestSpecFactory.createMinimalPhase0();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final AttestationDataValidationCache cache =
+      new AttestationDataValidationCache(metricsSystem);
+
+  private final ValidationContext context =
+      new ValidationContext(
+          mock(BeaconState.class), Optional.of(IntList.of(1, 2, 3)), 0, Bytes.of(1));
+  private final AtomicInteger loadCount = new AtomicInteger();
+
+  @Test
+  void shouldOnlyLoadOncePerDistinctData() {
+    final AttestationData data = dataStructureUtil.randomAttestationData(UInt64.ONE);
+    final AttestationData sameData = AttestationData.SSZ_SCHEMA.sszDeserialize(data.sszSerialize());
+
+    assertThat(cache.getOrLoad(data, loader(Optional.of(context))))
+        .isCompletedWithValue(Optional.of(context));
+    assertThat(cache.getOrLoad(sameData, loader(Optional.empty())))
+        .isCompletedWithValue(Optional.of(context));
+
+    assertThat(loadCount).hasValue(1);
+    assertThat(getCounterValue("attestation_data_validation_cache_hits")).isEqualTo(1);
+    assertThat(getCounterValue("attestation_data_validation_cache_misses")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldShareInProgressLoad() {
+    final AttestationData data = dataStructureUtil.randomAttestationData(UInt64.ONE);
+    final SafeFuture<Optional<ValidationContext>> loadResult = new SafeFuture<>();
+
+    final SafeFuture<Optional<ValidationContext>> result1 =
+        cache.getOrLoad(data, () -> loadResult);
+    final SafeFuture<Optional<ValidationContext>> result2 =
+        cache.getOrLoad(data, loader(Optional.empty()));
+    assertThat(result1).isNotDone();
+    assertThat(result2).isNotDone();
+
+    loadResult.complete(Optional.of(context));
+    assertThat(result1).isCompletedWithValue(Optional.of(context));
+    assertThat(result2).isCompletedWithValue(Optional.of(context));
+    assertThat(loadCount).hasValue(0);
+  }
+
+  @Test
+  void shouldNotCacheEmptyResults() {
+    final AttestationData data = dataStructureUtil.randomAttestationData(UInt64.ONE);
+
+    assertThat(cache.getOrLoad(data, loader(Optional.empty())))
+        .isCompletedWithValue(Optional.empty());
+    assertThat(cache.getOrLoad(data, loader(Optional.of(context))))
+        .isCompletedWithValue(Optional.of(context));
+    assertThat(loadCount).hasValue(2);
+  }
+
+  @Test
+  void shouldNotCacheFailedLoads() {
+    final AttestationData data = dataStructureUtil.randomAttestationData(UInt64.ONE);
+
+    assertThat(
+            cache.getOrLoad(
+                data,
+                () -> {
+                  throw new IllegalStateException("Nope");
+                }))
+        .isCompletedExceptionally();
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getOrLoad(data, loader(Optional.of(context))))
+        .isCompletedWithValue(Optional.of(context));
+  }
+
+  @Test
+  void shouldDiscardEntriesFromOldSlots() {
+    final AttestationData data1 = dataStructureUtil.randomAttestationData(UInt64.ONE);
+    final AttestationData data2 = dataStructureUtil.randomAttestationData(UInt64.valueOf(2));
+    final AttestationData data3 = dataStructureUtil.randomAttestationData(UInt64.valueOf(3));
+
+    cache.getOrLoad(data1, loader(Optional.of(context)));
+    cache.getOrLoad(data2, loader(Optional.of(context)));
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.getOrLoad(data3, loader(Optional.of(context)));
+    assertThat(cache.size()).isEqualTo(AttestationDataValidationCache.SLOTS_TO_RETAIN);
+
+    cache.getOrLoad(data1, loader(Optional.of(context)));
+    assertThat(loadCount).hasValue(4);
+  }
+
+  private ExceptionThrowingFutureSupplier<Optional<ValidationContext>> loader(
+      final Optional<ValidationContext> result) {
+    return () -> {
+      loadCount.incrementAndGet();
+      return SafeFuture.completedFuture(result);
+    };
+  }
+
+  private long getCounterValue(final String name) {
+    return metricsSystem.getCounter(TekuMetricCategory.BEACON, name).getValue();
+  }
+}
@@ -82,6 +82,18 @@ public final class BLSPublicKey {
     return new BLSPublicKey(bytes);
   }
 
+  /**
+   * Create a PublicKey from its 96-byte uncompressed form. The point is deserialized immediately,
+   * which avoids the square root needed to decompress the 48-byte form.
+   *
+   * @param bytes 96 bytes as returned by {@link #toBytesUncompressed()}
+   * @return a public key
+   * @throws IllegalArgumentException If the supplied bytes are not a valid public key
+   */
+  public static BLSPublicKey fromBytesUncompressed(Bytes bytes) throws IllegalArgumentException {
+    return new BLSPublicKey(BLS.getBlsImpl().publicKeyFromUncompressed(bytes));
+  }
+
   public static BLSPublicKey fromBytesCompressedValidate(Bytes48 bytes)
       throws IllegalArgumentException {
     BLSPublicKey ret = new BLSPublicKey(bytes);
@@ -95,6 +107,7 @@ public final class BLSPublicKey {
   // convert point to raw data when necessary to do so.
   private final Supplier<PublicKey> publicKey;
   private final Supplier<Bytes48> bytesCompressed;
+  private volatile boolean decompressed;
 
   /**
    * Construct from a BLSSecretKey object.
@@ -111,18 +124,20 @@ public final class BLSPublicKey {
    * @param publicKey An implementation-specific PublicKey
    */
   BLSPublicKey(PublicKey publicKey) {
-    this(() -> publicKey, Suppliers.memoize(publicKey::toBytesCompressed));
+    this.publicKey = () -> publicKey;
+    this.bytesCompressed = Suppliers.memoize(publicKey::toBytesCompressed);
+    this.decompressed = true;
   }
 
   BLSPublicKey(Bytes48 bytesCompressed) {
-    this(
-        Suppliers.memoize(() -> BLS.getBlsImpl().publicKeyFromCompressed(bytesCompressed)),
-        () -> bytesCompressed);
+    this.publicKey = Suppliers.memoize(() -> decompress(bytesCompressed));
+    this.bytesCompressed = () -> bytesCompressed;
   }
 
-  private BLSPublicKey(Supplier<PublicKey> publicKey, Supplier<Bytes48> bytesCompressed) {
-    this.publicKey = publicKey;
-    this.bytesCompressed = bytesCompressed;
+  private PublicKey decompress(final Bytes48 bytesCompressed) {
+    final PublicKey key = BLS.getBlsImpl().publicKeyFromCompressed(bytesCompressed);
+    decompressed = true;
+    return key;
   }
 
   /**
@@ -138,6 +153,22 @@ public final class BLSPublicKey {
     return bytesCompressed.get();
   }
 
+  /**
+   * Returns the uncompressed form of the key. Note this forces the compressed bytes to be
+   * decompressed if that has not already happened.
+   */
+  public Bytes toBytesUncompressed() {
+    return publicKey.get().toBytesUncompressed();
+  }
+
+  /**
+   * Returns true if the key is already held as a point, so that using it or calling {@link
+   * #toBytesUncompressed()} doesn't require the compressed bytes to be decompressed.
+   */
+  public boolean isDecompressed() {
+    return decompressed;
+  }
+
   PublicKey getPublicKey() {
     return publicKey.get();
   }
@@ -69,6 +69,16 @@ public interface BLS12381 {
    */
   PublicKey publicKeyFromCompressed(Bytes48 compressedPublicKeyBytes) throws BlsException;
 
+  /**
+   * Create a PublicKey from its uncompressed form as returned by {@link
+   * PublicKey#toBytesUncompressed()}. This is considerably cheaper than decompressing the key.
+   *
+   * @param uncompressedPublicKeyBytes 96 bytes to read the public key from
+   * @return a public key
+   * @throws BlsException If the supplied bytes are not a valid uncompressed public key
+   */
+  PublicKey publicKeyFromUncompressed(Bytes uncompressedPublicKeyBytes) throws BlsException;
+
   /**
    * Decode a signature from its <em>compressed</em> form serialized representation.
    *
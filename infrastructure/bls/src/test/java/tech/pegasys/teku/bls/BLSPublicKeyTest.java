@@ -54,6 +54,41 @@ abstract class BLSPublicKeyTest {
         .isInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  void fromBytesUncompressed_roundTrip() {
+    final BLSPublicKey publicKey = BLSTestUtil.randomPublicKey(1);
+    final Bytes uncompressed = publicKey.toBytesUncompressed();
+    assertThat(uncompressed.size()).isEqualTo(BLSConstants.BLS_PUBKEY_UNCOMPRESSED_SIZE);
+
+    final BLSPublicKey restored = BLSPublicKey.fromBytesUncompressed(uncompressed);
+    assertThat(restored).isEqualTo(publicKey);
+    assertThat(restored.toBytesCompressed()).isEqualTo(publicKey.toBytesCompressed());
+  }
+
+  @Test
+  void isDecompressed_shouldBeFalseUntilCompressedKeyIsUsed() {
+    final BLSPublicKey publicKey =
+        BLSPublicKey.fromBytesCompressed(BLSTestUtil.randomPublicKey(1).toBytesCompressed());
+    assertThat(publicKey.isDecompressed()).isFalse();
+
+    publicKey.toBytesUncompressed();
+    assertThat(publicKey.isDecompressed()).isTrue();
+  }
+
+  @Test
+  void isDecompressed_shouldBeTrueForKeyCreatedFromPoint() {
+    assertThat(BLSTestUtil.randomPublicKey(1).isDecompressed()).isTrue();
+  }
+
+  @Test
+  void fromBytesUncompressed_throwsOnWrongLength() {
+    assertThatThrownBy(
+            () ->
+                BLSPublicKey.fromBytesUncompressed(
+                    BLSTestUtil.randomPublicKey(1).toBytesCompressed()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   void succeedsWhenEqualsReturnsTrueForTheSameEmptyPublicKey() {
     BLSPublicKey publicKey = BLSPublicKey.empty();
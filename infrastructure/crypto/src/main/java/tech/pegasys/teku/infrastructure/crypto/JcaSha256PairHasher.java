@@ -0,0 +1,38 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.crypto;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+
+/**
+ * Hashes each pair in turn with a single {@link MessageDigest}. The JCA API has no multi-buffer
+ * entry point so this doesn't actually hash pairs in parallel, it only saves creating a digest per
+ * node and keeps the hashing loop free of tree traversal.
+ */
+class JcaSha256PairHasher implements Sha256PairHasher {
+
+  @Override
+  public void hashPairs(final byte[] input, final int count, final byte[] output) {
+    final MessageDigest digest = MessageDigestFactory.createSha256();
+    try {
+      for (int i = 0; i < count; i++) {
+        digest.update(input, i * PAIR_SIZE, PAIR_SIZE);
+        digest.digest(output, i * HASH_SIZE, HASH_SIZE);
+      }
+    } catch (final DigestException e) {
+      throw new IllegalStateException("Failed to calculate SHA-256 digest", e);
+    }
+  }
+}
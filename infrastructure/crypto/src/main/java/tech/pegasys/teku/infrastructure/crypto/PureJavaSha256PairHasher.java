@@ -0,0 +1,161 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.crypto;
+
+/**
+ * SHA-256 (FIPS 180-4) specialised for 64 byte inputs.
+ *
+ * <p>A 64 byte message is exactly one block followed by a padding block that is the same for every
+ * input. The message schedule of the padding block is therefore constant and is expanded, with the
+ * round constants already added, once up front. Working state is held in locals so no allocation
+ * happens per hash, only a schedule and state buffer per batch.
+ */
+class PureJavaSha256PairHasher implements Sha256PairHasher {
+
+  private static final int[] INITIAL_STATE = {
+    0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+  };
+
+  private static final int[] K = {
+    0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+    0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+    0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+    0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+    0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+    0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+    0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+    0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+  };
+
+  /** Round constants plus the message schedule of the padding block for a 512 bit message. */
+  private static final int[] PADDING_BLOCK_SCHEDULE = createPaddingBlockSchedule();
+
+  @Override
+  public void hashPairs(final byte[] input, final int count, final byte[] output) {
+    final int[] w = new int[64];
+    final int[] state = new int[8];
+    for (int i = 0; i < count; i++) {
+      hash(input, i * PAIR_SIZE, w, state, output, i * HASH_SIZE);
+    }
+  }
+
+  private static void hash(
+      final byte[] input,
+      final int inputOffset,
+      final int[] w,
+      final int[] state,
+      final byte[] output,
+      final int outputOffset) {
+    for (int t = 0; t < 16; t++) {
+      w[t] = readInt(input, inputOffset + t * 4);
+    }
+    for (int t = 16; t < 64; t++) {
+      w[t] = smallSigma1(w[t - 2]) + w[t - 7] + smallSigma0(w[t - 15]) + w[t - 16];
+    }
+    for (int t = 0; t < 64; t++) {
+      w[t] += K[t];
+    }
+
+    System.arraycopy(INITIAL_STATE, 0, state, 0, INITIAL_STATE.length);
+    compress(state, w);
+    compress(state, PADDING_BLOCK_SCHEDULE);
+
+    for (int j = 0; j < 8; j++) {
+      writeInt(state[j], output, outputOffset + j * 4);
+    }
+  }
+
+  /**
+   * Runs the 64 compression rounds over {@code state}.
+   *
+   * @param state the current hash state, updated in place
+   * @param kw the message schedule with the round constants already added
+   */
+  private static void compress(final int[] state, final int[] kw) {
+    int a = state[0];
+    int b = state[1];
+    int c = state[2];
+    int d = state[3];
+    int e = state[4];
+    int f = state[5];
+    int g = state[6];
+    int h = state[7];
+
+    for (int t = 0; t < 64; t++) {
+      final int t1 = h + bigSigma1(e) + ((e & f) ^ (~e & g)) + kw[t];
+      final int t2 = bigSigma0(a) + ((a & b) ^ (a & c) ^ (b & c));
+      h = g;
+      g = f;
+      f = e;
+      e = d + t1;
+      d = c;
+      c = b;
+      b = a;
+      a = t1 + t2;
+    }
+
+    state[0] += a;
+    state[1] += b;
+    state[2] += c;
+    state[3] += d;
+    state[4] += e;
+    state[5] += f;
+    state[6] += g;
+    state[7] += h;
+  }
+
+  private static int[] createPaddingBlockSchedule() {
+    final int[] w = new int[64];
+    // The padding block is a single 1 bit followed by zeros and the 512 bit message length
+    w[0] = 0x80000000;
+    w[15] = PAIR_SIZE * 8;
+    for (int t = 16; t < 64; t++) {
+      w[t] = smallSigma1(w[t - 2]) + w[t - 7] + smallSigma0(w[t - 15]) + w[t - 16];
+    }
+    for (int t = 0; t < 64; t++) {
+      w[t] += K[t];
+    }
+    return w;
+  }
+
+  private static int bigSigma0(final int x) {
+    return Integer.rotateRight(x, 2) ^ Integer.rotateRight(x, 13) ^ Integer.rotateRight(x, 22);
+  }
+
+  private static int bigSigma1(final int x) {
+    return Integer.rotateRight(x, 6) ^ Integer.rotateRight(x, 11) ^ Integer.rotateRight(x, 25);
+  }
+
+  private static int smallSigma0(final int x) {
+    return Integer.rotateRight(x, 7) ^ Integer.rotateRight(x, 18) ^ (x >>> 3);
+  }
+
+  private static int smallSigma1(final int x) {
+    return Integer.rotateRight(x, 17) ^ Integer.rotateRight(x, 19) ^ (x >>> 10);
+  }
+
+  private static int readInt(final byte[] data, final int offset) {
+    return (data[offset] << 24)
+        | ((data[offset + 1] & 0xff) << 16)
+        | ((data[offset + 2] & 0xff) << 8)
+        | (data[offset + 3] & 0xff);
+  }
+
+  private static void writeInt(final int value, final byte[] data, final int offset) {
+    data[offset] = (byte) (value >>> 24);
+    data[offset + 1] = (byte) (value >>> 16);
+    data[offset + 2] = (byte) (value >>> 8);
+    data[offset + 3] = (byte) value;
+  }
+}
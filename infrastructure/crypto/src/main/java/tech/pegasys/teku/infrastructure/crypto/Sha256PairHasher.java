@@ -0,0 +1,48 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.crypto;
+
+/**
+ * Computes SHA-256 hashes of many 64 byte inputs at once. Merkle tree hashing only ever hashes a
+ * pair of 32 byte roots so batching the pairs from a whole tree level into one contiguous buffer
+ * lets implementations avoid per-hash allocation and set up costs.
+ */
+public interface Sha256PairHasher {
+
+  int PAIR_SIZE = 64;
+  int HASH_SIZE = 32;
+
+  /**
+   * Hashes {@code count} consecutive 64 byte inputs from {@code input} writing the 32 byte hashes
+   * consecutively into {@code output}.
+   *
+   * @param input the inputs, at least {@code count * 64} bytes
+   * @param count the number of inputs to hash
+   * @param output the buffer to write hashes to, at least {@code count * 32} bytes
+   */
+  void hashPairs(byte[] input, int count, byte[] output);
+
+  /**
+   * Uses the JCA SHA-256 provider selected by {@link MessageDigestFactory}, hashing the pairs one
+   * after another with a single digest.
+   */
+  static Sha256PairHasher jca() {
+    return new JcaSha256PairHasher();
+  }
+
+  /** Uses a pure Java SHA-256 implementation specialised for 64 byte inputs. */
+  static Sha256PairHasher pureJava() {
+    return new PureJavaSha256PairHasher();
+  }
+}
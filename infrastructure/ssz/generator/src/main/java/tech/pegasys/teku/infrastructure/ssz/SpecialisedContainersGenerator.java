@@ -0,0 +1,430 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates base classes for the hottest fixed size containers of the spec. Unlike the generic
+ * {@code ContainerN} classes, these know the exact layout of their container so they locate fields
+ * by constant generalized indices, cache primitive field values and serialize and hash the
+ * container with straight line code instead of looping over the child schemas.
+ *
+ * <p>Every container listed here must have fixed size fields only
+ */
+public class SpecialisedContainersGenerator {
+
+  private static final String SPEC_PACKAGE = "tech.pegasys.teku.spec.datastructures";
+
+  private static final List<ContainerDescription> CONTAINERS =
+      List.of(
+          new ContainerDescription(
+              SPEC_PACKAGE + ".state",
+              "Checkpoint",
+              List.of(Field.uint64("epoch"), Field.bytes32("root"))),
+          new ContainerDescription(
+              SPEC_PACKAGE + ".operations",
+              "AttestationData",
+              List.of(
+                  Field.uint64("slot"),
+                  Field.uint64("index"),
+                  Field.bytes32("beacon_block_root"),
+                  Field.composite("source", SPEC_PACKAGE + ".state.Checkpoint"),
+                  Field.composite("target", SPEC_PACKAGE + ".state.Checkpoint"))),
+          new ContainerDescription(
+              SPEC_PACKAGE + ".state",
+              "Validator",
+              List.of(
+                  Field.composite("pubkey", SPEC_PACKAGE + ".type.SszPublicKey"),
+                  Field.bytes32("withdrawal_credentials"),
+                  Field.uint64("effective_balance"),
+                  Field.bit("slashed"),
+                  Field.uint64("activation_eligibility_epoch"),
+                  Field.uint64("activation_epoch"),
+                  Field.uint64("exit_epoch"),
+                  Field.uint64("withdrawable_epoch"))),
+          new ContainerDescription(
+              SPEC_PACKAGE + ".operations.versions.altair",
+              "SyncCommitteeContribution",
+              List.of(
+                  Field.uint64("slot"),
+                  Field.bytes32("beacon_block_root"),
+                  Field.uint64("subcommittee_index"),
+                  Field.composite(
+                      "aggregation_bits",
+                      "tech.pegasys.teku.infrastructure.ssz.collections.SszBitvector"),
+                  Field.composite("signature", SPEC_PACKAGE + ".type.SszSignature"))));
+
+  private final String templatePackagePath = "tech/pegasys/teku/infrastructure/ssz/containers/";
+  private final String templateFile = "SpecialisedContainerTemplate.java";
+  private final Path templateSrcPath;
+  private final Path targetSrcPath;
+  private final ContainersGenerator templateProcessor;
+
+  public SpecialisedContainersGenerator(Path templateSourcePath, Path destinationSourcePath) {
+    templateSrcPath = templateSourcePath;
+    targetSrcPath = destinationSourcePath;
+    templateProcessor = new ContainersGenerator(templateSourcePath, destinationSourcePath);
+  }
+
+  /**
+   * Available generation from Gradle with {@code
+   * :infrastructure:ssz:generator:generateAndFormatSpecialisedContainers} task
+   */
+  public static void main(String[] args) {
+    final Path templateSourcePath;
+    final Path targetSourcePath;
+    if (args.length < 1) {
+      templateSourcePath = Paths.get(".", "ssz", "generator", "src", "main", "java");
+    } else {
+      templateSourcePath = Path.of(args[0]);
+    }
+
+    if (args.length < 2) {
+      targetSourcePath = Paths.get("..", "ethereum", "spec", "src", "main", "java");
+    } else {
+      targetSourcePath = Path.of(args[1]);
+    }
+
+    System.out.println(
+        "Generating specialised container classes from templates in: "
+            + templateSourcePath.toAbsolutePath()
+            + ", to source dir: "
+            + targetSourcePath.toAbsolutePath());
+    new SpecialisedContainersGenerator(templateSourcePath, targetSourcePath).generateAll();
+    System.out.println("Done.");
+  }
+
+  public void generateAll() {
+    CONTAINERS.forEach(this::generateContainerClass);
+  }
+
+  private void generateContainerClass(ContainerDescription container) {
+    final List<Field> fields = container.fields;
+    final int fieldsCount = fields.size();
+    final int depth = treeDepth(fieldsCount);
+    final String className = "Abstract" + container.viewClassName;
+    final String typeArguments =
+        "<"
+            + container.viewClassName
+            + ", "
+            + fields.stream().map(Field::getSszTypeSimpleName).collect(Collectors.joining(", "))
+            + ">";
+    final Set<Integer> zeroRootHeights = new TreeSet<>();
+    final String hashTreeRootExpression =
+        hashTreeRootExpression(depth, 0, fields, zeroRootHeights);
+
+    final Map<String, String> vars =
+        Map.ofEntries(
+            Map.entry("Package", container.packageName),
+            Map.entry("Imports", imports(container)),
+            Map.entry("ClassName", className),
+            Map.entry("SuperClass", "Container" + fieldsCount + typeArguments),
+            Map.entry("SchemaType", "ContainerSchema" + fieldsCount + typeArguments),
+            Map.entry(
+                "GIndexConstants",
+                IntStream.range(0, fieldsCount)
+                    .mapToObj(
+                        i ->
+                            "private static final long "
+                                + fields.get(i).getGIndexConstantName()
+                                + " = "
+                                + ((1L << depth) + i)
+                                + ";")
+                    .collect(Collectors.joining("\n  "))),
+            Map.entry(
+                "ZeroRoots",
+                zeroRootHeights.stream()
+                    .map(
+                        height ->
+                            "private static final Bytes32 ZERO_ROOT_"
+                                + height
+                                + " = Hash.sha256("
+                                + zeroRoot(height - 1)
+                                + ", "
+                                + zeroRoot(height - 1)
+                                + ");")
+                    .collect(Collectors.joining("\n  "))),
+            Map.entry(
+                "TypedFields",
+                fields.stream()
+                    .filter(Field::isPrimitive)
+                    .map(f -> "private " + f.kind.valueType + " " + f.getJavaName() + ";")
+                    .collect(Collectors.joining("\n  "))),
+            Map.entry(
+                "ViewParams",
+                IntStream.range(0, fieldsCount)
+                    .mapToObj(i -> fields.get(i).getSszTypeSimpleName() + " arg" + i)
+                    .collect(Collectors.joining(", "))),
+            Map.entry(
+                "ViewArgs",
+                IntStream.range(0, fieldsCount)
+                    .mapToObj(i -> "arg" + i)
+                    .collect(Collectors.joining(", "))),
+            Map.entry(
+                "TypedFieldsInit",
+                IntStream.range(0, fieldsCount)
+                    .filter(i -> fields.get(i).isPrimitive())
+                    .mapToObj(i -> "this." + fields.get(i).getJavaName() + " = arg" + i + ".get();")
+                    .collect(Collectors.joining("\n    "))),
+            Map.entry(
+                "TypedGetters",
+                fields.stream()
+                    .filter(Field::isPrimitive)
+                    .map(SpecialisedContainersGenerator::typedGetter)
+                    .collect(Collectors.joining("\n\n  "))),
+            Map.entry(
+                "SerializeFields",
+                IntStream.range(0, fieldsCount)
+                    .mapToObj(
+                        i ->
+                            "size += "
+                                + fieldSchema(fields.get(i), i)
+                                + ".sszSerializeTree(node.get("
+                                + fields.get(i).getGIndexConstantName()
+                                + "), writer);")
+                    .collect(Collectors.joining("\n    "))),
+            Map.entry(
+                "HashTreeRoot",
+                IntStream.range(0, fieldsCount)
+                        .mapToObj(
+                            i ->
+                                "final Bytes32 fieldRoot"
+                                    + i
+                                    + " = node.get("
+                                    + fields.get(i).getGIndexConstantName()
+                                    + ").hashTreeRoot();")
+                        .collect(Collectors.joining("\n      "))
+                    + "\n      hashTreeRoot = "
+                    + hashTreeRootExpression
+                    + ";"));
+
+    templateProcessor.generateFromTemplate(
+        templateSrcPath.resolve(templatePackagePath).resolve(templateFile),
+        targetSrcPath
+            .resolve(container.packageName.replace('.', '/'))
+            .resolve(className + ".java"),
+        vars);
+  }
+
+  private static String imports(ContainerDescription container) {
+    final Set<String> imports = new TreeSet<>();
+    imports.add("org.apache.tuweni.bytes.Bytes");
+    imports.add("org.apache.tuweni.bytes.Bytes32");
+    imports.add("tech.pegasys.teku.infrastructure.crypto.Hash");
+    imports.add("tech.pegasys.teku.infrastructure.ssz.containers.Container" + container.size());
+    imports.add(
+        "tech.pegasys.teku.infrastructure.ssz.containers.ContainerSchema" + container.size());
+    imports.add("tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter");
+    imports.add("tech.pegasys.teku.infrastructure.ssz.sos.SszWriter");
+    imports.add("tech.pegasys.teku.infrastructure.ssz.tree.TreeNode");
+    for (Field field : container.fields) {
+      if (field.isPrimitive()) {
+        imports.add("tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas");
+        if (field.kind.valueTypeImport != null) {
+          imports.add(field.kind.valueTypeImport);
+        }
+      }
+      if (!field.getSszTypePackage().equals(container.packageName)) {
+        imports.add(field.sszType);
+      }
+    }
+    return imports.stream().map(i -> "import " + i + ";").collect(Collectors.joining("\n"));
+  }
+
+  private static String typedGetter(Field field) {
+    final String name = field.getJavaName();
+    return ("public "
+            + field.kind.getterType
+            + " "
+            + field.getGetterName()
+            + "() {\n"
+            + "    # value = this.#;\n"
+            + "    if (value == null) {\n"
+            + "      value =\n"
+            + "          SszPrimitiveSchemas."
+            + field.kind.schemaConstant
+            + ".createFromPackedNodeUnboxed(\n"
+            + "              getBackingNode().get("
+            + field.getGIndexConstantName()
+            + "), 0);\n"
+            + "      this.# = value;\n"
+            + "    }\n"
+            + "    return value;\n"
+            + "  }")
+        .replace("# value", field.kind.valueType + " value")
+        .replace("#", name);
+  }
+
+  private static String fieldSchema(Field field, int index) {
+    return field.isPrimitive()
+        ? "SszPrimitiveSchemas." + field.kind.schemaConstant
+        : "getSchema().getChildSchema(" + index + ")";
+  }
+
+  /**
+   * Builds the nested {@code Hash.sha256} calls merkleizing the field roots. Subtrees past the last
+   * field are all zero and use precomputed {@code ZERO_ROOT_N} constants
+   */
+  private static String hashTreeRootExpression(
+      int height, int firstFieldIndex, List<Field> fields, Set<Integer> zeroRootHeights) {
+    if (firstFieldIndex >= fields.size()) {
+      for (int h = 1; h <= height; h++) {
+        zeroRootHeights.add(h);
+      }
+      return zeroRoot(height);
+    }
+    if (height == 0) {
+      return "fieldRoot" + firstFieldIndex;
+    }
+    return "Hash.sha256("
+        + hashTreeRootExpression(height - 1, firstFieldIndex, fields, zeroRootHeights)
+        + ", "
+        + hashTreeRootExpression(
+            height - 1, firstFieldIndex + (1 << (height - 1)), fields, zeroRootHeights)
+        + ")";
+  }
+
+  private static String zeroRoot(int height) {
+    return height == 0 ? "Bytes32.ZERO" : "ZERO_ROOT_" + height;
+  }
+
+  private static int treeDepth(int fieldsCount) {
+    int depth = 0;
+    while ((1 << depth) < fieldsCount) {
+      depth++;
+    }
+    return depth;
+  }
+
+  private enum FieldKind {
+    UINT64(
+        "SszUInt64",
+        "UInt64",
+        "UInt64",
+        "tech.pegasys.teku.infrastructure.unsigned.UInt64",
+        "UINT64"),
+    BYTES32("SszBytes32", "Bytes32", "Bytes32", null, "BYTES32"),
+    BIT("SszBit", "Boolean", "boolean", null, "BIT"),
+    COMPOSITE(null, null, null, null, null);
+
+    private final String sszTypeSimpleName;
+    private final String valueType;
+    private final String getterType;
+    private final String valueTypeImport;
+    private final String schemaConstant;
+
+    FieldKind(
+        String sszTypeSimpleName,
+        String valueType,
+        String getterType,
+        String valueTypeImport,
+        String schemaName) {
+      this.sszTypeSimpleName = sszTypeSimpleName;
+      this.valueType = valueType;
+      this.getterType = getterType;
+      this.valueTypeImport = valueTypeImport;
+      this.schemaConstant = schemaName == null ? null : schemaName + "_SCHEMA";
+    }
+  }
+
+  private static class Field {
+    private final String name;
+    private final FieldKind kind;
+    private final String sszType;
+
+    private Field(String name, FieldKind kind, String sszType) {
+      this.name = name;
+      this.kind = kind;
+      this.sszType = sszType;
+    }
+
+    static Field uint64(String name) {
+      return primitive(name, FieldKind.UINT64);
+    }
+
+    static Field bytes32(String name) {
+      return primitive(name, FieldKind.BYTES32);
+    }
+
+    static Field bit(String name) {
+      return primitive(name, FieldKind.BIT);
+    }
+
+    static Field composite(String name, String sszType) {
+      return new Field(name, FieldKind.COMPOSITE, sszType);
+    }
+
+    private static Field primitive(String name, FieldKind kind) {
+      return new Field(
+          name, kind, "tech.pegasys.teku.infrastructure.ssz.primitive." + kind.sszTypeSimpleName);
+    }
+
+    boolean isPrimitive() {
+      return kind != FieldKind.COMPOSITE;
+    }
+
+    String getSszTypeSimpleName() {
+      return sszType.substring(sszType.lastIndexOf('.') + 1);
+    }
+
+    String getSszTypePackage() {
+      return sszType.substring(0, sszType.lastIndexOf('.'));
+    }
+
+    String getJavaName() {
+      final String capitalized = getCapitalizedName();
+      return Character.toLowerCase(capitalized.charAt(0)) + capitalized.substring(1);
+    }
+
+    String getGetterName() {
+      return (kind == FieldKind.BIT ? "is" : "get") + getCapitalizedName();
+    }
+
+    String getGIndexConstantName() {
+      return name.toUpperCase(Locale.ROOT) + "_GINDEX";
+    }
+
+    private String getCapitalizedName() {
+      return Arrays.stream(name.split("_"))
+          .map(part -> Character.toUpperCase(part.charAt(0)) + part.substring(1))
+          .collect(Collectors.joining());
+    }
+  }
+
+  private static class ContainerDescription {
+    private final String packageName;
+    private final String viewClassName;
+    private final List<Field> fields;
+
+    private ContainerDescription(String packageName, String viewClassName, List<Field> fields) {
+      this.packageName = packageName;
+      this.viewClassName = viewClassName;
+      this.fields = fields;
+    }
+
+    int size() {
+      return fields.size();
+    }
+  }
+}
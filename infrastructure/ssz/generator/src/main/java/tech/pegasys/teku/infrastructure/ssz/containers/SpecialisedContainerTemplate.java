@@ -0,0 +1,141 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package /*$$Package*/ tech.pegasys.teku.infrastructure.ssz.containers /*$$*/;
+
+/*$$Imports*/
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.Hash;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszBytes32;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+/*$$*/
+
+/** Autogenerated by tech.pegasys.teku.infrastructure.ssz.SpecialisedContainersGenerator */
+public abstract class /*$$ClassName*/ SpecialisedContainerTemplate /*$$*/
+    extends /*$$SuperClass*/ Container2<SpecialisedContainerTemplate, SszUInt64, SszBytes32> /*$$*/ {
+
+  /*$$GIndexConstants*/
+  private static final long EPOCH_GINDEX = 2;
+  private static final long ROOT_GINDEX = 3;
+  /*$$*/
+
+  /*$$ZeroRoots*/ /*$$*/
+
+  // Field values are immutable so it is safe to cache them without synchronization
+  /*$$TypedFields*/
+  private UInt64 epoch;
+  private Bytes32 root;
+  /*$$*/
+
+  /**
+   * Views over an existing tree usually find the root already cached in that tree, so the unrolled
+   * hashing only kicks in for views built from field values
+   */
+  private final boolean builtFromFields;
+
+  private Bytes32 cachedHashTreeRoot;
+
+  protected /*$$ClassName*/ SpecialisedContainerTemplate /*$$*/(
+      /*$$SchemaType*/ ContainerSchema2<SpecialisedContainerTemplate, SszUInt64, SszBytes32> /*$$*/
+          schema) {
+    super(schema);
+    this.builtFromFields = false;
+  }
+
+  protected /*$$ClassName*/ SpecialisedContainerTemplate /*$$*/(
+      /*$$SchemaType*/ ContainerSchema2<SpecialisedContainerTemplate, SszUInt64, SszBytes32> /*$$*/
+          schema,
+      TreeNode backingNode) {
+    super(schema, backingNode);
+    this.builtFromFields = false;
+  }
+
+  protected /*$$ClassName*/ SpecialisedContainerTemplate /*$$*/(
+      /*$$SchemaType*/ ContainerSchema2<SpecialisedContainerTemplate, SszUInt64, SszBytes32> /*$$*/
+          schema, /*$$ViewParams*/
+      SszUInt64 arg0,
+      SszBytes32 arg1 /*$$*/) {
+    super(schema, /*$$ViewArgs*/ arg0, arg1 /*$$*/);
+    this.builtFromFields = true;
+    /*$$TypedFieldsInit*/
+    this.epoch = arg0.get();
+    this.root = arg1.get();
+    /*$$*/
+  }
+
+  /*$$TypedGetters*/
+  public UInt64 getEpoch() {
+    UInt64 value = this.epoch;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.UINT64_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(EPOCH_GINDEX), 0);
+      this.epoch = value;
+    }
+    return value;
+  }
+
+  public Bytes32 getRoot() {
+    Bytes32 value = this.root;
+    if (value == null) {
+      value =
+          SszPrimitiveSchemas.BYTES32_SCHEMA.createFromPackedNodeUnboxed(
+              getBackingNode().get(ROOT_GINDEX), 0);
+      this.root = value;
+    }
+    return value;
+  }
+  /*$$*/
+
+  @Override
+  public Bytes sszSerialize() {
+    final SszByteArrayWriter writer = new SszByteArrayWriter(getSchema().getSszFixedPartSize());
+    sszSerialize(writer);
+    return writer.toBytes();
+  }
+
+  @Override
+  public int sszSerialize(SszWriter writer) {
+    final TreeNode node = getBackingNode();
+    int size = 0;
+    /*$$SerializeFields*/
+    size += SszPrimitiveSchemas.UINT64_SCHEMA.sszSerializeTree(node.get(EPOCH_GINDEX), writer);
+    size += SszPrimitiveSchemas.BYTES32_SCHEMA.sszSerializeTree(node.get(ROOT_GINDEX), writer);
+    /*$$*/
+    return size;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    if (!builtFromFields) {
+      return super.hashTreeRoot();
+    }
+    Bytes32 hashTreeRoot = cachedHashTreeRoot;
+    if (hashTreeRoot == null) {
+      final TreeNode node = getBackingNode();
+      /*$$HashTreeRoot*/
+      final Bytes32 fieldRoot0 = node.get(EPOCH_GINDEX).hashTreeRoot();
+      final Bytes32 fieldRoot1 = node.get(ROOT_GINDEX).hashTreeRoot();
+      hashTreeRoot = Hash.sha256(fieldRoot0, fieldRoot1);
+      /*$$*/
+      cachedHashTreeRoot = hashTreeRoot;
+    }
+    return hashTreeRoot;
+  }
+}
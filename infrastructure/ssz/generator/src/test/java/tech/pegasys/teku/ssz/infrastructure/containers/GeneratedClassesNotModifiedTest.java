@@ -27,10 +27,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.api.io.TempDir;
 import tech.pegasys.teku.infrastructure.ssz.ContainersGenerator;
+import tech.pegasys.teku.infrastructure.ssz.SpecialisedContainersGenerator;
 
 public class GeneratedClassesNotModifiedTest {
 
   private static final String PROJECT_PROPERTY_NAME = "ssz.project.source.path";
+  private static final String SPEC_PROJECT_PROPERTY_NAME = "spec.project.source.path";
   private static final Pattern ONE_LINE_COMMENT_PATTERN =
       Pattern.compile("^[\\s]*//.*?$", Pattern.DOTALL | Pattern.MULTILINE);
   private static final Pattern MULTILINE_LINE_COMMENT_PATTERN =
@@ -53,6 +55,30 @@ public class GeneratedClassesNotModifiedTest {
     Path templatesSrcRoot = sszProjectSource.resolve(Path.of("generator", "src", "main", "java"));
     new ContainersGenerator(templatesSrcRoot, tmpDir).generateAll();
 
+    assertGeneratedSourcesMatch(tmpDir, committedSrcRoot);
+  }
+
+  /**
+   * Checks that files generated with {@link SpecialisedContainersGenerator} are not accidentally
+   * changed manually
+   *
+   * <p>Set system properties 'ssz.project.source.path' and 'spec.project.source.path' to ssz and
+   * spec project root paths to run the test manually
+   */
+  @Test
+  @EnabledIfSystemProperty(named = PROJECT_PROPERTY_NAME, matches = ".*")
+  @EnabledIfSystemProperty(named = SPEC_PROJECT_PROPERTY_NAME, matches = ".*")
+  void checkGeneratedSpecialisedClassesWereNotModified(@TempDir Path tmpDir) throws IOException {
+    Path sszProjectSource = Path.of(System.getProperty(PROJECT_PROPERTY_NAME));
+    Path specProjectSource = Path.of(System.getProperty(SPEC_PROJECT_PROPERTY_NAME));
+    Path committedSrcRoot = specProjectSource.resolve(Path.of("src", "main", "java"));
+    Path templatesSrcRoot = sszProjectSource.resolve(Path.of("generator", "src", "main", "java"));
+    new SpecialisedContainersGenerator(templatesSrcRoot, tmpDir).generateAll();
+
+    assertGeneratedSourcesMatch(tmpDir, committedSrcRoot);
+  }
+
+  private void assertGeneratedSourcesMatch(Path tmpDir, Path committedSrcRoot) throws IOException {
     assertThat(tmpDir).isDirectoryRecursivelyContaining("glob:**.java");
 
     List<Path> allFiles;
@@ -0,0 +1,183 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Int indexed cache holding at most <code>maxSize</code> values. When a new value would exceed the
+ * limit a single cached value is evicted, so the memory retained by the cache is bounded explicitly
+ * rather than left to the GC. Values to evict are picked by a cursor sweeping over the keys, which
+ * approximates evicting the oldest values when keys are accessed in order.
+ *
+ * <p>Hits, misses and evictions are recorded to the supplied {@link IntCacheStats} which is shared
+ * with all the copies of this cache.
+ *
+ * <p>CAUTION: same as {@link ArrayIntCache} this class contains no synchronisation for performance
+ * reasons. When accessed concurrently the cache may result in extra cache misses and the number of
+ * cached values may slightly differ from the tracked one but this should be safe
+ */
+public final class BoundedIntCache<V> implements IntCache<V> {
+  private static final int DEFAULT_INITIAL_CACHE_SIZE = 16;
+
+  private final int maxSize;
+  private final IntCacheStats stats;
+  private final int initSize;
+  private final AtomicInteger cachedCount;
+  private volatile V[] values;
+  private int evictionCursor;
+
+  public BoundedIntCache(final int maxSize, final IntCacheStats stats) {
+    this(maxSize, stats, Math.min(maxSize, DEFAULT_INITIAL_CACHE_SIZE));
+  }
+
+  public BoundedIntCache(final int maxSize, final IntCacheStats stats, final int initialSize) {
+    this(maxSize, stats, initialSize, createArray(initialSize), 0, 0);
+    checkArgument(maxSize > 0, "Cache max size should be positive");
+  }
+
+  private BoundedIntCache(
+      final int maxSize,
+      final IntCacheStats stats,
+      final int initSize,
+      final V[] values,
+      final int cachedCount,
+      final int evictionCursor) {
+    this.maxSize = maxSize;
+    this.stats = stats;
+    this.initSize = Math.max(initSize, 1);
+    this.values = values;
+    this.cachedCount = new AtomicInteger(cachedCount);
+    this.evictionCursor = evictionCursor;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V[] createArray(int size) {
+    return (V[]) new Object[Math.max(size, 1)];
+  }
+
+  private V[] extend(int index) {
+    V[] valuesLocal = this.values;
+    int newSize = valuesLocal.length;
+    if (index >= newSize) {
+      while (index >= newSize) {
+        newSize <<= 1;
+      }
+      V[] newValues = Arrays.copyOf(valuesLocal, newSize);
+      this.values = newValues;
+      return newValues;
+    }
+    return valuesLocal;
+  }
+
+  private void put(int key, V value) {
+    if (cachedCount.incrementAndGet() > maxSize) {
+      evictOne(key);
+    }
+    extend(key)[key] = value;
+  }
+
+  private void evictOne(int excludedKey) {
+    V[] valuesLocal = this.values;
+    int cursor = evictionCursor;
+    for (int i = 0; i < valuesLocal.length; i++) {
+      if (cursor >= valuesLocal.length) {
+        cursor = 0;
+      }
+      final int candidate = cursor++;
+      if (candidate != excludedKey && valuesLocal[candidate] != null) {
+        valuesLocal[candidate] = null;
+        cachedCount.decrementAndGet();
+        stats.recordEvictions(1);
+        break;
+      }
+    }
+    evictionCursor = cursor;
+  }
+
+  @Override
+  public V getInt(int key, IntFunction<V> fallback) {
+    V[] valuesLocal = this.values;
+    V val = key >= valuesLocal.length ? null : valuesLocal[key];
+    if (val == null) {
+      stats.recordMiss();
+      val = fallback.apply(key);
+      put(key, val);
+    } else {
+      stats.recordHit();
+    }
+    return val;
+  }
+
+  @Override
+  public Optional<V> getCached(Integer key) {
+    V[] valuesLocal = this.values;
+    return key >= valuesLocal.length ? Optional.empty() : Optional.ofNullable(valuesLocal[key]);
+  }
+
+  @Override
+  public IntCache<V> copy() {
+    V[] valuesLocal = this.values;
+    return new BoundedIntCache<>(
+        maxSize,
+        stats,
+        initSize,
+        Arrays.copyOf(valuesLocal, valuesLocal.length),
+        cachedCount.get(),
+        evictionCursor);
+  }
+
+  @Override
+  public IntCache<V> transfer() {
+    IntCache<V> copy = copy();
+    clear();
+    return copy;
+  }
+
+  @Override
+  public void invalidateWithNewValueInt(int key, V newValue) {
+    V[] valuesLocal = this.values;
+    if (key < valuesLocal.length && valuesLocal[key] != null) {
+      valuesLocal[key] = newValue;
+    } else {
+      put(key, newValue);
+    }
+  }
+
+  @Override
+  public void invalidateInt(int key) {
+    V[] valuesLocal = this.values;
+    if (key < valuesLocal.length && valuesLocal[key] != null) {
+      valuesLocal[key] = null;
+      cachedCount.decrementAndGet();
+    }
+  }
+
+  @Override
+  public void clear() {
+    values = createArray(initSize);
+    cachedCount.set(0);
+    evictionCursor = 0;
+  }
+
+  /** Returns the approximate number of currently cached values */
+  public int size() {
+    return cachedCount.get();
+  }
+}
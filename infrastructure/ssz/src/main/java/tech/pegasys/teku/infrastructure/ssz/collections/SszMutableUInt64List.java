@@ -19,6 +19,20 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 public interface SszMutableUInt64List
     extends SszMutablePrimitiveList<UInt64, SszUInt64>, SszUInt64List {
 
+  /**
+   * Replaces the content of this list with the given raw unsigned 64-bit values, comparing them in
+   * bulk against the current content. Only elements which differ are updated so chunks without
+   * changes remain shared with the original tree.
+   */
+  void setAllElements(long[] values);
+
+  /**
+   * Same as {@link #setAllElements(long[])} but compares against {@code currentValues}, which must
+   * be the current content of this list as returned by {@link #toLongArray()}, instead of reading
+   * it again. Chunks containing a changed value are replaced in a single tree update.
+   */
+  void setAllElements(long[] currentValues, long[] newValues);
+
   @Override
   SszUInt64List commitChanges();
 }
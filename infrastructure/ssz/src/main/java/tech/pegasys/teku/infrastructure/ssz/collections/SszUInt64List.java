@@ -18,6 +18,18 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public interface SszUInt64List extends SszPrimitiveList<UInt64, SszUInt64> {
 
+  /**
+   * Returns all elements as an array of longs holding the raw unsigned 64-bit values, avoiding
+   * boxing each element when the whole list needs to be processed.
+   */
+  default long[] toLongArray() {
+    final long[] values = new long[size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = getElement(i).longValue();
+    }
+    return values;
+  }
+
   @Override
   SszMutableUInt64List createWritableCopy();
 }
@@ -18,12 +18,18 @@ import static com.google.common.base.Preconditions.checkElementIndex;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 
+/**
+ * Immutable bitlist packed into 64-bit words, with bit {@code i} stored at bit {@code i % 64} of
+ * word {@code i / 64}. Bits at or above {@code size} are always zero so bitwise operations can work
+ * on whole words without masking.
+ */
 class BitlistImpl {
+  private static final int BITS_PER_WORD = Long.SIZE;
 
   public static int sszSerializationLength(final int size) {
     return (size / 8) + 1;
@@ -31,11 +37,31 @@ class BitlistImpl {
 
   public static BitlistImpl fromSszBytes(Bytes bytes, long maxSize) {
     int bitlistSize = SszBitlistImpl.sszGetLengthAndValidate(bytes);
-    BitSet bitSet = BitSet.valueOf(bytes.toArrayUnsafe()).get(0, bitlistSize);
-    return new BitlistImpl(bitlistSize, bitSet, maxSize);
+    long[] words = new long[wordCount(bitlistSize)];
+    int numBytes = bytes.size();
+    for (int i = 0; i < numBytes; i++) {
+      int wordIndex = i / Long.BYTES;
+      // When the size is a multiple of 64 the last byte only holds the end marker bit
+      if (wordIndex < words.length) {
+        words[wordIndex] |= (bytes.get(i) & 0xFFL) << ((i % Long.BYTES) * 8);
+      }
+    }
+    clearEndMarker(words, bitlistSize);
+    return new BitlistImpl(bitlistSize, words, maxSize);
+  }
+
+  private static int wordCount(final int size) {
+    return (size + BITS_PER_WORD - 1) / BITS_PER_WORD;
   }
 
-  private final BitSet data;
+  private static void clearEndMarker(final long[] words, final int size) {
+    int wordIndex = size / BITS_PER_WORD;
+    if (wordIndex < words.length) {
+      words[wordIndex] &= ~(1L << size);
+    }
+  }
+
+  private final long[] data;
   private final int size;
   private final long maxSize;
 
@@ -43,15 +69,15 @@ class BitlistImpl {
     checkArgument(size >= 0, "Negative size");
     checkArgument(maxSize >= size, "maxSize should be >= size");
     this.size = size;
-    this.data = new BitSet(size);
+    this.data = new long[wordCount(size)];
     this.maxSize = maxSize;
     for (int bitIndex : bitIndices) {
       checkElementIndex(bitIndex, size);
-      data.set(bitIndex);
+      data[bitIndex / BITS_PER_WORD] |= 1L << bitIndex;
     }
   }
 
-  private BitlistImpl(int size, BitSet data, long maxSize) {
+  private BitlistImpl(int size, long[] data, long maxSize) {
     this.size = size;
     this.data = data;
     this.maxSize = maxSize;
@@ -71,38 +97,76 @@ class BitlistImpl {
               + " > "
               + getCurrentSize());
     }
-    BitSet newData = (BitSet) this.data.clone();
-    newData.or(other.data);
+    long[] newData = Arrays.copyOf(data, data.length);
+    for (int i = 0; i < other.data.length; i++) {
+      newData[i] |= other.data[i];
+    }
     return new BitlistImpl(size, newData, maxSize);
   }
 
   public boolean getBit(int i) {
     checkElementIndex(i, size);
-    return data.get(i);
+    return (data[i / BITS_PER_WORD] & (1L << i)) != 0;
   }
 
   public int getBitCount() {
-    return data.cardinality();
+    int count = 0;
+    for (long word : data) {
+      count += Long.bitCount(word);
+    }
+    return count;
   }
 
   public boolean intersects(BitlistImpl other) {
-    return data.intersects(other.data);
+    int commonWords = Math.min(data.length, other.data.length);
+    for (int i = 0; i < commonWords; i++) {
+      if ((data[i] & other.data[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public boolean isSuperSetOf(final BitlistImpl other) {
-    return other.streamAllSetBits().allMatch(idx -> idx < getCurrentSize() && getBit(idx));
+    for (int i = 0; i < other.data.length; i++) {
+      long word = i < data.length ? data[i] : 0;
+      if ((other.data[i] & ~word) != 0) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public IntList getAllSetBits() {
-    final IntList setBits = new IntArrayList();
-    for (int i = data.nextSetBit(0); i >= 0; i = data.nextSetBit(i + 1)) {
-      setBits.add(i);
+    final IntList setBits = new IntArrayList(getBitCount());
+    for (int i = 0; i < data.length; i++) {
+      long word = data[i];
+      while (word != 0) {
+        setBits.add(i * BITS_PER_WORD + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
     }
     return setBits;
   }
 
   public IntStream streamAllSetBits() {
-    return data.stream();
+    return IntStream.iterate(nextSetBit(0), i -> i >= 0, i -> nextSetBit(i + 1));
+  }
+
+  private int nextSetBit(final int fromIndex) {
+    if (fromIndex >= size) {
+      return -1;
+    }
+    int wordIndex = fromIndex / BITS_PER_WORD;
+    long word = data[wordIndex] & (-1L << fromIndex);
+    while (word == 0) {
+      wordIndex++;
+      if (wordIndex == data.length) {
+        return -1;
+      }
+      word = data[wordIndex];
+    }
+    return wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
   }
 
   public long getMaxSize() {
@@ -113,12 +177,13 @@ class BitlistImpl {
     return size;
   }
 
-  @SuppressWarnings("NarrowingCompoundAssignment")
   public Bytes serialize() {
-    int len = size;
-    byte[] array = new byte[sszSerializationLength(len)];
-    IntStream.range(0, len).forEach(i -> array[i / 8] |= ((data.get(i) ? 1 : 0) << (i % 8)));
-    array[len / 8] |= 1 << (len % 8);
+    byte[] array = new byte[sszSerializationLength(size)];
+    int dataBytes = Math.min(array.length, data.length * Long.BYTES);
+    for (int i = 0; i < dataBytes; i++) {
+      array[i] = (byte) (data[i / Long.BYTES] >>> ((i % Long.BYTES) * 8));
+    }
+    array[size / 8] |= (byte) (1 << (size % 8));
     return Bytes.wrap(array);
   }
 
@@ -131,12 +196,12 @@ class BitlistImpl {
       return false;
     }
     final BitlistImpl bitlist = (BitlistImpl) o;
-    return size == bitlist.size && maxSize == bitlist.maxSize && Objects.equals(data, bitlist.data);
+    return size == bitlist.size && maxSize == bitlist.maxSize && Arrays.equals(data, bitlist.data);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(data, size, maxSize);
+    return Objects.hash(Arrays.hashCode(data), size, maxSize);
   }
 
   @Override
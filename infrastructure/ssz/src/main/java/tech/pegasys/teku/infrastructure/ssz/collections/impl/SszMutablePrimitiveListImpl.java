@@ -17,6 +17,7 @@ import tech.pegasys.teku.infrastructure.ssz.SszPrimitive;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutablePrimitiveList;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszPrimitiveList;
+import tech.pegasys.teku.infrastructure.ssz.impl.AbstractSszComposite;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszPrimitiveListSchema;
 import tech.pegasys.teku.infrastructure.ssz.tree.BranchNode;
@@ -82,6 +83,12 @@ public class SszMutablePrimitiveListImpl<
     cachedSize = 0;
   }
 
+  @Override
+  protected void resetBackingData(final AbstractSszComposite<SszElementT> newBackingData) {
+    super.resetBackingData(newBackingData);
+    cachedSize = newBackingData.size();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public SszPrimitiveListSchema<ElementT, SszElementT, ?> getSchema() {
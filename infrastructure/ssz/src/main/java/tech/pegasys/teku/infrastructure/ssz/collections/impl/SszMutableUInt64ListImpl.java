@@ -13,12 +13,27 @@
 
 package tech.pegasys.teku.infrastructure.ssz.collections.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.BranchNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
+import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUpdates;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public class SszMutableUInt64ListImpl extends SszMutablePrimitiveListImpl<UInt64, SszUInt64>
@@ -28,6 +43,93 @@ public class SszMutableUInt64ListImpl extends SszMutablePrimitiveListImpl<UInt64
     super(backingImmutableData);
   }
 
+  @Override
+  public long[] toLongArray() {
+    final long[] values =
+        Arrays.copyOf(((SszUInt64ListImpl) backingImmutableData).toLongArray(), size());
+    for (IntIterator i = getChangedChildIndices().iterator(); i.hasNext(); ) {
+      final int index = i.nextInt();
+      values[index] = getElement(index).longValue();
+    }
+    return values;
+  }
+
+  @Override
+  public void setAllElements(final long[] values) {
+    setAllElements(toLongArray(), values);
+  }
+
+  @Override
+  public void setAllElements(final long[] currentValues, final long[] newValues) {
+    checkArgument(
+        currentValues.length == size(),
+        "Expected %s current values but got %s",
+        size(),
+        currentValues.length);
+    if (newValues.length < currentValues.length) {
+      // Lists can't be shrunk chunk by chunk so rebuild the backing tree
+      resetBackingData(createBackingData(newValues));
+      return;
+    }
+    // Only the chunks containing a changed value get a new leaf so the rest keep sharing their
+    // existing tree nodes with the previous version of the list
+    final SszUInt64ListSchema<?> schema = getSchema();
+    final int elementsPerChunk = schema.getElementsPerChunk();
+    final LongList gIndices = new LongArrayList();
+    final List<TreeNode> newNodes = new ArrayList<>();
+    for (int chunkStart = 0; chunkStart < newValues.length; chunkStart += elementsPerChunk) {
+      final int chunkEnd = Math.min(chunkStart + elementsPerChunk, newValues.length);
+      if (isChunkChanged(currentValues, newValues, chunkStart, chunkEnd)) {
+        gIndices.add(schema.getChildGeneralizedIndex(chunkStart / elementsPerChunk));
+        newNodes.add(createChunkNode(newValues, chunkStart, chunkEnd));
+      }
+    }
+    if (gIndices.isEmpty()) {
+      return;
+    }
+    // Any pending element changes are committed first so the chunk updates apply on top of them
+    TreeNode newBackingNode =
+        commitChanges().getBackingNode().updated(new TreeUpdates(gIndices, newNodes));
+    if (newValues.length != currentValues.length) {
+      newBackingNode =
+          BranchNode.create(
+              newBackingNode.get(GIndexUtil.LEFT_CHILD_G_INDEX),
+              SszUInt64.of(UInt64.fromLongBits(newValues.length)).getBackingNode());
+    }
+    resetBackingData(new SszUInt64ListImpl(schema, newBackingNode));
+  }
+
+  private static boolean isChunkChanged(
+      final long[] currentValues,
+      final long[] newValues,
+      final int chunkStart,
+      final int chunkEnd) {
+    for (int i = chunkStart; i < chunkEnd; i++) {
+      if (i >= currentValues.length || currentValues[i] != newValues[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static TreeNode createChunkNode(
+      final long[] values, final int chunkStart, final int chunkEnd) {
+    // Partially filled chunks only hold the bytes of the elements present, the same as the leaves
+    // created when elements are set individually
+    final byte[] data = new byte[(chunkEnd - chunkStart) * Long.BYTES];
+    ByteBuffer.wrap(data)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .asLongBuffer()
+        .put(values, chunkStart, chunkEnd - chunkStart);
+    return LeafNode.create(Bytes.wrap(data));
+  }
+
+  private SszUInt64ListImpl createBackingData(final long[] values) {
+    final byte[] ssz = new byte[values.length * Long.BYTES];
+    ByteBuffer.wrap(ssz).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(values);
+    return (SszUInt64ListImpl) getSchema().sszDeserialize(Bytes.wrap(ssz));
+  }
+
   @Override
   public SszUInt64List commitChanges() {
     return (SszUInt64List) super.commitChanges();
@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.infrastructure.ssz.collections.impl;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
 import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
@@ -20,6 +22,7 @@ import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public class SszUInt64ListImpl extends SszPrimitiveListImpl<UInt64, SszUInt64>
@@ -34,6 +37,28 @@ public class SszUInt64ListImpl extends SszPrimitiveListImpl<UInt64, SszUInt64>
     super(schema, backingNode, cache);
   }
 
+  @Override
+  public long[] toLongArray() {
+    final int size = size();
+    final long[] values = new long[size];
+    if (size == 0) {
+      return values;
+    }
+    // SSZ packs the elements as consecutive little-endian values. The leaves are read directly
+    // rather than via sszSerialize() so a whole-list read doesn't evict serialized subtrees which
+    // are actually reused.
+    final ByteBuffer buffer = ByteBuffer.allocate(size * Long.BYTES);
+    final SszListSchema<?, ?> schema = getSchema();
+    TreeUtil.iterateLeavesData(
+        getBackingNode(),
+        schema.getChildGeneralizedIndex(0),
+        schema.getChildGeneralizedIndex((size - 1) / schema.getElementsPerChunk()),
+        leafData -> buffer.put(leafData.toArrayUnsafe(), 0, leafData.size()));
+    buffer.flip();
+    buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(values);
+    return values;
+  }
+
   @Override
   public SszMutableUInt64List createWritableCopy() {
     return new SszMutableUInt64ListImpl(this);
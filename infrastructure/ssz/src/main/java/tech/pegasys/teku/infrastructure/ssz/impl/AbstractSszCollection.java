@@ -14,6 +14,7 @@
 package tech.pegasys.teku.infrastructure.ssz.impl;
 
 import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.SszCollection;
 import tech.pegasys.teku.infrastructure.ssz.SszData;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
@@ -21,11 +22,18 @@ import tech.pegasys.teku.infrastructure.ssz.schema.SszCollectionSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszCompositeSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchema;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeHasher;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 
 public abstract class AbstractSszCollection<SszElementT extends SszData>
     extends AbstractSszComposite<SszElementT> implements SszCollection<SszElementT> {
 
+  /**
+   * Collections with at least this many chunks have their root calculated on multiple threads.
+   * Smaller collections are quicker to hash on the calling thread than to split into tasks.
+   */
+  static final int PARALLEL_HASH_MIN_CHUNKS = 1 << 14;
+
   protected AbstractSszCollection(
       SszCompositeSchema<?> schema, Supplier<TreeNode> lazyBackingNode) {
     super(schema, lazyBackingNode);
@@ -46,6 +54,15 @@ public abstract class AbstractSszCollection<SszElementT extends SszData>
     return (SszCollectionSchema<SszElementT, ?>) super.getSchema();
   }
 
+  @Override
+  public Bytes32 hashTreeRoot() {
+    final int chunkCount = size() / getSchema().getElementsPerChunk();
+    if (chunkCount < PARALLEL_HASH_MIN_CHUNKS) {
+      return getBackingNode().hashTreeRoot();
+    }
+    return TreeHasher.getDefault().hashTreeRootInParallel(getBackingNode());
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   protected SszElementT getImpl(int index) {
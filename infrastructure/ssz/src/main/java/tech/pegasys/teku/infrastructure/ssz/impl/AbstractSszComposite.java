@@ -18,8 +18,10 @@ import java.util.function.Supplier;
 import tech.pegasys.teku.infrastructure.ssz.SszComposite;
 import tech.pegasys.teku.infrastructure.ssz.SszData;
 import tech.pegasys.teku.infrastructure.ssz.cache.ArrayIntCache;
+import tech.pegasys.teku.infrastructure.ssz.cache.BoundedIntCache;
 import tech.pegasys.teku.infrastructure.ssz.cache.IntCache;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszCompositeSchema;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints.SszChildViewCacheHint;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 
 /**
@@ -69,7 +71,7 @@ public abstract class AbstractSszComposite<SszChildT extends SszData>
       Optional<IntCache<SszChildT>> cache) {
     this.schema = schema;
     this.backingNode = lazyBackingNode;
-    this.childrenViewCache = cache.orElseGet(this::createCache);
+    this.childrenViewCache = cache.orElseGet(this::createSchemaCache);
   }
 
   /**
@@ -82,6 +84,15 @@ public abstract class AbstractSszComposite<SszChildT extends SszData>
     return childrenViewCache.transfer();
   }
 
+  private IntCache<SszChildT> createSchemaCache() {
+    return schema
+        .getHints()
+        .getHint(SszChildViewCacheHint.class)
+        .<IntCache<SszChildT>>map(
+            hint -> new BoundedIntCache<>(hint.getMaxSize(), hint.getStats()))
+        .orElseGet(this::createCache);
+  }
+
   /**
    * Creates a new empty children cache. Could be overridden by subclasses for fine tuning of the
    * initial cache size
@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -143,12 +144,22 @@ public abstract class AbstractSszMutableComposite<
   @Override
   @SuppressWarnings("unchecked")
   public void clear() {
-    backingImmutableData = (AbstractSszComposite<SszChildT>) getSchema().getDefault();
+    resetBackingData((AbstractSszComposite<SszChildT>) getSchema().getDefault());
+  }
+
+  /** Discards all pending changes and makes the given data the new content of this instance. */
+  protected void resetBackingData(final AbstractSszComposite<SszChildT> newBackingData) {
+    backingImmutableData = newBackingData;
     childrenChanges.clear();
     sizeCache = backingImmutableData.size();
     invalidate();
   }
 
+  /** Returns the indices of the children changed since the backing data was last reset. */
+  protected IntSortedSet getChangedChildIndices() {
+    return childrenChanges.keySet();
+  }
+
   @Override
   public int size() {
     return sizeCache;
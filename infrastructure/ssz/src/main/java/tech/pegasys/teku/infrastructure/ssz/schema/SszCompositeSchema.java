@@ -48,6 +48,11 @@ public interface SszCompositeSchema<SszCompositeT extends SszComposite<?>>
     return 1;
   }
 
+  /** Returns the hints on strategies to use for ssz structures of this schema */
+  default SszSchemaHints getHints() {
+    return SszSchemaHints.none();
+  }
+
   /**
    * Returns the maximum number of this ssz structure backed subtree 'leaf' nodes required to store
    * maxLength elements
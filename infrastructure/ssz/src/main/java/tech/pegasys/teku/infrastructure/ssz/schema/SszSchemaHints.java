@@ -17,6 +17,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import tech.pegasys.teku.infrastructure.ssz.cache.BoundedIntCache;
+import tech.pegasys.teku.infrastructure.ssz.cache.IntCacheStats;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszSuperNode;
 
 /**
@@ -25,7 +27,7 @@ import tech.pegasys.teku.infrastructure.ssz.tree.SszSuperNode;
  */
 public class SszSchemaHints {
 
-  private static class SszSchemaHint {}
+  public abstract static class SszSchemaHint {}
 
   @Override
   public String toString() {
@@ -54,6 +56,29 @@ public class SszSchemaHints {
     }
   }
 
+  /**
+   * Hint to cache child views of a composite in a {@link BoundedIntCache} holding at most <code>
+   * maxSize</code> views. Hits, misses and evictions of all the caches created for the schema are
+   * recorded to the <code>stats</code> instance
+   */
+  public static final class SszChildViewCacheHint extends SszSchemaHint {
+    private final int maxSize;
+    private final IntCacheStats stats;
+
+    public SszChildViewCacheHint(int maxSize, IntCacheStats stats) {
+      this.maxSize = maxSize;
+      this.stats = stats;
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public IntCacheStats getStats() {
+      return stats;
+    }
+  }
+
   public static SszSchemaHints of(SszSchemaHint... hints) {
     return new SszSchemaHints(Arrays.asList(hints));
   }
@@ -66,6 +91,10 @@ public class SszSchemaHints {
     return of(new SszSuperNodeHint(superNodeDepth));
   }
 
+  public static SszSchemaHints boundedChildViewCache(int maxSize, IntCacheStats stats) {
+    return of(new SszChildViewCacheHint(maxSize, stats));
+  }
+
   private final List<SszSchemaHint> hints;
 
   private SszSchemaHints(List<SszSchemaHint> hints) {
@@ -37,7 +37,9 @@ import tech.pegasys.teku.infrastructure.ssz.schema.SszType;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
 import tech.pegasys.teku.infrastructure.ssz.tree.LeafNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.SerializedSubtreeCache;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszNodeTemplate;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszSuperNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
@@ -48,6 +50,14 @@ public abstract class AbstractSszCollectionSchema<
         SszElementT extends SszData, SszCollectionT extends SszCollection<SszElementT>>
     implements SszCompositeSchema<SszCollectionT> {
 
+  /**
+   * Fixed size vectors spanning at least two subtrees of this depth are serialized one subtree at a
+   * time via {@link SerializedSubtreeCache}
+   */
+  static final int CACHED_SEGMENT_DEPTH = 10;
+
+  static final int CACHED_SEGMENT_CHUNKS = 1 << CACHED_SEGMENT_DEPTH;
+
   private final long maxLength;
   private final SszSchema<SszElementT> elementSchema;
   private final SszSchemaHints hints;
@@ -149,11 +159,44 @@ public abstract class AbstractSszCollectionSchema<
       return 0;
     }
     int nodesCount = getChunks(elementsCount);
+    if (nodesCount < 2 * CACHED_SEGMENT_CHUNKS || !isSegmentCacheable()) {
+      return writeLeavesData(vectorNode, writer, 0, nodesCount - 1);
+    }
+
+    // Serialize large vectors in segments so unchanged segments come from the cache
+    SerializedSubtreeCache cache = SerializedSubtreeCache.getDefault();
+    int segmentsDepth = treeDepth() - CACHED_SEGMENT_DEPTH;
+    int fullSegments = nodesCount / CACHED_SEGMENT_CHUNKS;
+    int bytesCnt = 0;
+    for (int i = 0; i < fullSegments; i++) {
+      TreeNode segment =
+          vectorNode.get(GIndexUtil.gIdxChildGIndex(GIndexUtil.SELF_G_INDEX, i, segmentsDepth));
+      Bytes segmentData = cache.getLeavesData(segment);
+      writer.write(segmentData);
+      bytesCnt += segmentData.size();
+    }
+    int firstUncachedNode = fullSegments * CACHED_SEGMENT_CHUNKS;
+    if (firstUncachedNode < nodesCount) {
+      bytesCnt += writeLeavesData(vectorNode, writer, firstUncachedNode, nodesCount - 1);
+    }
+    return bytesCnt;
+  }
+
+  private boolean isSegmentCacheable() {
+    // Segment roots must be real nodes rather than views into a larger SszSuperNode
+    return getHints()
+        .getHint(SszSuperNodeHint.class)
+        .map(hint -> hint.getDepth() <= CACHED_SEGMENT_DEPTH)
+        .orElse(true);
+  }
+
+  private int writeLeavesData(
+      TreeNode vectorNode, SszWriter writer, int fromNodeIndex, int toNodeIndex) {
     int[] bytesCnt = new int[1];
     TreeUtil.iterateLeavesData(
         vectorNode,
-        getChildGeneralizedIndex(0),
-        getChildGeneralizedIndex(nodesCount - 1),
+        getChildGeneralizedIndex(fromNodeIndex),
+        getChildGeneralizedIndex(toNodeIndex),
         leafData -> {
           writer.write(leafData);
           bytesCnt[0] += leafData.size();
@@ -301,6 +344,7 @@ public abstract class AbstractSszCollectionSchema<
     }
   }
 
+  @Override
   public SszSchemaHints getHints() {
     return hints;
   }
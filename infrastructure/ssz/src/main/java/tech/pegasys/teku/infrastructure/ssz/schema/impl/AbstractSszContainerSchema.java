@@ -15,6 +15,7 @@ package tech.pegasys.teku.infrastructure.ssz.schema.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
@@ -41,6 +42,8 @@ import tech.pegasys.teku.infrastructure.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.BranchNode;
+import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil;
 
@@ -87,6 +90,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
   private final List<SszSchema<?>> childrenSchemas;
   private final TreeNode defaultTree;
   private final long treeWidth;
+  private final boolean fixedSize;
   private final int fixedPartSize;
   private final DeserializableTypeDefinition<C> jsonTypeDefinition;
 
@@ -105,6 +109,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
         childrenSchemas.stream().map(NamedSchema::getSchema).collect(Collectors.toList());
     this.defaultTree = createDefaultTree();
     this.treeWidth = SszContainerSchema.super.treeWidth();
+    this.fixedSize = calcIsFixedSize();
     this.fixedPartSize = calcSszFixedPartSize();
     this.jsonTypeDefinition = SszContainerTypeDefinition.createFor(this);
   }
@@ -119,6 +124,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     this.childrenSchemas = childrenSchemas;
     this.defaultTree = createDefaultTree();
     this.treeWidth = SszContainerSchema.super.treeWidth();
+    this.fixedSize = calcIsFixedSize();
     this.fixedPartSize = calcSszFixedPartSize();
     this.jsonTypeDefinition = SszContainerTypeDefinition.createFor(this);
   }
@@ -206,6 +212,10 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
 
   @Override
   public boolean isFixedSize() {
+    return fixedSize;
+  }
+
+  private boolean calcIsFixedSize() {
     for (int i = 0; i < getFieldsCount(); i++) {
       if (!getChildSchema(i).isFixedSize()) {
         return false;
@@ -233,11 +243,12 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     if (isFixedSize()) {
       return 0;
     } else {
+      final TreeNode[] fieldNodes = getFieldNodes(node);
       int size = 0;
-      for (int i = 0; i < getFieldsCount(); i++) {
+      for (int i = 0; i < fieldNodes.length; i++) {
         SszSchema<?> childType = getChildSchema(i);
         if (!childType.isFixedSize()) {
-          size += childType.getSszSize(node.get(getChildGeneralizedIndex(i)));
+          size += childType.getSszSize(fieldNodes[i]);
         }
       }
       return size;
@@ -251,10 +262,31 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
 
   @Override
   public int sszSerializeTree(TreeNode node, SszWriter writer) {
+    final TreeNode[] fieldNodes = getFieldNodes(node);
+    if (fixedSize) {
+      int size = 0;
+      for (int i = 0; i < fieldNodes.length; i++) {
+        size += getChildSchema(i).sszSerializeTree(fieldNodes[i], writer);
+      }
+      return size;
+    }
+    return sszSerializeFieldsWithOffsets(fieldNodes, writer);
+  }
+
+  /**
+   * Serializes fields writing offsets for variable size children. This is valid for fixed size
+   * containers too (there are just no offsets to write), but those take the shorter path above
+   */
+  @VisibleForTesting
+  int sszSerializeFieldsWithOffsets(TreeNode node, SszWriter writer) {
+    return sszSerializeFieldsWithOffsets(getFieldNodes(node), writer);
+  }
+
+  private int sszSerializeFieldsWithOffsets(TreeNode[] fieldNodes, SszWriter writer) {
     int variableChildOffset = getSszFixedPartSize();
-    int[] variableSizes = new int[getFieldsCount()];
-    for (int i = 0; i < getFieldsCount(); i++) {
-      TreeNode childSubtree = node.get(getChildGeneralizedIndex(i));
+    int[] variableSizes = new int[fieldNodes.length];
+    for (int i = 0; i < fieldNodes.length; i++) {
+      TreeNode childSubtree = fieldNodes[i];
       SszSchema<?> childType = getChildSchema(i);
       if (childType.isFixedSize()) {
         int size = childType.sszSerializeTree(childSubtree, writer);
@@ -266,17 +298,49 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
         variableChildOffset += childSize;
       }
     }
-    for (int i = 0; i < childrenSchemas.size(); i++) {
+    for (int i = 0; i < fieldNodes.length; i++) {
       SszSchema<?> childType = getChildSchema(i);
       if (!childType.isFixedSize()) {
-        TreeNode childSubtree = node.get(getChildGeneralizedIndex(i));
-        int size = childType.sszSerializeTree(childSubtree, writer);
+        int size = childType.sszSerializeTree(fieldNodes[i], writer);
         assert size == variableSizes[i];
       }
     }
     return variableChildOffset;
   }
 
+  /**
+   * Collects the subtrees of all fields in a single pass over the container tree rather than
+   * walking down from the root once per field
+   */
+  private TreeNode[] getFieldNodes(TreeNode node) {
+    final TreeNode[] fieldNodes = new TreeNode[getFieldsCount()];
+    collectFieldNodes(node, treeDepth(), 0, fieldNodes);
+    return fieldNodes;
+  }
+
+  private void collectFieldNodes(
+      TreeNode node, int depth, int firstFieldIndex, TreeNode[] fieldNodes) {
+    if (firstFieldIndex >= fieldNodes.length) {
+      return;
+    }
+    if (depth == 0) {
+      fieldNodes[firstFieldIndex] = node;
+    } else if (node instanceof BranchNode) {
+      final BranchNode branchNode = (BranchNode) node;
+      collectFieldNodes(branchNode.left(), depth - 1, firstFieldIndex, fieldNodes);
+      collectFieldNodes(
+          branchNode.right(), depth - 1, firstFieldIndex + (1 << (depth - 1)), fieldNodes);
+    } else {
+      // Not a plain branch (e.g. a node packing several fields), look each field up instead
+      final int lastFieldIndex = Math.min(firstFieldIndex + (1 << depth), fieldNodes.length);
+      for (int i = firstFieldIndex; i < lastFieldIndex; i++) {
+        fieldNodes[i] =
+            node.get(
+                GIndexUtil.gIdxChildGIndex(GIndexUtil.SELF_G_INDEX, i - firstFieldIndex, depth));
+      }
+    }
+  }
+
   @Override
   public TreeNode sszDeserializeTree(SszReader reader) {
     int endOffset = reader.getAvailableBytes();
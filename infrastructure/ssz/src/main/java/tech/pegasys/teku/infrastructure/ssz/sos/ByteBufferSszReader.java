@@ -0,0 +1,69 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.sos;
+
+import java.nio.ByteBuffer;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * {@link SszReader} over a {@link ByteBuffer}, typically a {@link java.nio.MappedByteBuffer} of a
+ * file on disk.
+ *
+ * <p>Slices share the underlying buffer while {@link #read(int)} copies the requested bytes to the
+ * heap, so deserialized trees never hold references into the buffer and only the leaves being
+ * decoded need to be resident at any time.
+ */
+public class ByteBufferSszReader implements SszReader {
+
+  private final ByteBuffer buffer;
+
+  public ByteBufferSszReader(ByteBuffer buffer) {
+    this.buffer = buffer.slice();
+  }
+
+  @Override
+  public int getAvailableBytes() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public SszReader slice(int size) {
+    checkIfAvailable(size);
+    final ByteBuffer slice = buffer.slice();
+    slice.limit(size);
+    buffer.position(buffer.position() + size);
+    return new ByteBufferSszReader(slice);
+  }
+
+  @Override
+  public Bytes read(int length) {
+    checkIfAvailable(length);
+    final byte[] data = new byte[length];
+    buffer.get(data);
+    return Bytes.wrap(data);
+  }
+
+  private void checkIfAvailable(int size) {
+    if (getAvailableBytes() < size) {
+      throw new SszDeserializeException("Invalid SSZ: trying to read more bytes than available");
+    }
+  }
+
+  @Override
+  public void close() {
+    if (getAvailableBytes() > 0) {
+      throw new SszDeserializeException("Invalid SSZ: unread bytes remain: " + getAvailableBytes());
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.sos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * {@link SszReader} which pulls bytes from a {@link ReadableByteChannel} on demand, so only a small
+ * fixed size buffer is held in memory rather than the whole serialized object.
+ *
+ * <p>The channel can only be read sequentially, so slices must be fully read and closed before
+ * reading continues from the reader they were sliced from. This is the order in which schemas
+ * deserialize their children.
+ */
+public class ChannelSszReader implements SszReader {
+  static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final Source source;
+  private final long startPosition;
+  private final int size;
+  private int offset = 0;
+
+  public ChannelSszReader(ReadableByteChannel channel, int size) {
+    this(new Source(channel, DEFAULT_BUFFER_SIZE), 0, size);
+  }
+
+  private ChannelSszReader(Source source, long startPosition, int size) {
+    this.source = source;
+    this.startPosition = startPosition;
+    this.size = size;
+  }
+
+  @Override
+  public int getAvailableBytes() {
+    return size - offset;
+  }
+
+  @Override
+  public SszReader slice(int size) {
+    checkIfAvailable(size);
+    final ChannelSszReader ret = new ChannelSszReader(source, startPosition + offset, size);
+    offset += size;
+    return ret;
+  }
+
+  @Override
+  public Bytes read(int length) {
+    checkIfAvailable(length);
+    final long position = startPosition + offset;
+    if (source.position != position) {
+      throw new IllegalStateException(
+          "Out of order read at position " + position + " while channel is at " + source.position);
+    }
+    final Bytes ret = Bytes.wrap(source.read(length));
+    offset += length;
+    return ret;
+  }
+
+  private void checkIfAvailable(int size) {
+    if (getAvailableBytes() < size) {
+      throw new SszDeserializeException("Invalid SSZ: trying to read more bytes than available");
+    }
+  }
+
+  @Override
+  public void close() {
+    if (getAvailableBytes() > 0) {
+      throw new SszDeserializeException("Invalid SSZ: unread bytes remain: " + getAvailableBytes());
+    }
+  }
+
+  private static class Source {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long position = 0;
+
+    private Source(ReadableByteChannel channel, int bufferSize) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocate(bufferSize);
+      buffer.flip();
+    }
+
+    private byte[] read(int length) {
+      final byte[] data = new byte[length];
+      int copied = 0;
+      while (copied < length) {
+        if (!buffer.hasRemaining()) {
+          fill();
+        }
+        final int count = Math.min(buffer.remaining(), length - copied);
+        buffer.get(data, copied, count);
+        copied += count;
+      }
+      position += length;
+      return data;
+    }
+
+    private void fill() {
+      buffer.clear();
+      try {
+        int count;
+        do {
+          count = channel.read(buffer);
+        } while (count == 0);
+        if (count < 0) {
+          throw new SszDeserializeException("Invalid SSZ: unexpected end of stream");
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      buffer.flip();
+    }
+  }
+}
@@ -14,6 +14,8 @@
 package tech.pegasys.teku.infrastructure.ssz.sos;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import org.apache.tuweni.bytes.Bytes;
 
 /** Simple reader interface for SSZ stream */
@@ -24,6 +26,22 @@ public interface SszReader extends Closeable {
     return new SimpleSszReader(bytes);
   }
 
+  /**
+   * Creates an instance reading the remaining bytes of the {@link ByteBuffer}. The buffer position
+   * is not modified
+   */
+  static SszReader fromByteBuffer(ByteBuffer buffer) {
+    return new ByteBufferSszReader(buffer);
+  }
+
+  /**
+   * Creates an instance reading {@code size} bytes from a blocking {@link ReadableByteChannel}
+   * without loading them all into memory at once
+   */
+  static SszReader fromChannel(ReadableByteChannel channel, int size) {
+    return new ChannelSszReader(channel, size);
+  }
+
   /** Number of bytes available for reading */
   int getAvailableBytes();
 
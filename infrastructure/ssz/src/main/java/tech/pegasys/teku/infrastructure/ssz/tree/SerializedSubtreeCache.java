@@ -0,0 +1,89 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Caches the concatenated leaf data of immutable subtrees, which is their SSZ serialization when
+ * the subtree is a run of fixed size collection elements.
+ *
+ * <p>Entries are keyed by node identity with weak keys, so they disappear with the tree and never
+ * need invalidating: any change to a subtree creates a new node. As consecutive states share every
+ * unchanged subtree, serializing a state which differs from a recently serialized one only walks
+ * the regions that changed.
+ *
+ * <p>The size of the default instance used by SSZ serialization can be changed, or the cache
+ * disabled, with {@link #setDefaultMaxSizeInBytes(long)}.
+ */
+public class SerializedSubtreeCache {
+  public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
+  private static volatile SerializedSubtreeCache defaultCache =
+      new SerializedSubtreeCache(DEFAULT_MAX_SIZE_IN_BYTES);
+
+  private final long maxSizeInBytes;
+  private final Cache<TreeNode, Bytes> cache;
+
+  public SerializedSubtreeCache(final long maxSizeInBytes) {
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumWeight(maxSizeInBytes)
+            .<TreeNode, Bytes>weigher((node, data) -> data.size())
+            .build();
+  }
+
+  public static SerializedSubtreeCache getDefault() {
+    return defaultCache;
+  }
+
+  /**
+   * Replaces the default instance with an empty cache of the given size. A size of 0 disables
+   * caching.
+   */
+  public static void setDefaultMaxSizeInBytes(final long maxSizeInBytes) {
+    defaultCache = new SerializedSubtreeCache(maxSizeInBytes);
+  }
+
+  /** Returns the data of all leaves under {@code node} in order, concatenated */
+  public Bytes getLeavesData(final TreeNode node) {
+    final Bytes cached = cache.getIfPresent(node);
+    if (cached != null) {
+      return cached;
+    }
+    final List<Bytes> leavesData = new ArrayList<>();
+    TreeUtil.iterateLeavesData(
+        node, GIndexUtil.LEFTMOST_G_INDEX, GIndexUtil.RIGHTMOST_G_INDEX, leavesData::add);
+    // Copy into a single array so writing the cached value doesn't need to copy again
+    final Bytes data = Bytes.concatenate(leavesData.toArray(new Bytes[0]));
+    if (maxSizeInBytes > 0) {
+      cache.put(node, data);
+    }
+    return data;
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public void clear() {
+    cache.invalidateAll();
+  }
+}
@@ -60,7 +60,11 @@ class SimpleBranchNode implements BranchNode, TreeNode {
   public Bytes32 hashTreeRoot() {
     Bytes32 cachedHash = this.cachedHash;
     if (cachedHash == null) {
-      cachedHash = BranchNode.super.hashTreeRoot();
+      // Setting up a level by level batch only pays off for large dirty subtrees
+      cachedHash =
+          TreeHasher.hasManyUnhashedNodes(this)
+              ? TreeHasher.getDefault().hashTreeRoot(this)
+              : BranchNode.super.hashTreeRoot();
       this.cachedHash = cachedHash;
     }
     return cachedHash;
@@ -76,6 +80,14 @@ class SimpleBranchNode implements BranchNode, TreeNode {
     return cachedHash;
   }
 
+  Bytes32 getCachedHash() {
+    return cachedHash;
+  }
+
+  void setCachedHash(final Bytes32 cachedHash) {
+    this.cachedHash = cachedHash;
+  }
+
   @Override
   public String toString() {
     return left == right ? ("(2x " + left + ")") : ("(" + left + ", " + right + ')');
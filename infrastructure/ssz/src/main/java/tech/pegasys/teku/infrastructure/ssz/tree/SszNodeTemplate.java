@@ -25,6 +25,7 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -114,14 +115,26 @@ public class SszNodeTemplate {
   }
 
   private final Map<Long, Location> gIdxToLoc;
+  private final long[] leafGIndices;
   private final TreeNode defaultTree;
   private final Map<Long, SszNodeTemplate> subTemplatesCache = new ConcurrentHashMap<>();
 
   public SszNodeTemplate(Map<Long, Location> gIdxToLoc, TreeNode defaultTree) {
     this.gIdxToLoc = gIdxToLoc;
+    this.leafGIndices =
+        gIdxToLoc.entrySet().stream()
+            .filter(entry -> entry.getValue().isLeaf())
+            .sorted(Comparator.comparingInt(entry -> entry.getValue().getOffset()))
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
     this.defaultTree = defaultTree;
   }
 
+  /** Returns the generalized indices of the template leaf nodes in left to right order */
+  long[] getLeafGIndices() {
+    return leafGIndices;
+  }
+
   public Location getNodeSszLocation(long generalizedIndex) {
     return gIdxToLoc.get(generalizedIndex);
   }
@@ -16,6 +16,8 @@ package tech.pegasys.teku.infrastructure.ssz.tree;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
@@ -23,6 +25,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
 import org.jetbrains.annotations.NotNull;
 import tech.pegasys.teku.infrastructure.crypto.MessageDigestFactory;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
 import tech.pegasys.teku.infrastructure.ssz.tree.GIndexUtil.NodeRelation;
 import tech.pegasys.teku.infrastructure.ssz.tree.SszNodeTemplate.Location;
 
@@ -43,21 +46,42 @@ import tech.pegasys.teku.infrastructure.ssz.tree.SszNodeTemplate.Location;
  * list)
  */
 public class SszSuperNode implements TreeNode, LeafDataNode {
-  private static final TreeNode DEFAULT_NODE = LeafNode.EMPTY_LEAF;
+  private static final Sha256PairHasher PAIR_HASHER = Sha256PairHasher.jca();
+  private static final int ROOT_SIZE = Sha256PairHasher.HASH_SIZE;
 
   private final int depth;
   private final SszNodeTemplate elementTemplate;
   private final Bytes ssz;
   private volatile Bytes32 cachedHash;
 
+  /**
+   * Hash tree roots of the individual elements packed one after another, retained once calculated
+   * so that nodes {@link #updated(TreeUpdates)} from this one only need to rehash the changed
+   * elements. Costs 32 bytes per element, far less than a subtree of nodes per element.
+   */
+  private volatile byte[] elementRoots;
+
   public SszSuperNode(int depth, SszNodeTemplate elementTemplate, Bytes ssz) {
+    this(depth, elementTemplate, ssz, null);
+  }
+
+  private SszSuperNode(int depth, SszNodeTemplate elementTemplate, Bytes ssz, byte[] elementRoots) {
     this.depth = depth;
     this.elementTemplate = elementTemplate;
     this.ssz = ssz;
+    this.elementRoots = elementRoots;
     checkArgument(ssz.size() % elementTemplate.getSszLength() == 0);
     checkArgument(getElementsCount() <= getMaxElements());
   }
 
+  int getDepth() {
+    return depth;
+  }
+
+  SszNodeTemplate getElementTemplate() {
+    return elementTemplate;
+  }
+
   private int getMaxElements() {
     return 1 << depth;
   }
@@ -88,29 +112,49 @@ public class SszSuperNode implements TreeNode, LeafDataNode {
   }
 
   private Bytes32 calcHashTreeRoot(final MessageDigest messageDigest) {
-    return hashTreeRoot(0, 0, messageDigest);
+    int levelCount = getElementsCount();
+    if (levelCount == 0) {
+      return TreeUtil.ZERO_TREES[depth].hashTreeRoot();
+    }
+    byte[] level = getElementRoots(messageDigest);
+    for (int height = 0; height < depth; height++) {
+      final int parentCount = (levelCount + 1) / 2;
+      if (levelCount % 2 != 0) {
+        // Pair the last node with the root of an empty subtree
+        level = Arrays.copyOf(level, (levelCount + 1) * ROOT_SIZE);
+        final Bytes32 zeroRoot = TreeUtil.ZERO_TREES[height].hashTreeRoot();
+        System.arraycopy(zeroRoot.toArrayUnsafe(), 0, level, levelCount * ROOT_SIZE, ROOT_SIZE);
+      }
+      final byte[] parents = new byte[parentCount * ROOT_SIZE];
+      PAIR_HASHER.hashPairs(level, parentCount, parents);
+      level = parents;
+      levelCount = parentCount;
+    }
+    return Bytes32.wrap(level);
   }
 
-  private Bytes32 hashTreeRoot(
-      final int curDepth, final int offset, final MessageDigest messageDigest) {
-    if (curDepth == depth) {
-      if (offset < ssz.size()) {
-        return elementTemplate.calculateHashTreeRoot(ssz, offset, messageDigest);
-      } else {
-        assert offset <= elementTemplate.getSszLength() * (getMaxElements() - 1);
-        return DEFAULT_NODE.hashTreeRoot();
+  private byte[] getElementRoots(final MessageDigest messageDigest) {
+    byte[] elementRoots = this.elementRoots;
+    if (elementRoots == null) {
+      final int elementsCount = getElementsCount();
+      elementRoots = new byte[elementsCount * ROOT_SIZE];
+      for (int i = 0; i < elementsCount; i++) {
+        setElementRoot(elementRoots, i, ssz, messageDigest);
       }
-    } else {
-      final Bytes32 leftRoot = hashTreeRoot(curDepth + 1, offset, messageDigest);
-      final Bytes32 rightRoot =
-          hashTreeRoot(
-              curDepth + 1,
-              offset + elementTemplate.getSszLength() * (1 << ((depth - curDepth) - 1)),
-              messageDigest);
-      leftRoot.update(messageDigest);
-      rightRoot.update(messageDigest);
-      return Bytes32.wrap(messageDigest.digest());
+      this.elementRoots = elementRoots;
     }
+    return elementRoots;
+  }
+
+  private void setElementRoot(
+      final byte[] elementRoots,
+      final int index,
+      final Bytes elementsSsz,
+      final MessageDigest messageDigest) {
+    final Bytes32 root =
+        elementTemplate.calculateHashTreeRoot(
+            elementsSsz, index * elementTemplate.getSszLength(), messageDigest);
+    System.arraycopy(root.toArrayUnsafe(), 0, elementRoots, index * ROOT_SIZE, ROOT_SIZE);
   }
 
   @NotNull
@@ -168,7 +212,28 @@ public class SszSuperNode implements TreeNode, LeafDataNode {
           mutableCopy.mutableSlice(childOffset, elementTemplate.getSszLength());
       elementTemplate.update(childGIndex, newNodes.getNode(i), childMutableSlice);
     }
-    return new SszSuperNode(depth, elementTemplate, mutableCopy);
+    return new SszSuperNode(
+        depth, elementTemplate, mutableCopy, updateElementRoots(newNodes, mutableCopy));
+  }
+
+  private byte[] updateElementRoots(final TreeUpdates newNodes, final Bytes newSsz) {
+    final byte[] elementRoots = this.elementRoots;
+    if (elementRoots == null) {
+      // Nothing to carry over, roots will be calculated when the new node is hashed
+      return null;
+    }
+    final int oldElementsCount = getElementsCount();
+    final int newElementsCount = newSsz.size() / elementTemplate.getSszLength();
+    final byte[] newElementRoots = Arrays.copyOf(elementRoots, newElementsCount * ROOT_SIZE);
+    final BitSet changedElements = new BitSet(newElementsCount);
+    changedElements.set(oldElementsCount, newElementsCount);
+    for (int i = 0; i < newNodes.size(); i++) {
+      changedElements.set(GIndexUtil.gIdxGetChildIndex(newNodes.getRelativeGIndex(i), depth));
+    }
+    final MessageDigest messageDigest = MessageDigestFactory.createSha256();
+    changedElements.stream()
+        .forEach(index -> setElementRoot(newElementRoots, index, newSsz, messageDigest));
+    return newElementRoots;
   }
 
   @Override
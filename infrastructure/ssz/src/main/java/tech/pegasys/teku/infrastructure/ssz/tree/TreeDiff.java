@@ -0,0 +1,252 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.infrastructure.ssz.tree.SszNodeTemplate.Location;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeUtil.ZeroBranchNode;
+
+/**
+ * The difference between two trees of the same schema, expressed as the minimal set of nodes to
+ * replace in the first tree to obtain the second one.
+ *
+ * <p>The diff is computed by walking both trees together and skipping any pair of subtrees that are
+ * the same instance or have the same hash tree root, so only the paths to changed leaves are
+ * visited. Each change is either a leaf with its new data or a whole subtree reset to zero. {@link
+ * SszSuperNode}s are compared element by element and changed elements are expressed as leaf
+ * changes.
+ *
+ * <p>The serialized form is a sequence of changes, each being the 8 byte little endian generalized
+ * index followed by a tag byte: a tag from 0 to 32 is the length of the leaf data which follows it,
+ * a tag of {@code ZERO_TREE_TAG + height} is a zero subtree of that height.
+ */
+public class TreeDiff {
+  private static final int ZERO_TREE_TAG = 0x40;
+  private static final int GINDEX_SIZE = Long.BYTES;
+
+  private static final TreeDiff EMPTY = new TreeDiff(List.of());
+
+  private final List<Change> changes;
+
+  private TreeDiff(final List<Change> changes) {
+    this.changes = changes;
+  }
+
+  /** Computes the changes required to transform the {@code from} tree into the {@code to} tree */
+  public static TreeDiff between(final TreeNode from, final TreeNode to) {
+    final List<Change> changes = new ArrayList<>();
+    diff(from, to, GIndexUtil.SELF_G_INDEX, changes);
+    return changes.isEmpty() ? EMPTY : new TreeDiff(changes);
+  }
+
+  public static TreeDiff deserialize(final Bytes data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data.toArrayUnsafe()).order(ByteOrder.LITTLE_ENDIAN);
+    final List<Change> changes = new ArrayList<>();
+    while (buffer.hasRemaining()) {
+      checkArgument(buffer.remaining() > GINDEX_SIZE, "Truncated tree diff");
+      final long gIndex = buffer.getLong();
+      final int tag = buffer.get() & 0xFF;
+      if (tag <= LeafNode.MAX_BYTE_SIZE) {
+        checkArgument(buffer.remaining() >= tag, "Truncated tree diff");
+        final byte[] leafData = new byte[tag];
+        buffer.get(leafData);
+        changes.add(new Change(gIndex, LeafNode.create(Bytes.wrap(leafData))));
+      } else {
+        final int height = tag - ZERO_TREE_TAG;
+        checkArgument(
+            height > 0 && height < TreeUtil.ZERO_TREES.length, "Invalid tree diff tag: %s", tag);
+        changes.add(new Change(gIndex, TreeUtil.ZERO_TREES[height]));
+      }
+    }
+    return changes.isEmpty() ? EMPTY : new TreeDiff(changes);
+  }
+
+  public boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  /** Returns the number of replaced nodes */
+  public int size() {
+    return changes.size();
+  }
+
+  /**
+   * Applies the changes to a tree. When applied to the {@code from} tree the diff was computed
+   * from, the result has the same hash tree root as the {@code to} tree.
+   */
+  public TreeNode applyTo(final TreeNode base) {
+    // Zero subtree resets may have leaf changes below them, so apply shallower changes first
+    final Map<Integer, List<Change>> changesByDepth =
+        changes.stream()
+            .collect(
+                Collectors.groupingBy(
+                    change -> GIndexUtil.gIdxGetDepth(change.gIndex),
+                    TreeMap::new,
+                    Collectors.toList()));
+    TreeNode result = base;
+    for (List<Change> depthChanges : changesByDepth.values()) {
+      depthChanges.sort(Comparator.comparingLong(change -> change.gIndex));
+      result =
+          result.updated(
+              new TreeUpdates(
+                  depthChanges.stream()
+                      .map(change -> new TreeUpdates.Update(change.gIndex, change.node))
+                      .collect(Collectors.toList())));
+    }
+    return result;
+  }
+
+  public Bytes serialize() {
+    int size = 0;
+    for (Change change : changes) {
+      size += GINDEX_SIZE + 1;
+      if (change.node instanceof LeafNode) {
+        size += ((LeafNode) change.node).getData().size();
+      }
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    for (Change change : changes) {
+      buffer.putLong(change.gIndex);
+      if (change.node instanceof LeafNode) {
+        final Bytes leafData = ((LeafNode) change.node).getData();
+        buffer.put((byte) leafData.size());
+        buffer.put(leafData.toArrayUnsafe());
+      } else {
+        buffer.put((byte) (ZERO_TREE_TAG + ((ZeroBranchNode) change.node).getHeight()));
+      }
+    }
+    return Bytes.wrap(buffer.array());
+  }
+
+  private static void diff(
+      final TreeNode from, final TreeNode to, final long gIndex, final List<Change> changes) {
+    if (from == to) {
+      return;
+    }
+    if (from instanceof LeafNode && to instanceof LeafNode) {
+      if (!((LeafNode) from).getData().equals(((LeafNode) to).getData())) {
+        changes.add(new Change(gIndex, to));
+      }
+      return;
+    }
+    if (from.hashTreeRoot().equals(to.hashTreeRoot())) {
+      return;
+    }
+    if (from instanceof BranchNode && to instanceof BranchNode && !(to instanceof ZeroBranchNode)) {
+      final BranchNode fromBranch = (BranchNode) from;
+      final BranchNode toBranch = (BranchNode) to;
+      diff(fromBranch.left(), toBranch.left(), GIndexUtil.gIdxLeftGIndex(gIndex), changes);
+      diff(fromBranch.right(), toBranch.right(), GIndexUtil.gIdxRightGIndex(gIndex), changes);
+    } else if (from instanceof SszSuperNode
+        && to instanceof SszSuperNode
+        && isSameLayout((SszSuperNode) from, (SszSuperNode) to)) {
+      diffSuperNodes((SszSuperNode) from, (SszSuperNode) to, gIndex, changes);
+    } else {
+      // The subtrees are shaped differently, so replace the whole subtree
+      addSubtree(to, gIndex, changes);
+    }
+  }
+
+  private static boolean isSameLayout(final SszSuperNode from, final SszSuperNode to) {
+    return from.getDepth() == to.getDepth()
+        && from.getElementTemplate().getSszLength() == to.getElementTemplate().getSszLength();
+  }
+
+  private static void diffSuperNodes(
+      final SszSuperNode from,
+      final SszSuperNode to,
+      final long gIndex,
+      final List<Change> changes) {
+    final SszNodeTemplate template = to.getElementTemplate();
+    final int elementSize = template.getSszLength();
+    final Bytes fromSsz = from.getData();
+    final Bytes toSsz = to.getData();
+    final int fromCount = fromSsz.size() / elementSize;
+    final int toCount = toSsz.size() / elementSize;
+    for (int i = 0; i < Math.max(fromCount, toCount); i++) {
+      final int offset = i * elementSize;
+      if (i >= toCount) {
+        // Removed elements are zeroed which hashes the same as an absent element
+        addElementLeaves(template, Bytes.wrap(new byte[elementSize]), 0, gIndex, to, i, changes);
+      } else if (i >= fromCount
+          || !fromSsz.slice(offset, elementSize).equals(toSsz.slice(offset, elementSize))) {
+        addElementLeaves(template, toSsz, offset, gIndex, to, i, changes);
+      }
+    }
+  }
+
+  private static void addSubtree(final TreeNode to, final long gIndex, final List<Change> changes) {
+    if (to instanceof LeafNode || to instanceof ZeroBranchNode) {
+      changes.add(new Change(gIndex, to));
+    } else if (to instanceof BranchNode) {
+      final BranchNode branch = (BranchNode) to;
+      addSubtree(branch.left(), GIndexUtil.gIdxLeftGIndex(gIndex), changes);
+      addSubtree(branch.right(), GIndexUtil.gIdxRightGIndex(gIndex), changes);
+    } else if (to instanceof SszSuperNode) {
+      final SszSuperNode superNode = (SszSuperNode) to;
+      final SszNodeTemplate template = superNode.getElementTemplate();
+      // Clear whatever was there before as the super node only covers its present elements
+      changes.add(new Change(gIndex, TreeUtil.ZERO_TREES[superNode.getDepth()]));
+      final Bytes ssz = superNode.getData();
+      for (int i = 0; i < ssz.size() / template.getSszLength(); i++) {
+        addElementLeaves(template, ssz, i * template.getSszLength(), gIndex, superNode, i, changes);
+      }
+    } else {
+      throw new IllegalArgumentException("Unsupported tree node: " + to.getClass().getName());
+    }
+  }
+
+  private static void addElementLeaves(
+      final SszNodeTemplate template,
+      final Bytes ssz,
+      final int elementOffset,
+      final long superNodeGIndex,
+      final SszSuperNode superNode,
+      final int elementIndex,
+      final List<Change> changes) {
+    final long elementGIndex =
+        GIndexUtil.gIdxCompose(
+            superNodeGIndex,
+            GIndexUtil.gIdxChildGIndex(
+                GIndexUtil.SELF_G_INDEX, elementIndex, superNode.getDepth()));
+    for (long leafGIndex : template.getLeafGIndices()) {
+      final Location location = template.getNodeSszLocation(leafGIndex);
+      changes.add(
+          new Change(
+              GIndexUtil.gIdxCompose(elementGIndex, leafGIndex),
+              LeafNode.create(
+                  ssz.slice(elementOffset + location.getOffset(), location.getLength()))));
+    }
+  }
+
+  private static class Change {
+    private final long gIndex;
+    private final TreeNode node;
+
+    private Change(final long gIndex, final TreeNode node) {
+      this.gIndex = gIndex;
+      this.node = node;
+    }
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.crypto.MessageDigestFactory;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
+
+/**
+ * Calculates tree hash roots level by level rather than recursing child by child.
+ *
+ * <p>All branch nodes without a cached hash are first grouped by their height above the closest
+ * already hashed nodes. Each group is then hashed in turn, lowest first, with the child roots of
+ * every node in the group copied into one contiguous buffer and hashed in a single {@link
+ * Sha256PairHasher} call. This keeps the hashing loop free of tree traversal and per-node digest
+ * calls, which matters when rehashing a whole state after it has been deserialized.
+ *
+ * <p>Only {@link SimpleBranchNode} hashes are calculated in batches. Any other node type is
+ * treated as a child root and hashed via its own {@link TreeNode#hashTreeRoot(MessageDigest)}.
+ *
+ * <p>Batching has a fixed set up cost so {@link SimpleBranchNode} only uses it when {@link
+ * #hasManyUnhashedNodes(TreeNode)} and otherwise hashes recursively.
+ *
+ * <p>Large trees can also be hashed in parallel with {@link #hashTreeRootInParallel(TreeNode)}.
+ */
+public class TreeHasher {
+  public static final int DEFAULT_PARALLEL_SPLIT_DEPTH = 6;
+  public static final int DEFAULT_MIN_PARALLEL_NODES = 1 << 14;
+  private static final int MAX_BATCH_SIZE = 4096;
+  static final int MIN_BATCHED_NODES = 512;
+
+  private static final TreeHasher DEFAULT =
+      new TreeHasher(Sha256PairHasher.jca(), DEFAULT_PARALLEL_SPLIT_DEPTH);
+
+  // Hashing gets its own pool so rehashing a whole state can't starve other common pool users
+  private static final ForkJoinPool HASHING_POOL =
+      new ForkJoinPool(
+          Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+          pool -> {
+            final ForkJoinWorkerThread thread =
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ssz-hasher-" + thread.getPoolIndex());
+            return thread;
+          },
+          null,
+          false);
+
+  private final Sha256PairHasher pairHasher;
+  private final int parallelSplitDepth;
+  private final int minParallelNodes;
+
+  public TreeHasher(final Sha256PairHasher pairHasher) {
+    this(pairHasher, DEFAULT_PARALLEL_SPLIT_DEPTH);
+  }
+
+  public TreeHasher(final Sha256PairHasher pairHasher, final int parallelSplitDepth) {
+    this(pairHasher, parallelSplitDepth, DEFAULT_MIN_PARALLEL_NODES);
+  }
+
+  /**
+   * @param pairHasher the SHA-256 implementation to use
+   * @param parallelSplitDepth the number of levels at which both children need hashing that
+   *     {@link #hashTreeRootInParallel(TreeNode)} splits into separate tasks, resulting in up to
+   *     {@code 2^parallelSplitDepth} subtrees hashed concurrently
+   * @param minParallelNodes the number of branch nodes which must need hashing before {@link
+   *     #hashTreeRootInParallel(TreeNode)} actually hashes in parallel
+   */
+  public TreeHasher(
+      final Sha256PairHasher pairHasher, final int parallelSplitDepth, final int minParallelNodes) {
+    this.pairHasher = pairHasher;
+    this.parallelSplitDepth = parallelSplitDepth;
+    this.minParallelNodes = minParallelNodes;
+  }
+
+  public static TreeHasher getDefault() {
+    return DEFAULT;
+  }
+
+  public Bytes32 hashTreeRoot(final TreeNode root) {
+    if (root instanceof SimpleBranchNode) {
+      final Bytes32 cachedHash = ((SimpleBranchNode) root).getCachedHash();
+      if (cachedHash != null) {
+        return cachedHash;
+      }
+    }
+    return hashTreeRoot(root, MessageDigestFactory.createSha256());
+  }
+
+  private Bytes32 hashTreeRoot(final TreeNode root, final MessageDigest messageDigest) {
+    final List<List<SimpleBranchNode>> nodesByHeight = new ArrayList<>();
+    collectUnhashedNodes(root, new IdentityHashMap<>(), nodesByHeight);
+    for (List<SimpleBranchNode> nodes : nodesByHeight) {
+      for (int i = 0; i < nodes.size(); i += MAX_BATCH_SIZE) {
+        hashBatch(nodes.subList(i, Math.min(nodes.size(), i + MAX_BATCH_SIZE)), messageDigest);
+      }
+    }
+    return getRoot(root, messageDigest);
+  }
+
+  /**
+   * Calculates the root of a large tree by hashing independent subtrees on a dedicated {@link
+   * ForkJoinPool}. Trees with fewer than {@code minParallelNodes} branch nodes needing hashing,
+   * which includes most states after applying a single block, are hashed on the calling thread.
+   *
+   * <p>Subtrees which are already hashed (including the default zero subtrees which make up most
+   * of a sparsely filled list) don't count towards the split depth, so the work is divided where
+   * the data actually is rather than at a fixed generalized index.
+   */
+  public Bytes32 hashTreeRootInParallel(final TreeNode root) {
+    if (parallelSplitDepth <= 0
+        || countUnhashedNodes(root, minParallelNodes) < minParallelNodes) {
+      return root.hashTreeRoot();
+    }
+    return HASHING_POOL.invoke(new ParallelHashTask(root, parallelSplitDepth, null));
+  }
+
+  /**
+   * Returns true if at least {@link #MIN_BATCHED_NODES} branch nodes under {@code root} still need
+   * hashing. Counting stops as soon as the threshold is reached so small updates to a large tree
+   * only visit the few nodes which changed.
+   */
+  static boolean hasManyUnhashedNodes(final TreeNode root) {
+    return countUnhashedNodes(root, MIN_BATCHED_NODES) >= MIN_BATCHED_NODES;
+  }
+
+  private static int countUnhashedNodes(final TreeNode node, final int limit) {
+    if (!needsHashing(node)) {
+      return 0;
+    }
+    final SimpleBranchNode branchNode = (SimpleBranchNode) node;
+    final int count = 1 + countUnhashedNodes(branchNode.left(), limit - 1);
+    if (count >= limit) {
+      return count;
+    }
+    return count + countUnhashedNodes(branchNode.right(), limit - count);
+  }
+
+  private static boolean needsHashing(final TreeNode node) {
+    return node instanceof SimpleBranchNode && ((SimpleBranchNode) node).getCachedHash() == null;
+  }
+
+  /**
+   * Adds the node and its descendants which need hashing to {@code nodesByHeight}.
+   *
+   * @return the height of the node above the closest hashed nodes or -1 if the node doesn't need
+   *     to be hashed in a batch
+   */
+  private int collectUnhashedNodes(
+      final TreeNode node,
+      final Map<SimpleBranchNode, Integer> heights,
+      final List<List<SimpleBranchNode>> nodesByHeight) {
+    if (!(node instanceof SimpleBranchNode)) {
+      return -1;
+    }
+    final SimpleBranchNode branchNode = (SimpleBranchNode) node;
+    if (branchNode.getCachedHash() != null) {
+      return -1;
+    }
+    // Subtrees are frequently shared, make sure each node is only hashed once
+    final Integer knownHeight = heights.get(branchNode);
+    if (knownHeight != null) {
+      return knownHeight;
+    }
+    final int leftHeight = collectUnhashedNodes(branchNode.left(), heights, nodesByHeight);
+    final int rightHeight = collectUnhashedNodes(branchNode.right(), heights, nodesByHeight);
+    final int height = 1 + Math.max(leftHeight, rightHeight);
+    heights.put(branchNode, height);
+    while (nodesByHeight.size() <= height) {
+      nodesByHeight.add(new ArrayList<>());
+    }
+    nodesByHeight.get(height).add(branchNode);
+    return height;
+  }
+
+  private void hashBatch(final List<SimpleBranchNode> nodes, final MessageDigest messageDigest) {
+    final int count = nodes.size();
+    final byte[] input = new byte[count * Sha256PairHasher.PAIR_SIZE];
+    for (int i = 0; i < count; i++) {
+      final SimpleBranchNode node = nodes.get(i);
+      final int offset = i * Sha256PairHasher.PAIR_SIZE;
+      copyRoot(getRoot(node.left(), messageDigest), input, offset);
+      copyRoot(getRoot(node.right(), messageDigest), input, offset + Bytes32.SIZE);
+    }
+
+    final byte[] output = new byte[count * Sha256PairHasher.HASH_SIZE];
+    pairHasher.hashPairs(input, count, output);
+
+    for (int i = 0; i < count; i++) {
+      final byte[] hash = new byte[Bytes32.SIZE];
+      System.arraycopy(output, i * Sha256PairHasher.HASH_SIZE, hash, 0, Bytes32.SIZE);
+      nodes.get(i).setCachedHash(Bytes32.wrap(hash));
+    }
+  }
+
+  private static Bytes32 getRoot(final TreeNode node, final MessageDigest messageDigest) {
+    if (node instanceof SimpleBranchNode) {
+      final Bytes32 cachedHash = ((SimpleBranchNode) node).getCachedHash();
+      if (cachedHash != null) {
+        return cachedHash;
+      }
+    }
+    return node.hashTreeRoot(messageDigest);
+  }
+
+  private static void copyRoot(final Bytes32 root, final byte[] target, final int offset) {
+    System.arraycopy(root.toArrayUnsafe(), 0, target, offset, Bytes32.SIZE);
+  }
+
+  private class ParallelHashTask extends RecursiveTask<Bytes32> {
+    private final TreeNode node;
+    private final int remainingSplits;
+    // Shared with the subtasks computed inline, forked tasks create their own
+    private MessageDigest messageDigest;
+
+    private ParallelHashTask(
+        final TreeNode node, final int remainingSplits, final MessageDigest messageDigest) {
+      this.node = node;
+      this.remainingSplits = remainingSplits;
+      this.messageDigest = messageDigest;
+    }
+
+    @Override
+    protected Bytes32 compute() {
+      if (!needsHashing(node)) {
+        return node.hashTreeRoot();
+      }
+      if (messageDigest == null) {
+        messageDigest = MessageDigestFactory.createSha256();
+      }
+      if (remainingSplits == 0) {
+        return hashTreeRoot(node, messageDigest);
+      }
+      final SimpleBranchNode branchNode = (SimpleBranchNode) node;
+      final TreeNode left = branchNode.left();
+      final TreeNode right = branchNode.right();
+      final Bytes32 leftRoot;
+      final Bytes32 rightRoot;
+      if (needsHashing(left) && needsHashing(right)) {
+        final ParallelHashTask leftTask = new ParallelHashTask(left, remainingSplits - 1, null);
+        leftTask.fork();
+        rightRoot = new ParallelHashTask(right, remainingSplits - 1, messageDigest).compute();
+        leftRoot = leftTask.join();
+      } else {
+        leftRoot = new ParallelHashTask(left, remainingSplits, messageDigest).compute();
+        rightRoot = new ParallelHashTask(right, remainingSplits, messageDigest).compute();
+      }
+      leftRoot.update(messageDigest);
+      rightRoot.update(messageDigest);
+      final Bytes32 root = Bytes32.wrap(messageDigest.digest());
+      branchNode.setCachedHash(root);
+      return root;
+    }
+  }
+}
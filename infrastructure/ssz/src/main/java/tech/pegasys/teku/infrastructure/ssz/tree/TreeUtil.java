@@ -45,6 +45,10 @@ public class TreeUtil {
       this.height = height;
     }
 
+    int getHeight() {
+      return height;
+    }
+
     @Override
     public String toString() {
       return "(ZeroBranch-" + height + ")";
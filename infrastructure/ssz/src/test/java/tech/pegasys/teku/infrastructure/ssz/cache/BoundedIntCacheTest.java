@@ -0,0 +1,95 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundedIntCacheTest {
+
+  private final IntCacheStats stats = new IntCacheStats();
+  private final BoundedIntCache<String> cache = new BoundedIntCache<>(3, stats);
+
+  @Test
+  void getInt_shouldRecordHitsAndMisses() {
+    assertThat(cache.getInt(1, idx -> "a")).isEqualTo("a");
+    assertThat(cache.getInt(1, idx -> "b")).isEqualTo("a");
+    assertThat(cache.getInt(2, idx -> "c")).isEqualTo("c");
+
+    assertThat(stats.getMissCount()).isEqualTo(2);
+    assertThat(stats.getHitCount()).isEqualTo(1);
+    assertThat(stats.getEvictionCount()).isZero();
+  }
+
+  @Test
+  void getInt_shouldEvictSingleValueWhenLimitExceeded() {
+    cache.getInt(0, idx -> "a");
+    cache.getInt(1, idx -> "b");
+    cache.getInt(100, idx -> "c");
+    assertThat(cache.size()).isEqualTo(3);
+
+    cache.getInt(2, idx -> "d");
+
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(stats.getEvictionCount()).isEqualTo(1);
+    assertThat(cache.getCached(0)).isEmpty();
+    assertThat(cache.getCached(1)).contains("b");
+    assertThat(cache.getCached(100)).contains("c");
+    assertThat(cache.getCached(2)).contains("d");
+  }
+
+  @Test
+  void getInt_shouldEvictValuesInKeyOrderWhenScanningPastLimit() {
+    for (int i = 0; i < 10; i++) {
+      final String value = "v" + i;
+      cache.getInt(i, idx -> value);
+    }
+
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(stats.getEvictionCount()).isEqualTo(7);
+    for (int i = 0; i < 7; i++) {
+      assertThat(cache.getCached(i)).isEmpty();
+    }
+    assertThat(cache.getCached(7)).contains("v7");
+    assertThat(cache.getCached(8)).contains("v8");
+    assertThat(cache.getCached(9)).contains("v9");
+  }
+
+  @Test
+  void invalidateWithNewValueInt_shouldNotCountReplacedValueTwice() {
+    cache.getInt(0, idx -> "a");
+    cache.invalidateWithNewValueInt(0, "b");
+    cache.invalidateWithNewValueInt(1, "c");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getCached(0)).contains("b");
+
+    cache.invalidateInt(0);
+    cache.invalidateInt(0);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void transfer_shouldMoveValuesAndShareStats() {
+    cache.getInt(0, idx -> "a");
+
+    final IntCache<String> transferred = cache.transfer();
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getCached(0)).isEmpty();
+    assertThat(transferred.getInt(0, idx -> "b")).isEqualTo("a");
+    assertThat(stats.getHitCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class SszUInt64ListTest {
+  private final SszUInt64ListSchema<SszUInt64List> schema = SszUInt64ListSchema.create(100);
+
+  @Test
+  void toLongArray_shouldReturnAllValues() {
+    final SszUInt64List list = createList(10);
+
+    assertThat(list.toLongArray()).containsExactly(longValues(list));
+  }
+
+  @Test
+  void toLongArray_shouldReturnRawBitsOfValuesAboveLongMaxValue() {
+    final SszUInt64List list = schema.of(UInt64.MAX_VALUE, UInt64.valueOf(5));
+
+    assertThat(list.toLongArray()).containsExactly(-1L, 5L);
+  }
+
+  @Test
+  void toLongArray_shouldIncludePendingChangesOfMutableList() {
+    final SszMutableUInt64List list = createList(10).createWritableCopy();
+    list.setElement(3, UInt64.valueOf(333));
+    list.appendElement(UInt64.valueOf(1000));
+
+    assertThat(list.toLongArray()).containsExactly(longValues(list));
+    assertThat(list.toLongArray()).hasSize(11).contains(333L, 1000L);
+  }
+
+  @Test
+  void setAllElements_shouldReplaceContent() {
+    final SszMutableUInt64List list = createList(10).createWritableCopy();
+    list.setElement(3, UInt64.valueOf(333));
+    final long[] newValues = {7, 8, 9};
+
+    list.setAllElements(newValues);
+
+    assertThat(list.toLongArray()).containsExactly(newValues);
+    final SszUInt64List committed = list.commitChanges();
+    assertThat(committed.toLongArray()).containsExactly(newValues);
+    assertThat(committed.hashTreeRoot())
+        .isEqualTo(
+            schema.of(UInt64.valueOf(7), UInt64.valueOf(8), UInt64.valueOf(9)).hashTreeRoot());
+  }
+
+  @Test
+  void setAllElements_shouldOnlyReplaceChangedChunks() {
+    final SszUInt64List original = createList(20);
+    final SszMutableUInt64List list = original.createWritableCopy();
+    final long[] newValues = original.toLongArray();
+    newValues[5] = 555;
+
+    list.setAllElements(newValues);
+
+    final SszUInt64List committed = list.commitChanges();
+    assertThat(committed.toLongArray()).containsExactly(newValues);
+    assertThat(committed.hashTreeRoot())
+        .isEqualTo(schema.of(committed.asListUnboxed()).hashTreeRoot());
+    // 4 values per chunk so only the second chunk is replaced
+    for (int chunk = 0; chunk < 5; chunk++) {
+      final long gIndex = schema.getChildGeneralizedIndex(chunk);
+      if (chunk == 1) {
+        assertThat(committed.getBackingNode().get(gIndex))
+            .isNotSameAs(original.getBackingNode().get(gIndex));
+      } else {
+        assertThat(committed.getBackingNode().get(gIndex))
+            .isSameAs(original.getBackingNode().get(gIndex));
+      }
+    }
+  }
+
+  @Test
+  void setAllElements_shouldAppendAdditionalValues() {
+    final SszMutableUInt64List list = createList(3).createWritableCopy();
+    final long[] newValues = {1, 1001, 2001, 3001, 4001};
+
+    list.setAllElements(newValues);
+
+    final SszUInt64List committed = list.commitChanges();
+    assertThat(committed.toLongArray()).containsExactly(newValues);
+    assertThat(committed.hashTreeRoot())
+        .isEqualTo(schema.of(committed.asListUnboxed()).hashTreeRoot());
+  }
+
+  @Test
+  void setAllElements_shouldReplaceChangedChunksInSingleUpdateUsingCurrentValues() {
+    final SszUInt64List original = createList(10);
+    final SszMutableUInt64List list = original.createWritableCopy();
+    final long[] currentValues = list.toLongArray();
+    final long[] newValues = currentValues.clone();
+    newValues[0] = 100;
+    newValues[9] = 900;
+
+    list.setAllElements(currentValues, newValues);
+
+    // The values passed in are not modified
+    assertThat(currentValues).containsExactly(longValues(original));
+    assertThat(list.size()).isEqualTo(10);
+    assertThat(list.toLongArray()).containsExactly(newValues);
+    final SszUInt64List committed = list.commitChanges();
+    assertThat(committed.hashTreeRoot())
+        .isEqualTo(schema.of(committed.asListUnboxed()).hashTreeRoot());
+    assertThat(committed.sszSerialize())
+        .isEqualTo(schema.of(committed.asListUnboxed()).sszSerialize());
+    assertThat(committed.getBackingNode().get(schema.getChildGeneralizedIndex(1)))
+        .isSameAs(original.getBackingNode().get(schema.getChildGeneralizedIndex(1)));
+  }
+
+  @Test
+  void setAllElements_shouldKeepOriginalTreeWhenNothingChanged() {
+    final SszUInt64List original = createList(10);
+    final SszMutableUInt64List list = original.createWritableCopy();
+    final long[] currentValues = list.toLongArray();
+
+    list.setAllElements(currentValues, currentValues.clone());
+
+    assertThat(list.commitChanges().getBackingNode()).isSameAs(original.getBackingNode());
+  }
+
+  @Test
+  void setAllElements_shouldApplyChunkUpdatesOnTopOfPendingChanges() {
+    final SszMutableUInt64List list = createList(10).createWritableCopy();
+    list.setElement(1, UInt64.valueOf(111));
+    list.appendElement(UInt64.valueOf(10001));
+    final long[] currentValues = list.toLongArray();
+    final long[] newValues = Arrays.copyOf(currentValues, 13);
+    newValues[8] = 888;
+    newValues[11] = 11001;
+    newValues[12] = 12001;
+
+    list.setAllElements(currentValues, newValues);
+
+    assertThat(list.size()).isEqualTo(13);
+    final SszUInt64List committed = list.commitChanges();
+    assertThat(committed.toLongArray()).containsExactly(newValues);
+    assertThat(committed.get(1).get()).isEqualTo(UInt64.valueOf(111));
+    assertThat(committed.hashTreeRoot())
+        .isEqualTo(schema.of(committed.asListUnboxed()).hashTreeRoot());
+    assertThat(committed.sszSerialize())
+        .isEqualTo(schema.of(committed.asListUnboxed()).sszSerialize());
+  }
+
+  @Test
+  void setAllElements_shouldRejectCurrentValuesOfWrongSize() {
+    final SszMutableUInt64List list = createList(10).createWritableCopy();
+
+    assertThatThrownBy(() -> list.setAllElements(new long[9], new long[10]))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private SszUInt64List createList(final int size) {
+    final List<UInt64> values =
+        IntStream.range(0, size)
+            .mapToObj(i -> UInt64.valueOf(i * 1000L + 1))
+            .collect(Collectors.toList());
+    return schema.of(values);
+  }
+
+  private long[] longValues(final SszUInt64List list) {
+    return list.asListUnboxed().stream().mapToLong(UInt64::longValue).toArray();
+  }
+}
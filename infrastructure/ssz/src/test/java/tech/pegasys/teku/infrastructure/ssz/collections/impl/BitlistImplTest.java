@@ -20,6 +20,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static tech.pegasys.teku.infrastructure.collections.PrimitiveCollectionAssert.assertThatIntCollection;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
@@ -28,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class BitlistImplTest {
   private static final int BITLIST_MAX_SIZE = 4000;
@@ -113,6 +117,58 @@ class BitlistImplTest {
     assertThat(create(1, 2, 6, 7, 9).getBitCount()).isEqualTo(5);
   }
 
+  @Test
+  void or_shouldCombineBitsAcrossWords() {
+    BitlistImpl bitlist1 = new BitlistImpl(130, BITLIST_MAX_SIZE, 0, 63, 129);
+    BitlistImpl bitlist2 = new BitlistImpl(70, BITLIST_MAX_SIZE, 1, 64, 69);
+
+    BitlistImpl result = bitlist1.or(bitlist2);
+    assertThatIntCollection(result.getAllSetBits()).containsExactly(0, 1, 63, 64, 69, 129);
+    assertThat(result.getCurrentSize()).isEqualTo(130);
+    assertThatIntCollection(bitlist1.getAllSetBits()).containsExactly(0, 63, 129);
+  }
+
+  @Test
+  void or_shouldRejectLargerArgument() {
+    BitlistImpl bitlist1 = new BitlistImpl(64, BITLIST_MAX_SIZE, 1);
+    BitlistImpl bitlist2 = new BitlistImpl(65, BITLIST_MAX_SIZE, 64);
+
+    assertThatThrownBy(() -> bitlist1.or(bitlist2)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void isSuperSetOf_shouldBeFalseWhenOtherHasBitsBeyondSize() {
+    BitlistImpl bitlist1 = new BitlistImpl(64, BITLIST_MAX_SIZE, 1, 63);
+    BitlistImpl bitlist2 = new BitlistImpl(100, BITLIST_MAX_SIZE, 1, 99);
+
+    assertThat(bitlist1.isSuperSetOf(bitlist2)).isFalse();
+    assertThat(bitlist2.isSuperSetOf(bitlist1)).isFalse();
+  }
+
+  @Test
+  void intersects_shouldCheckBitsInLaterWords() {
+    BitlistImpl bitlist1 = new BitlistImpl(200, BITLIST_MAX_SIZE, 5, 190);
+    BitlistImpl bitlist2 = new BitlistImpl(200, BITLIST_MAX_SIZE, 6, 190);
+
+    assertThat(bitlist1.intersects(bitlist2)).isTrue();
+    assertThat(bitlist1.getBitCount()).isEqualTo(2);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 7, 8, 63, 64, 65, 127, 128, 129})
+  void serialize_shouldRoundTripAtWordBoundaries(final int size) {
+    final int[] bits = IntStream.range(0, size).filter(i -> i % 3 == 0 || i == size - 1).toArray();
+    BitlistImpl bitlist = new BitlistImpl(size, BITLIST_MAX_SIZE, bits);
+
+    Bytes serialized = bitlist.serialize();
+    assertThat(serialized.size()).isEqualTo(BitlistImpl.sszSerializationLength(size));
+    BitlistImpl deserialized = BitlistImpl.fromSszBytes(serialized, BITLIST_MAX_SIZE);
+    assertThat(deserialized).isEqualTo(bitlist);
+    final List<Integer> expectedBits = IntStream.of(bits).boxed().collect(Collectors.toList());
+    assertThatIntCollection(deserialized.getAllSetBits()).containsExactlyElementsOf(expectedBits);
+    assertThat(deserialized.streamAllSetBits()).containsExactlyElementsOf(expectedBits);
+  }
+
   @Test
   void serializationTest() {
     BitlistImpl bitlist = createBitlist();
@@ -18,6 +18,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static tech.pegasys.teku.infrastructure.ssz.schema.TreeNodeAssert.assertThatTreeNode;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -29,6 +33,7 @@ import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints.SszSuperNodeHi
 import tech.pegasys.teku.infrastructure.ssz.schema.impl.AbstractSszCollectionSchema;
 import tech.pegasys.teku.infrastructure.ssz.sos.SimpleSszReader;
 import tech.pegasys.teku.infrastructure.ssz.sos.SszDeserializeException;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
 
 public abstract class SszSchemaTestBase extends SszTypeTestBase {
@@ -76,6 +81,28 @@ public abstract class SszSchemaTestBase extends SszTypeTestBase {
     assertThat(bytesCounter.get()).isLessThanOrEqualTo(ssz.size());
   }
 
+  @MethodSource("testSchemaArguments")
+  @ParameterizedTest
+  void sszDeserialize_shouldReadFromByteBuffer(SszSchema<SszData> schema) {
+    SszData data = randomSsz.withMaxListSize(50).randomData(schema);
+    ByteBuffer buffer = ByteBuffer.wrap(data.sszSerialize().toArrayUnsafe());
+
+    SszData result = schema.sszDeserialize(SszReader.fromByteBuffer(buffer));
+    SszDataAssert.assertThatSszData(result).isEqualByAllMeansTo(data);
+  }
+
+  @MethodSource("testSchemaArguments")
+  @ParameterizedTest
+  void sszDeserialize_shouldReadFromChannel(SszSchema<SszData> schema) {
+    SszData data = randomSsz.withMaxListSize(50).randomData(schema);
+    Bytes ssz = data.sszSerialize();
+    ReadableByteChannel channel =
+        Channels.newChannel(new ByteArrayInputStream(ssz.toArrayUnsafe()));
+
+    SszData result = schema.sszDeserialize(SszReader.fromChannel(channel, ssz.size()));
+    SszDataAssert.assertThatSszData(result).isEqualByAllMeansTo(data);
+  }
+
   @MethodSource("testSchemaArguments")
   @ParameterizedTest
   void loadBackingNodes_shouldRestoreTree_singleBranchStep(SszSchema<?> schema) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.ssz.RandomSszDataGenerator;
+import tech.pegasys.teku.infrastructure.ssz.SszData;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.TestDoubleSuperContainer;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.TestLargeContainer;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.TestSmallContainer;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.TestSubContainer;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.VariableSizeContainer;
+import tech.pegasys.teku.infrastructure.ssz.impl.SszContainerImpl;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszContainerSchema;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszType;
+import tech.pegasys.teku.infrastructure.ssz.schema.impl.AbstractSszContainerSchema.NamedSchema;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszByteArrayWriter;
+import tech.pegasys.teku.infrastructure.ssz.tree.TreeNode;
+
+class AbstractSszContainerSchemaTest {
+
+  private static final SszContainerSchema<SszContainerImpl> NESTED_VARIABLE_SIZE_SCHEMA =
+      SszContainerSchema.create(
+          "NestedVariableSizeContainer",
+          List.of(
+              NamedSchema.of("long", SszPrimitiveSchemas.UINT64_SCHEMA),
+              NamedSchema.of("variable1", VariableSizeContainer.SSZ_SCHEMA),
+              NamedSchema.of("list", SszListSchema.create(SszPrimitiveSchemas.UINT64_SCHEMA, 10)),
+              NamedSchema.of("variable2", VariableSizeContainer.SSZ_SCHEMA)),
+          SszContainerImpl::new);
+
+  private final RandomSszDataGenerator generator = new RandomSszDataGenerator();
+
+  static Stream<SszContainerSchema<?>> fixedSizeSchemas() {
+    return Stream.of(
+        TestSmallContainer.SSZ_SCHEMA,
+        TestSubContainer.SSZ_SCHEMA,
+        TestLargeContainer.SSZ_SCHEMA,
+        TestDoubleSuperContainer.SSZ_SCHEMA);
+  }
+
+  @ParameterizedTest
+  @MethodSource("fixedSizeSchemas")
+  void sszSerializeTree_fixedSizePathShouldMatchOffsetsPath(final SszContainerSchema<?> schema) {
+    final AbstractSszContainerSchema<?> containerSchema = (AbstractSszContainerSchema<?>) schema;
+    assertThat(containerSchema.isFixedSize()).isTrue();
+    final SszData data = generator.randomData(containerSchema);
+    final TreeNode node = data.getBackingNode();
+
+    final Bytes fixedSizePathSsz = containerSchema.sszSerializeTree(node);
+    final SszByteArrayWriter writer = new SszByteArrayWriter(containerSchema.getSszFixedPartSize());
+    final int offsetsPathSize = containerSchema.sszSerializeFieldsWithOffsets(node, writer);
+
+    assertThat(fixedSizePathSsz.size()).isEqualTo(containerSchema.getSszFixedPartSize());
+    assertThat(offsetsPathSize).isEqualTo(fixedSizePathSsz.size());
+    assertThat(fixedSizePathSsz).isEqualTo(writer.toBytes());
+    assertThat(containerSchema.sszDeserialize(fixedSizePathSsz).hashTreeRoot())
+        .isEqualTo(data.hashTreeRoot());
+  }
+
+  @Test
+  void sszSerializeTree_shouldWriteOffsetsForNestedVariableSizeFields() {
+    assertThat(NESTED_VARIABLE_SIZE_SCHEMA.isFixedSize()).isFalse();
+    final SszContainerImpl data = generator.randomData(NESTED_VARIABLE_SIZE_SCHEMA);
+
+    final Bytes longSsz = data.get(0).sszSerialize();
+    final Bytes variable1Ssz = data.get(1).sszSerialize();
+    final Bytes listSsz = data.get(2).sszSerialize();
+    final Bytes variable2Ssz = data.get(3).sszSerialize();
+    final int fixedPartSize = longSsz.size() + 3 * SszType.SSZ_LENGTH_SIZE;
+    final Bytes expectedSsz =
+        Bytes.concatenate(
+            longSsz,
+            SszType.sszLengthToBytes(fixedPartSize),
+            SszType.sszLengthToBytes(fixedPartSize + variable1Ssz.size()),
+            SszType.sszLengthToBytes(fixedPartSize + variable1Ssz.size() + listSsz.size()),
+            variable1Ssz,
+            listSsz,
+            variable2Ssz);
+
+    final Bytes ssz = data.sszSerialize();
+    assertThat(ssz).isEqualTo(expectedSsz);
+
+    final SszContainerImpl deserialized = NESTED_VARIABLE_SIZE_SCHEMA.sszDeserialize(ssz);
+    assertThat(deserialized.hashTreeRoot()).isEqualTo(data.hashTreeRoot());
+    assertThat(deserialized.sszSerialize()).isEqualTo(ssz);
+    assertThat(deserialized.get(1).sszSerialize()).isEqualTo(variable1Ssz);
+    assertThat(deserialized.get(3).sszSerialize()).isEqualTo(variable2Ssz);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszMutableUInt64List;
+import tech.pegasys.teku.infrastructure.ssz.collections.SszUInt64List;
+import tech.pegasys.teku.infrastructure.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.infrastructure.ssz.schema.collections.SszUInt64ListSchema;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+public class SerializedSubtreeCacheTest {
+  private final SszUInt64ListSchema<SszUInt64List> schema = SszUInt64ListSchema.create(1 << 20);
+
+  @AfterEach
+  void tearDown() {
+    SerializedSubtreeCache.setDefaultMaxSizeInBytes(
+        SerializedSubtreeCache.DEFAULT_MAX_SIZE_IN_BYTES);
+  }
+
+  @Test
+  void getLeavesData_shouldConcatenateLeavesAndReuseCachedValue() {
+    final SerializedSubtreeCache cache = new SerializedSubtreeCache(1024 * 1024);
+    final TreeNode node = createList(100).getBackingNode();
+
+    final Bytes result = cache.getLeavesData(node);
+
+    assertThat(result).isEqualTo(TreeUtil.concatenateLeavesData(node));
+    assertThat(cache.getLeavesData(node)).isSameAs(result);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void getLeavesData_shouldNotCacheBeyondMaxSize() {
+    final SerializedSubtreeCache cache = new SerializedSubtreeCache(16);
+    final TreeNode node = createList(100).getBackingNode();
+
+    assertThat(cache.getLeavesData(node)).isEqualTo(TreeUtil.concatenateLeavesData(node));
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void getLeavesData_shouldNotCacheWhenDisabled() {
+    final SerializedSubtreeCache cache = new SerializedSubtreeCache(0);
+    final TreeNode node = createList(100).getBackingNode();
+
+    assertThat(cache.getLeavesData(node)).isEqualTo(TreeUtil.concatenateLeavesData(node));
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void toLongArray_shouldNotPopulateDefaultCache() {
+    SerializedSubtreeCache.setDefaultMaxSizeInBytes(1024 * 1024);
+    final SszUInt64List list = createList(10_000);
+
+    assertThat(list.toLongArray()).hasSize(10_000).startsWith(0, 1, 2);
+    assertThat(SerializedSubtreeCache.getDefault().size()).isZero();
+
+    list.sszSerialize();
+    assertThat(SerializedSubtreeCache.getDefault().size()).isNotZero();
+  }
+
+  @Test
+  void sszSerialize_shouldMatchElementsForSegmentedLists() {
+    // Large enough to be serialized as two full segments plus a partial one
+    final int size = 10_000;
+    final SszUInt64List list = createList(size);
+
+    assertThat(list.sszSerialize()).isEqualTo(serializeElements(list));
+    // Second serialization comes from the cache
+    assertThat(list.sszSerialize()).isEqualTo(serializeElements(list));
+    assertThat(schema.sszDeserialize(list.sszSerialize())).isEqualTo(list);
+
+    final SszMutableUInt64List writableList = list.createWritableCopy();
+    writableList.setElement(10, UInt64.MAX_VALUE);
+    writableList.setElement(size - 1, UInt64.MAX_VALUE);
+    writableList.appendElement(UInt64.ONE);
+    final SszUInt64List updatedList = writableList.commitChanges();
+
+    assertThat(updatedList.sszSerialize()).isEqualTo(serializeElements(updatedList));
+    assertThat(list.sszSerialize()).isEqualTo(serializeElements(list));
+  }
+
+  private SszUInt64List createList(final int size) {
+    final List<UInt64> values =
+        IntStream.range(0, size).mapToObj(UInt64::valueOf).collect(Collectors.toList());
+    return schema.of(values);
+  }
+
+  private Bytes serializeElements(final SszUInt64List list) {
+    return Bytes.wrap(list.stream().map(SszUInt64::sszSerialize).toArray(Bytes[]::new));
+  }
+}
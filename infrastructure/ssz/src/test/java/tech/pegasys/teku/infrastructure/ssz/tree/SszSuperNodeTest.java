@@ -0,0 +1,77 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.RandomSszDataGenerator;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.SszMutableList;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.TestContainer;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints;
+
+public class SszSuperNodeTest {
+  private final RandomSszDataGenerator randomSsz = new RandomSszDataGenerator();
+  private final SszListSchema<TestContainer, ?> treeSchema =
+      SszListSchema.create(TestContainer.SSZ_SCHEMA, 1024);
+  private final SszListSchema<TestContainer, ?> superNodeSchema =
+      SszListSchema.create(TestContainer.SSZ_SCHEMA, 1024, SszSchemaHints.sszSuperNode(4));
+
+  @Test
+  void hashTreeRoot_shouldMatchTreeAfterUpdatingHashedNodes() {
+    final List<TestContainer> elements =
+        IntStream.range(0, 37).mapToObj(__ -> randomElement()).collect(Collectors.toList());
+    SszList<TestContainer> treeList = treeSchema.createFromElements(elements);
+    // Deserializing packs the elements into super nodes
+    SszList<TestContainer> superNodeList = superNodeSchema.sszDeserialize(treeList.sszSerialize());
+    assertThat(superNodeList.getBackingNode().get(superNodeSchema.getChildGeneralizedIndex(0)))
+        .isInstanceOf(SszSuperNode.class);
+    assertThat(superNodeList.hashTreeRoot()).isEqualTo(treeList.hashTreeRoot());
+
+    // Update some elements and append past the end of the last super node
+    for (int round = 0; round < 3; round++) {
+      final SszMutableList<TestContainer> superNodeWritable = superNodeList.createWritableCopy();
+      final SszMutableList<TestContainer> treeWritable = treeList.createWritableCopy();
+      for (int index : List.of(0, 5, 16, superNodeList.size() - 1)) {
+        final TestContainer element = randomElement();
+        superNodeWritable.set(index, element);
+        treeWritable.set(index, element);
+      }
+      for (int i = 0; i < 12; i++) {
+        final TestContainer element = randomElement();
+        superNodeWritable.append(element);
+        treeWritable.append(element);
+      }
+      superNodeList = superNodeWritable.commitChanges();
+      treeList = treeWritable.commitChanges();
+
+      assertThat(superNodeList.hashTreeRoot()).isEqualTo(treeList.hashTreeRoot());
+    }
+  }
+
+  @Test
+  void hashTreeRoot_shouldMatchTreeForEmptyList() {
+    assertThat(superNodeSchema.getDefault().hashTreeRoot())
+        .isEqualTo(treeSchema.getDefault().hashTreeRoot());
+  }
+
+  private TestContainer randomElement() {
+    return randomSsz.randomData(TestContainer.SSZ_SCHEMA);
+  }
+}
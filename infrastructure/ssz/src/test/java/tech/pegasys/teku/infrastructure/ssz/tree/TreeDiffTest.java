@@ -0,0 +1,162 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.ssz.RandomSszDataGenerator;
+import tech.pegasys.teku.infrastructure.ssz.SszList;
+import tech.pegasys.teku.infrastructure.ssz.SszMutableList;
+import tech.pegasys.teku.infrastructure.ssz.TestContainers.TestContainer;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszListSchema;
+import tech.pegasys.teku.infrastructure.ssz.schema.SszSchemaHints;
+
+public class TreeDiffTest {
+  private final RandomSszDataGenerator randomSsz = new RandomSszDataGenerator();
+  private final SszListSchema<TestContainer, ?> treeSchema =
+      SszListSchema.create(TestContainer.SSZ_SCHEMA, 1024);
+  private final SszListSchema<TestContainer, ?> superNodeSchema =
+      SszListSchema.create(TestContainer.SSZ_SCHEMA, 1024, SszSchemaHints.sszSuperNode(4));
+
+  @Test
+  void between_shouldBeEmptyForSameTree() {
+    final SszList<TestContainer> list = randomList(treeSchema, 10);
+
+    final TreeDiff diff = TreeDiff.between(list.getBackingNode(), list.getBackingNode());
+    assertThat(diff.isEmpty()).isTrue();
+    assertThat(diff.serialize()).isEqualTo(Bytes.EMPTY);
+  }
+
+  @Test
+  void between_shouldBeEmptyForEqualTreesWithDifferentInstances() {
+    final SszList<TestContainer> list = randomList(treeSchema, 10);
+    final SszList<TestContainer> copy = treeSchema.sszDeserialize(list.sszSerialize());
+
+    assertThat(TreeDiff.between(list.getBackingNode(), copy.getBackingNode()).isEmpty()).isTrue();
+  }
+
+  @Test
+  void applyTo_shouldReproduceUpdatedTree() {
+    final SszList<TestContainer> from = randomList(treeSchema, 37);
+    final SszMutableList<TestContainer> writable = from.createWritableCopy();
+    writable.set(3, randomElement());
+    writable.set(20, randomElement());
+    writable.append(randomElement());
+    final SszList<TestContainer> to = writable.commitChanges();
+
+    assertDiffReproduces(from, to);
+  }
+
+  @Test
+  void applyTo_shouldReproduceShrunkTree() {
+    final SszList<TestContainer> from = randomList(treeSchema, 37);
+    final SszList<TestContainer> to =
+        treeSchema.createFromElements(from.asList().subList(0, 10));
+
+    assertDiffReproduces(from, to);
+  }
+
+  @Test
+  void applyTo_shouldReproduceUpdatedSuperNodeTree() {
+    final SszList<TestContainer> from =
+        superNodeSchema.sszDeserialize(randomList(treeSchema, 37).sszSerialize());
+    final SszMutableList<TestContainer> writable = from.createWritableCopy();
+    writable.set(0, randomElement());
+    writable.set(17, randomElement());
+    for (int i = 0; i < 12; i++) {
+      writable.append(randomElement());
+    }
+    final SszList<TestContainer> to = writable.commitChanges();
+
+    final TreeDiff diff = assertDiffReproduces(from, to);
+    // Only the changed and appended elements should be included
+    final int leavesPerElement = countLeaves(randomElement());
+    assertThat(diff.size()).isLessThanOrEqualTo(14 * leavesPerElement + 1);
+  }
+
+  @Test
+  void applyTo_shouldReproduceShrunkSuperNodeTree() {
+    final SszList<TestContainer> from =
+        superNodeSchema.sszDeserialize(randomList(treeSchema, 37).sszSerialize());
+    final SszList<TestContainer> to =
+        superNodeSchema.sszDeserialize(
+            treeSchema.createFromElements(from.asList().subList(0, 5)).sszSerialize());
+
+    assertDiffReproduces(from, to);
+  }
+
+  @Test
+  void applyTo_shouldReproduceSuperNodeTreeFromRegularTree() {
+    final SszList<TestContainer> from = randomList(treeSchema, 20);
+    final SszList<TestContainer> to =
+        superNodeSchema.sszDeserialize(randomList(treeSchema, 25).sszSerialize());
+
+    assertDiffReproduces(from, to);
+  }
+
+  @Test
+  void deserialize_shouldRejectTruncatedData() {
+    final SszList<TestContainer> from = randomList(treeSchema, 5);
+    final SszMutableList<TestContainer> writable = from.createWritableCopy();
+    writable.set(1, randomElement());
+    final Bytes serialized =
+        TreeDiff.between(from.getBackingNode(), writable.commitChanges().getBackingNode())
+            .serialize();
+
+    assertThatThrownBy(() -> TreeDiff.deserialize(serialized.slice(0, serialized.size() - 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private TreeDiff assertDiffReproduces(
+      final SszList<TestContainer> from, final SszList<TestContainer> to) {
+    final TreeDiff diff = TreeDiff.between(from.getBackingNode(), to.getBackingNode());
+    assertThat(diff.applyTo(from.getBackingNode()).hashTreeRoot()).isEqualTo(to.hashTreeRoot());
+
+    final TreeDiff deserialized = TreeDiff.deserialize(diff.serialize());
+    assertThat(deserialized.size()).isEqualTo(diff.size());
+    assertThat(deserialized.applyTo(from.getBackingNode()).hashTreeRoot())
+        .isEqualTo(to.hashTreeRoot());
+    return diff;
+  }
+
+  private int countLeaves(final TestContainer element) {
+    final int[] count = new int[1];
+    element
+        .getBackingNode()
+        .iterateAll(
+            node -> {
+              if (node instanceof LeafNode) {
+                count[0]++;
+              }
+            });
+    return count[0];
+  }
+
+  private SszList<TestContainer> randomList(
+      final SszListSchema<TestContainer, ?> schema, final int size) {
+    final List<TestContainer> elements =
+        IntStream.range(0, size).mapToObj(__ -> randomElement()).collect(Collectors.toList());
+    return schema.createFromElements(elements);
+  }
+
+  private TestContainer randomElement() {
+    return randomSsz.randomData(TestContainer.SSZ_SCHEMA);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.crypto.MessageDigestFactory;
+import tech.pegasys.teku.infrastructure.crypto.Sha256PairHasher;
+
+public class TreeHasherTest {
+
+  static Stream<Arguments> pairHashers() {
+    return Stream.of(
+        Arguments.of("jca", Sha256PairHasher.jca()),
+        Arguments.of("pureJava", Sha256PairHasher.pureJava()));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("pairHashers")
+  void shouldMatchRecursiveHashing(final String name, final Sha256PairHasher pairHasher) {
+    final Supplier<TreeNode> treeSupplier = () -> createRandomTree(1000);
+
+    final Bytes32 result = new TreeHasher(pairHasher).hashTreeRoot(treeSupplier.get());
+
+    assertThat(result).isEqualTo(hashRecursively(treeSupplier.get()));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("pairHashers")
+  void shouldHashSubtreesSharedAtDifferentDepths(
+      final String name, final Sha256PairHasher pairHasher) {
+    final Supplier<TreeNode> treeSupplier =
+        () -> {
+          final TreeNode shared = createRandomTree(8);
+          return BranchNode.create(
+              shared, BranchNode.create(BranchNode.create(shared, shared), createRandomTree(2)));
+        };
+
+    final Bytes32 result = new TreeHasher(pairHasher).hashTreeRoot(treeSupplier.get());
+
+    assertThat(result).isEqualTo(hashRecursively(treeSupplier.get()));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("pairHashers")
+  void shouldOnlyRehashUpdatedPath(final String name, final Sha256PairHasher pairHasher) {
+    final TreeHasher treeHasher = new TreeHasher(pairHasher);
+    final TreeNode original = createRandomTree(64);
+    treeHasher.hashTreeRoot(original);
+
+    final TreeNode updated = original.updated(0b1000000 + 5, __ -> randomLeaf(new Random(99)));
+    final Bytes32 result = treeHasher.hashTreeRoot(updated);
+
+    final TreeNode expectedTree =
+        createRandomTree(64).updated(0b1000000 + 5, __ -> randomLeaf(new Random(99)));
+    assertThat(result).isEqualTo(hashRecursively(expectedTree));
+    assertThat(((SimpleBranchNode) updated).getCachedHash()).isEqualTo(result);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("pairHashers")
+  void shouldMatchRecursiveHashingWhenHashingInParallel(
+      final String name, final Sha256PairHasher pairHasher) {
+    final Supplier<TreeNode> treeSupplier = () -> createRandomTree(1000);
+
+    final Bytes32 result =
+        new TreeHasher(pairHasher, 3, 1).hashTreeRootInParallel(treeSupplier.get());
+
+    assertThat(result).isEqualTo(hashRecursively(treeSupplier.get()));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("pairHashers")
+  void shouldSplitSparseTreesWhereDataIsWhenHashingInParallel(
+      final String name, final Sha256PairHasher pairHasher) {
+    // Like a list with a large max length, the data is all in the leftmost subtree
+    final Supplier<TreeNode> treeSupplier = () -> createRandomTree(300, 30);
+
+    final TreeNode tree = treeSupplier.get();
+    final Bytes32 result = new TreeHasher(pairHasher, 4, 1).hashTreeRootInParallel(tree);
+
+    assertThat(result).isEqualTo(hashRecursively(treeSupplier.get()));
+    assertThat(((SimpleBranchNode) tree).getCachedHash()).isEqualTo(result);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("pairHashers")
+  void shouldHashSmallUpdatesOnCallingThreadWhenHashingInParallel(
+      final String name, final Sha256PairHasher pairHasher) {
+    final TreeHasher treeHasher = new TreeHasher(pairHasher, 4, 100);
+    final TreeNode original = createRandomTree(1000);
+    treeHasher.hashTreeRootInParallel(original);
+
+    final TreeNode updated = original.updated(0b10000000000L + 5, __ -> randomLeaf(new Random(7)));
+    final Bytes32 result = treeHasher.hashTreeRootInParallel(updated);
+
+    final TreeNode expectedTree =
+        createRandomTree(1000).updated(0b10000000000L + 5, __ -> randomLeaf(new Random(7)));
+    assertThat(result).isEqualTo(hashRecursively(expectedTree));
+  }
+
+  @Test
+  void hasManyUnhashedNodes_shouldOnlyBeTrueForLargeDirtySubtrees() {
+    final TreeNode smallTree = createRandomTree(64);
+    final TreeNode largeTree = createRandomTree(TreeHasher.MIN_BATCHED_NODES * 2);
+
+    assertThat(TreeHasher.hasManyUnhashedNodes(smallTree)).isFalse();
+    assertThat(TreeHasher.hasManyUnhashedNodes(largeTree)).isTrue();
+
+    largeTree.hashTreeRoot();
+    assertThat(TreeHasher.hasManyUnhashedNodes(largeTree)).isFalse();
+    final TreeNode updated = largeTree.updated(4, createRandomTree(2));
+    assertThat(TreeHasher.hasManyUnhashedNodes(updated)).isFalse();
+  }
+
+  private static Bytes32 hashRecursively(final TreeNode node) {
+    return node.hashTreeRoot(MessageDigestFactory.createSha256());
+  }
+
+  private static TreeNode createRandomTree(final int leafCount) {
+    return TreeUtil.createTree(createRandomLeaves(leafCount));
+  }
+
+  private static TreeNode createRandomTree(final int leafCount, final int depth) {
+    return TreeUtil.createTree(createRandomLeaves(leafCount), depth);
+  }
+
+  private static List<TreeNode> createRandomLeaves(final int leafCount) {
+    final Random random = new Random(leafCount);
+    return IntStream.range(0, leafCount)
+        .mapToObj(__ -> randomLeaf(random))
+        .collect(Collectors.toList());
+  }
+
+  private static LeafNode randomLeaf(final Random random) {
+    final byte[] data = new byte[Bytes32.SIZE];
+    random.nextBytes(data);
+    return LeafNode.create(Bytes32.wrap(data));
+  }
+}
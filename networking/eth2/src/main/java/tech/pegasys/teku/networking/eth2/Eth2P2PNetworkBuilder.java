@@ -74,6 +74,7 @@ import tech.pegasys.teku.spec.datastructures.util.ForkAndSpecMilestone;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitionsSupplier;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.client.RecentChainData;
+import tech.pegasys.teku.storage.client.SerializedBlockCache;
 import tech.pegasys.teku.storage.store.KeyValueStore;
 
 /**
@@ -96,6 +97,7 @@ public class Eth2P2PNetworkBuilder {
   protected OperationProcessor<SignedVoluntaryExit> gossipedVoluntaryExitConsumer;
   protected ProcessedAttestationSubscriptionProvider processedAttestationSubscriptionProvider;
   protected StorageQueryChannel historicalChainData;
+  protected Optional<SerializedBlockCache> serializedBlockCache = Optional.empty();
   protected MetricsSystem metricsSystem;
   protected final List<RpcMethod<?, ?, ?>> rpcMethods = new ArrayList<>();
   protected final List<PeerHandler> peerHandlers = new ArrayList<>();
@@ -134,6 +136,7 @@ public class Eth2P2PNetworkBuilder {
             asyncRunner,
             recentChainData,
             historicalChainData,
+            serializedBlockCache.orElseGet(() -> SerializedBlockCache.disabled(spec)),
             metricsSystem,
             attestationSubnetService,
             syncCommitteeSubnetService,
@@ -356,6 +359,13 @@ public class Eth2P2PNetworkBuilder {
     return this;
   }
 
+  public Eth2P2PNetworkBuilder serializedBlockCache(
+      final SerializedBlockCache serializedBlockCache) {
+    checkNotNull(serializedBlockCache);
+    this.serializedBlockCache = Optional.of(serializedBlockCache);
+    return this;
+  }
+
   public Eth2P2PNetworkBuilder recentChainData(final RecentChainData recentChainData) {
     checkNotNull(recentChainData);
     this.recentChainData = recentChainData;
@@ -47,6 +47,7 @@ import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
+import tech.pegasys.teku.storage.client.SerializedBlockCache;
 
 public class Eth2PeerManager implements PeerLookup, PeerHandler {
   private static final Logger LOG = LogManager.getLogger();
@@ -104,6 +105,7 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
       final AsyncRunner asyncRunner,
       final RecentChainData recentChainData,
       final StorageQueryChannel historicalChainData,
+      final SerializedBlockCache serializedBlockCache,
       final MetricsSystem metricsSystem,
       final SubnetSubscriptionService attestationSubnetService,
       final SubnetSubscriptionService syncCommitteeSubnetService,
@@ -124,7 +126,8 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
     syncCommitteeSubnetService.subscribeToUpdates(
         metadataMessagesFactory::updateSyncCommitteeSubnetIds);
     final CombinedChainDataClient combinedChainDataClient =
-        new CombinedChainDataClient(recentChainData, historicalChainData, spec);
+        new CombinedChainDataClient(
+            recentChainData, historicalChainData, serializedBlockCache, spec);
 
     return new Eth2PeerManager(
         spec,
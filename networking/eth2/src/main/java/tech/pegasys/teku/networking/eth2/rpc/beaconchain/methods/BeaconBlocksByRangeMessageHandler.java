@@ -26,6 +26,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
@@ -216,6 +217,11 @@ public class BeaconBlocksByRangeMessageHandler
   }
 
   private SafeFuture<Boolean> processNextBlock(final RequestState requestState) {
+    final Optional<Bytes> cachedBlock = requestState.getCachedFinalizedBlock();
+    if (cachedBlock.isPresent()) {
+      // Send the cached SSZ directly rather than deserializing it only to serialize it again
+      return handleSentBlock(requestState, requestState.sendSerializedBlock(cachedBlock.get()));
+    }
     // Ensure blocks are loaded off of the event thread
     return requestState
         .loadNextBlock()
@@ -225,18 +231,21 @@ public class BeaconBlocksByRangeMessageHandler
   /** Sends the block and returns true if the request is now complete. */
   private SafeFuture<Boolean> handleLoadedBlock(
       final RequestState requestState, final Optional<SignedBeaconBlock> block) {
-    return block
-        .map(requestState::sendBlock)
-        .orElse(SafeFuture.COMPLETE)
-        .thenApply(
-            __ -> {
-              if (requestState.isComplete()) {
-                return true;
-              } else {
-                requestState.incrementCurrentSlot();
-                return false;
-              }
-            });
+    return handleSentBlock(
+        requestState, block.map(requestState::sendBlock).orElse(SafeFuture.COMPLETE));
+  }
+
+  private SafeFuture<Boolean> handleSentBlock(
+      final RequestState requestState, final SafeFuture<Void> sendResult) {
+    return sendResult.thenApply(
+        __ -> {
+          if (requestState.isComplete()) {
+            return true;
+          } else {
+            requestState.incrementCurrentSlot();
+            return false;
+          }
+        });
   }
 
   private class RequestState {
@@ -277,12 +286,21 @@ public class BeaconBlocksByRangeMessageHandler
     }
 
     SafeFuture<Void> sendBlock(final SignedBeaconBlock block) {
+      onBlockSent();
+      return callback.respond(block);
+    }
+
+    SafeFuture<Void> sendSerializedBlock(final Bytes serializedBlock) {
+      onBlockSent();
+      return callback.respondSerialized(currentSlot, serializedBlock);
+    }
+
+    private void onBlockSent() {
       // request step is deprecated, if a step greater than 1 is requested, only return the first
       // block
       if (step.isGreaterThan(1L)) {
         remainingBlocks = ZERO;
       }
-      return callback.respond(block);
     }
 
     void incrementCurrentSlot() {
@@ -290,6 +308,13 @@ public class BeaconBlocksByRangeMessageHandler
       currentSlot = currentSlot.plus(step);
     }
 
+    Optional<Bytes> getCachedFinalizedBlock() {
+      if (!isFinalizedSlot(currentSlot)) {
+        return Optional.empty();
+      }
+      return combinedChainDataClient.getCachedSerializedFinalizedBlockAtSlot(currentSlot);
+    }
+
     SafeFuture<Optional<SignedBeaconBlock>> loadNextBlock() {
       final UInt64 slot = this.currentSlot;
       final Bytes32 knownBlockRoot = knownBlockRoots.get(slot);
@@ -298,8 +323,7 @@ public class BeaconBlocksByRangeMessageHandler
         return combinedChainDataClient
             .getBlockByBlockRoot(knownBlockRoot)
             .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)));
-      } else if ((!knownBlockRoots.isEmpty() && slot.compareTo(knownBlockRoots.firstKey()) >= 0)
-          || slot.compareTo(headSlot) > 0) {
+      } else if (!isFinalizedSlot(slot)) {
         // Unknown root but not finalized means this is an empty slot
         // Could also be because the first block requested is above our head slot
         return SafeFuture.completedFuture(Optional.empty());
@@ -308,5 +332,11 @@ public class BeaconBlocksByRangeMessageHandler
         return combinedChainDataClient.getBlockAtSlotExact(slot);
       }
     }
+
+    private boolean isFinalizedSlot(final UInt64 slot) {
+      return !knownBlockRoots.containsKey(slot)
+          && (knownBlockRoots.isEmpty() || slot.compareTo(knownBlockRoots.firstKey()) < 0)
+          && slot.compareTo(headSlot) <= 0;
+    }
   }
 }
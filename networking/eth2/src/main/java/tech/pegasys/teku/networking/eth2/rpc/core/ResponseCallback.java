@@ -13,11 +13,22 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core;
 
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public interface ResponseCallback<T> {
   SafeFuture<Void> respond(T data);
 
+  /**
+   * Responds with a payload which is already SSZ serialized, avoiding a deserialize and serialize
+   * round trip when the serialized form is available.
+   *
+   * @param slot the slot of the payload, used to select the fork digest context
+   * @param serializedData the SSZ serialized payload
+   */
+  SafeFuture<Void> respondSerialized(UInt64 slot, Bytes serializedData);
+
   void respondAndCompleteSuccessfully(T data);
 
   void completeSuccessfully();
@@ -34,6 +34,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -424,6 +425,28 @@ class BeaconBlocksByRangeMessageHandlerTest {
     verifyBlocksReturned(1, 2, 3, 4, 5);
   }
 
+  @Test
+  void shouldSendCachedFinalizedBlocksWithoutDeserializing() {
+    final int startBlock = 1;
+    final int count = 3;
+    final int skip = 1;
+    withCanonicalHeadBlock(blocksWStates.get(8));
+    withFinalizedBlocks(0, 1, 2, 3, 4, 5, 6, 7);
+    final Bytes cachedBlock = blocks.get(2).sszSerialize();
+    when(combinedChainDataClient.getCachedSerializedFinalizedBlockAtSlot(UInt64.valueOf(2)))
+        .thenReturn(Optional.of(cachedBlock));
+
+    requestBlocks(startBlock, count, skip);
+
+    final InOrder inOrder = Mockito.inOrder(listener);
+    inOrder.verify(listener).respond(blocks.get(1));
+    inOrder.verify(listener).respondSerialized(UInt64.valueOf(2), cachedBlock);
+    inOrder.verify(listener).respond(blocks.get(3));
+    inOrder.verify(listener).completeSuccessfully();
+    verifyNoMoreInteractions(listener);
+    verify(combinedChainDataClient, never()).getBlockAtSlotExact(UInt64.valueOf(2));
+  }
+
   private void requestBlocks(final int startBlock, final long count, final int skip) {
 
     handler.onIncomingMessage(
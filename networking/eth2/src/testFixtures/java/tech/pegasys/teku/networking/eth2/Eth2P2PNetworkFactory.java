@@ -86,6 +86,7 @@ import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.api.StubStorageQueryChannel;
 import tech.pegasys.teku.storage.client.MemoryOnlyRecentChainData;
 import tech.pegasys.teku.storage.client.RecentChainData;
+import tech.pegasys.teku.storage.client.SerializedBlockCache;
 import tech.pegasys.teku.storage.store.KeyValueStore;
 import tech.pegasys.teku.storage.store.MemKeyValueStore;
 
@@ -179,6 +180,7 @@ public class Eth2P2PNetworkFactory {
                 asyncRunner,
                 recentChainData,
                 historicalChainData,
+                SerializedBlockCache.disabled(spec),
                 METRICS_SYSTEM,
                 attestationSubnetService,
                 syncCommitteeSubnetService,
@@ -54,7 +54,9 @@ import tech.pegasys.teku.infrastructure.async.eventthread.AsyncRunnerEventThread
 import tech.pegasys.teku.infrastructure.events.EventChannels;
 import tech.pegasys.teku.infrastructure.exceptions.InvalidConfigurationException;
 import tech.pegasys.teku.infrastructure.io.PortAvailability;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
 import tech.pegasys.teku.infrastructure.metrics.SettableLabelledGauge;
+import tech.pegasys.teku.infrastructure.ssz.tree.SerializedSubtreeCache;
 import tech.pegasys.teku.infrastructure.time.TimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.infrastructure.version.VersionProvider;
@@ -86,6 +88,7 @@ import tech.pegasys.teku.spec.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorPublicKeyRegistry;
 import tech.pegasys.teku.spec.executionlayer.ExecutionLayerChannel;
 import tech.pegasys.teku.statetransition.EpochCachePrimer;
 import tech.pegasys.teku.statetransition.LocalOperationAcceptedFilter;
@@ -137,6 +140,7 @@ import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 import tech.pegasys.teku.storage.api.VoteUpdateChannel;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
+import tech.pegasys.teku.storage.client.SerializedBlockCache;
 import tech.pegasys.teku.storage.client.StorageBackedRecentChainData;
 import tech.pegasys.teku.storage.store.FileKeyValueStore;
 import tech.pegasys.teku.storage.store.KeyValueStore;
@@ -171,6 +175,7 @@ public class BeaconChainController extends Service implements BeaconChainControl
   private static final Logger LOG = LogManager.getLogger();
 
   protected static final String KEY_VALUE_STORE_SUBDIRECTORY = "kvstore";
+  protected static final String VALIDATOR_PUBLIC_KEYS_FILENAME = "validator-pubkeys.dat";
 
   protected volatile BeaconChainConfiguration beaconConfig;
   protected volatile Spec spec;
@@ -199,6 +204,7 @@ public class BeaconChainController extends Service implements BeaconChainControl
   protected volatile AttestationManager attestationManager;
   protected volatile SignatureVerificationService signatureVerificationService;
   protected volatile CombinedChainDataClient combinedChainDataClient;
+  protected volatile SerializedBlockCache serializedBlockCache;
   protected volatile Eth1DataCache eth1DataCache;
   protected volatile SlotProcessor slotProcessor;
   protected volatile OperationPool<AttesterSlashing> attesterSlashingPool;
@@ -316,11 +322,19 @@ public class BeaconChainController extends Service implements BeaconChainControl
             mergeTransitionConfigCheck
                 .map(MergeTransitionConfigCheck::stop)
                 .orElse(SafeFuture.completedFuture(null)))
-        .thenRun(forkChoiceExecutor::stop);
+        .thenRun(forkChoiceExecutor::stop)
+        .thenRun(this::saveValidatorPublicKeys);
   }
 
   protected SafeFuture<?> initialize() {
     final StoreConfig storeConfig = beaconConfig.storeConfig();
+    SerializedSubtreeCache.setDefaultMaxSizeInBytes(
+        storeConfig.getSerializedSubtreeCacheSizeInBytes());
+    if (storeConfig.isValidatorPublicKeyPersistenceEnabled()) {
+      beaconAsyncRunner
+          .runAsync(this::loadValidatorPublicKeys)
+          .finish(error -> LOG.warn("Failed to load saved validator public keys", error));
+    }
     coalescingChainHeadChannel =
         new CoalescingChainHeadChannel(
             eventChannels.getPublisher(ChainHeadChannel.class), EVENT_LOG);
@@ -366,6 +380,28 @@ public class BeaconChainController extends Service implements BeaconChainControl
         .thenCompose(__ -> timerService.start());
   }
 
+  private void loadValidatorPublicKeys() throws IOException {
+    final Path path = beaconDataDirectory.resolve(VALIDATOR_PUBLIC_KEYS_FILENAME);
+    final Optional<Bytes> data = SyncDataAccessor.create(beaconDataDirectory).read(path);
+    if (data.isPresent()) {
+      final int loaded = ValidatorPublicKeyRegistry.getInstance().deserialize(data.get());
+      LOG.debug("Loaded {} validator public keys from {}", loaded, path);
+    }
+  }
+
+  private void saveValidatorPublicKeys() {
+    if (!beaconConfig.storeConfig().isValidatorPublicKeyPersistenceEnabled()) {
+      return;
+    }
+    final Path path = beaconDataDirectory.resolve(VALIDATOR_PUBLIC_KEYS_FILENAME);
+    try {
+      SyncDataAccessor.create(beaconDataDirectory)
+          .syncedWrite(path, ValidatorPublicKeyRegistry.getInstance().serialize());
+    } catch (final IOException | RuntimeException e) {
+      LOG.warn("Failed to save validator public keys to " + path, e);
+    }
+  }
+
   public void initAll() {
     initKeyValueStore();
     initExecutionLayer();
@@ -494,10 +530,14 @@ public class BeaconChainController extends Service implements BeaconChainControl
 
   protected void initCombinedChainDataClient() {
     LOG.debug("BeaconChainController.initCombinedChainDataClient()");
+    serializedBlockCache =
+        SerializedBlockCache.create(
+            spec, metricsSystem, beaconConfig.storeConfig().getSerializedBlockCacheSizeInBytes());
     combinedChainDataClient =
         new CombinedChainDataClient(
             recentChainData,
             eventChannels.getPublisher(StorageQueryChannel.class, beaconAsyncRunner),
+            serializedBlockCache,
             spec);
   }
 
@@ -685,7 +725,8 @@ public class BeaconChainController extends Service implements BeaconChainControl
             futureItemsMetric,
             "attestations");
     AttestationValidator attestationValidator =
-        new AttestationValidator(spec, recentChainData, signatureVerificationService);
+        new AttestationValidator(
+            spec, recentChainData, signatureVerificationService, metricsSystem);
     AggregateAttestationValidator aggregateValidator =
         new AggregateAttestationValidator(spec, attestationValidator, signatureVerificationService);
     blockImporter.subscribeToVerifiedBlockAttestations(
@@ -771,6 +812,7 @@ public class BeaconChainController extends Service implements BeaconChainControl
                 attestationManager::subscribeToAttestationsToSend)
             .historicalChainData(
                 eventChannels.getPublisher(StorageQueryChannel.class, beaconAsyncRunner))
+            .serializedBlockCache(serializedBlockCache)
             .metricsSystem(metricsSystem)
             .timeProvider(timeProvider)
             .asyncRunner(networkAsyncRunner)
@@ -805,7 +847,7 @@ public class BeaconChainController extends Service implements BeaconChainControl
             forkChoiceNotifier,
             p2pNetwork,
             slotEventsChannelPublisher,
-            new EpochCachePrimer(spec, recentChainData));
+            new EpochCachePrimer(spec, recentChainData, beaconAsyncRunner, metricsSystem));
   }
 
   public void initAttestationPool() {
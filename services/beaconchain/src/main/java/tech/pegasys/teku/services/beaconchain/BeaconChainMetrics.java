@@ -21,11 +21,13 @@ import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.teku.ethereum.events.SlotEventsChannel;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.metrics.SettableGauge;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.ssz.cache.IntCacheStats;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.infrastructure.version.VersionProvider;
 import tech.pegasys.teku.networking.eth2.Eth2P2PNetwork;
@@ -35,6 +37,7 @@ import tech.pegasys.teku.spec.datastructures.blocks.StateAndBlockSummary;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.BeaconStateViewCaches;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.analysis.ValidatorStats.CorrectAndLiveValidators;
 import tech.pegasys.teku.storage.client.ChainHead;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -201,6 +204,23 @@ public class BeaconChainMetrics implements SlotEventsChannel {
             "Teku version in use",
             "version");
     versionCounter.labels(version).inc();
+
+    final LabelledGauge viewCacheEvents =
+        metricsSystem.createLabelledGauge(
+            TekuMetricCategory.BEACON,
+            "state_view_cache_events",
+            "Total number of hits, misses and evictions of the beacon state child view caches",
+            "cache",
+            "event");
+    addViewCacheMetrics(viewCacheEvents, "state_fields", BeaconStateViewCaches.STATE_FIELDS_STATS);
+    addViewCacheMetrics(viewCacheEvents, "validators", BeaconStateViewCaches.VALIDATORS_STATS);
+  }
+
+  private static void addViewCacheMetrics(
+      final LabelledGauge gauge, final String cache, final IntCacheStats stats) {
+    gauge.labels(stats::getHitCount, cache, "hit");
+    gauge.labels(stats::getMissCount, cache, "miss");
+    gauge.labels(stats::getEvictionCount, cache, "eviction");
   }
 
   @Override
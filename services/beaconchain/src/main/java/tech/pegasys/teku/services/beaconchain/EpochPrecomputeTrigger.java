@@ -0,0 +1,30 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.services.beaconchain;
+
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/** Decides when the speculative transition into the next epoch is started on a tick. */
+public interface EpochPrecomputeTrigger {
+
+  /**
+   * @param epoch the epoch the node slot is in, which is the next epoch once the last slot of the
+   *     previous epoch has had its attestations processed
+   * @return true if the empty slot processing up to the start of {@code epoch} should start now
+   */
+  boolean isEpochPrecomputeDue(UInt64 epoch, UInt64 currentTimeMillis, UInt64 genesisTimeMillis);
+
+  /** Records that the precompute for {@code epoch} has been started so it isn't repeated. */
+  void onEpochPrecomputeStarted(UInt64 epoch);
+}
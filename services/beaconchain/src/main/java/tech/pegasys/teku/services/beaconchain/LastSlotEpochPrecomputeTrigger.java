@@ -0,0 +1,54 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.services.beaconchain;
+
+import static tech.pegasys.teku.spec.constants.NetworkConstants.INTERVALS_PER_SLOT;
+
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+
+/** Triggers the epoch precompute 2/3 of the way through the last slot of the epoch. */
+public class LastSlotEpochPrecomputeTrigger implements EpochPrecomputeTrigger {
+
+  private final Spec spec;
+
+  private volatile UInt64 onTickEpochPrecompute;
+
+  public LastSlotEpochPrecomputeTrigger(final Spec spec) {
+    this.spec = spec;
+  }
+
+  @Override
+  public boolean isEpochPrecomputeDue(
+      final UInt64 epoch, final UInt64 currentTimeMillis, final UInt64 genesisTimeMillis) {
+    final UInt64 firstSlotOfNextEpoch = spec.computeStartSlotAtEpoch(epoch);
+    if (onTickEpochPrecompute == null) {
+      onTickEpochPrecompute =
+          firstSlotOfNextEpoch.minusMinZero(spec.getSlotsPerEpoch(firstSlotOfNextEpoch));
+      return false;
+    }
+    final UInt64 nextEpochStartTimeMillis =
+        spec.getSlotStartTimeMillis(firstSlotOfNextEpoch, genesisTimeMillis);
+    final UInt64 earliestTimeInMillis =
+        nextEpochStartTimeMillis.minusMinZero(
+            spec.getMillisPerSlot(firstSlotOfNextEpoch).dividedBy(INTERVALS_PER_SLOT));
+    return firstSlotOfNextEpoch.isGreaterThan(onTickEpochPrecompute)
+        && currentTimeMillis.isGreaterThanOrEqualTo(earliestTimeInMillis);
+  }
+
+  @Override
+  public void onEpochPrecomputeStarted(final UInt64 epoch) {
+    onTickEpochPrecompute = spec.computeStartSlotAtEpoch(epoch);
+  }
+}
@@ -45,11 +45,11 @@ public class SlotProcessor {
   private final SlotEventsChannel slotEventsChannelPublisher;
   private final NodeSlot nodeSlot = new NodeSlot(ZERO);
   private final EpochCachePrimer epochCachePrimer;
+  private final EpochPrecomputeTrigger epochPrecomputeTrigger;
   private final EventLogger eventLog;
 
   private volatile UInt64 onTickSlotStart;
   private volatile UInt64 onTickSlotAttestation;
-  private volatile UInt64 onTickEpochPrecompute;
 
   @VisibleForTesting
   SlotProcessor(
@@ -61,6 +61,7 @@ public class SlotProcessor {
       final Eth2P2PNetwork p2pNetwork,
       final SlotEventsChannel slotEventsChannelPublisher,
       final EpochCachePrimer epochCachePrimer,
+      final EpochPrecomputeTrigger epochPrecomputeTrigger,
       final EventLogger eventLogger) {
     this.spec = spec;
     this.recentChainData = recentChainData;
@@ -70,6 +71,7 @@ public class SlotProcessor {
     this.p2pNetwork = p2pNetwork;
     this.slotEventsChannelPublisher = slotEventsChannelPublisher;
     this.epochCachePrimer = epochCachePrimer;
+    this.epochPrecomputeTrigger = epochPrecomputeTrigger;
     this.eventLog = eventLogger;
   }
 
@@ -91,6 +93,7 @@ public class SlotProcessor {
         p2pNetwork,
         slotEventsChannelPublisher,
         epochCachePrimer,
+        new LastSlotEpochPrecomputeTrigger(spec),
         EventLogger.EVENT_LOG);
   }
 
@@ -139,14 +142,14 @@ public class SlotProcessor {
       performanceRecord.ifPresent(TickProcessingPerformance::attestationsDueComplete);
     }
 
-    if (isEpochPrecalculationDue(epoch, currentTimeMillis, genesisTimeMillis)) {
+    if (epochPrecomputeTrigger.isEpochPrecomputeDue(epoch, currentTimeMillis, genesisTimeMillis)) {
       processEpochPrecompute(epoch);
       performanceRecord.ifPresent(TickProcessingPerformance::precomputeEpochComplete);
     }
   }
 
   private void processEpochPrecompute(final UInt64 epoch) {
-    onTickEpochPrecompute = spec.computeStartSlotAtEpoch(epoch);
+    epochPrecomputeTrigger.onEpochPrecomputeStarted(epoch);
     epochCachePrimer.primeCacheForEpoch(epoch);
   }
 
@@ -192,25 +195,6 @@ public class SlotProcessor {
     return processingDueForSlot && isTimeReached(currentTimeMillis, earliestTimeInMillis);
   }
 
-  // Precalculate epoch transition 2/3 of the way through the last slot of the epoch
-  boolean isEpochPrecalculationDue(
-      final UInt64 epoch, final UInt64 currentTimeMillis, final UInt64 genesisTimeMillis) {
-    final UInt64 firstSlotOfNextEpoch = spec.computeStartSlotAtEpoch(epoch);
-    if (onTickEpochPrecompute == null) {
-      onTickEpochPrecompute =
-          firstSlotOfNextEpoch.minusMinZero(spec.getSlotsPerEpoch(firstSlotOfNextEpoch));
-      return false;
-    }
-    final UInt64 nextEpochStartTimeMillis =
-        spec.getSlotStartTimeMillis(firstSlotOfNextEpoch, genesisTimeMillis);
-    final UInt64 earliestTimeInMillis =
-        nextEpochStartTimeMillis.minusMinZero(oneThirdSlotMillis(firstSlotOfNextEpoch));
-    final boolean processingDueForSlot =
-        isProcessingDueForSlot(firstSlotOfNextEpoch, onTickEpochPrecompute);
-    final boolean timeReached = isTimeReached(currentTimeMillis, earliestTimeInMillis);
-    return processingDueForSlot && timeReached;
-  }
-
   private UInt64 oneThirdSlotMillis(final UInt64 slot) {
     return spec.getMillisPerSlot(slot).dividedBy(INTERVALS_PER_SLOT);
   }
@@ -221,6 +205,9 @@ public class SlotProcessor {
 
   private void processSlotStart(final UInt64 nodeEpoch) {
     onTickSlotStart = nodeSlot.getValue();
+    if (isEpochMidpoint(nodeSlot.getValue(), nodeEpoch)) {
+      epochCachePrimer.primeShufflingForEpoch(nodeEpoch.plus(1));
+    }
     if (nodeSlot.getValue().equals(spec.computeStartSlotAtEpoch(nodeEpoch))) {
       p2pNetwork.onEpoch(nodeEpoch);
       if (!nodeEpoch.isZero()) {
@@ -239,6 +226,11 @@ public class SlotProcessor {
     slotEventsChannelPublisher.onSlot(nodeSlot.getValue());
   }
 
+  private boolean isEpochMidpoint(final UInt64 slot, final UInt64 epoch) {
+    final UInt64 epochStartSlot = spec.computeStartSlotAtEpoch(epoch);
+    return slot.equals(epochStartSlot.plus(spec.getSlotsPerEpoch(epochStartSlot) / 2));
+  }
+
   private void processSlotAttestation(final Optional<TickProcessingPerformance> performanceRecord) {
     onTickSlotAttestation = nodeSlot.getValue();
     forkChoiceTrigger.onAttestationsDueForSlot(onTickSlotAttestation);
@@ -89,6 +89,7 @@ public class SlotProcessorTest {
         p2pNetwork,
         slotEventsChannel,
         epochCachePrimer,
+        new LastSlotEpochPrecomputeTrigger(spec),
         eventLogger);
   }
 
@@ -257,6 +258,20 @@ public class SlotProcessorTest {
     verify(eventLogger).nodeSlotsMissed(ZERO, slot);
   }
 
+  @Test
+  public void onTick_shouldPrimeNextEpochShufflingAtEpochMidpoint() {
+    final UInt64 midpointSlot = UInt64.valueOf(spec.getSlotsPerEpoch(ZERO) / 2);
+    slotProcessor.setOnTickSlotAttestation(midpointSlot);
+    when(syncStateProvider.getCurrentSyncState()).thenReturn(SyncState.IN_SYNC);
+
+    slotProcessor.onTick(genesisTimeMillis, Optional.empty());
+    verify(epochCachePrimer, never()).primeShufflingForEpoch(any());
+
+    slotProcessor.onTick(
+        genesisTimeMillis.plus(midpointSlot.times(millisPerSlot)), Optional.empty());
+    verify(epochCachePrimer).primeShufflingForEpoch(ONE);
+  }
+
   @ParameterizedTest
   @EnumSource(
       value = Eth2Network.class,
@@ -366,6 +381,7 @@ public class SlotProcessorTest {
             p2pNetwork,
             slotEventsChannel,
             epochCachePrimer,
+            new LastSlotEpochPrecomputeTrigger(spec),
             eventLogger);
 
     int slotsPerEpoch = spec.getGenesisSpecConfig().getSlotsPerEpoch();
@@ -15,11 +15,13 @@ package tech.pegasys.teku.services.chainstorage;
 
 import static tech.pegasys.teku.spec.config.Constants.STORAGE_QUERY_CHANNEL_PARALLELISM;
 
+import java.time.Duration;
 import java.util.Optional;
 import tech.pegasys.teku.ethereum.pow.api.Eth1EventsChannel;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.async.eventthread.AsyncRunnerEventThread;
+import tech.pegasys.teku.infrastructure.async.eventthread.EventThread;
 import tech.pegasys.teku.service.serviceutils.Service;
 import tech.pegasys.teku.service.serviceutils.ServiceConfig;
 import tech.pegasys.teku.spec.executionlayer.ExecutionLayerChannel;
@@ -27,6 +29,7 @@ import tech.pegasys.teku.storage.api.Eth1DepositStorageChannel;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 import tech.pegasys.teku.storage.api.VoteUpdateChannel;
+import tech.pegasys.teku.storage.server.BatchingStorageUpdateChannel;
 import tech.pegasys.teku.storage.server.BatchingVoteUpdateChannel;
 import tech.pegasys.teku.storage.server.ChainStorage;
 import tech.pegasys.teku.storage.server.Database;
@@ -40,6 +43,7 @@ public class StorageService extends Service implements StorageServiceFacade {
   private final ServiceConfig serviceConfig;
   private volatile Database database;
   private volatile BatchingVoteUpdateChannel batchingVoteUpdateChannel;
+  private volatile EventThread groupCommitEventThread;
 
   public StorageService(
       final ServiceConfig serviceConfig, final StorageConfiguration storageConfiguration) {
@@ -80,11 +84,25 @@ public class StorageService extends Service implements StorageServiceFacade {
                   chainStorage,
                   new AsyncRunnerEventThread(
                       "batch-vote-updater", serviceConfig.getAsyncRunnerFactory()));
+          groupCommitEventThread =
+              new AsyncRunnerEventThread(
+                  "storage-group-commit", serviceConfig.getAsyncRunnerFactory());
+          groupCommitEventThread.start();
+          final BatchingStorageUpdateChannel batchingStorageUpdateChannel =
+              new BatchingStorageUpdateChannel(
+                  chainStorage,
+                  groupCommitEventThread,
+                  storageAsyncRunner,
+                  serviceConfig.getMetricsSystem(),
+                  serviceConfig.getTimeProvider(),
+                  Duration.ofMillis(config.getGroupCommitWindowMillis()),
+                  config.getGroupCommitMaxBatchSize(),
+                  config.getGroupCommitMaxQueueSize());
           serviceConfig
               .getEventChannels()
               .subscribe(Eth1DepositStorageChannel.class, depositStorage)
               .subscribe(Eth1EventsChannel.class, depositStorage)
-              .subscribe(StorageUpdateChannel.class, chainStorage)
+              .subscribe(StorageUpdateChannel.class, batchingStorageUpdateChannel)
               .subscribe(VoteUpdateChannel.class, batchingVoteUpdateChannel)
               .subscribeMultithreaded(
                   StorageQueryChannel.class, chainStorage, STORAGE_QUERY_CHANNEL_PARALLELISM);
@@ -93,7 +111,13 @@ public class StorageService extends Service implements StorageServiceFacade {
 
   @Override
   protected SafeFuture<?> doStop() {
-    return SafeFuture.fromRunnable(database::close);
+    return SafeFuture.fromRunnable(
+        () -> {
+          if (groupCommitEventThread != null) {
+            groupCommitEventThread.stop();
+          }
+          database.close();
+        });
   }
 
   @Override
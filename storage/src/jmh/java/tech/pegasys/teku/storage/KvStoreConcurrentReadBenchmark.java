@@ -0,0 +1,149 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreConfiguration;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+import tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer;
+import tech.pegasys.teku.storage.server.leveldb.LevelDbInstanceFactory;
+import tech.pegasys.teku.storage.server.rocksdb.RocksDbInstanceFactory;
+
+/**
+ * Measures read throughput with many threads reading from the same database at once, either
+ * directly through the {@link KvStoreAccessor} or through a per-thread {@link KvStoreSnapshot}.
+ */
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class KvStoreConcurrentReadBenchmark {
+  private static final int ENTRY_COUNT = 100_000;
+  private static final KvStoreColumn<UInt64, Bytes32> COLUMN =
+      KvStoreColumn.create(
+          1, KvStoreSerializer.UINT64_SERIALIZER, KvStoreSerializer.BYTES32_SERIALIZER);
+
+  @Param({"rocksdb", "leveldb"})
+  public String databaseType;
+
+  private Path tempDirectory;
+  private KvStoreAccessor database;
+
+  @Setup
+  public void setup() throws Exception {
+    tempDirectory = Files.createTempDirectory(getClass().getSimpleName());
+    final KvStoreConfiguration configuration =
+        KvStoreConfiguration.v6SingleDefaults().withDatabaseDir(tempDirectory);
+    if (databaseType.equals("leveldb")) {
+      database =
+          LevelDbInstanceFactory.create(
+              new NoOpMetricsSystem(), TekuMetricCategory.STORAGE, configuration, List.of(COLUMN));
+    } else {
+      database =
+          RocksDbInstanceFactory.create(
+              new NoOpMetricsSystem(),
+              TekuMetricCategory.STORAGE,
+              configuration,
+              Map.of("BENCHMARK", COLUMN));
+    }
+    try (final KvStoreTransaction transaction = database.startTransaction()) {
+      for (int i = 0; i < ENTRY_COUNT; i++) {
+        transaction.put(COLUMN, UInt64.valueOf(i * 2L), Bytes32.random());
+      }
+      transaction.commit();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    database.close();
+    FileUtils.deleteDirectory(tempDirectory.toFile());
+  }
+
+  @State(Scope.Thread)
+  public static class SnapshotState {
+    private KvStoreSnapshot snapshot;
+
+    @Setup
+    public void setup(final KvStoreConcurrentReadBenchmark benchmark) {
+      snapshot = benchmark.database.snapshot();
+    }
+
+    @TearDown
+    public void tearDown() {
+      snapshot.close();
+    }
+  }
+
+  @Benchmark
+  public Optional<Bytes32> getDirect() {
+    return get(database);
+  }
+
+  @Benchmark
+  public Optional<Bytes32> getFromSnapshot(final SnapshotState state) {
+    return get(state.snapshot);
+  }
+
+  @Benchmark
+  public Optional<ColumnEntry<UInt64, Bytes32>> getFloorEntryDirect() {
+    return getFloorEntry(database);
+  }
+
+  @Benchmark
+  public Optional<ColumnEntry<UInt64, Bytes32>> getFloorEntryFromSnapshot(
+      final SnapshotState state) {
+    return getFloorEntry(state.snapshot);
+  }
+
+  private static Optional<Bytes32> get(final KvStoreReader reader) {
+    return reader.get(COLUMN, randomKey());
+  }
+
+  private static Optional<ColumnEntry<UInt64, Bytes32>> getFloorEntry(final KvStoreReader reader) {
+    // Odd keys are never stored so the floor lookup always has to step back an entry
+    return reader.getFloorEntry(COLUMN, randomKey().plus(1));
+  }
+
+  private static UInt64 randomKey() {
+    return UInt64.valueOf(ThreadLocalRandom.current().nextInt(ENTRY_COUNT) * 2L);
+  }
+}
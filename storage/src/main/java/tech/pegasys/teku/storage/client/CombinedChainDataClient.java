@@ -26,6 +26,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -62,14 +63,24 @@ public class CombinedChainDataClient {
 
   private final RecentChainData recentChainData;
   private final StorageQueryChannel historicalChainData;
+  private final SerializedBlockCache blockCache;
   private final Spec spec;
 
   public CombinedChainDataClient(
       final RecentChainData recentChainData,
       final StorageQueryChannel historicalChainData,
       final Spec spec) {
+    this(recentChainData, historicalChainData, SerializedBlockCache.disabled(spec), spec);
+  }
+
+  public CombinedChainDataClient(
+      final RecentChainData recentChainData,
+      final StorageQueryChannel historicalChainData,
+      final SerializedBlockCache blockCache,
+      final Spec spec) {
     this.recentChainData = recentChainData;
     this.historicalChainData = historicalChainData;
+    this.blockCache = blockCache;
     this.spec = spec;
   }
 
@@ -118,7 +129,7 @@ public class CombinedChainDataClient {
       return getBlockByBlockRoot(recentRoot.get());
     }
 
-    return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
+    return getLatestFinalizedBlockAtSlot(slot);
   }
 
   public SafeFuture<Optional<SignedBeaconBlock>> getBlockInEffectAtSlot(final UInt64 slot) {
@@ -132,12 +143,12 @@ public class CombinedChainDataClient {
       return getBlockByBlockRoot(recentRoot.get());
     }
 
-    return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
+    return getLatestFinalizedBlockAtSlot(slot);
   }
 
   public SafeFuture<Optional<SignedBeaconBlock>> getFinalizedBlockInEffectAtSlot(
       final UInt64 slot) {
-    return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
+    return getLatestFinalizedBlockAtSlot(slot);
   }
 
   public SafeFuture<Optional<BeaconBlockAndState>> getBlockAndStateInEffectAtSlot(
@@ -453,10 +464,27 @@ public class CombinedChainDataClient {
               if (maybeBlock.isPresent()) {
                 return SafeFuture.completedFuture(maybeBlock);
               }
-              return historicalChainData.getBlockByBlockRoot(blockRoot);
+              final Optional<SignedBeaconBlock> cachedBlock = blockCache.getByRoot(blockRoot);
+              if (cachedBlock.isPresent()) {
+                return SafeFuture.completedFuture(cachedBlock);
+              }
+              return historicalChainData
+                  .getBlockByBlockRoot(blockRoot)
+                  .thenPeek(
+                      maybeHistoricBlock -> maybeHistoricBlock.ifPresent(blockCache::addBlock));
             });
   }
 
+  private SafeFuture<Optional<SignedBeaconBlock>> getLatestFinalizedBlockAtSlot(final UInt64 slot) {
+    final Optional<SignedBeaconBlock> cachedBlock = blockCache.getFinalizedBySlot(slot);
+    if (cachedBlock.isPresent()) {
+      return SafeFuture.completedFuture(cachedBlock);
+    }
+    return historicalChainData
+        .getLatestFinalizedBlockAtSlot(slot)
+        .thenPeek(maybeBlock -> maybeBlock.ifPresent(blockCache::addFinalizedBlock));
+  }
+
   private boolean isRecentData(final UInt64 slot) {
     checkNotNull(slot);
     if (recentChainData.isPreGenesis()) {
@@ -466,6 +494,18 @@ public class CombinedChainDataClient {
     return slot.compareTo(finalizedSlot) >= 0;
   }
 
+  /**
+   * Returns the SSZ serialized finalized block at the given slot if it is held in the serialized
+   * block cache. Does not fall back to the database, callers should use {@link
+   * #getBlockAtSlotExact(UInt64)} when this is empty.
+   *
+   * @param slot the slot to get the block for
+   * @return the serialized block if cached, otherwise empty
+   */
+  public Optional<Bytes> getCachedSerializedFinalizedBlockAtSlot(final UInt64 slot) {
+    return blockCache.getSerializedFinalizedBySlot(slot);
+  }
+
   public Optional<SignedBeaconBlock> getFinalizedBlock() {
     if (recentChainData.isPreGenesis()) {
       return Optional.empty();
@@ -0,0 +1,238 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+
+/**
+ * A byte-budgeted cache of SSZ serialized blocks held in direct (off-heap) buffers.
+ *
+ * <p>Blocks are always indexed by root. Blocks known to be finalized are also indexed by slot so
+ * range requests over finalized history can be served without a database read. As block roots are
+ * content addresses and finalized blocks never change, entries never need to be invalidated.
+ *
+ * <p>Eviction uses the clock (second chance) algorithm: each access sets a reference bit and the
+ * clock hand clears reference bits until it finds an unreferenced entry to evict.
+ */
+public class SerializedBlockCache {
+
+  private final Spec spec;
+  private final long maxSizeInBytes;
+
+  private final Map<Bytes32, Entry> entriesByRoot = new HashMap<>();
+  private final Map<UInt64, Entry> finalizedEntriesBySlot = new HashMap<>();
+  private final List<Entry> clock = new ArrayList<>();
+  private int clockHand = 0;
+  private long currentSizeInBytes = 0;
+
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  private SerializedBlockCache(
+      final Spec spec, final MetricsSystem metricsSystem, final long maxSizeInBytes) {
+    checkArgument(maxSizeInBytes >= 0, "Cache size cannot be negative");
+    this.spec = spec;
+    this.maxSizeInBytes = maxSizeInBytes;
+    metricsSystem.createGauge(
+        TekuMetricCategory.STORAGE,
+        "serialized_block_cache_size_bytes",
+        "Total size in bytes of the serialized blocks held in the off-heap block cache",
+        this::getCurrentSizeInBytes);
+    hitCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "serialized_block_cache_hits",
+            "Number of block lookups served from the off-heap block cache");
+    missCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "serialized_block_cache_misses",
+            "Number of block lookups not found in the off-heap block cache");
+    evictionCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "serialized_block_cache_evictions",
+            "Number of blocks evicted from the off-heap block cache");
+  }
+
+  public static SerializedBlockCache create(
+      final Spec spec, final MetricsSystem metricsSystem, final long maxSizeInBytes) {
+    return new SerializedBlockCache(spec, metricsSystem, maxSizeInBytes);
+  }
+
+  public static SerializedBlockCache disabled(final Spec spec) {
+    return new SerializedBlockCache(spec, new NoOpMetricsSystem(), 0);
+  }
+
+  public boolean isEnabled() {
+    return maxSizeInBytes > 0;
+  }
+
+  public Optional<SignedBeaconBlock> getByRoot(final Bytes32 blockRoot) {
+    return getSerializedByRoot(blockRoot).map(spec::deserializeSignedBeaconBlock);
+  }
+
+  public Optional<SignedBeaconBlock> getFinalizedBySlot(final UInt64 slot) {
+    return getSerializedFinalizedBySlot(slot).map(spec::deserializeSignedBeaconBlock);
+  }
+
+  /** Returns the SSZ serialized block with the given root, without deserializing it. */
+  public Optional<Bytes> getSerializedByRoot(final Bytes32 blockRoot) {
+    return lookup(entriesByRoot, blockRoot).map(this::copyData);
+  }
+
+  /** Returns the SSZ serialized finalized block at the given slot, without deserializing it. */
+  public Optional<Bytes> getSerializedFinalizedBySlot(final UInt64 slot) {
+    return lookup(finalizedEntriesBySlot, slot).map(this::copyData);
+  }
+
+  public void addBlock(final SignedBeaconBlock block) {
+    add(block, false);
+  }
+
+  public void addFinalizedBlock(final SignedBeaconBlock block) {
+    add(block, true);
+  }
+
+  private void add(final SignedBeaconBlock block, final boolean finalized) {
+    if (!isEnabled()) {
+      return;
+    }
+    synchronized (this) {
+      final Entry existing = entriesByRoot.get(block.getRoot());
+      if (existing != null) {
+        existing.referenced = true;
+        if (finalized) {
+          finalizedEntriesBySlot.put(existing.slot, existing);
+        }
+        return;
+      }
+    }
+
+    // Serialize outside the lock, the buffer is never modified once the entry is published
+    final Bytes serializedBlock = block.sszSerialize();
+    final int size = serializedBlock.size();
+    if (size > maxSizeInBytes) {
+      return;
+    }
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+    buffer.put(serializedBlock.toArrayUnsafe()).flip();
+    final Entry entry = new Entry(block.getRoot(), block.getSlot(), buffer.asReadOnlyBuffer());
+
+    synchronized (this) {
+      if (entriesByRoot.containsKey(entry.root)) {
+        // Another thread added the same block while we were serializing it
+        return;
+      }
+      makeSpaceFor(size);
+      entriesByRoot.put(entry.root, entry);
+      if (finalized) {
+        finalizedEntriesBySlot.put(entry.slot, entry);
+      }
+      clock.add(entry);
+      currentSizeInBytes += size;
+    }
+  }
+
+  private <K> Optional<Entry> lookup(final Map<K, Entry> index, final K key) {
+    if (!isEnabled()) {
+      return Optional.empty();
+    }
+    final Entry entry;
+    synchronized (this) {
+      entry = index.get(key);
+      if (entry != null) {
+        entry.referenced = true;
+      }
+    }
+    if (entry == null) {
+      missCounter.inc();
+      return Optional.empty();
+    }
+    hitCounter.inc();
+    return Optional.of(entry);
+  }
+
+  private Bytes copyData(final Entry entry) {
+    final byte[] data = new byte[entry.data.capacity()];
+    entry.data.duplicate().get(data);
+    return Bytes.wrap(data);
+  }
+
+  private void makeSpaceFor(final int size) {
+    while (currentSizeInBytes + size > maxSizeInBytes && !clock.isEmpty()) {
+      if (clockHand >= clock.size()) {
+        clockHand = 0;
+      }
+      final Entry candidate = clock.get(clockHand);
+      if (candidate.referenced) {
+        candidate.referenced = false;
+        clockHand++;
+      } else {
+        evict(clockHand);
+      }
+    }
+  }
+
+  private void evict(final int clockIndex) {
+    // Move the last entry into the evicted position so removal is constant time
+    final Entry last = clock.remove(clock.size() - 1);
+    final Entry evicted = clockIndex < clock.size() ? clock.set(clockIndex, last) : last;
+    entriesByRoot.remove(evicted.root);
+    finalizedEntriesBySlot.remove(evicted.slot, evicted);
+    currentSizeInBytes -= evicted.data.capacity();
+    evictionCounter.inc();
+  }
+
+  @VisibleForTesting
+  synchronized long getCurrentSizeInBytes() {
+    return currentSizeInBytes;
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return entriesByRoot.size();
+  }
+
+  private static class Entry {
+    private final Bytes32 root;
+    private final UInt64 slot;
+    private final ByteBuffer data;
+    private boolean referenced = true;
+
+    private Entry(final Bytes32 root, final UInt64 slot, final ByteBuffer data) {
+      this.root = root;
+      this.slot = slot;
+      this.data = data;
+    }
+  }
+}
@@ -16,7 +16,6 @@ package tech.pegasys.teku.storage.protoarray;
 import com.google.common.annotations.VisibleForTesting;
 import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -29,6 +28,10 @@ import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpoints;
@@ -46,24 +49,45 @@ import tech.pegasys.teku.spec.executionlayer.PayloadStatus;
 
 public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoiceStrategy {
   private static final Logger LOG = LogManager.getLogger();
+  private static final int[] NODE_COUNT_BUCKETS = {256, 1024, 4096, 16384};
+  private static final String[] NODE_COUNT_LABELS = {
+    "lt_256", "lt_1024", "lt_4096", "lt_16384", "ge_16384"
+  };
   private final ReadWriteLock protoArrayLock = new ReentrantReadWriteLock();
   private final ReadWriteLock votesLock = new ReentrantReadWriteLock();
   private final ReadWriteLock balancesLock = new ReentrantReadWriteLock();
   private final Spec spec;
   private final ProtoArray protoArray;
+  private final ProtoArrayScoreCalculator scoreCalculator = new ProtoArrayScoreCalculator();
+  private final MetricsHistogram latencyHistogram;
 
-  private List<UInt64> balances;
+  private long[] balances;
   private Optional<Bytes32> proposerBoostRoot = Optional.empty();
   private UInt64 proposerBoostAmount = UInt64.ZERO;
 
-  private ForkChoiceStrategy(Spec spec, ProtoArray protoArray, List<UInt64> balances) {
+  private ForkChoiceStrategy(
+      Spec spec, ProtoArray protoArray, long[] balances, MetricsSystem metricsSystem) {
     this.spec = spec;
     this.protoArray = protoArray;
     this.balances = balances;
+    this.latencyHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.BEACON,
+            metricsSystem,
+            "fork_choice_latency_summary",
+            "Histogram recording time in microseconds spent in each stage of applying fork choice"
+                + " votes, split by the number of nodes in the protoarray",
+            1,
+            List.of("stage", "node_count"));
   }
 
   public static ForkChoiceStrategy initialize(final Spec spec, final ProtoArray protoArray) {
-    return new ForkChoiceStrategy(spec, protoArray, new ArrayList<>());
+    return initialize(spec, protoArray, new NoOpMetricsSystem());
+  }
+
+  public static ForkChoiceStrategy initialize(
+      final Spec spec, final ProtoArray protoArray, final MetricsSystem metricsSystem) {
+    return new ForkChoiceStrategy(spec, protoArray, new long[0], metricsSystem);
   }
 
   public SlotAndBlockRoot findHead(
@@ -106,24 +130,38 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
     votesLock.writeLock().lock();
     balancesLock.writeLock().lock();
     try {
+      final String nodeCountLabel = getNodeCountLabel(getTotalTrackedNodeCount());
+      final long startTime = System.nanoTime();
+      final long[] newBalances =
+          ProtoArrayScoreCalculator.toLongArray(justifiedStateEffectiveBalances);
       LongList deltas =
-          ProtoArrayScoreCalculator.computeDeltas(
+          scoreCalculator.calculateDeltas(
               voteUpdater,
               getTotalTrackedNodeCount(),
               protoArray::getIndexByRoot,
               balances,
-              justifiedStateEffectiveBalances,
+              newBalances,
               this.proposerBoostRoot,
               proposerBoostRoot,
               this.proposerBoostAmount,
               proposerBoostAmount);
+      final long deltasComputedTime = System.nanoTime();
 
       protoArray.applyScoreChanges(deltas, justifiedCheckpoint, finalizedCheckpoint);
-      balances = justifiedStateEffectiveBalances;
+      balances = newBalances;
       this.proposerBoostRoot = proposerBoostRoot;
       this.proposerBoostAmount = proposerBoostAmount;
+      final long scoresAppliedTime = System.nanoTime();
+
+      final Bytes32 headRoot =
+          findHeadImpl(justifiedCheckpoint, finalizedCheckpoint).getBlockRoot();
+      final long headFoundTime = System.nanoTime();
 
-      return findHeadImpl(justifiedCheckpoint, finalizedCheckpoint).getBlockRoot();
+      recordLatency("compute_deltas", nodeCountLabel, startTime, deltasComputedTime);
+      recordLatency("apply_score_changes", nodeCountLabel, deltasComputedTime, scoresAppliedTime);
+      recordLatency("find_head", nodeCountLabel, scoresAppliedTime, headFoundTime);
+      recordLatency("total", nodeCountLabel, startTime, headFoundTime);
+      return headRoot;
     } finally {
       protoArrayLock.writeLock().unlock();
       votesLock.writeLock().unlock();
@@ -131,6 +169,21 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
     }
   }
 
+  private void recordLatency(
+      final String stage, final String nodeCountLabel, final long startNanos, final long endNanos) {
+    latencyHistogram.recordValue((endNanos - startNanos) / 1_000, stage, nodeCountLabel);
+  }
+
+  @VisibleForTesting
+  static String getNodeCountLabel(final int nodeCount) {
+    for (int i = 0; i < NODE_COUNT_BUCKETS.length; i++) {
+      if (nodeCount < NODE_COUNT_BUCKETS[i]) {
+        return NODE_COUNT_LABELS[i];
+      }
+    }
+    return NODE_COUNT_LABELS[NODE_COUNT_BUCKETS.length];
+  }
+
   public void onAttestation(final VoteUpdater voteUpdater, final IndexedAttestation attestation) {
     votesLock.writeLock().lock();
     try {
@@ -20,12 +20,16 @@ import static tech.pegasys.teku.storage.protoarray.ProtoNodeValidationStatus.INV
 import static tech.pegasys.teku.storage.protoarray.ProtoNodeValidationStatus.OPTIMISTIC;
 import static tech.pegasys.teku.storage.protoarray.ProtoNodeValidationStatus.VALID;
 
+import com.google.common.annotations.VisibleForTesting;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -69,6 +73,21 @@ public class ProtoArray {
    */
   private final ProtoArrayIndices indices = new ProtoArrayIndices();
 
+  /** Indices of the direct children of each node, aligned with the nodes list. */
+  private final List<IntList> childIndices = new ArrayList<>();
+
+  /**
+   * Nodes which were added, or had their best descendant updated by an added child, since weights
+   * were last applied. Their parents must be re-evaluated even if no weight changed.
+   */
+  private BitSet dirtyNodes = new BitSet();
+
+  /**
+   * Set when a change affects the viability or weight of nodes that can't be tracked individually,
+   * so the next score change must sweep the whole array rather than just the changed nodes.
+   */
+  private boolean fullSweepRequired = true;
+
   ProtoArray(
       final int pruneThreshold,
       final Checkpoint justifiedCheckpoint,
@@ -148,6 +167,15 @@ public class ProtoArray {
 
     indices.add(blockRoot, nodeIndex);
     nodes.add(node);
+    childIndices.add(new IntArrayList(1));
+    dirtyNodes.set(nodeIndex);
+    node.getParentIndex()
+        .ifPresent(
+            parentIndex -> {
+              childIndices.get(parentIndex).add(nodeIndex);
+              // The parent is updated below so won't appear changed when next visited
+              dirtyNodes.set(parentIndex);
+            });
 
     updateBestDescendantOfParent(node, nodeIndex);
   }
@@ -333,6 +361,7 @@ public class ProtoArray {
     removeBlockRoot(node.getBlockRoot());
     markDescendantsAsInvalid(index);
     // Applying zero deltas causes the newly marked INVALID nodes to have their weight set to 0
+    fullSweepRequired = true;
     applyDeltas(new LongArrayList(Collections.nCopies(getTotalTrackedNodeCount(), 0L)));
   }
 
@@ -394,6 +423,10 @@ public class ProtoArray {
    *   <li>If required, update the parents best descendant with the current node or its best
    *       descendant.
    * </ul>
+   *
+   * <p>When the checkpoints are unchanged only the nodes with a non-zero delta, the nodes added
+   * since the last call and the ancestors affected by them are visited, falling back to the full
+   * sweep when most of the array would be touched anyway.
    */
   public void applyScoreChanges(
       final LongList deltas,
@@ -409,6 +442,8 @@ public class ProtoArray {
         || !finalizedCheckpoint.equals(this.finalizedCheckpoint)) {
       this.justifiedCheckpoint = justifiedCheckpoint;
       this.finalizedCheckpoint = finalizedCheckpoint;
+      // Node viability may have changed anywhere in the tree
+      fullSweepRequired = true;
     }
 
     applyDeltas(deltas);
@@ -449,6 +484,7 @@ public class ProtoArray {
 
     // Drop all the nodes prior to finalization.
     nodes.subList(0, finalizedIndex).clear();
+    dirtyNodes = dirtyNodes.get(finalizedIndex, Math.max(finalizedIndex, dirtyNodes.length()));
 
     indices.offsetIndices(finalizedIndex);
 
@@ -485,6 +521,19 @@ public class ProtoArray {
                 node.setBestDescendantIndex(Optional.of(newBestDescendantIndex));
               });
     }
+
+    rebuildChildIndices();
+  }
+
+  private void rebuildChildIndices() {
+    childIndices.clear();
+    for (int nodeIndex = 0; nodeIndex < nodes.size(); nodeIndex++) {
+      childIndices.add(new IntArrayList(1));
+      final int childIndex = nodeIndex;
+      getNodeByIndex(nodeIndex)
+          .getParentIndex()
+          .ifPresent(parentIndex -> childIndices.get(parentIndex).add(childIndex));
+    }
   }
 
   /**
@@ -636,12 +685,88 @@ public class ProtoArray {
   }
 
   public void pullUpBlockCheckpoints(final Bytes32 blockRoot) {
-    getProtoNode(blockRoot).ifPresent(ProtoNode::pullUpCheckpoints);
+    getProtoNode(blockRoot)
+        .ifPresent(
+            node -> {
+              node.pullUpCheckpoints();
+              // The node may be the best descendant of any of its ancestors, so a change to its
+              // viability has to be re-evaluated all the way up the tree
+              fullSweepRequired = true;
+            });
   }
 
   private void applyDeltas(final LongList deltas) {
+    if (fullSweepRequired || !applyDeltasIncrementally(deltas)) {
+      applyDeltasFullSweep(deltas);
+    }
+  }
+
+  @VisibleForTesting
+  void applyDeltasFullSweep(final LongList deltas) {
     applyToNodes((node, nodeIndex) -> applyDelta(deltas, node, nodeIndex));
     applyToNodes(this::updateBestDescendantOfParent);
+    dirtyNodes.clear();
+    fullSweepRequired = false;
+  }
+
+  /**
+   * Applies the deltas visiting only the nodes whose weight, best child or best descendant may
+   * have changed. Visiting them from the highest index down means every child is settled before
+   * its parent, exactly as in the full sweep, and each visited parent re-evaluates all its children
+   * in the same order the full sweep would have.
+   *
+   * <p>A node is visited if it has a non-zero delta or is dirty, or if one of its children changed
+   * weight, best child or best descendant. Propagation stops at the first ancestor where nothing
+   * changed, which for votes moving between siblings or down a chain is well short of the root.
+   * Changes to node viability can't be tracked this way and require the full sweep.
+   *
+   * @return false without modifying any node if more than half of the nodes have a delta or are
+   *     dirty, in which case the full sweep is cheaper
+   */
+  private boolean applyDeltasIncrementally(final LongList deltas) {
+    final int nodeCount = getTotalTrackedNodeCount();
+    final BitSet pending = (BitSet) dirtyNodes.clone();
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      if (deltas.getLong(nodeIndex) != 0) {
+        pending.set(nodeIndex);
+      }
+    }
+    if (pending.cardinality() > nodeCount / 2) {
+      return false;
+    }
+
+    for (int nodeIndex = pending.previousSetBit(nodeCount - 1);
+        nodeIndex >= 0;
+        nodeIndex = pending.previousSetBit(nodeIndex - 1)) {
+      final ProtoNode node = getNodeByIndex(nodeIndex);
+      final Optional<Integer> previousBestChild = node.getBestChildIndex();
+      final Optional<Integer> previousBestDescendant = node.getBestDescendantIndex();
+      final IntList children = childIndices.get(nodeIndex);
+      for (int i = children.size() - 1; i >= 0; i--) {
+        final int childIndex = children.getInt(i);
+        // Match the full sweep, which never processes the genesis block.
+        if (!getNodeByIndex(childIndex).getBlockRoot().equals(Bytes32.ZERO)) {
+          maybeUpdateBestChildAndDescendant(nodeIndex, childIndex);
+        }
+      }
+
+      if (node.getBlockRoot().equals(Bytes32.ZERO)) {
+        continue;
+      }
+      final long weightBefore = node.getWeight().longValue();
+      applyDelta(deltas, node, nodeIndex);
+      if (node.getParentIndex().isEmpty()) {
+        continue;
+      }
+      if (weightBefore != node.getWeight().longValue()
+          || dirtyNodes.get(nodeIndex)
+          || !previousBestChild.equals(node.getBestChildIndex())
+          || !previousBestDescendant.equals(node.getBestDescendantIndex())) {
+        pending.set(node.getParentIndex().get());
+      }
+    }
+    dirtyNodes.clear();
+    return true;
   }
 
   private void updateBestDescendantOfParent(final ProtoNode node, final int nodeIndex) {
@@ -15,21 +15,61 @@ package tech.pegasys.teku.storage.protoarray;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.addExact;
-import static java.lang.Math.subtractExact;
 import static java.lang.Math.toIntExact;
 
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
-import java.util.Collections;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Function;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
 
+/**
+ * Computes the weight deltas of proto array nodes from the changes in validator votes and
+ * balances.
+ *
+ * <p>An instance keeps its vote columns and per partition delta arrays between runs so that
+ * applying votes doesn't allocate arrays sized by the validator count each time. Instances are not
+ * thread safe, callers must serialise runs.
+ */
 class ProtoArrayScoreCalculator {
+  // Chunks are small enough that a partition is worth running in parallel but large enough that
+  // the per partition deltas array and the final merge are cheap compared to processing the votes
+  static final int CHUNK_SIZE = 8192;
+  static final int MIN_VALIDATORS_FOR_PARALLEL = 4 * CHUNK_SIZE;
+
+  private static final ForkJoinPool DELTAS_POOL =
+      new ForkJoinPool(
+          Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+          pool -> {
+            final ForkJoinWorkerThread thread =
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("fork-choice-deltas-" + thread.getPoolIndex());
+            return thread;
+          },
+          null,
+          false);
+
+  private static final int NO_NODE = -1;
+  private static final int UNRESOLVED = -2;
+
+  private static final byte SKIP = 1;
+  private static final byte ROOT_CHANGED = 1 << 1;
+  private static final byte NEXT_EQUIVOCATING = 1 << 2;
+  private static final byte VOTE_CHANGED = 1 << 3;
+
+  private final VoteColumns votes = new VoteColumns();
+  private long[][] partitionDeltas = new long[0][];
 
   /**
    * Returns a list of `deltas`, where there is one delta for each of the indices in
@@ -56,105 +96,260 @@ class ProtoArrayScoreCalculator {
       Optional<Bytes32> newProposerBoostRoot,
       UInt64 previousBoostAmount,
       UInt64 newBoostAmount) {
-    LongList deltas = new LongArrayList(Collections.nCopies(protoArraySize, 0L));
+    return new ProtoArrayScoreCalculator()
+        .calculateDeltas(
+            store,
+            protoArraySize,
+            getIndexByRoot,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            previousProposerBoostRoot,
+            newProposerBoostRoot,
+            previousBoostAmount,
+            newBoostAmount);
+  }
 
-    UInt64.rangeClosed(UInt64.ZERO, store.getHighestVotedValidatorIndex())
-        .forEach(
-            validatorIndex ->
-                computeDelta(
-                    store, getIndexByRoot, oldBalances, newBalances, deltas, validatorIndex));
+  /**
+   * Same as {@link #computeDeltas(VoteUpdater, int, Function, List, List, Optional, Optional,
+   * UInt64, UInt64)} but with balances indexed by validator index in primitive arrays, reusing the
+   * vote columns of this instance.
+   *
+   * <p>Votes are first read from the store into columns of proto node indices, resolving each
+   * distinct root only once. The deltas are then accumulated from the columns, in parallel over
+   * partitions of validator indices when there are enough validators, and finally the changed
+   * votes are written back to the store.
+   */
+  LongList calculateDeltas(
+      VoteUpdater store,
+      int protoArraySize,
+      Function<Bytes32, Optional<Integer>> getIndexByRoot,
+      long[] oldBalances,
+      long[] newBalances,
+      Optional<Bytes32> previousProposerBoostRoot,
+      Optional<Bytes32> newProposerBoostRoot,
+      UInt64 previousBoostAmount,
+      UInt64 newBoostAmount) {
+    final NodeIndexResolver nodeIndexResolver =
+        new NodeIndexResolver(getIndexByRoot, protoArraySize);
+    votes.load(store, nodeIndexResolver);
+
+    final long[] deltas = new long[protoArraySize];
+    if (votes.size() < MIN_VALIDATORS_FOR_PARALLEL) {
+      votes.accumulateDeltas(0, votes.size(), oldBalances, newBalances, deltas);
+    } else {
+      accumulateDeltasInParallel(oldBalances, newBalances, deltas);
+    }
+    votes.storeChangedVotes(store);
 
     previousProposerBoostRoot.ifPresent(
-        root -> subtractBalance(getIndexByRoot, deltas, root, previousBoostAmount));
+        root ->
+            addToDelta(
+                deltas, nodeIndexResolver.resolve(root), -previousBoostAmount.longValue()));
     newProposerBoostRoot.ifPresent(
-        root -> addBalance(getIndexByRoot, deltas, root, newBoostAmount));
-    return deltas;
+        root -> addToDelta(deltas, nodeIndexResolver.resolve(root), newBoostAmount.longValue()));
+    return LongArrayList.wrap(deltas);
   }
 
-  private static void computeDelta(
-      final VoteUpdater store,
-      final Function<Bytes32, Optional<Integer>> getIndexByRoot,
-      final List<UInt64> oldBalances,
-      final List<UInt64> newBalances,
-      final LongList deltas,
-      final UInt64 validatorIndex) {
-    VoteTracker vote = store.getVote(validatorIndex);
-
-    // There is no need to create a score change if the validator has never voted
-    // or both their votes are for the zero hash (alias to the genesis block).
-    if (vote.getCurrentRoot().equals(Bytes32.ZERO) && vote.getNextRoot().equals(Bytes32.ZERO)) {
-      return;
+  static long[] toLongArray(final List<UInt64> balances) {
+    final long[] result = new long[balances.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = balances.get(i).longValue();
     }
-    // If vote is already count as equivocated, we don't need to do anything more
-    if (vote.isCurrentEquivocating()) {
-      return;
+    return result;
+  }
+
+  /**
+   * Splits the validators into one contiguous partition per worker thread, each accumulating into
+   * its own reused deltas array, then merges the partitions into the result.
+   */
+  private void accumulateDeltasInParallel(
+      final long[] oldBalances, final long[] newBalances, final long[] deltas) {
+    final int chunkCount = (votes.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final int partitionCount = Math.min(DELTAS_POOL.getParallelism(), chunkCount);
+    final int partitionSize = (votes.size() + partitionCount - 1) / partitionCount;
+    preparePartitionDeltas(partitionCount, deltas.length);
+
+    final List<ForkJoinTask<?>> tasks = new ArrayList<>(partitionCount);
+    for (int partition = 0; partition < partitionCount; partition++) {
+      final int fromIndex = partition * partitionSize;
+      final int toIndex = Math.min(votes.size(), fromIndex + partitionSize);
+      final long[] partitionDelta = partitionDeltas[partition];
+      tasks.add(
+          ForkJoinTask.adapt(
+              () ->
+                  votes.accumulateDeltas(
+                      fromIndex, toIndex, oldBalances, newBalances, partitionDelta)));
     }
+    DELTAS_POOL.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
 
-    int validatorIndexInt = toIntExact(validatorIndex.longValue());
-    // If the validator was not included in the oldBalances (i.e. it did not exist yet)
-    // then say its balance was zero.
-    UInt64 oldBalance =
-        oldBalances.size() > validatorIndexInt ? oldBalances.get(validatorIndexInt) : UInt64.ZERO;
-
-    // If the validator vote is not known in the newBalances, then use a balance of zero.
-    // It is possible that there is a vote for an unknown validator if we change our
-    // justified state to a new state with a higher epoch that is on a different fork
-    // because that may have on-boarded less validators than the prior fork.
-    UInt64 newBalance =
-        newBalances.size() > validatorIndexInt && !vote.isNextEquivocating()
-            ? newBalances.get(validatorIndexInt)
-            : UInt64.ZERO;
-
-    if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || !oldBalance.equals(newBalance)) {
-      subtractBalance(getIndexByRoot, deltas, vote.getCurrentRoot(), oldBalance);
-      addBalance(getIndexByRoot, deltas, vote.getNextRoot(), newBalance);
-      final VoteTracker newVote =
-          new VoteTracker(
-              vote.getNextRoot(),
-              vote.getNextRoot(),
-              vote.getNextEpoch(),
-              vote.isNextEquivocating(),
-              vote.isNextEquivocating());
-      store.putVote(validatorIndex, newVote);
+    for (int partition = 0; partition < partitionCount; partition++) {
+      final long[] partitionDelta = partitionDeltas[partition];
+      for (int i = 0; i < deltas.length; i++) {
+        deltas[i] = addExact(deltas[i], partitionDelta[i]);
+      }
     }
   }
 
-  private static void addBalance(
-      final Function<Bytes32, Optional<Integer>> getIndexByRoot,
-      final LongList deltas,
-      final Bytes32 targetRoot,
-      final UInt64 balanceToAdd) {
-    // We ignore the vote if it is not known in `indices`. We assume that it is outside
-    // of our tree (i.e. pre-finalization) and therefore not interesting.
-    getIndexByRoot
-        .apply(targetRoot)
-        .ifPresent(
-            nextDeltaIndex -> {
-              checkState(
-                  nextDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-              long delta = addExact(deltas.getLong(nextDeltaIndex), balanceToAdd.longValue());
-              deltas.set(nextDeltaIndex.intValue(), delta);
-            });
+  private void preparePartitionDeltas(final int partitionCount, final int protoArraySize) {
+    if (partitionDeltas.length < partitionCount || partitionDeltas[0].length < protoArraySize) {
+      // Leave room for the blocks imported before the next run
+      final int length = protoArraySize + (protoArraySize >> 1);
+      partitionDeltas = new long[partitionCount][length];
+      return;
+    }
+    for (int partition = 0; partition < partitionCount; partition++) {
+      Arrays.fill(partitionDeltas[partition], 0, protoArraySize, 0);
+    }
   }
 
-  private static void subtractBalance(
-      final Function<Bytes32, Optional<Integer>> getIndexByRoot,
-      final LongList deltas,
-      final Bytes32 targetRoot,
-      final UInt64 balanceToRemove) {
-
+  private static void addToDelta(final long[] deltas, final int nodeIndex, final long amount) {
     // We ignore the change if it is not known in `indices`. We assume that it is outside
     // of our tree (i.e. pre-finalization) and therefore not interesting.
-    getIndexByRoot
-        .apply(targetRoot)
-        .ifPresent(
-            currentDeltaIndex -> {
-              checkState(
-                  currentDeltaIndex < deltas.size(),
-                  "ProtoArrayForkChoice: Invalid node delta index");
-              long delta =
-                  subtractExact(deltas.getLong(currentDeltaIndex), balanceToRemove.longValue());
-              deltas.set(currentDeltaIndex.intValue(), delta);
-            });
+    if (nodeIndex != NO_NODE) {
+      deltas[nodeIndex] = addExact(deltas[nodeIndex], amount);
+    }
+  }
+
+  /** Resolves block roots to proto node indices, caching the result for each distinct root. */
+  private static class NodeIndexResolver {
+    private final Function<Bytes32, Optional<Integer>> getIndexByRoot;
+    private final int protoArraySize;
+    private final Object2IntMap<Bytes32> resolvedIndices = new Object2IntOpenHashMap<>();
+
+    private NodeIndexResolver(
+        final Function<Bytes32, Optional<Integer>> getIndexByRoot, final int protoArraySize) {
+      this.getIndexByRoot = getIndexByRoot;
+      this.protoArraySize = protoArraySize;
+      resolvedIndices.defaultReturnValue(UNRESOLVED);
+    }
+
+    int resolve(final Bytes32 root) {
+      int nodeIndex = resolvedIndices.getInt(root);
+      if (nodeIndex == UNRESOLVED) {
+        nodeIndex = getIndexByRoot.apply(root).orElse(NO_NODE);
+        checkState(nodeIndex < protoArraySize, "ProtoArrayForkChoice: Invalid node delta index");
+        resolvedIndices.put(root, nodeIndex);
+      }
+      return nodeIndex;
+    }
+  }
+
+  /**
+   * Votes of all validators up to the highest voted one, in columns indexed by validator index.
+   * The columns are reused between runs and only grow.
+   */
+  private static class VoteColumns {
+    private int size;
+    private int[] currentNodeIndices = new int[0];
+    private int[] nextNodeIndices = new int[0];
+    private Bytes32[] nextRoots = new Bytes32[0];
+    private long[] nextEpochs = new long[0];
+    private byte[] flags = new byte[0];
+
+    void load(final VoteUpdater store, final NodeIndexResolver nodeIndexResolver) {
+      size = toIntExact(store.getHighestVotedValidatorIndex().longValue()) + 1;
+      ensureCapacity(size);
+      Arrays.fill(flags, 0, size, SKIP);
+      store.forEachVote(
+          (validatorIndex,
+              currentRoot,
+              nextRoot,
+              nextEpoch,
+              currentEquivocating,
+              nextEquivocating) -> {
+            // There is no need to create a score change if the validator has never voted
+            // or both their votes are for the zero hash (alias to the genesis block).
+            // If vote is already count as equivocated, we don't need to do anything more
+            if ((currentRoot.equals(Bytes32.ZERO) && nextRoot.equals(Bytes32.ZERO))
+                || currentEquivocating) {
+              nextRoots[validatorIndex] = null;
+              return;
+            }
+            byte voteFlags = 0;
+            if (!currentRoot.equals(nextRoot)) {
+              voteFlags |= ROOT_CHANGED;
+            }
+            if (nextEquivocating) {
+              voteFlags |= NEXT_EQUIVOCATING;
+            }
+            flags[validatorIndex] = voteFlags;
+            currentNodeIndices[validatorIndex] = nodeIndexResolver.resolve(currentRoot);
+            nextNodeIndices[validatorIndex] = nodeIndexResolver.resolve(nextRoot);
+            nextRoots[validatorIndex] = nextRoot;
+            nextEpochs[validatorIndex] = nextEpoch;
+          });
+    }
+
+    private void ensureCapacity(final int requiredCapacity) {
+      if (requiredCapacity <= flags.length) {
+        return;
+      }
+      // Leave room for validators activated before the next run
+      final int capacity = requiredCapacity + (requiredCapacity >> 4);
+      currentNodeIndices = new int[capacity];
+      nextNodeIndices = new int[capacity];
+      nextRoots = new Bytes32[capacity];
+      nextEpochs = new long[capacity];
+      flags = new byte[capacity];
+    }
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * Accumulates the deltas of validators in the range into the supplied array. Ranges processed
+     * concurrently must not overlap.
+     */
+    void accumulateDeltas(
+        final int fromIndex,
+        final int toIndex,
+        final long[] oldBalances,
+        final long[] newBalances,
+        final long[] deltas) {
+      for (int validatorIndex = fromIndex; validatorIndex < toIndex; validatorIndex++) {
+        final byte voteFlags = flags[validatorIndex];
+        if ((voteFlags & SKIP) != 0) {
+          continue;
+        }
+        // If the validator was not included in the oldBalances (i.e. it did not exist yet)
+        // then say its balance was zero.
+        final long oldBalance =
+            oldBalances.length > validatorIndex ? oldBalances[validatorIndex] : 0;
+
+        // If the validator vote is not known in the newBalances, then use a balance of zero.
+        // It is possible that there is a vote for an unknown validator if we change our
+        // justified state to a new state with a higher epoch that is on a different fork
+        // because that may have on-boarded less validators than the prior fork.
+        final long newBalance =
+            newBalances.length > validatorIndex && (voteFlags & NEXT_EQUIVOCATING) == 0
+                ? newBalances[validatorIndex]
+                : 0;
+
+        if ((voteFlags & ROOT_CHANGED) != 0 || oldBalance != newBalance) {
+          addToDelta(deltas, currentNodeIndices[validatorIndex], -oldBalance);
+          addToDelta(deltas, nextNodeIndices[validatorIndex], newBalance);
+          flags[validatorIndex] = (byte) (voteFlags | VOTE_CHANGED);
+        }
+      }
+    }
+
+    void storeChangedVotes(final VoteUpdater store) {
+      for (int validatorIndex = 0; validatorIndex < size; validatorIndex++) {
+        if ((flags[validatorIndex] & VOTE_CHANGED) == 0) {
+          continue;
+        }
+        final Bytes32 nextRoot = nextRoots[validatorIndex];
+        final boolean nextEquivocating = (flags[validatorIndex] & NEXT_EQUIVOCATING) != 0;
+        store.putVote(
+            UInt64.valueOf(validatorIndex),
+            new VoteTracker(
+                nextRoot,
+                nextRoot,
+                UInt64.fromLongBits(nextEpochs[validatorIndex]),
+                nextEquivocating,
+                nextEquivocating));
+      }
+    }
   }
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.eventthread.EventThread;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpoints;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.storage.api.StorageUpdate;
+import tech.pegasys.teku.storage.api.StorageUpdateChannel;
+import tech.pegasys.teku.storage.api.UpdateResult;
+import tech.pegasys.teku.storage.api.WeakSubjectivityUpdate;
+
+/**
+ * Group-commit stage in front of {@link ChainStorage}.
+ *
+ * <p>Consecutive hot-only {@link StorageUpdate}s that arrive while a previous write is in progress
+ * (or within the configured commit window) are merged into a single update, so they are applied
+ * to the database as one write batch. Updates which carry finalized data, and all other channel
+ * operations, act as barriers: they are applied on their own, after everything queued before them
+ * and before anything queued after them.
+ */
+public class BatchingStorageUpdateChannel implements StorageUpdateChannel {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final StorageUpdateChannel delegate;
+  private final EventThread eventThread;
+  private final AsyncRunner asyncRunner;
+  private final TimeProvider timeProvider;
+  private final Duration commitWindow;
+  private final int maxBatchSize;
+
+  private final BlockingQueue<PendingOperation> pendingOperations;
+  private final AtomicBoolean processingScheduled = new AtomicBoolean(false);
+
+  private final MetricsHistogram commitLatencyHistogram;
+  private final MetricsHistogram batchSizeHistogram;
+  private final Counter updateCounter;
+  private final Counter writeCounter;
+
+  public BatchingStorageUpdateChannel(
+      final StorageUpdateChannel delegate,
+      final EventThread eventThread,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem,
+      final TimeProvider timeProvider,
+      final Duration commitWindow,
+      final int maxBatchSize,
+      final int maxQueueSize) {
+    checkArgument(maxBatchSize > 0, "maxBatchSize must be greater than zero");
+    checkArgument(maxQueueSize >= maxBatchSize, "maxQueueSize must be at least maxBatchSize");
+    this.delegate = delegate;
+    this.eventThread = eventThread;
+    this.asyncRunner = asyncRunner;
+    this.timeProvider = timeProvider;
+    this.commitWindow = commitWindow;
+    this.maxBatchSize = maxBatchSize;
+    this.pendingOperations = new ArrayBlockingQueue<>(maxQueueSize);
+
+    metricsSystem.createGauge(
+        TekuMetricCategory.STORAGE,
+        "group_commit_queue_size",
+        "Number of storage operations waiting to be committed",
+        pendingOperations::size);
+    updateCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "group_commit_updates",
+            "Number of storage updates received by the group-commit stage");
+    writeCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "group_commit_writes",
+            "Number of database write batches issued by the group-commit stage");
+    commitLatencyHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.STORAGE,
+            metricsSystem,
+            "group_commit_latency_ms",
+            "Time in milliseconds from a storage update being queued until it is committed",
+            3,
+            List.of());
+    batchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.STORAGE,
+            metricsSystem,
+            "group_commit_batch_size",
+            "Number of storage updates merged into each database write batch",
+            3,
+            List.of());
+  }
+
+  @Override
+  public SafeFuture<UpdateResult> onStorageUpdate(final StorageUpdate event) {
+    updateCounter.inc();
+    final PendingUpdate pendingUpdate = new PendingUpdate(event, timeProvider.getTimeInMillis());
+    enqueue(pendingUpdate);
+    return pendingUpdate.result;
+  }
+
+  @Override
+  public SafeFuture<Void> onFinalizedBlocks(final Collection<SignedBeaconBlock> finalizedBlocks) {
+    return enqueueBarrier(() -> delegate.onFinalizedBlocks(finalizedBlocks));
+  }
+
+  @Override
+  public SafeFuture<Void> onFinalizedState(
+      final BeaconState finalizedState, final Bytes32 blockRoot) {
+    return enqueueBarrier(() -> delegate.onFinalizedState(finalizedState, blockRoot));
+  }
+
+  @Override
+  public SafeFuture<Void> onWeakSubjectivityUpdate(
+      final WeakSubjectivityUpdate weakSubjectivityUpdate) {
+    return enqueueBarrier(() -> delegate.onWeakSubjectivityUpdate(weakSubjectivityUpdate));
+  }
+
+  @Override
+  public void onChainInitialized(final AnchorPoint initialAnchor) {
+    enqueueBarrier(
+            () -> {
+              delegate.onChainInitialized(initialAnchor);
+              return SafeFuture.COMPLETE;
+            })
+        .ifExceptionGetsHereRaiseABug();
+  }
+
+  private SafeFuture<Void> enqueueBarrier(final Supplier<SafeFuture<Void>> action) {
+    final PendingBarrier barrier = new PendingBarrier(action);
+    enqueue(barrier);
+    return barrier.result;
+  }
+
+  private void enqueue(final PendingOperation operation) {
+    try {
+      // Blocks the publisher when the queue is full so storage applies back pressure
+      pendingOperations.put(operation);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      operation.fail(e);
+      return;
+    }
+    if (pendingOperations.size() >= maxBatchSize) {
+      // Enough work for a full batch so there's no point waiting out the commit window
+      eventThread.execute(this::processPendingOperations);
+    } else if (processingScheduled.compareAndSet(false, true)) {
+      if (commitWindow.isZero()) {
+        eventThread.execute(this::processPendingOperations);
+      } else {
+        asyncRunner
+            .runAfterDelay(() -> eventThread.execute(this::processPendingOperations), commitWindow)
+            .finish(error -> LOG.error("Failed to schedule storage group commit", error));
+      }
+    }
+  }
+
+  private void processPendingOperations() {
+    eventThread.checkOnEventThread();
+    processingScheduled.set(false);
+    final List<PendingOperation> operations = new ArrayList<>();
+    pendingOperations.drainTo(operations);
+
+    final List<PendingUpdate> currentBatch = new ArrayList<>();
+    for (PendingOperation operation : operations) {
+      if (operation instanceof PendingUpdate && canMerge(((PendingUpdate) operation).update)) {
+        currentBatch.add((PendingUpdate) operation);
+        if (currentBatch.size() >= maxBatchSize) {
+          commitBatch(currentBatch);
+        }
+        continue;
+      }
+      commitBatch(currentBatch);
+      if (operation instanceof PendingUpdate) {
+        currentBatch.add((PendingUpdate) operation);
+        commitBatch(currentBatch);
+      } else {
+        ((PendingBarrier) operation).run();
+      }
+    }
+    commitBatch(currentBatch);
+  }
+
+  private void commitBatch(final List<PendingUpdate> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    final StorageUpdate update =
+        batch.size() == 1
+            ? batch.get(0).update
+            : mergeUpdates(
+                batch.stream().map(pending -> pending.update).collect(Collectors.toList()));
+    batchSizeHistogram.recordValue(batch.size());
+    writeCounter.inc();
+    try {
+      final UpdateResult result = delegate.onStorageUpdate(update).join();
+      final long now = timeProvider.getTimeInMillis().longValue();
+      batch.forEach(
+          pending -> {
+            commitLatencyHistogram.recordValue(now - pending.queuedAt.longValue());
+            pending.result.complete(result);
+          });
+    } catch (final Throwable t) {
+      batch.forEach(pending -> pending.fail(t));
+    }
+    batch.clear();
+  }
+
+  /**
+   * Updates which finalize blocks may prune hot state and produce an {@link UpdateResult} specific
+   * to that update, so they are never merged with other updates.
+   */
+  @VisibleForTesting
+  static boolean canMerge(final StorageUpdate update) {
+    return update.getFinalizedCheckpoint().isEmpty()
+        && !update.isFinalizedOptimisticTransitionBlockRootSet();
+  }
+
+  /**
+   * Combine hot-only updates into a single update with the same end result as applying them in
+   * order. Blocks added and then deleted within the batch are dropped entirely, while a block that
+   * is deleted and then re-added is stored.
+   */
+  @VisibleForTesting
+  static StorageUpdate mergeUpdates(final List<StorageUpdate> updates) {
+    Optional<UInt64> genesisTime = Optional.empty();
+    Optional<Checkpoint> justifiedCheckpoint = Optional.empty();
+    Optional<Checkpoint> bestJustifiedCheckpoint = Optional.empty();
+    final Map<Bytes32, BlockAndCheckpoints> hotBlocks = new HashMap<>();
+    final Map<Bytes32, BeaconState> hotStates = new HashMap<>();
+    final Set<Bytes32> deletedHotBlocks = new HashSet<>();
+    final Map<Bytes32, SlotAndBlockRoot> stateRoots = new HashMap<>();
+
+    for (StorageUpdate update : updates) {
+      checkArgument(canMerge(update), "Cannot merge updates containing finalized data");
+      if (update.getGenesisTime().isPresent()) {
+        genesisTime = update.getGenesisTime();
+      }
+      if (update.getJustifiedCheckpoint().isPresent()) {
+        justifiedCheckpoint = update.getJustifiedCheckpoint();
+      }
+      if (update.getBestJustifiedCheckpoint().isPresent()) {
+        bestJustifiedCheckpoint = update.getBestJustifiedCheckpoint();
+      }
+      update.getHotBlocks().keySet().forEach(deletedHotBlocks::remove);
+      hotBlocks.putAll(update.getHotBlocks());
+      hotStates.putAll(update.getHotStates());
+      stateRoots.putAll(update.getStateRoots());
+      for (Bytes32 deletedRoot : update.getDeletedHotBlocks()) {
+        hotBlocks.remove(deletedRoot);
+        hotStates.remove(deletedRoot);
+        deletedHotBlocks.add(deletedRoot);
+      }
+    }
+
+    return new StorageUpdate(
+        genesisTime,
+        Optional.empty(),
+        justifiedCheckpoint,
+        bestJustifiedCheckpoint,
+        hotBlocks,
+        hotStates,
+        deletedHotBlocks,
+        stateRoots,
+        false,
+        Optional.empty());
+  }
+
+  @VisibleForTesting
+  public void awaitCompletion() {
+    eventThread.executeFuture(() -> SafeFuture.COMPLETE).join();
+  }
+
+  private interface PendingOperation {
+    void fail(Throwable error);
+  }
+
+  private static class PendingUpdate implements PendingOperation {
+    private final SafeFuture<UpdateResult> result = new SafeFuture<>();
+    private final StorageUpdate update;
+    private final UInt64 queuedAt;
+
+    private PendingUpdate(final StorageUpdate update, final UInt64 queuedAt) {
+      this.update = update;
+      this.queuedAt = queuedAt;
+    }
+
+    @Override
+    public void fail(final Throwable error) {
+      result.completeExceptionally(error);
+    }
+  }
+
+  private static class PendingBarrier implements PendingOperation {
+    private final SafeFuture<Void> result = new SafeFuture<>();
+    private final Supplier<SafeFuture<Void>> action;
+
+    private PendingBarrier(final Supplier<SafeFuture<Void>> action) {
+      this.action = action;
+    }
+
+    private void run() {
+      try {
+        action.get().join();
+        result.complete(null);
+      } catch (final Throwable t) {
+        fail(t);
+      }
+    }
+
+    @Override
+    public void fail(final Throwable error) {
+      result.completeExceptionally(error);
+    }
+  }
+}
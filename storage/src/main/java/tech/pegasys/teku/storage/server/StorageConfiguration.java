@@ -27,6 +27,9 @@ public class StorageConfiguration {
   public static final int DEFAULT_MAX_KNOWN_NODE_CACHE_SIZE = 100_000;
   public static final int DEFAULT_BLOCK_MIGRATION_BATCH_SIZE = 25;
   public static final int DEFAULT_BLOCK_MIGRATION_BATCH_DELAY_MS = 100;
+  public static final int DEFAULT_GROUP_COMMIT_WINDOW_MS = 0;
+  public static final int DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE = 32;
+  public static final int DEFAULT_GROUP_COMMIT_MAX_QUEUE_SIZE = 1024;
 
   private final Eth1Address eth1DepositContract;
 
@@ -35,6 +38,9 @@ public class StorageConfiguration {
   private final DatabaseVersion dataStorageCreateDbVersion;
   private final int blockMigrationBatchSize;
   private final int blockMigrationBatchDelay;
+  private final int groupCommitWindowMillis;
+  private final int groupCommitMaxBatchSize;
+  private final int groupCommitMaxQueueSize;
   private boolean storeBlockExecutionPayloadSeparately;
   private final Spec spec;
   private final boolean storeNonCanonicalBlocks;
@@ -52,6 +58,9 @@ public class StorageConfiguration {
       final boolean storeBlockExecutionPayloadSeparately,
       final int blockMigrationBatchSize,
       final int blockMigrationBatchDelay,
+      final int groupCommitWindowMillis,
+      final int groupCommitMaxBatchSize,
+      final int groupCommitMaxQueueSize,
       final Spec spec) {
     this.eth1DepositContract = eth1DepositContract;
     this.dataStorageMode = dataStorageMode;
@@ -63,6 +72,9 @@ public class StorageConfiguration {
     this.storeBlockExecutionPayloadSeparately = storeBlockExecutionPayloadSeparately;
     this.blockMigrationBatchSize = blockMigrationBatchSize;
     this.blockMigrationBatchDelay = blockMigrationBatchDelay;
+    this.groupCommitWindowMillis = groupCommitWindowMillis;
+    this.groupCommitMaxBatchSize = groupCommitMaxBatchSize;
+    this.groupCommitMaxQueueSize = groupCommitMaxQueueSize;
     this.spec = spec;
   }
 
@@ -110,6 +122,18 @@ public class StorageConfiguration {
     return blockMigrationBatchDelay;
   }
 
+  public int getGroupCommitWindowMillis() {
+    return groupCommitWindowMillis;
+  }
+
+  public int getGroupCommitMaxBatchSize() {
+    return groupCommitMaxBatchSize;
+  }
+
+  public int getGroupCommitMaxQueueSize() {
+    return groupCommitMaxQueueSize;
+  }
+
   public Spec getSpec() {
     return spec;
   }
@@ -128,6 +152,9 @@ public class StorageConfiguration {
     private boolean storeBlockExecutionPayloadSeparately = DEFAULT_STORE_BLOCK_PAYLOAD_SEPARATELY;
     private int blockMigrationBatchSize = DEFAULT_BLOCK_MIGRATION_BATCH_SIZE;
     private int blockMigrationBatchDelay = DEFAULT_BLOCK_MIGRATION_BATCH_DELAY_MS;
+    private int groupCommitWindowMillis = DEFAULT_GROUP_COMMIT_WINDOW_MS;
+    private int groupCommitMaxBatchSize = DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE;
+    private int groupCommitMaxQueueSize = DEFAULT_GROUP_COMMIT_MAX_QUEUE_SIZE;
 
     private Builder() {}
 
@@ -187,6 +214,12 @@ public class StorageConfiguration {
     }
 
     public StorageConfiguration build() {
+      if (groupCommitMaxQueueSize < groupCommitMaxBatchSize) {
+        throw new InvalidConfigurationException(
+            String.format(
+                "Invalid groupCommitMaxQueueSize: %d must be at least groupCommitMaxBatchSize %d",
+                groupCommitMaxQueueSize, groupCommitMaxBatchSize));
+      }
       return new StorageConfiguration(
           eth1DepositContract,
           dataStorageMode,
@@ -198,6 +231,9 @@ public class StorageConfiguration {
           storeBlockExecutionPayloadSeparately,
           blockMigrationBatchSize,
           blockMigrationBatchDelay,
+          groupCommitWindowMillis,
+          groupCommitMaxBatchSize,
+          groupCommitMaxQueueSize,
           spec);
     }
 
@@ -216,5 +252,32 @@ public class StorageConfiguration {
       this.blockMigrationBatchDelay = blockMigrationBatchDelay;
       return this;
     }
+
+    public Builder groupCommitWindowMillis(final int groupCommitWindowMillis) {
+      if (groupCommitWindowMillis < 0) {
+        throw new InvalidConfigurationException(
+            String.format("Invalid groupCommitWindowMillis: %d", groupCommitWindowMillis));
+      }
+      this.groupCommitWindowMillis = groupCommitWindowMillis;
+      return this;
+    }
+
+    public Builder groupCommitMaxBatchSize(final int groupCommitMaxBatchSize) {
+      if (groupCommitMaxBatchSize < 1) {
+        throw new InvalidConfigurationException(
+            String.format("Invalid groupCommitMaxBatchSize: %d", groupCommitMaxBatchSize));
+      }
+      this.groupCommitMaxBatchSize = groupCommitMaxBatchSize;
+      return this;
+    }
+
+    public Builder groupCommitMaxQueueSize(final int groupCommitMaxQueueSize) {
+      if (groupCommitMaxQueueSize < 1) {
+        throw new InvalidConfigurationException(
+            String.format("Invalid groupCommitMaxQueueSize: %d", groupCommitMaxQueueSize));
+      }
+      this.groupCommitMaxQueueSize = groupCommitMaxQueueSize;
+      return this;
+    }
   }
 }
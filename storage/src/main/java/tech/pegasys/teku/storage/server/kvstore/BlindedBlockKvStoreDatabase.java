@@ -101,8 +101,7 @@ public class BlindedBlockKvStoreDatabase
   @MustBeClosed
   public Stream<SignedBeaconBlock> streamFinalizedBlocks(
       final UInt64 startSlot, final UInt64 endSlot) {
-    return dao.streamFinalizedBlockRoots(startSlot, endSlot)
-        .flatMap(root -> dao.getBlindedBlock(root).stream());
+    return dao.streamBlindedFinalizedBlocks(startSlot, endSlot);
   }
 
   @Override
@@ -15,89 +15,21 @@ package tech.pegasys.teku.storage.server.kvstore;
 
 import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
 
-public interface KvStoreAccessor extends AutoCloseable {
-
-  <T> Optional<T> get(KvStoreVariable<T> variable);
-
-  Optional<Bytes> getRaw(KvStoreVariable<?> variable);
-
-  <K, V> Optional<V> get(KvStoreColumn<K, V> column, K key);
-
-  long size(KvStoreColumn<?, ?> column);
-
-  <K, V> Map<K, V> getAll(KvStoreColumn<K, V> column);
-
-  /**
-   * Returns the last entry with a key less than or equal to the given key.
-   *
-   * @param column The column we want to query
-   * @param key The requested key
-   * @param <K> The key type of the column
-   * @param <V> The value type of the column
-   * @return The last entry with a key less than or equal to the given {@code key}
-   */
-  <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(KvStoreColumn<K, V> column, K key);
-
-  /**
-   * Returns the first entry in the given column.
-   *
-   * @param column The column we want to query
-   * @param <K> The key type of the column
-   * @param <V> The value type of the column
-   * @return The first entry in this column - the entry with the lowest key value
-   */
-  <K, V> Optional<ColumnEntry<K, V>> getFirstEntry(KvStoreColumn<K, V> column);
-
-  /**
-   * Returns the last key in the given column without loading the associated value.
-   *
-   * @param column The column we want to query
-   * @param <K> The key type of the column
-   * @param <V> The value type of the column
-   * @return The last key in this column - the key with the greatest value
-   */
-  <K, V> Optional<K> getLastKey(KvStoreColumn<K, V> column);
-
-  @MustBeClosed
-  <K, V> Stream<ColumnEntry<K, V>> stream(KvStoreColumn<K, V> column);
-
-  /**
-   * WARNING: should only be used to migrate data between database instances
-   *
-   * @param column
-   * @return
-   */
-  @MustBeClosed
-  Stream<ColumnEntry<Bytes, Bytes>> streamRaw(KvStoreColumn<?, ?> column);
-
-  /**
-   * WARNING: should only be used to migrate data between tables
-   *
-   * @param column column to get value from
-   * @param key key of the data to retrieve
-   * @return Bytes representing the value found at key
-   */
-  <K, V> Optional<Bytes> getRaw(KvStoreColumn<K, V> column, K key);
+public interface KvStoreAccessor extends KvStoreReader, AutoCloseable {
 
   /**
-   * Stream entries from a column between keys from and to fully inclusive.
+   * Creates a consistent, read-only view of the current database contents. Writes committed after
+   * the snapshot is created are not visible through it and reading from it never blocks, or is
+   * blocked by, writers or other readers.
    *
-   * @param column the column to stream entries from
-   * @param from the first key to return
-   * @param to the last key to return
-   * @param <K> the key type of the column
-   * @param <V> the value type of the column
-   * @return a Stream of entries between from and to (fully inclusive).
+   * @return the snapshot which must be closed to release the resources it holds
    */
   @MustBeClosed
-  <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
-      KvStoreColumn<K, V> column, K from, K to);
+  KvStoreSnapshot snapshot();
 
   KvStoreTransaction startTransaction();
 
@@ -45,6 +45,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
 import tech.pegasys.teku.storage.server.kvstore.dataaccess.V4FinalizedStateStorageLogic.FinalizedStateUpdater;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
@@ -56,6 +57,7 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
   private final KvStoreAccessor db;
   private final S schema;
   private final V4FinalizedStateStorageLogic<S> stateStorageLogic;
+  private final VoteLogStorageLogic voteLogStorageLogic;
 
   public CombinedKvStoreDao(
       final KvStoreAccessor db,
@@ -64,6 +66,8 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
     this.db = db;
     this.schema = schema;
     this.stateStorageLogic = stateStorageLogic;
+    this.voteLogStorageLogic =
+        new VoteLogStorageLogic(schema.getColumnVotes(), schema.getColumnVoteLog());
   }
 
   @Override
@@ -154,7 +158,7 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
 
   @Override
   public Map<UInt64, VoteTracker> getVotes() {
-    return db.getAll(schema.getColumnVotes());
+    return voteLogStorageLogic.getVotes(db);
   }
 
   @Override
@@ -209,7 +213,7 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
 
   @NotNull
   private V4CombinedUpdater<S> combinedUpdater() {
-    return new V4CombinedUpdater<>(db, schema, stateStorageLogic.updater());
+    return new V4CombinedUpdater<>(db, schema, stateStorageLogic.updater(), voteLogStorageLogic);
   }
 
   @Override
@@ -334,6 +338,8 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(final UInt64 maxSlot) {
+    // Tree stored states load their nodes lazily, after this method returns, so they must read
+    // from the live database rather than a snapshot. Nodes are keyed by hash so never change.
     return stateStorageLogic.getLatestAvailableFinalizedState(db, schema, maxSlot);
   }
 
@@ -363,17 +369,24 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
 
   @Override
   public Optional<SignedBeaconBlock> getEarliestBlindedBlock() {
-    final Optional<Bytes32> maybeRoot =
-        db.getFirstEntry(schema.getColumnFinalizedBlockRootBySlot()).map(ColumnEntry::getValue);
-    return maybeRoot.flatMap(root -> db.get(schema.getColumnBlindedBlocksByRoot(), root));
+    try (final KvStoreSnapshot snapshot = db.snapshot()) {
+      final Optional<Bytes32> maybeRoot =
+          snapshot
+              .getFirstEntry(schema.getColumnFinalizedBlockRootBySlot())
+              .map(ColumnEntry::getValue);
+      return maybeRoot.flatMap(root -> snapshot.get(schema.getColumnBlindedBlocksByRoot(), root));
+    }
   }
 
   @Override
   public Optional<SignedBeaconBlock> getLatestBlindedBlockAtSlot(final UInt64 slot) {
-    final Optional<Bytes32> maybeRoot =
-        db.getFloorEntry(schema.getColumnFinalizedBlockRootBySlot(), slot)
-            .map(ColumnEntry::getValue);
-    return maybeRoot.flatMap(root -> db.get(schema.getColumnBlindedBlocksByRoot(), root));
+    try (final KvStoreSnapshot snapshot = db.snapshot()) {
+      final Optional<Bytes32> maybeRoot =
+          snapshot
+              .getFloorEntry(schema.getColumnFinalizedBlockRootBySlot(), slot)
+              .map(ColumnEntry::getValue);
+      return maybeRoot.flatMap(root -> snapshot.get(schema.getColumnBlindedBlocksByRoot(), root));
+    }
   }
 
   @Override
@@ -434,6 +447,26 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
     return db.get(schema.getColumnNonCanonicalBlocksByRoot(), root);
   }
 
+  @Override
+  @MustBeClosed
+  @SuppressWarnings("MustBeClosedChecker")
+  public Stream<SignedBeaconBlock> streamBlindedFinalizedBlocks(
+      final UInt64 startSlot, final UInt64 endSlot) {
+    // Roots and blocks come from the same snapshot so a concurrent prune can't leave gaps
+    final KvStoreSnapshot snapshot = db.snapshot();
+    try {
+      return snapshot
+          .stream(schema.getColumnFinalizedBlockRootBySlot(), startSlot, endSlot)
+          .flatMap(
+              entry ->
+                  snapshot.get(schema.getColumnBlindedBlocksByRoot(), entry.getValue()).stream())
+          .onClose(snapshot::close);
+    } catch (final RuntimeException e) {
+      snapshot.close();
+      throw e;
+    }
+  }
+
   @Override
   @MustBeClosed
   public Stream<Bytes32> streamFinalizedBlockRoots(final UInt64 startSlot, final UInt64 endSlot) {
@@ -527,13 +560,18 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
     private final KvStoreAccessor db;
     private final S schema;
     private final FinalizedStateUpdater<S> stateStorageUpdater;
+    private final VoteLogStorageLogic voteLogStorageLogic;
 
     V4CombinedUpdater(
-        final KvStoreAccessor db, final S schema, FinalizedStateUpdater<S> stateStorageUpdater) {
+        final KvStoreAccessor db,
+        final S schema,
+        final FinalizedStateUpdater<S> stateStorageUpdater,
+        final VoteLogStorageLogic voteLogStorageLogic) {
       this.transaction = db.startTransaction();
       this.db = db;
       this.schema = schema;
       this.stateStorageUpdater = stateStorageUpdater;
+      this.voteLogStorageLogic = voteLogStorageLogic;
     }
 
     @Override
@@ -618,8 +656,7 @@ public class CombinedKvStoreDao<S extends SchemaCombined>
 
     @Override
     public void addVotes(final Map<UInt64, VoteTracker> votes) {
-      votes.forEach(
-          (validatorIndex, vote) -> transaction.put(schema.getColumnVotes(), validatorIndex, vote));
+      voteLogStorageLogic.addVotes(db, transaction, votes);
     }
 
     @Override
@@ -305,6 +305,13 @@ public class KvStoreCombinedDaoAdapter
     return finalizedDao.getNonCanonicalBlock(root);
   }
 
+  @Override
+  @MustBeClosed
+  public Stream<SignedBeaconBlock> streamBlindedFinalizedBlocks(
+      final UInt64 startSlot, final UInt64 endSlot) {
+    return finalizedDao.streamBlindedFinalizedBlocks(startSlot, endSlot);
+  }
+
   @Override
   @MustBeClosed
   public Stream<Bytes32> streamFinalizedBlockRoots(final UInt64 startSlot, final UInt64 endSlot) {
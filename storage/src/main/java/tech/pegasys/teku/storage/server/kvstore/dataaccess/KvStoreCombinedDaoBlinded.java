@@ -57,6 +57,13 @@ public interface KvStoreCombinedDaoBlinded extends KvStoreCombinedDaoCommon {
   @MustBeClosed
   Stream<Bytes32> streamFinalizedBlockRoots(UInt64 startSlot, UInt64 endSlot);
 
+  /**
+   * Streams the finalized blinded blocks in the slot range, reading both the slot index and the
+   * blocks from a single consistent snapshot of the database.
+   */
+  @MustBeClosed
+  Stream<SignedBeaconBlock> streamBlindedFinalizedBlocks(UInt64 startSlot, UInt64 endSlot);
+
   @MustBeClosed
   Stream<Map.Entry<Bytes32, SignedBeaconBlock>> streamUnblindedNonCanonicalBlocks();
 
@@ -16,15 +16,15 @@ package tech.pegasys.teku.storage.server.kvstore.dataaccess;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.ssz.tree.TreeNodeSource;
-import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
 import tech.pegasys.teku.storage.server.kvstore.schema.SchemaCombinedTreeState;
 
 class KvStoreTreeNodeSource implements TreeNodeSource {
 
-  private final KvStoreAccessor db;
+  private final KvStoreReader db;
   private final SchemaCombinedTreeState schema;
 
-  public KvStoreTreeNodeSource(final KvStoreAccessor db, final SchemaCombinedTreeState schema) {
+  public KvStoreTreeNodeSource(final KvStoreReader db, final SchemaCombinedTreeState schema) {
     this.db = db;
     this.schema = schema;
   }
@@ -35,6 +35,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
 import tech.pegasys.teku.storage.server.kvstore.dataaccess.KvStoreCombinedDaoBlinded.FinalizedUpdaterBlinded;
 import tech.pegasys.teku.storage.server.kvstore.dataaccess.KvStoreCombinedDaoUnblinded.FinalizedUpdaterUnblinded;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
@@ -99,6 +100,8 @@ public class V4FinalizedKvStoreDao {
   }
 
   public Optional<BeaconState> getLatestAvailableFinalizedState(final UInt64 maxSlot) {
+    // Tree stored states load their nodes lazily, after this method returns, so they must read
+    // from the live database rather than a snapshot. Nodes are keyed by hash so never change.
     return stateStorageLogic.getLatestAvailableFinalizedState(db, schema, maxSlot);
   }
 
@@ -130,16 +133,23 @@ public class V4FinalizedKvStoreDao {
   }
 
   public Optional<SignedBeaconBlock> getEarliestBlindedBlock() {
-    final Optional<Bytes32> maybeRoot =
-        db.getFirstEntry(schema.getColumnFinalizedBlockRootBySlot()).map(ColumnEntry::getValue);
-    return maybeRoot.flatMap(root -> db.get(schema.getColumnBlindedBlocksByRoot(), root));
+    try (final KvStoreSnapshot snapshot = db.snapshot()) {
+      final Optional<Bytes32> maybeRoot =
+          snapshot
+              .getFirstEntry(schema.getColumnFinalizedBlockRootBySlot())
+              .map(ColumnEntry::getValue);
+      return maybeRoot.flatMap(root -> snapshot.get(schema.getColumnBlindedBlocksByRoot(), root));
+    }
   }
 
   public Optional<SignedBeaconBlock> getLatestBlindedBlockAtSlot(final UInt64 slot) {
-    final Optional<Bytes32> maybeRoot =
-        db.getFloorEntry(schema.getColumnFinalizedBlockRootBySlot(), slot)
-            .map(ColumnEntry::getValue);
-    return maybeRoot.flatMap(root -> db.get(schema.getColumnBlindedBlocksByRoot(), root));
+    try (final KvStoreSnapshot snapshot = db.snapshot()) {
+      final Optional<Bytes32> maybeRoot =
+          snapshot
+              .getFloorEntry(schema.getColumnFinalizedBlockRootBySlot(), slot)
+              .map(ColumnEntry::getValue);
+      return maybeRoot.flatMap(root -> snapshot.get(schema.getColumnBlindedBlocksByRoot(), root));
+    }
   }
 
   public Optional<UInt64> getSlotForFinalizedBlockRoot(final Bytes32 blockRoot) {
@@ -199,6 +209,25 @@ public class V4FinalizedKvStoreDao {
     return db.get(schema.getColumnFinalizedBlockRootBySlot(), slot);
   }
 
+  @MustBeClosed
+  @SuppressWarnings("MustBeClosedChecker")
+  public Stream<SignedBeaconBlock> streamBlindedFinalizedBlocks(
+      final UInt64 startSlot, final UInt64 endSlot) {
+    // Roots and blocks come from the same snapshot so a concurrent prune can't leave gaps
+    final KvStoreSnapshot snapshot = db.snapshot();
+    try {
+      return snapshot
+          .stream(schema.getColumnFinalizedBlockRootBySlot(), startSlot, endSlot)
+          .flatMap(
+              entry ->
+                  snapshot.get(schema.getColumnBlindedBlocksByRoot(), entry.getValue()).stream())
+          .onClose(snapshot::close);
+    } catch (final RuntimeException e) {
+      snapshot.close();
+      throw e;
+    }
+  }
+
   @MustBeClosed
   public Stream<Bytes32> streamFinalizedBlockRoots(final UInt64 startSlot, final UInt64 endSlot) {
     return db.stream(schema.getColumnFinalizedBlockRootBySlot(), startSlot, endSlot)
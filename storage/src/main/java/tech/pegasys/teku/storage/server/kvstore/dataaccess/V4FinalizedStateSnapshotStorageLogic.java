@@ -21,6 +21,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
 import tech.pegasys.teku.storage.server.kvstore.schema.SchemaFinalizedSnapshotState;
 
 public class V4FinalizedStateSnapshotStorageLogic<S extends SchemaFinalizedSnapshotState>
@@ -34,7 +35,7 @@ public class V4FinalizedStateSnapshotStorageLogic<S extends SchemaFinalizedSnaps
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(
-      final KvStoreAccessor db, final SchemaFinalizedSnapshotState schema, final UInt64 maxSlot) {
+      final KvStoreReader db, final SchemaFinalizedSnapshotState schema, final UInt64 maxSlot) {
     return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
         .map(ColumnEntry::getValue);
   }
@@ -47,7 +48,7 @@ public class V4FinalizedStateSnapshotStorageLogic<S extends SchemaFinalizedSnaps
   @Override
   @MustBeClosed
   public Stream<UInt64> streamFinalizedStateSlots(
-      final KvStoreAccessor db,
+      final KvStoreReader db,
       final SchemaFinalizedSnapshotState schema,
       final UInt64 startSlot,
       final UInt64 endSlot) {
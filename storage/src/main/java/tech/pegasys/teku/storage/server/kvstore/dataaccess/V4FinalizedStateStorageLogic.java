@@ -20,16 +20,17 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
 
 public interface V4FinalizedStateStorageLogic<S> {
   Optional<BeaconState> getLatestAvailableFinalizedState(
-      KvStoreAccessor db, S schema, UInt64 maxSlot);
+      KvStoreReader db, S schema, UInt64 maxSlot);
 
   FinalizedStateUpdater<S> updater();
 
   @MustBeClosed
   Stream<UInt64> streamFinalizedStateSlots(
-      KvStoreAccessor db, final S schema, UInt64 startSlot, UInt64 endSlot);
+      KvStoreReader db, final S schema, UInt64 startSlot, UInt64 endSlot);
 
   interface FinalizedStateUpdater<S> {
     void addFinalizedState(
@@ -31,6 +31,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
 import tech.pegasys.teku.storage.server.kvstore.schema.SchemaCombinedTreeState;
 
 public class V4FinalizedStateTreeStorageLogic
@@ -66,7 +67,7 @@ public class V4FinalizedStateTreeStorageLogic
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(
-      final KvStoreAccessor db, final SchemaCombinedTreeState dbSchema, final UInt64 maxSlot) {
+      final KvStoreReader db, final SchemaCombinedTreeState dbSchema, final UInt64 maxSlot) {
     return db.getFloorEntry(dbSchema.getColumnFinalizedStateRootsBySlot(), maxSlot)
         .map(
             entry ->
@@ -91,7 +92,7 @@ public class V4FinalizedStateTreeStorageLogic
   @Override
   @MustBeClosed
   public Stream<UInt64> streamFinalizedStateSlots(
-      final KvStoreAccessor db,
+      final KvStoreReader db,
       final SchemaCombinedTreeState schema,
       final UInt64 startSlot,
       final UInt64 endSlot) {
@@ -45,10 +45,13 @@ public class V4HotKvStoreDao {
   // Persistent data
   private final KvStoreAccessor db;
   private final SchemaHotAdapter schema;
+  private final VoteLogStorageLogic voteLogStorageLogic;
 
   public V4HotKvStoreDao(final KvStoreAccessor db, final SchemaHotAdapter schema) {
     this.db = db;
     this.schema = schema;
+    this.voteLogStorageLogic =
+        new VoteLogStorageLogic(schema.getColumnVotes(), schema.getColumnVoteLog());
   }
 
   public Optional<UInt64> getGenesisTime() {
@@ -123,7 +126,7 @@ public class V4HotKvStoreDao {
   }
 
   public Map<UInt64, VoteTracker> getVotes() {
-    return db.getAll(schema.getColumnVotes());
+    return voteLogStorageLogic.getVotes(db);
   }
 
   @MustBeClosed
@@ -152,7 +155,7 @@ public class V4HotKvStoreDao {
 
   @MustBeClosed
   public V4HotUpdater hotUpdater() {
-    return new V4HotUpdater(db, schema);
+    return new V4HotUpdater(db, schema, voteLogStorageLogic);
   }
 
   public <T> Optional<Bytes> getRawVariable(final KvStoreVariable<T> var) {
@@ -190,11 +193,18 @@ public class V4HotKvStoreDao {
   static class V4HotUpdater implements HotUpdaterBlinded, HotUpdaterUnblinded {
 
     private final KvStoreTransaction transaction;
+    private final KvStoreAccessor db;
     private final SchemaHotAdapter schema;
+    private final VoteLogStorageLogic voteLogStorageLogic;
 
-    V4HotUpdater(final KvStoreAccessor db, final SchemaHotAdapter schema) {
+    V4HotUpdater(
+        final KvStoreAccessor db,
+        final SchemaHotAdapter schema,
+        final VoteLogStorageLogic voteLogStorageLogic) {
       this.transaction = db.startTransaction();
+      this.db = db;
       this.schema = schema;
+      this.voteLogStorageLogic = voteLogStorageLogic;
     }
 
     @Override
@@ -279,8 +289,7 @@ public class V4HotKvStoreDao {
 
     @Override
     public void addVotes(final Map<UInt64, VoteTracker> votes) {
-      votes.forEach(
-          (validatorIndex, vote) -> transaction.put(schema.getColumnVotes(), validatorIndex, vote));
+      voteLogStorageLogic.addVotes(db, transaction, votes);
     }
 
     @Override
@@ -0,0 +1,104 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.dataaccess;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+
+/**
+ * Stores votes as an append only log of delta segments rather than one entry per validator.
+ *
+ * <p>Each batch of updated votes is written as a single segment keyed by an increasing sequence
+ * number. Every {@code snapshotInterval} segments the log is folded into a single snapshot segment
+ * containing all votes, and the older segments are removed. Loading votes is then a single
+ * sequential scan of the log column, applying segments in order.
+ *
+ * <p>Votes stored by earlier versions in the per-validator votes column are still loaded first and
+ * are removed the first time the log is folded.
+ */
+public class VoteLogStorageLogic {
+  static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+  private final KvStoreColumn<UInt64, VoteTracker> legacyVotesColumn;
+  private final KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> voteLogColumn;
+  private final int snapshotInterval;
+
+  public VoteLogStorageLogic(
+      final KvStoreColumn<UInt64, VoteTracker> legacyVotesColumn,
+      final KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> voteLogColumn) {
+    this(legacyVotesColumn, voteLogColumn, DEFAULT_SNAPSHOT_INTERVAL);
+  }
+
+  VoteLogStorageLogic(
+      final KvStoreColumn<UInt64, VoteTracker> legacyVotesColumn,
+      final KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> voteLogColumn,
+      final int snapshotInterval) {
+    this.legacyVotesColumn = legacyVotesColumn;
+    this.voteLogColumn = voteLogColumn;
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  public Map<UInt64, VoteTracker> getVotes(final KvStoreAccessor db) {
+    return applySegments(db, db.getAll(legacyVotesColumn), new ArrayList<>());
+  }
+
+  public void addVotes(
+      final KvStoreAccessor db,
+      final KvStoreTransaction transaction,
+      final Map<UInt64, VoteTracker> votes) {
+    if (votes.isEmpty()) {
+      return;
+    }
+    final UInt64 segmentKey =
+        db.getLastKey(voteLogColumn).map(UInt64::increment).orElse(UInt64.ONE);
+    if (!segmentKey.mod(snapshotInterval).isZero()) {
+      transaction.put(voteLogColumn, segmentKey, votes);
+      return;
+    }
+
+    // Fold the existing log and any legacy votes into a single snapshot
+    final Map<UInt64, VoteTracker> legacyVotes = db.getAll(legacyVotesColumn);
+    final List<UInt64> segmentKeys = new ArrayList<>();
+    final Map<UInt64, VoteTracker> snapshot = applySegments(db, legacyVotes, segmentKeys);
+    snapshot.putAll(votes);
+    legacyVotes.keySet().forEach(key -> transaction.delete(legacyVotesColumn, key));
+    segmentKeys.forEach(key -> transaction.delete(voteLogColumn, key));
+    transaction.put(voteLogColumn, segmentKey, snapshot);
+  }
+
+  private Map<UInt64, VoteTracker> applySegments(
+      final KvStoreAccessor db,
+      final Map<UInt64, VoteTracker> baseVotes,
+      final List<UInt64> segmentKeys) {
+    final Map<UInt64, VoteTracker> votes = new HashMap<>(baseVotes);
+    try (final Stream<ColumnEntry<UInt64, Map<UInt64, VoteTracker>>> segments =
+        db.stream(voteLogColumn)) {
+      segments.forEach(
+          segment -> {
+            segmentKeys.add(segment.getKey());
+            votes.putAll(segment.getValue());
+          });
+    }
+    return votes;
+  }
+}
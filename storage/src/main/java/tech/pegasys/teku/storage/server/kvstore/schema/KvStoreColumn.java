@@ -23,22 +23,33 @@ public class KvStoreColumn<TKey, TValue> {
   private final Bytes id;
   private final KvStoreSerializer<TKey> keySerializer;
   private final KvStoreSerializer<TValue> valueSerializer;
+  private final KvStoreColumnProfile profile;
 
   private KvStoreColumn(
       final byte[] id,
       final KvStoreSerializer<TKey> keySerializer,
-      final KvStoreSerializer<TValue> valueSerializer) {
+      final KvStoreSerializer<TValue> valueSerializer,
+      final KvStoreColumnProfile profile) {
     this.id = Bytes.wrap(id);
     this.keySerializer = keySerializer;
     this.valueSerializer = valueSerializer;
+    this.profile = profile;
   }
 
   public static <K, V> KvStoreColumn<K, V> create(
       final int id,
       final KvStoreSerializer<K> keySerializer,
       final KvStoreSerializer<V> valueSerializer) {
+    return create(id, keySerializer, valueSerializer, KvStoreColumnProfile.DEFAULT);
+  }
+
+  public static <K, V> KvStoreColumn<K, V> create(
+      final int id,
+      final KvStoreSerializer<K> keySerializer,
+      final KvStoreSerializer<V> valueSerializer,
+      final KvStoreColumnProfile profile) {
     final byte byteId = toByteExact(id);
-    return new KvStoreColumn<>(new byte[] {byteId}, keySerializer, valueSerializer);
+    return new KvStoreColumn<>(new byte[] {byteId}, keySerializer, valueSerializer, profile);
   }
 
   public Bytes getId() {
@@ -53,6 +64,10 @@ public class KvStoreColumn<TKey, TValue> {
     return valueSerializer;
   }
 
+  public KvStoreColumnProfile getProfile() {
+    return profile;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -0,0 +1,35 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.schema;
+
+/**
+ * Describes the access pattern of a column so the underlying storage engine can tune how it is
+ * laid out on disk. Storage engines which don't support per-column tuning ignore the profile.
+ */
+public enum KvStoreColumnProfile {
+  /** No particular access pattern, uses the database wide settings. */
+  DEFAULT,
+  /**
+   * Keyed by a block or state root. Keys are uniformly distributed hashes so lookups benefit from
+   * bloom filters that let most misses skip reading data blocks entirely.
+   */
+  ROOT_KEYED,
+  /**
+   * Large, rarely read values such as finalized states. Uses bigger data blocks and strong
+   * compression to reduce disk usage and index size.
+   */
+  LARGE_VALUES,
+  /** Small values that are frequently read and updated individually by key, such as votes. */
+  POINT_LOOKUP
+}
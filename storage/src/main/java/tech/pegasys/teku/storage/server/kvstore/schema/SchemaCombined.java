@@ -39,6 +39,8 @@ public interface SchemaCombined extends Schema {
 
   KvStoreColumn<UInt64, VoteTracker> getColumnVotes();
 
+  KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> getColumnVoteLog();
+
   KvStoreColumn<UInt64, DepositsFromBlockEvent> getColumnDepositsFromBlockEvents();
 
   KvStoreColumn<Bytes32, SlotAndBlockRoot> getColumnStateRootToSlotAndBlockRoot();
@@ -49,6 +49,10 @@ public class SchemaHotAdapter implements Schema {
     return delegate.getColumnVotes();
   }
 
+  public KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> getColumnVoteLog() {
+    return delegate.getColumnVoteLog();
+  }
+
   public KvStoreColumn<UInt64, DepositsFromBlockEvent> getColumnDepositsFromBlockEvents() {
     return delegate.getColumnDepositsFromBlockEvents();
   }
@@ -98,6 +102,7 @@ public class SchemaHotAdapter implements Schema {
         "HOT_BLOCKS_BY_ROOT", getColumnHotBlocksByRoot(),
         "CHECKPOINT_STATES", getColumnCheckpointStates(),
         "VOTES", getColumnVotes(),
+        "VOTE_LOG", getColumnVoteLog(),
         "DEPOSITS_FROM_BLOCK_EVENTS", getColumnDepositsFromBlockEvents(),
         "STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT", getColumnStateRootToSlotAndBlockRoot(),
         "HOT_STATES_BY_ROOT", getColumnHotStatesByRoot(),
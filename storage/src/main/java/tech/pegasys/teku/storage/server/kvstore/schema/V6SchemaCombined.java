@@ -49,14 +49,17 @@ public abstract class V6SchemaCombined implements SchemaCombined {
   // Checkpoint states are no longer stored, keeping only for backwards compatibility.
   private final KvStoreColumn<Checkpoint, BeaconState> checkpointStates;
   private final KvStoreColumn<UInt64, VoteTracker> votes;
+  private final KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> voteLog;
   private static final KvStoreColumn<UInt64, DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENTS =
       KvStoreColumn.create(4, UINT64_SERIALIZER, DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER);
   private static final KvStoreColumn<Bytes32, SlotAndBlockRoot> STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT =
-      KvStoreColumn.create(5, BYTES32_SERIALIZER, SLOT_AND_BLOCK_ROOT_SERIALIZER);
+      KvStoreColumn.create(
+          5, BYTES32_SERIALIZER, SLOT_AND_BLOCK_ROOT_SERIALIZER, KvStoreColumnProfile.ROOT_KEYED);
   private final KvStoreColumn<Bytes32, BeaconState> hotStatesByRoot;
   private static final KvStoreColumn<Bytes32, BlockCheckpoints>
       HOT_BLOCK_CHECKPOINT_EPOCHS_BY_ROOT =
-          KvStoreColumn.create(7, BYTES32_SERIALIZER, CHECKPOINT_EPOCHS_SERIALIZER);
+          KvStoreColumn.create(
+              7, BYTES32_SERIALIZER, CHECKPOINT_EPOCHS_SERIALIZER, KvStoreColumnProfile.ROOT_KEYED);
 
   // Variables
   private static final KvStoreVariable<UInt64> GENESIS_TIME =
@@ -83,16 +86,27 @@ public abstract class V6SchemaCombined implements SchemaCombined {
     this.finalizedOffset = finalizedOffset;
     final KvStoreSerializer<SignedBeaconBlock> signedBlockSerializer =
         KvStoreSerializer.createSignedBlockSerializer(spec);
-    hotBlocksByRoot = KvStoreColumn.create(1, BYTES32_SERIALIZER, signedBlockSerializer);
+    hotBlocksByRoot =
+        KvStoreColumn.create(
+            1, BYTES32_SERIALIZER, signedBlockSerializer, KvStoreColumnProfile.ROOT_KEYED);
 
     final KvStoreSerializer<BeaconState> stateSerializer =
         KvStoreSerializer.createStateSerializer(spec);
     checkpointStates = KvStoreColumn.create(2, CHECKPOINT_SERIALIZER, stateSerializer);
-    hotStatesByRoot = KvStoreColumn.create(6, BYTES32_SERIALIZER, stateSerializer);
+    hotStatesByRoot =
+        KvStoreColumn.create(
+            6, BYTES32_SERIALIZER, stateSerializer, KvStoreColumnProfile.ROOT_KEYED);
     latestFinalizedState = KvStoreVariable.create(5, stateSerializer);
     final KvStoreSerializer<VoteTracker> voteTrackerSerializer =
         KvStoreSerializer.createVoteTrackerSerializer(storeVotesEquivocation);
-    votes = KvStoreColumn.create(3, UINT64_SERIALIZER, voteTrackerSerializer);
+    votes =
+        KvStoreColumn.create(
+            3, UINT64_SERIALIZER, voteTrackerSerializer, KvStoreColumnProfile.POINT_LOOKUP);
+    voteLog =
+        KvStoreColumn.create(
+            8,
+            UINT64_SERIALIZER,
+            KvStoreSerializer.createVoteLogSegmentSerializer(storeVotesEquivocation));
 
     optimisticTransitionBlockSlot = KvStoreVariable.create(finalizedOffset + 1, UINT64_SERIALIZER);
   }
@@ -117,6 +131,11 @@ public abstract class V6SchemaCombined implements SchemaCombined {
     return votes;
   }
 
+  @Override
+  public KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> getColumnVoteLog() {
+    return voteLog;
+  }
+
   @Override
   public KvStoreColumn<UInt64, DepositsFromBlockEvent> getColumnDepositsFromBlockEvents() {
     return DEPOSITS_FROM_BLOCK_EVENTS;
@@ -183,6 +202,7 @@ public abstract class V6SchemaCombined implements SchemaCombined {
         .put("HOT_BLOCKS_BY_ROOT", getColumnHotBlocksByRoot())
         .put("CHECKPOINT_STATES", getColumnCheckpointStates())
         .put("VOTES", getColumnVotes())
+        .put("VOTE_LOG", getColumnVoteLog())
         .put("DEPOSITS_FROM_BLOCK_EVENTS", getColumnDepositsFromBlockEvents())
         .put("STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT", getColumnStateRootToSlotAndBlockRoot())
         .put("HOT_STATES_BY_ROOT", getColumnHotStatesByRoot())
@@ -49,7 +49,11 @@ public class V6SchemaCombinedSnapshot extends V6SchemaCombined
       final Spec spec, final boolean storeVotesEquivocation, final int finalizedOffset) {
     super(spec, storeVotesEquivocation, finalizedOffset);
     slotsByFinalizedRoot =
-        KvStoreColumn.create(finalizedOffset + 1, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+        KvStoreColumn.create(
+            finalizedOffset + 1,
+            BYTES32_SERIALIZER,
+            UINT64_SERIALIZER,
+            KvStoreColumnProfile.ROOT_KEYED);
     finalizedBlocksBySlot =
         KvStoreColumn.create(
             finalizedOffset + 2,
@@ -57,23 +61,36 @@ public class V6SchemaCombinedSnapshot extends V6SchemaCombined
             KvStoreSerializer.createSignedBlockSerializer(spec));
     finalizedStatesBySlot =
         KvStoreColumn.create(
-            finalizedOffset + 3, UINT64_SERIALIZER, KvStoreSerializer.createStateSerializer(spec));
+            finalizedOffset + 3,
+            UINT64_SERIALIZER,
+            KvStoreSerializer.createStateSerializer(spec),
+            KvStoreColumnProfile.LARGE_VALUES);
     slotsByFinalizedStateRoot =
-        KvStoreColumn.create(finalizedOffset + 4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+        KvStoreColumn.create(
+            finalizedOffset + 4,
+            BYTES32_SERIALIZER,
+            UINT64_SERIALIZER,
+            KvStoreColumnProfile.ROOT_KEYED);
     nonCanonicalBlocksByRoot =
         KvStoreColumn.create(
             finalizedOffset + 5,
             BYTES32_SERIALIZER,
-            KvStoreSerializer.createSignedBlockSerializer(spec));
+            KvStoreSerializer.createSignedBlockSerializer(spec),
+            KvStoreColumnProfile.ROOT_KEYED);
     nonCanonicalBlockRootsBySlot =
         KvStoreColumn.create(finalizedOffset + 6, UINT64_SERIALIZER, BLOCK_ROOTS_SERIALIZER);
     blindedBlocksByRoot =
         KvStoreColumn.create(
             finalizedOffset + 7,
             BYTES32_SERIALIZER,
-            KvStoreSerializer.createSignedBlindedBlockSerializer(spec));
+            KvStoreSerializer.createSignedBlindedBlockSerializer(spec),
+            KvStoreColumnProfile.ROOT_KEYED);
     executionPayloadByBlockRoot =
-        KvStoreColumn.create(finalizedOffset + 8, BYTES32_SERIALIZER, BYTES_SERIALIZER);
+        KvStoreColumn.create(
+            finalizedOffset + 8,
+            BYTES32_SERIALIZER,
+            BYTES_SERIALIZER,
+            KvStoreColumnProfile.ROOT_KEYED);
     finalizedBlockRootBySlot =
         KvStoreColumn.create(finalizedOffset + 9, UINT64_SERIALIZER, BYTES32_SERIALIZER);
   }
@@ -139,6 +156,7 @@ public class V6SchemaCombinedSnapshot extends V6SchemaCombined
         .put("HOT_BLOCKS_BY_ROOT", getColumnHotBlocksByRoot())
         .put("CHECKPOINT_STATES", getColumnCheckpointStates())
         .put("VOTES", getColumnVotes())
+        .put("VOTE_LOG", getColumnVoteLog())
         .put("DEPOSITS_FROM_BLOCK_EVENTS", getColumnDepositsFromBlockEvents())
         .put("STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT", getColumnStateRootToSlotAndBlockRoot())
         .put("HOT_STATES_BY_ROOT", getColumnHotStatesByRoot())
@@ -160,6 +160,7 @@ public class V6SchemaCombinedTreeState extends V6SchemaCombined implements Schem
         .put("HOT_BLOCKS_BY_ROOT", getColumnHotBlocksByRoot())
         .put("CHECKPOINT_STATES", getColumnCheckpointStates())
         .put("VOTES", getColumnVotes())
+        .put("VOTE_LOG", getColumnVoteLog())
         .put("DEPOSITS_FROM_BLOCK_EVENTS", getColumnDepositsFromBlockEvents())
         .put("STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT", getColumnStateRootToSlotAndBlockRoot())
         .put("HOT_STATES_BY_ROOT", getColumnHotStatesByRoot())
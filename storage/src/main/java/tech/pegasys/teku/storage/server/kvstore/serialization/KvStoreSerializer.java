@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.storage.server.kvstore.serialization;
 
+import java.util.Map;
 import java.util.Set;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -62,6 +63,11 @@ public interface KvStoreSerializer<T> {
     return new VoteTrackerSerializer(storeVotesEquivocation);
   }
 
+  static KvStoreSerializer<Map<UInt64, VoteTracker>> createVoteLogSegmentSerializer(
+      final boolean storeVotesEquivocation) {
+    return new VoteLogSegmentSerializer(storeVotesEquivocation);
+  }
+
   T deserialize(final byte[] data);
 
   byte[] serialize(final T value);
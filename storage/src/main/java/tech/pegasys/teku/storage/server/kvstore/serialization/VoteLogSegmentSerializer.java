@@ -0,0 +1,258 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+
+/**
+ * Compact columnar encoding for a set of votes, used for both delta segments and snapshots in the
+ * vote log.
+ *
+ * <p>Validator indices are stored as runs of consecutive indices. Roots are deduplicated into a
+ * dictionary since most validators vote for one of only a handful of blocks, and each vote then
+ * stores varint indices into that dictionary. Next epochs are stored as zigzag encoded deltas from
+ * the previous vote which are almost always zero. Each field is written as its own column so
+ * similar values are adjacent, which also helps the database's block compression.
+ */
+class VoteLogSegmentSerializer implements KvStoreSerializer<Map<UInt64, VoteTracker>> {
+  private static final int EQUIVOCATION_FLAGS_PRESENT = 1;
+
+  private final boolean storeVotesEquivocation;
+
+  VoteLogSegmentSerializer(final boolean storeVotesEquivocation) {
+    this.storeVotesEquivocation = storeVotesEquivocation;
+  }
+
+  @Override
+  public Map<UInt64, VoteTracker> deserialize(final byte[] data) {
+    final ByteBuffer input = ByteBuffer.wrap(data);
+    final int flags = input.get();
+
+    final int rootCount = readInt(input);
+    final List<Bytes32> roots = new ArrayList<>(rootCount);
+    for (int i = 0; i < rootCount; i++) {
+      final byte[] root = new byte[Bytes32.SIZE];
+      input.get(root);
+      roots.add(Bytes32.wrap(root));
+    }
+
+    final int voteCount = readInt(input);
+    final long[] validatorIndices = new long[voteCount];
+    final int runCount = readInt(input);
+    long nextIndex = 0;
+    int position = 0;
+    for (int run = 0; run < runCount; run++) {
+      nextIndex += readVarint(input);
+      final int runLength = readInt(input);
+      for (int i = 0; i < runLength; i++) {
+        validatorIndices[position++] = nextIndex++;
+      }
+    }
+
+    final int[] currentRoots = new int[voteCount];
+    for (int i = 0; i < voteCount; i++) {
+      currentRoots[i] = readInt(input);
+    }
+    final int[] nextRoots = new int[voteCount];
+    for (int i = 0; i < voteCount; i++) {
+      nextRoots[i] = readInt(input);
+    }
+    final long[] nextEpochs = new long[voteCount];
+    long previousEpoch = 0;
+    for (int i = 0; i < voteCount; i++) {
+      previousEpoch += zigzagDecode(readVarint(input));
+      nextEpochs[i] = previousEpoch;
+    }
+    final byte[] equivocationFlags;
+    if ((flags & EQUIVOCATION_FLAGS_PRESENT) != 0) {
+      equivocationFlags = new byte[(voteCount * 2 + 7) / 8];
+      input.get(equivocationFlags);
+    } else {
+      equivocationFlags = null;
+    }
+
+    final Map<UInt64, VoteTracker> votes = new HashMap<>(voteCount * 4 / 3 + 1);
+    for (int i = 0; i < voteCount; i++) {
+      final boolean nextEquivocating =
+          storeVotesEquivocation && equivocationFlags != null && isSet(equivocationFlags, i * 2);
+      final boolean currentEquivocating =
+          storeVotesEquivocation
+              && equivocationFlags != null
+              && isSet(equivocationFlags, i * 2 + 1);
+      votes.put(
+          UInt64.fromLongBits(validatorIndices[i]),
+          new VoteTracker(
+              roots.get(currentRoots[i]),
+              roots.get(nextRoots[i]),
+              UInt64.fromLongBits(nextEpochs[i]),
+              nextEquivocating,
+              currentEquivocating));
+    }
+    return votes;
+  }
+
+  @Override
+  public byte[] serialize(final Map<UInt64, VoteTracker> value) {
+    final TreeMap<UInt64, VoteTracker> votes = new TreeMap<>(value);
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(votes.size() * 4 + 64);
+    output.write(storeVotesEquivocation ? EQUIVOCATION_FLAGS_PRESENT : 0);
+
+    final Map<Bytes32, Integer> rootIds = new HashMap<>();
+    final List<Bytes32> roots = new ArrayList<>();
+    for (VoteTracker vote : votes.values()) {
+      addRoot(rootIds, roots, vote.getCurrentRoot());
+      addRoot(rootIds, roots, vote.getNextRoot());
+    }
+    writeVarint(output, roots.size());
+    roots.forEach(root -> output.write(root.toArrayUnsafe(), 0, Bytes32.SIZE));
+
+    writeVarint(output, votes.size());
+    writeRuns(output, votes);
+
+    votes.values().forEach(vote -> writeVarint(output, rootIds.get(vote.getCurrentRoot())));
+    votes.values().forEach(vote -> writeVarint(output, rootIds.get(vote.getNextRoot())));
+    long previousEpoch = 0;
+    for (VoteTracker vote : votes.values()) {
+      final long epoch = vote.getNextEpoch().longValue();
+      writeVarint(output, zigzagEncode(epoch - previousEpoch));
+      previousEpoch = epoch;
+    }
+
+    if (storeVotesEquivocation) {
+      final byte[] equivocationFlags = new byte[(votes.size() * 2 + 7) / 8];
+      int i = 0;
+      for (VoteTracker vote : votes.values()) {
+        if (vote.isNextEquivocating()) {
+          set(equivocationFlags, i * 2);
+        }
+        if (vote.isCurrentEquivocating()) {
+          set(equivocationFlags, i * 2 + 1);
+        }
+        i++;
+      }
+      output.write(equivocationFlags, 0, equivocationFlags.length);
+    }
+    return output.toByteArray();
+  }
+
+  private static void writeRuns(
+      final ByteArrayOutputStream output, final TreeMap<UInt64, VoteTracker> votes) {
+    // Collect runs as (gap from end of previous run, length) pairs
+    final List<long[]> runs = new ArrayList<>();
+    long previousEnd = 0;
+    long runStart = -1;
+    long runLength = 0;
+    for (UInt64 validatorIndex : votes.keySet()) {
+      final long index = validatorIndex.longValue();
+      if (runLength > 0 && index == runStart + runLength) {
+        runLength++;
+        continue;
+      }
+      if (runLength > 0) {
+        runs.add(new long[] {runStart - previousEnd, runLength});
+        previousEnd = runStart + runLength;
+      }
+      runStart = index;
+      runLength = 1;
+    }
+    if (runLength > 0) {
+      runs.add(new long[] {runStart - previousEnd, runLength});
+    }
+
+    writeVarint(output, runs.size());
+    for (long[] run : runs) {
+      writeVarint(output, run[0]);
+      writeVarint(output, run[1]);
+    }
+  }
+
+  private static void addRoot(
+      final Map<Bytes32, Integer> rootIds, final List<Bytes32> roots, final Bytes32 root) {
+    if (!rootIds.containsKey(root)) {
+      rootIds.put(root, roots.size());
+      roots.add(root);
+    }
+  }
+
+  private static boolean isSet(final byte[] bits, final int bit) {
+    return (bits[bit / 8] & (1 << (bit % 8))) != 0;
+  }
+
+  private static void set(final byte[] bits, final int bit) {
+    bits[bit / 8] |= (byte) (1 << (bit % 8));
+  }
+
+  private static long zigzagEncode(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long zigzagDecode(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarint(final ByteArrayOutputStream output, final long value) {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      output.write((int) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+    output.write((int) remaining);
+  }
+
+  private static long readVarint(final ByteBuffer input) {
+    long value = 0;
+    int shift = 0;
+    byte current;
+    do {
+      if (shift >= 64) {
+        throw new IllegalArgumentException("Malformed varint in vote log segment");
+      }
+      current = input.get();
+      value |= (long) (current & 0x7F) << shift;
+      shift += 7;
+    } while ((current & 0x80) != 0);
+    return value;
+  }
+
+  private static int readInt(final ByteBuffer input) {
+    return Math.toIntExact(readVarint(input));
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final VoteLogSegmentSerializer that = (VoteLogSegmentSerializer) o;
+    return storeVotesEquivocation == that.storeVotesEquivocation;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(storeVotesEquivocation);
+  }
+}
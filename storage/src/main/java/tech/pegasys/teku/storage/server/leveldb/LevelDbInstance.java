@@ -13,26 +13,19 @@
 
 package tech.pegasys.teku.storage.server.leveldb;
 
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.asColumnEntry;
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.asOptionalColumnEntry;
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.deserializeKey;
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.getColumnKey;
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.getKeyAfterColumn;
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.getVariableKey;
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.isFromColumn;
-
 import com.google.errorprone.annotations.MustBeClosed;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -49,6 +42,7 @@ import tech.pegasys.teku.storage.server.DatabaseStorageException;
 import tech.pegasys.teku.storage.server.ShuttingDownException;
 import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
 
@@ -65,10 +59,14 @@ import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
 public class LevelDbInstance implements KvStoreAccessor {
   private static final Logger LOG = LogManager.getLogger();
 
-  private final Set<LevelDbTransaction> openTransactions = new HashSet<>();
-  private final Set<DBIterator> openIterators = new HashSet<>();
+  private final Set<LevelDbTransaction> openTransactions = ConcurrentHashMap.newKeySet();
+  private final Set<DBIterator> openIterators = ConcurrentHashMap.newKeySet();
+  private final Set<LevelDbSnapshot> openSnapshots = ConcurrentHashMap.newKeySet();
+  // Database access only needs to exclude close, not other readers or writers
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final DB db;
+  private final LevelDbReader reader;
   private final Counter openedTransactionsCounter;
   private final Counter closedTransactionsCounter;
   private final Counter openedIteratorsCounter;
@@ -77,6 +75,7 @@ public class LevelDbInstance implements KvStoreAccessor {
   public LevelDbInstance(
       final DB db, final MetricsSystem metricsSystem, MetricCategory metricCategory) {
     this.db = db;
+    this.reader = new LevelDbReader(this, db, Optional.empty());
     openedTransactionsCounter =
         metricsSystem.createCounter(
             metricCategory, "opened_transactions_total", "Total number of opened transactions");
@@ -93,215 +92,133 @@ public class LevelDbInstance implements KvStoreAccessor {
 
   @Override
   public <T> Optional<T> get(final KvStoreVariable<T> variable) {
-    return getRaw(variable)
-        .map(value -> variable.getSerializer().deserialize(value.toArrayUnsafe()));
+    return reader.get(variable);
   }
 
   @Override
   public Optional<Bytes> getRaw(final KvStoreVariable<?> variable) {
-    assertOpen();
-    return Optional.ofNullable(db.get(getVariableKey(variable))).map(Bytes::wrap);
+    return reader.getRaw(variable);
   }
 
   @Override
   public <K, V> Optional<V> get(final KvStoreColumn<K, V> column, final K key) {
-    assertOpen();
-    return Optional.ofNullable(db.get(getColumnKey(column, key)))
-        .map(column.getValueSerializer()::deserialize);
+    return reader.get(column, key);
+  }
+
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
+    return reader.getRaw(column, key);
   }
 
   @Override
   public long size(final KvStoreColumn<?, ?> column) {
-    assertOpen();
-    try (final Stream<?> rawStream = streamRaw(column)) {
-      return rawStream.count();
-    }
+    return reader.size(column);
   }
 
   @Override
   public <K, V> Map<K, V> getAll(final KvStoreColumn<K, V> column) {
-    return withIterator(
-        iterator -> {
-          iterator.seek(column.getId().toArrayUnsafe());
-          final Map<K, V> values = new HashMap<>();
-          while (iterator.hasNext()) {
-            final Map.Entry<byte[], byte[]> entry = iterator.next();
-            if (!isFromColumn(column, entry.getKey())) {
-              break;
-            }
-            values.put(
-                deserializeKey(column, entry.getKey()),
-                column.getValueSerializer().deserialize(entry.getValue()));
-          }
-          return values;
-        });
+    return reader.getAll(column);
   }
 
   @Override
   public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(
       final KvStoreColumn<K, V> column, final K key) {
-    return withIterator(
-        iterator -> {
-          final byte[] matchingKey = getColumnKey(column, key);
-          iterator.seek(matchingKey);
-          if (!iterator.hasNext()) {
-            return getLastDatabaseEntryIfFromColumn(column, iterator)
-                .map(entry -> asColumnEntry(column, entry));
-          }
-
-          // Check if an exact match was found
-          final Map.Entry<byte[], byte[]> next = iterator.peekNext();
-          if (Arrays.equals(next.getKey(), matchingKey)) {
-            return Optional.of(
-                ColumnEntry.create(key, column.getValueSerializer().deserialize(next.getValue())));
-          }
-
-          // Otherwise check if the previous item is in our column.
-          if (iterator.hasPrev()) {
-            final Map.Entry<byte[], byte[]> prev = iterator.peekPrev();
-            if (isFromColumn(column, prev.getKey())) {
-              return asOptionalColumnEntry(column, prev);
-            }
-          }
-          // No entry in this column at or prior to the specified key
-          return Optional.empty();
-        });
+    return reader.getFloorEntry(column, key);
   }
 
   @Override
   public <K, V> Optional<ColumnEntry<K, V>> getFirstEntry(final KvStoreColumn<K, V> column) {
-    return withIterator(
-        iterator -> {
-          iterator.seek(column.getId().toArrayUnsafe());
-          if (iterator.hasNext()) {
-            return Optional.of(iterator.peekNext())
-                .filter(entry -> isFromColumn(column, entry.getKey()))
-                .map(entry -> asColumnEntry(column, entry));
-          }
-          return Optional.empty();
-        });
+    return reader.getFirstEntry(column);
   }
 
   @Override
   public <K, V> Optional<K> getLastKey(final KvStoreColumn<K, V> column) {
-    return withIterator(
-        iterator -> {
-          final byte[] keyAfterColumn = getKeyAfterColumn(column);
-          iterator.seek(keyAfterColumn);
-          if (!iterator.hasNext()) {
-            return getLastDatabaseEntryIfFromColumn(column, iterator)
-                .map(entry -> deserializeKey(column, entry.getKey()));
-          }
-          if (iterator.hasPrev()) {
-            return Optional.of(iterator.peekPrev())
-                .filter(entry -> isFromColumn(column, entry.getKey()))
-                .map(entry -> deserializeKey(column, entry.getKey()));
-          }
-          return Optional.empty();
-        });
-  }
-
-  /**
-   * LevelDB iterators have a slightly odd property where if you seek to an item that is after the
-   * last entry in the database, the iterator is invalid (no next or previous item).
-   *
-   * <p>We work around that by explicitly seeking the last item, and checking if it's part of the
-   * column we're interested in.
-   */
-  private <K, V> Optional<Map.Entry<byte[], byte[]>> getLastDatabaseEntryIfFromColumn(
-      final KvStoreColumn<K, V> column, final DBIterator iterator) {
-    iterator.seekToLast();
-    if (!iterator.hasNext()) {
-      // Empty database
-      return Optional.empty();
-    }
-    return Optional.of(iterator.peekNext()).filter(entry -> isFromColumn(column, entry.getKey()));
+    return reader.getLastKey(column);
   }
 
   @Override
   @MustBeClosed
   public <K, V> Stream<ColumnEntry<K, V>> stream(final KvStoreColumn<K, V> column) {
-    // Note that the "to" key is actually after the end of the column and iteration is inclusive.
-    // Fortunately, we know that the "to" key can't exist because it is just the column ID with an
-    // empty item key and empty item keys are not allowed.
-    return stream(column, column.getId().toArrayUnsafe(), getKeyAfterColumn(column));
+    return reader.stream(column);
   }
 
   @Override
   @MustBeClosed
   public Stream<ColumnEntry<Bytes, Bytes>> streamRaw(final KvStoreColumn<?, ?> column) {
-    return streamRaw(column, column.getId().toArrayUnsafe(), getKeyAfterColumn(column))
-        .map(entry -> ColumnEntry.create(Bytes.wrap(entry.getKey()), Bytes.wrap(entry.getValue())));
-  }
-
-  @Override
-  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
-    assertOpen();
-    return Optional.ofNullable(db.get(getColumnKey(column, key))).map(Bytes::wrap);
+    return reader.streamRaw(column);
   }
 
   @Override
   @MustBeClosed
   public <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
       final KvStoreColumn<K, V> column, final K from, final K to) {
-    final byte[] fromBytes = getColumnKey(column, from);
-    final byte[] toBytes = getColumnKey(column, to);
-    return stream(column, fromBytes, toBytes);
-  }
-
-  @MustBeClosed
-  private <K, V> Stream<ColumnEntry<K, V>> stream(
-      final KvStoreColumn<K, V> column, final byte[] fromBytes, final byte[] toBytes) {
-    return streamRaw(column, fromBytes, toBytes)
-        .map(
-            entry ->
-                ColumnEntry.create(
-                    column.getKeySerializer().deserialize(entry.getKey()),
-                    column.getValueSerializer().deserialize(entry.getValue())));
+    return reader.stream(column, from, to);
   }
 
+  @Override
   @MustBeClosed
-  private Stream<ColumnEntry<byte[], byte[]>> streamRaw(
-      final KvStoreColumn<?, ?> column, final byte[] fromBytes, final byte[] toBytes) {
-    assertOpen();
-    final DBIterator iterator = createIterator();
-    iterator.seek(fromBytes);
-    return new LevelDbIterator<>(this, iterator, column, toBytes)
-        .toStream()
-        .onClose(() -> closeIterator(iterator));
+  public KvStoreTransaction startTransaction() {
+    return whileOpen(
+        () -> {
+          openedTransactionsCounter.inc();
+          final WriteBatch writeBatch = db.createWriteBatch();
+          final LevelDbTransaction transaction = new LevelDbTransaction(this, db, writeBatch);
+          openTransactions.add(transaction);
+          return transaction;
+        });
   }
 
   @Override
   @MustBeClosed
-  public synchronized KvStoreTransaction startTransaction() {
-    assertOpen();
-    openedTransactionsCounter.inc();
-    final WriteBatch writeBatch = db.createWriteBatch();
-    final LevelDbTransaction transaction = new LevelDbTransaction(this, db, writeBatch);
-    openTransactions.add(transaction);
-    return transaction;
+  public KvStoreSnapshot snapshot() {
+    return whileOpen(
+        () -> {
+          final LevelDbSnapshot snapshot = new LevelDbSnapshot(this, db, db.getSnapshot());
+          openSnapshots.add(snapshot);
+          return snapshot;
+        });
   }
 
   @Override
   public void close() throws Exception {
-    if (!closed.compareAndSet(false, true)) {
-      return;
+    final Lock lock = closeLock.writeLock();
+    lock.lock();
+    try {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      List.copyOf(openIterators).forEach(this::closeIterator);
+      List.copyOf(openTransactions).forEach(LevelDbTransaction::close);
+      openSnapshots.forEach(LevelDbSnapshot::releaseResources);
+      openSnapshots.clear();
+      db.close();
+    } finally {
+      lock.unlock();
     }
-    List<DBIterator> openIteratorsSnapshot;
-    List<LevelDbTransaction> openTransactionsSnapshot;
-    synchronized (this) {
-      openIteratorsSnapshot = new ArrayList<>(openIterators);
-      openTransactionsSnapshot = new ArrayList<>(openTransactions);
+  }
+
+  /**
+   * Runs an action that accesses the underlying database, ensuring the database is not closed
+   * while it is in progress. Any number of actions may run concurrently.
+   */
+  <T> T whileOpen(final Supplier<T> action) {
+    final Lock lock = closeLock.readLock();
+    lock.lock();
+    try {
+      assertOpen();
+      return action.get();
+    } finally {
+      lock.unlock();
     }
-    openIteratorsSnapshot.forEach(this::closeIterator);
-    openTransactionsSnapshot.forEach(LevelDbTransaction::close);
-    db.close();
   }
 
-  private synchronized <T> T withIterator(final Function<DBIterator, T> action) {
-    assertOpen();
-    openedIteratorsCounter.inc();
-    final DBIterator iterator = createIterator();
+  <T> T withIterator(final ReadOptions readOptions, final Function<DBIterator, T> action) {
+    return whileOpen(() -> applyToIterator(readOptions, action));
+  }
+
+  private <T> T applyToIterator(
+      final ReadOptions readOptions, final Function<DBIterator, T> action) {
+    final DBIterator iterator = createIterator(readOptions);
     try {
       return action.apply(iterator);
     } catch (final DBException e) {
@@ -311,7 +228,7 @@ public class LevelDbInstance implements KvStoreAccessor {
     }
   }
 
-  private synchronized void closeIterator(final DBIterator iterator) {
+  void closeIterator(final DBIterator iterator) {
     if (!openIterators.remove(iterator)) {
       return;
     }
@@ -323,14 +240,32 @@ public class LevelDbInstance implements KvStoreAccessor {
     }
   }
 
-  synchronized void onTransactionClosed(final LevelDbTransaction transaction) {
+  void onTransactionClosed(final LevelDbTransaction transaction) {
     if (openTransactions.remove(transaction)) {
       closedTransactionsCounter.inc();
     }
   }
 
-  private DBIterator createIterator() {
-    final DBIterator iterator = db.iterator(new ReadOptions().fillCache(false));
+  void onSnapshotClosed(final LevelDbSnapshot snapshot) {
+    final Lock lock = closeLock.readLock();
+    lock.lock();
+    try {
+      // Once the database is closed, the snapshot was already released by close
+      if (openSnapshots.remove(snapshot) && !closed.get()) {
+        snapshot.releaseResources();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  DBIterator openIterator(final ReadOptions readOptions) {
+    return whileOpen(() -> createIterator(readOptions));
+  }
+
+  private DBIterator createIterator(final ReadOptions readOptions) {
+    openedIteratorsCounter.inc();
+    final DBIterator iterator = db.iterator(readOptions);
     openIterators.add(iterator);
     return iterator;
   }
@@ -46,10 +46,7 @@ public class LevelDbIterator<K, V> implements Iterator<ColumnEntry<byte[], byte[
 
   @Override
   public boolean hasNext() {
-    synchronized (dbInstance) {
-      dbInstance.assertOpen();
-      return iterator.hasNext() && isValidKey();
-    }
+    return dbInstance.whileOpen(() -> iterator.hasNext() && isValidKey());
   }
 
   private boolean isValidKey() {
@@ -59,10 +56,7 @@ public class LevelDbIterator<K, V> implements Iterator<ColumnEntry<byte[], byte[
 
   @Override
   public ColumnEntry<byte[], byte[]> next() {
-    synchronized (dbInstance) {
-      dbInstance.assertOpen();
-      return asRawColumnEntry(column, iterator.next());
-    }
+    return dbInstance.whileOpen(() -> asRawColumnEntry(column, iterator.next()));
   }
 
   public Stream<ColumnEntry<byte[], byte[]>> toStream() {
@@ -0,0 +1,248 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.leveldb;
+
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.asColumnEntry;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.asOptionalColumnEntry;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.deserializeKey;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.getColumnKey;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.getKeyAfterColumn;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.getVariableKey;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.isFromColumn;
+
+import com.google.errorprone.annotations.MustBeClosed;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.DBIterator;
+import org.iq80.leveldb.ReadOptions;
+import org.iq80.leveldb.Snapshot;
+import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
+
+/**
+ * Read operations against a LevelDB database, optionally pinned to a {@link Snapshot}. Iterators
+ * are opened and closed via the owning {@link LevelDbInstance} so they are all released when the
+ * database is closed.
+ */
+class LevelDbReader implements KvStoreReader {
+
+  private final LevelDbInstance dbInstance;
+  private final DB db;
+  private final ReadOptions readOptions;
+  private final ReadOptions iteratorOptions;
+
+  LevelDbReader(final LevelDbInstance dbInstance, final DB db, final Optional<Snapshot> snapshot) {
+    this.dbInstance = dbInstance;
+    this.db = db;
+    this.readOptions = new ReadOptions().snapshot(snapshot.orElse(null));
+    this.iteratorOptions = new ReadOptions().fillCache(false).snapshot(snapshot.orElse(null));
+  }
+
+  @Override
+  public <T> Optional<T> get(final KvStoreVariable<T> variable) {
+    return getRaw(variable)
+        .map(value -> variable.getSerializer().deserialize(value.toArrayUnsafe()));
+  }
+
+  @Override
+  public Optional<Bytes> getRaw(final KvStoreVariable<?> variable) {
+    assertOpen();
+    return Optional.ofNullable(db.get(getVariableKey(variable), readOptions)).map(Bytes::wrap);
+  }
+
+  @Override
+  public <K, V> Optional<V> get(final KvStoreColumn<K, V> column, final K key) {
+    assertOpen();
+    return Optional.ofNullable(db.get(getColumnKey(column, key), readOptions))
+        .map(column.getValueSerializer()::deserialize);
+  }
+
+  @Override
+  public long size(final KvStoreColumn<?, ?> column) {
+    assertOpen();
+    try (final Stream<?> rawStream = streamRaw(column)) {
+      return rawStream.count();
+    }
+  }
+
+  @Override
+  public <K, V> Map<K, V> getAll(final KvStoreColumn<K, V> column) {
+    return withIterator(
+        iterator -> {
+          iterator.seek(column.getId().toArrayUnsafe());
+          final Map<K, V> values = new HashMap<>();
+          while (iterator.hasNext()) {
+            final Map.Entry<byte[], byte[]> entry = iterator.next();
+            if (!isFromColumn(column, entry.getKey())) {
+              break;
+            }
+            values.put(
+                deserializeKey(column, entry.getKey()),
+                column.getValueSerializer().deserialize(entry.getValue()));
+          }
+          return values;
+        });
+  }
+
+  @Override
+  public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(
+      final KvStoreColumn<K, V> column, final K key) {
+    return withIterator(
+        iterator -> {
+          final byte[] matchingKey = getColumnKey(column, key);
+          iterator.seek(matchingKey);
+          if (!iterator.hasNext()) {
+            return getLastDatabaseEntryIfFromColumn(column, iterator)
+                .map(entry -> asColumnEntry(column, entry));
+          }
+
+          // Check if an exact match was found
+          final Map.Entry<byte[], byte[]> next = iterator.peekNext();
+          if (Arrays.equals(next.getKey(), matchingKey)) {
+            return Optional.of(
+                ColumnEntry.create(key, column.getValueSerializer().deserialize(next.getValue())));
+          }
+
+          // Otherwise check if the previous item is in our column.
+          if (iterator.hasPrev()) {
+            final Map.Entry<byte[], byte[]> prev = iterator.peekPrev();
+            if (isFromColumn(column, prev.getKey())) {
+              return asOptionalColumnEntry(column, prev);
+            }
+          }
+          // No entry in this column at or prior to the specified key
+          return Optional.empty();
+        });
+  }
+
+  @Override
+  public <K, V> Optional<ColumnEntry<K, V>> getFirstEntry(final KvStoreColumn<K, V> column) {
+    return withIterator(
+        iterator -> {
+          iterator.seek(column.getId().toArrayUnsafe());
+          if (iterator.hasNext()) {
+            return Optional.of(iterator.peekNext())
+                .filter(entry -> isFromColumn(column, entry.getKey()))
+                .map(entry -> asColumnEntry(column, entry));
+          }
+          return Optional.empty();
+        });
+  }
+
+  @Override
+  public <K, V> Optional<K> getLastKey(final KvStoreColumn<K, V> column) {
+    return withIterator(
+        iterator -> {
+          final byte[] keyAfterColumn = getKeyAfterColumn(column);
+          iterator.seek(keyAfterColumn);
+          if (!iterator.hasNext()) {
+            return getLastDatabaseEntryIfFromColumn(column, iterator)
+                .map(entry -> deserializeKey(column, entry.getKey()));
+          }
+          if (iterator.hasPrev()) {
+            return Optional.of(iterator.peekPrev())
+                .filter(entry -> isFromColumn(column, entry.getKey()))
+                .map(entry -> deserializeKey(column, entry.getKey()));
+          }
+          return Optional.empty();
+        });
+  }
+
+  /**
+   * LevelDB iterators have a slightly odd property where if you seek to an item that is after the
+   * last entry in the database, the iterator is invalid (no next or previous item).
+   *
+   * <p>We work around that by explicitly seeking the last item, and checking if it's part of the
+   * column we're interested in.
+   */
+  private <K, V> Optional<Map.Entry<byte[], byte[]>> getLastDatabaseEntryIfFromColumn(
+      final KvStoreColumn<K, V> column, final DBIterator iterator) {
+    iterator.seekToLast();
+    if (!iterator.hasNext()) {
+      // Empty database
+      return Optional.empty();
+    }
+    return Optional.of(iterator.peekNext()).filter(entry -> isFromColumn(column, entry.getKey()));
+  }
+
+  @Override
+  @MustBeClosed
+  public <K, V> Stream<ColumnEntry<K, V>> stream(final KvStoreColumn<K, V> column) {
+    // Note that the "to" key is actually after the end of the column and iteration is inclusive.
+    // Fortunately, we know that the "to" key can't exist because it is just the column ID with an
+    // empty item key and empty item keys are not allowed.
+    return stream(column, column.getId().toArrayUnsafe(), getKeyAfterColumn(column));
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<ColumnEntry<Bytes, Bytes>> streamRaw(final KvStoreColumn<?, ?> column) {
+    return streamRaw(column, column.getId().toArrayUnsafe(), getKeyAfterColumn(column))
+        .map(entry -> ColumnEntry.create(Bytes.wrap(entry.getKey()), Bytes.wrap(entry.getValue())));
+  }
+
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
+    assertOpen();
+    return Optional.ofNullable(db.get(getColumnKey(column, key), readOptions)).map(Bytes::wrap);
+  }
+
+  @Override
+  @MustBeClosed
+  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
+      final KvStoreColumn<K, V> column, final K from, final K to) {
+    final byte[] fromBytes = getColumnKey(column, from);
+    final byte[] toBytes = getColumnKey(column, to);
+    return stream(column, fromBytes, toBytes);
+  }
+
+  @MustBeClosed
+  private <K, V> Stream<ColumnEntry<K, V>> stream(
+      final KvStoreColumn<K, V> column, final byte[] fromBytes, final byte[] toBytes) {
+    return streamRaw(column, fromBytes, toBytes)
+        .map(
+            entry ->
+                ColumnEntry.create(
+                    column.getKeySerializer().deserialize(entry.getKey()),
+                    column.getValueSerializer().deserialize(entry.getValue())));
+  }
+
+  @MustBeClosed
+  private Stream<ColumnEntry<byte[], byte[]>> streamRaw(
+      final KvStoreColumn<?, ?> column, final byte[] fromBytes, final byte[] toBytes) {
+    assertOpen();
+    final DBIterator iterator = dbInstance.openIterator(iteratorOptions);
+    iterator.seek(fromBytes);
+    return new LevelDbIterator<>(dbInstance, iterator, column, toBytes)
+        .toStream()
+        .onClose(() -> dbInstance.closeIterator(iterator));
+  }
+
+  private <T> T withIterator(final Function<DBIterator, T> action) {
+    assertOpen();
+    return dbInstance.withIterator(iteratorOptions, action);
+  }
+
+  void assertOpen() {
+    dbInstance.assertOpen();
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.leveldb;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.Snapshot;
+import tech.pegasys.teku.storage.server.ShuttingDownException;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
+
+class LevelDbSnapshot extends LevelDbReader implements KvStoreSnapshot {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final LevelDbInstance dbInstance;
+  private final Snapshot snapshot;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  LevelDbSnapshot(final LevelDbInstance dbInstance, final DB db, final Snapshot snapshot) {
+    super(dbInstance, db, Optional.of(snapshot));
+    this.dbInstance = dbInstance;
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  void assertOpen() {
+    if (closed.get()) {
+      throw new ShuttingDownException();
+    }
+    super.assertOpen();
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      dbInstance.onSnapshotClosed(this);
+    }
+  }
+
+  void releaseResources() {
+    closed.set(true);
+    try {
+      snapshot.close();
+    } catch (final IOException e) {
+      LOG.error("Failed to release leveldb snapshot", e);
+    }
+  }
+}
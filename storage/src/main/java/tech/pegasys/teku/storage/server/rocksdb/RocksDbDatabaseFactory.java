@@ -53,13 +53,13 @@ public class RocksDbDatabaseFactory {
     final SchemaFinalizedSnapshotStateAdapter schemaFinalized = combinedSchema.asSchemaFinalized();
     final KvStoreAccessor hotDb =
         RocksDbInstanceFactory.create(
-            metricsSystem, STORAGE_HOT_DB, hotConfiguration, schemaHot.getAllColumns());
+            metricsSystem, STORAGE_HOT_DB, hotConfiguration, schemaHot.getColumnMap());
     final KvStoreAccessor finalizedDb =
         RocksDbInstanceFactory.create(
             metricsSystem,
             STORAGE_FINALIZED_DB,
             finalizedConfiguration,
-            schemaFinalized.getAllColumns());
+            schemaFinalized.getColumnMap());
     return KvStoreDatabase.createV4(
         hotDb,
         finalizedDb,
@@ -90,7 +90,7 @@ public class RocksDbDatabaseFactory {
 
     final KvStoreAccessor db =
         RocksDbInstanceFactory.create(
-            metricsSystem, STORAGE, hotConfiguration, schema.getAllColumns());
+            metricsSystem, STORAGE, hotConfiguration, schema.getColumnMap());
 
     return KvStoreDatabase.createWithStateSnapshots(
         db,
@@ -15,36 +15,29 @@ package tech.pegasys.teku.storage.server.rocksdb;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.MustBeClosed;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import org.apache.tuweni.bytes.Bytes;
-import org.rocksdb.AbstractRocksIterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.rocksdb.ColumnFamilyHandle;
-import org.rocksdb.RocksDBException;
-import org.rocksdb.RocksIterator;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.TransactionDB;
-import tech.pegasys.teku.storage.server.ShuttingDownException;
-import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
-import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
 
-public class RocksDbInstance implements KvStoreAccessor {
+public class RocksDbInstance extends RocksDbReader implements KvStoreAccessor {
 
-  private final TransactionDB db;
-  private final ColumnFamilyHandle defaultHandle;
-  private final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles;
+  private final TransactionDB transactionDb;
   private final List<AutoCloseable> resources;
-  private final Set<RocksDbTransaction> openTransactions = new HashSet<>();
+  private final Set<RocksDbTransaction> openTransactions = ConcurrentHashMap.newKeySet();
+  private final Set<RocksDbSnapshot> openSnapshots = ConcurrentHashMap.newKeySet();
 
+  // Opening transactions and snapshots only needs to exclude close, not each other
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   RocksDbInstance(
@@ -52,184 +45,92 @@ public class RocksDbInstance implements KvStoreAccessor {
       final ColumnFamilyHandle defaultHandle,
       final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles,
       final List<AutoCloseable> resources) {
-    this.db = db;
-    this.defaultHandle = defaultHandle;
-    this.columnHandles = columnHandles;
-    this.resources = resources;
+    this(db, defaultHandle, columnHandles, resources, new ReadOptions());
   }
 
-  @Override
-  public <T> Optional<T> get(KvStoreVariable<T> variable) {
-    return getRaw(variable).map(data -> variable.getSerializer().deserialize(data.toArrayUnsafe()));
+  private RocksDbInstance(
+      final TransactionDB db,
+      final ColumnFamilyHandle defaultHandle,
+      final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles,
+      final List<AutoCloseable> resources,
+      final ReadOptions readOptions) {
+    super(db, defaultHandle, columnHandles, readOptions);
+    this.transactionDb = db;
+    this.resources = resources;
+    resources.add(readOptions);
   }
 
   @Override
-  public Optional<Bytes> getRaw(final KvStoreVariable<?> variable) {
-    assertOpen();
-    try {
-      return Optional.ofNullable(db.get(defaultHandle, variable.getId().toArrayUnsafe()))
-          .map(Bytes::wrap);
-    } catch (RocksDBException e) {
-      throw RocksDbExceptionUtil.wrapException("Failed to get value", e);
-    }
+  protected boolean isClosed() {
+    return closed.get();
   }
 
   @Override
-  public <K, V> Optional<V> get(KvStoreColumn<K, V> column, K key) {
-    assertOpen();
-    final ColumnFamilyHandle handle = columnHandles.get(column);
-    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+  @MustBeClosed
+  public KvStoreTransaction startTransaction() {
+    final Lock lock = closeLock.readLock();
+    lock.lock();
     try {
-      return Optional.ofNullable(db.get(handle, keyBytes))
-          .map(data -> column.getValueSerializer().deserialize(data));
-    } catch (RocksDBException e) {
-      throw RocksDbExceptionUtil.wrapException("Failed to get value", e);
-    }
-  }
-
-  @Override
-  public long size(final KvStoreColumn<?, ?> column) {
-    assertOpen();
-    try (final Stream<?> rawStream = streamRaw(column)) {
-      return rawStream.count();
-    }
-  }
-
-  @Override
-  public <K, V> Map<K, V> getAll(KvStoreColumn<K, V> column) {
-    assertOpen();
-    try (final Stream<ColumnEntry<K, V>> stream = stream(column)) {
-      return stream.collect(Collectors.toMap(ColumnEntry::getKey, ColumnEntry::getValue));
-    }
-  }
-
-  @Override
-  public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(KvStoreColumn<K, V> column, final K key) {
-    assertOpen();
-    final byte[] keyBytes = column.getKeySerializer().serialize(key);
-    final Consumer<RocksIterator> setupIterator = it -> it.seekForPrev(keyBytes);
-    try (final Stream<ColumnEntry<K, V>> stream = createStream(column, setupIterator)) {
-      return stream.findFirst();
+      assertOpen();
+      RocksDbTransaction tx =
+          new RocksDbTransaction(
+              transactionDb, defaultHandle, columnHandles, openTransactions::remove);
+      openTransactions.add(tx);
+      return tx;
+    } finally {
+      lock.unlock();
     }
   }
 
-  @Override
-  public <K, V> Optional<ColumnEntry<K, V>> getFirstEntry(final KvStoreColumn<K, V> column) {
-    assertOpen();
-    try (final Stream<ColumnEntry<K, V>> stream =
-        createStream(column, AbstractRocksIterator::seekToFirst)) {
-      return stream.findFirst();
-    }
-  }
-
-  @Override
-  public <K, V> Optional<K> getLastKey(final KvStoreColumn<K, V> column) {
-    assertOpen();
-    final ColumnFamilyHandle handle = columnHandles.get(column);
-    try (final RocksIterator rocksDbIterator = db.newIterator(handle)) {
-      rocksDbIterator.seekToLast();
-      return rocksDbIterator.isValid()
-          ? Optional.of(column.getKeySerializer().deserialize(rocksDbIterator.key()))
-          : Optional.empty();
-    }
-  }
-
-  @Override
-  @MustBeClosed
-  public <K, V> Stream<ColumnEntry<K, V>> stream(KvStoreColumn<K, V> column) {
-    assertOpen();
-    return createStream(column, RocksIterator::seekToFirst);
-  }
-
   @Override
   @MustBeClosed
-  public Stream<ColumnEntry<Bytes, Bytes>> streamRaw(final KvStoreColumn<?, ?> column) {
-    assertOpen();
-    return createStreamRaw(column, RocksIterator::seekToFirst, key -> true)
-        .map(entry -> ColumnEntry.create(Bytes.wrap(entry.getKey()), Bytes.wrap(entry.getValue())));
-  }
-
-  @Override
-  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
-    assertOpen();
-    final ColumnFamilyHandle handle = columnHandles.get(column);
-    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+  public KvStoreSnapshot snapshot() {
+    final Lock lock = closeLock.readLock();
+    lock.lock();
     try {
-      return Optional.ofNullable(db.get(handle, keyBytes)).map(Bytes::wrap);
-    } catch (RocksDBException e) {
-      throw RocksDbExceptionUtil.wrapException("Failed to get value", e);
+      assertOpen();
+      final RocksDbSnapshot snapshot =
+          RocksDbSnapshot.create(db, defaultHandle, columnHandles, this::isClosed, this::release);
+      openSnapshots.add(snapshot);
+      return snapshot;
+    } finally {
+      lock.unlock();
     }
   }
 
-  @Override
-  @MustBeClosed
-  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
-      final KvStoreColumn<K, V> column, final K from, final K to) {
-    assertOpen();
-    return createStream(
-        column,
-        iter -> iter.seek(column.getKeySerializer().serialize(from)),
-        key -> key.compareTo(to) <= 0);
-  }
-
-  @Override
-  @MustBeClosed
-  public synchronized KvStoreTransaction startTransaction() {
-    assertOpen();
-    RocksDbTransaction tx =
-        new RocksDbTransaction(db, defaultHandle, columnHandles, openTransactions::remove);
-    openTransactions.add(tx);
-    return tx;
-  }
-
-  @MustBeClosed
-  private <K, V> Stream<ColumnEntry<K, V>> createStream(
-      KvStoreColumn<K, V> column, Consumer<RocksIterator> setupIterator) {
-    return createStream(column, setupIterator, key -> true);
-  }
-
-  @MustBeClosed
-  private <K, V> Stream<ColumnEntry<K, V>> createStream(
-      KvStoreColumn<K, V> column,
-      Consumer<RocksIterator> setupIterator,
-      Predicate<K> continueTest) {
-
-    return createStreamRaw(column, setupIterator, continueTest)
-        .map(
-            entry ->
-                ColumnEntry.create(
-                    column.getKeySerializer().deserialize(entry.getKey()),
-                    column.getValueSerializer().deserialize(entry.getValue())));
-  }
-
-  @SuppressWarnings("MustBeClosedChecker")
-  @MustBeClosed
-  private <K, V> Stream<ColumnEntry<byte[], byte[]>> createStreamRaw(
-      KvStoreColumn<K, V> column,
-      Consumer<RocksIterator> setupIterator,
-      Predicate<K> continueTest) {
-    final ColumnFamilyHandle handle = columnHandles.get(column);
-    final RocksIterator rocksDbIterator = db.newIterator(handle);
-    setupIterator.accept(rocksDbIterator);
-    return RocksDbIterator.create(column, rocksDbIterator, continueTest, closed::get).toStream();
-  }
-
-  @Override
-  public synchronized void close() throws Exception {
-    if (closed.compareAndSet(false, true)) {
-      for (RocksDbTransaction openTransaction : openTransactions) {
-        openTransaction.closeViaDatabase();
-      }
-      db.syncWal();
-      for (final AutoCloseable resource : resources) {
-        resource.close();
+  private void release(final RocksDbSnapshot snapshot) {
+    final Lock lock = closeLock.readLock();
+    lock.lock();
+    try {
+      // Once the database is closed, the snapshot was already released by close
+      if (openSnapshots.remove(snapshot) && !closed.get()) {
+        snapshot.releaseResources();
       }
+    } finally {
+      lock.unlock();
     }
   }
 
-  private void assertOpen() {
-    if (closed.get()) {
-      throw new ShuttingDownException();
+  @Override
+  public void close() throws Exception {
+    final Lock lock = closeLock.writeLock();
+    lock.lock();
+    try {
+      if (closed.compareAndSet(false, true)) {
+        for (RocksDbTransaction openTransaction : openTransactions) {
+          openTransaction.closeViaDatabase();
+        }
+        for (RocksDbSnapshot openSnapshot : openSnapshots) {
+          openSnapshot.releaseResources();
+        }
+        openSnapshots.clear();
+        transactionDb.syncWal();
+        for (final AutoCloseable resource : resources) {
+          resource.close();
+        }
+      }
+    } finally {
+      lock.unlock();
     }
   }
 }
@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -26,11 +27,14 @@ import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
+import org.rocksdb.DataBlockIndexType;
 import org.rocksdb.Env;
 import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDBException;
@@ -41,9 +45,14 @@ import tech.pegasys.teku.storage.server.DatabaseStorageException;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreConfiguration;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumnProfile;
 import tech.pegasys.teku.storage.server.kvstore.schema.Schema;
 
 public class RocksDbInstanceFactory {
+  // Roughly a 1% false positive rate
+  private static final double BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final long LARGE_VALUES_BLOCK_SIZE = 64 * 1024;
+
   static {
     RocksDbUtil.loadNativeLibrary();
   }
@@ -52,10 +61,11 @@ public class RocksDbInstanceFactory {
       final MetricsSystem metricsSystem,
       final MetricCategory metricCategory,
       final KvStoreConfiguration configuration,
-      final Collection<KvStoreColumn<?, ?>> columns)
+      final Map<String, KvStoreColumn<?, ?>> columnsByName)
       throws DatabaseStorageException {
     // Track resources that need to be closed
 
+    final Collection<KvStoreColumn<?, ?>> columns = columnsByName.values();
     checkArgument(
         columns.stream().map(KvStoreColumn::getId).distinct().count() == columns.size(),
         "Column IDs are not distinct");
@@ -65,16 +75,18 @@ public class RocksDbInstanceFactory {
     final RocksDbStats rocksDbStats = new RocksDbStats(metricsSystem, metricCategory);
     final DBOptions dbOptions = createDBOptions(configuration, rocksDbStats.getStats());
     final LRUCache blockCache = new LRUCache(configuration.getCacheCapacity());
-    final ColumnFamilyOptions columnFamilyOptions =
-        createColumnFamilyOptions(configuration, blockCache);
     final List<AutoCloseable> resources =
-        new ArrayList<>(
-            List.of(txOptions, dbOptions, columnFamilyOptions, rocksDbStats, blockCache));
+        new ArrayList<>(List.of(txOptions, dbOptions, rocksDbStats, blockCache));
+    final Map<KvStoreColumnProfile, ColumnFamilyOptions> columnFamilyOptions =
+        createColumnFamilyOptions(configuration, blockCache, resources);
 
     List<ColumnFamilyDescriptor> columnDescriptors =
         createColumnFamilyDescriptors(columns, columnFamilyOptions);
     Map<Bytes, KvStoreColumn<?, ?>> columnsById =
         columns.stream().collect(Collectors.toMap(KvStoreColumn::getId, Function.identity()));
+    Map<Bytes, String> columnNamesById =
+        columnsByName.entrySet().stream()
+            .collect(Collectors.toMap(entry -> entry.getValue().getId(), Map.Entry::getKey));
 
     try {
       // columnHandles will be filled when the db is opened
@@ -89,12 +101,15 @@ public class RocksDbInstanceFactory {
 
       final ImmutableMap.Builder<KvStoreColumn<?, ?>, ColumnFamilyHandle> builder =
           ImmutableMap.builder();
+      final ImmutableMap.Builder<String, ColumnFamilyHandle> handlesByName =
+          ImmutableMap.builder();
       for (ColumnFamilyHandle columnHandle : columnHandles) {
         final Bytes columnId = Bytes.wrap(columnHandle.getName());
         final KvStoreColumn<?, ?> column = columnsById.get(columnId);
         if (column != null) {
           // We need to check for null because the default column will not match a RocksDbColumn
           builder.put(column, columnHandle);
+          handlesByName.put(columnNamesById.get(columnId), columnHandle);
         }
         resources.add(columnHandle);
       }
@@ -104,6 +119,7 @@ public class RocksDbInstanceFactory {
       resources.add(db);
 
       rocksDbStats.registerMetrics(db);
+      rocksDbStats.registerColumnMetrics(db, handlesByName.build());
 
       return new RocksDbInstance(db, defaultHandle, columnHandlesMap, resources);
     } catch (RocksDBException e) {
@@ -147,24 +163,63 @@ public class RocksDbInstanceFactory {
     return options;
   }
 
-  private static ColumnFamilyOptions createColumnFamilyOptions(
-      final KvStoreConfiguration configuration, final Cache cache) {
-    return new ColumnFamilyOptions()
-        .setCompressionType(configuration.getCompressionType())
-        .setBottommostCompressionType(configuration.getBottomMostCompressionType())
-        .setTableFormatConfig(createBlockBasedTableConfig(cache));
+  private static Map<KvStoreColumnProfile, ColumnFamilyOptions> createColumnFamilyOptions(
+      final KvStoreConfiguration configuration,
+      final Cache cache,
+      final List<AutoCloseable> resources) {
+    final Map<KvStoreColumnProfile, ColumnFamilyOptions> optionsByProfile =
+        new EnumMap<>(KvStoreColumnProfile.class);
+    for (KvStoreColumnProfile profile : KvStoreColumnProfile.values()) {
+      final BlockBasedTableConfig tableConfig = createBlockBasedTableConfig(cache);
+      final ColumnFamilyOptions options =
+          new ColumnFamilyOptions()
+              .setCompressionType(configuration.getCompressionType())
+              .setBottommostCompressionType(configuration.getBottomMostCompressionType());
+      resources.add(options);
+      switch (profile) {
+        case ROOT_KEYED:
+          // Keys are hashes so the whole key is the only useful prefix
+          final BloomFilter rootFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+          resources.add(rootFilter);
+          tableConfig.setFilterPolicy(rootFilter).setWholeKeyFiltering(true);
+          break;
+        case LARGE_VALUES:
+          tableConfig.setBlockSize(LARGE_VALUES_BLOCK_SIZE);
+          options
+              .setCompressionType(CompressionType.ZSTD_COMPRESSION)
+              .setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+          break;
+        case POINT_LOOKUP:
+          final BloomFilter pointFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+          resources.add(pointFilter);
+          tableConfig
+              .setFilterPolicy(pointFilter)
+              .setDataBlockIndexType(DataBlockIndexType.kDataBlockBinaryAndHash);
+          break;
+        case DEFAULT:
+        default:
+          break;
+      }
+      options.setTableFormatConfig(tableConfig);
+      optionsByProfile.put(profile, options);
+    }
+    return optionsByProfile;
   }
 
   private static List<ColumnFamilyDescriptor> createColumnFamilyDescriptors(
       final Collection<KvStoreColumn<?, ?>> columns,
-      final ColumnFamilyOptions columnFamilyOptions) {
+      final Map<KvStoreColumnProfile, ColumnFamilyOptions> columnFamilyOptions) {
     List<ColumnFamilyDescriptor> columnDescriptors =
         columns.stream()
             .map(
-                col -> new ColumnFamilyDescriptor(col.getId().toArrayUnsafe(), columnFamilyOptions))
+                col ->
+                    new ColumnFamilyDescriptor(
+                        col.getId().toArrayUnsafe(), columnFamilyOptions.get(col.getProfile())))
             .collect(Collectors.toList());
     columnDescriptors.add(
-        new ColumnFamilyDescriptor(Schema.DEFAULT_COLUMN_ID.toArrayUnsafe(), columnFamilyOptions));
+        new ColumnFamilyDescriptor(
+            Schema.DEFAULT_COLUMN_ID.toArrayUnsafe(),
+            columnFamilyOptions.get(KvStoreColumnProfile.DEFAULT)));
     return columnDescriptors;
   }
 
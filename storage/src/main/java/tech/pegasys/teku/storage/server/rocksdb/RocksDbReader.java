@@ -0,0 +1,213 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.MustBeClosed;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.rocksdb.AbstractRocksIterator;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import tech.pegasys.teku.storage.server.ShuttingDownException;
+import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreReader;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
+
+/**
+ * Read operations against a RocksDB database. All reads use the same {@link ReadOptions} so a
+ * reader can be bound to either the latest database state or a fixed snapshot.
+ */
+abstract class RocksDbReader implements KvStoreReader {
+
+  protected final RocksDB db;
+  protected final ColumnFamilyHandle defaultHandle;
+  protected final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles;
+  private final ReadOptions readOptions;
+
+  RocksDbReader(
+      final RocksDB db,
+      final ColumnFamilyHandle defaultHandle,
+      final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles,
+      final ReadOptions readOptions) {
+    this.db = db;
+    this.defaultHandle = defaultHandle;
+    this.columnHandles = columnHandles;
+    this.readOptions = readOptions;
+  }
+
+  protected abstract boolean isClosed();
+
+  @Override
+  public <T> Optional<T> get(KvStoreVariable<T> variable) {
+    return getRaw(variable).map(data -> variable.getSerializer().deserialize(data.toArrayUnsafe()));
+  }
+
+  @Override
+  public Optional<Bytes> getRaw(final KvStoreVariable<?> variable) {
+    assertOpen();
+    try {
+      return Optional.ofNullable(
+              db.get(defaultHandle, readOptions, variable.getId().toArrayUnsafe()))
+          .map(Bytes::wrap);
+    } catch (RocksDBException e) {
+      throw RocksDbExceptionUtil.wrapException("Failed to get value", e);
+    }
+  }
+
+  @Override
+  public <K, V> Optional<V> get(KvStoreColumn<K, V> column, K key) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+    try {
+      return Optional.ofNullable(db.get(handle, readOptions, keyBytes))
+          .map(data -> column.getValueSerializer().deserialize(data));
+    } catch (RocksDBException e) {
+      throw RocksDbExceptionUtil.wrapException("Failed to get value", e);
+    }
+  }
+
+  @Override
+  public long size(final KvStoreColumn<?, ?> column) {
+    assertOpen();
+    try (final Stream<?> rawStream = streamRaw(column)) {
+      return rawStream.count();
+    }
+  }
+
+  @Override
+  public <K, V> Map<K, V> getAll(KvStoreColumn<K, V> column) {
+    assertOpen();
+    try (final Stream<ColumnEntry<K, V>> stream = stream(column)) {
+      return stream.collect(Collectors.toMap(ColumnEntry::getKey, ColumnEntry::getValue));
+    }
+  }
+
+  @Override
+  public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(KvStoreColumn<K, V> column, final K key) {
+    assertOpen();
+    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+    final Consumer<RocksIterator> setupIterator = it -> it.seekForPrev(keyBytes);
+    try (final Stream<ColumnEntry<K, V>> stream = createStream(column, setupIterator)) {
+      return stream.findFirst();
+    }
+  }
+
+  @Override
+  public <K, V> Optional<ColumnEntry<K, V>> getFirstEntry(final KvStoreColumn<K, V> column) {
+    assertOpen();
+    try (final Stream<ColumnEntry<K, V>> stream =
+        createStream(column, AbstractRocksIterator::seekToFirst)) {
+      return stream.findFirst();
+    }
+  }
+
+  @Override
+  public <K, V> Optional<K> getLastKey(final KvStoreColumn<K, V> column) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    try (final RocksIterator rocksDbIterator = db.newIterator(handle, readOptions)) {
+      rocksDbIterator.seekToLast();
+      return rocksDbIterator.isValid()
+          ? Optional.of(column.getKeySerializer().deserialize(rocksDbIterator.key()))
+          : Optional.empty();
+    }
+  }
+
+  @Override
+  @MustBeClosed
+  public <K, V> Stream<ColumnEntry<K, V>> stream(KvStoreColumn<K, V> column) {
+    assertOpen();
+    return createStream(column, RocksIterator::seekToFirst);
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<ColumnEntry<Bytes, Bytes>> streamRaw(final KvStoreColumn<?, ?> column) {
+    assertOpen();
+    return createStreamRaw(column, RocksIterator::seekToFirst, key -> true)
+        .map(entry -> ColumnEntry.create(Bytes.wrap(entry.getKey()), Bytes.wrap(entry.getValue())));
+  }
+
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+    try {
+      return Optional.ofNullable(db.get(handle, readOptions, keyBytes)).map(Bytes::wrap);
+    } catch (RocksDBException e) {
+      throw RocksDbExceptionUtil.wrapException("Failed to get value", e);
+    }
+  }
+
+  @Override
+  @MustBeClosed
+  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
+      final KvStoreColumn<K, V> column, final K from, final K to) {
+    assertOpen();
+    return createStream(
+        column,
+        iter -> iter.seek(column.getKeySerializer().serialize(from)),
+        key -> key.compareTo(to) <= 0);
+  }
+
+  @MustBeClosed
+  private <K, V> Stream<ColumnEntry<K, V>> createStream(
+      KvStoreColumn<K, V> column, Consumer<RocksIterator> setupIterator) {
+    return createStream(column, setupIterator, key -> true);
+  }
+
+  @MustBeClosed
+  private <K, V> Stream<ColumnEntry<K, V>> createStream(
+      KvStoreColumn<K, V> column,
+      Consumer<RocksIterator> setupIterator,
+      Predicate<K> continueTest) {
+
+    return createStreamRaw(column, setupIterator, continueTest)
+        .map(
+            entry ->
+                ColumnEntry.create(
+                    column.getKeySerializer().deserialize(entry.getKey()),
+                    column.getValueSerializer().deserialize(entry.getValue())));
+  }
+
+  @SuppressWarnings("MustBeClosedChecker")
+  @MustBeClosed
+  private <K, V> Stream<ColumnEntry<byte[], byte[]>> createStreamRaw(
+      KvStoreColumn<K, V> column,
+      Consumer<RocksIterator> setupIterator,
+      Predicate<K> continueTest) {
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final RocksIterator rocksDbIterator = db.newIterator(handle, readOptions);
+    setupIterator.accept(rocksDbIterator);
+    return RocksDbIterator.create(column, rocksDbIterator, continueTest, this::isClosed).toStream();
+  }
+
+  protected void assertOpen() {
+    if (isClosed()) {
+      throw new ShuttingDownException();
+    }
+  }
+}
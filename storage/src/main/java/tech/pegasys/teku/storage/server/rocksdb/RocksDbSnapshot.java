@@ -0,0 +1,83 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.Snapshot;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreSnapshot;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+
+/**
+ * A consistent point-in-time view of a RocksDB database. RocksDB snapshots are lock free for
+ * readers so any number of threads can read through a snapshot concurrently.
+ */
+class RocksDbSnapshot extends RocksDbReader implements KvStoreSnapshot {
+
+  private final Snapshot snapshot;
+  private final ReadOptions readOptions;
+  private final Supplier<Boolean> isDatabaseClosed;
+  private final Consumer<RocksDbSnapshot> onClosed;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private RocksDbSnapshot(
+      final RocksDB db,
+      final ColumnFamilyHandle defaultHandle,
+      final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles,
+      final Snapshot snapshot,
+      final ReadOptions readOptions,
+      final Supplier<Boolean> isDatabaseClosed,
+      final Consumer<RocksDbSnapshot> onClosed) {
+    super(db, defaultHandle, columnHandles, readOptions);
+    this.snapshot = snapshot;
+    this.readOptions = readOptions;
+    this.isDatabaseClosed = isDatabaseClosed;
+    this.onClosed = onClosed;
+  }
+
+  static RocksDbSnapshot create(
+      final RocksDB db,
+      final ColumnFamilyHandle defaultHandle,
+      final ImmutableMap<KvStoreColumn<?, ?>, ColumnFamilyHandle> columnHandles,
+      final Supplier<Boolean> isDatabaseClosed,
+      final Consumer<RocksDbSnapshot> onClosed) {
+    final Snapshot snapshot = db.getSnapshot();
+    final ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot);
+    return new RocksDbSnapshot(
+        db, defaultHandle, columnHandles, snapshot, readOptions, isDatabaseClosed, onClosed);
+  }
+
+  @Override
+  protected boolean isClosed() {
+    return closed.get() || isDatabaseClosed.get();
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      onClosed.accept(this);
+    }
+  }
+
+  void releaseResources() {
+    closed.set(true);
+    readOptions.close();
+    db.releaseSnapshot(snapshot);
+  }
+}
@@ -13,16 +13,20 @@
 
 package tech.pegasys.teku.storage.server.rocksdb;
 
+import com.google.common.collect.ImmutableMap;
 import io.prometheus.client.Collector;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.HistogramData;
 import org.rocksdb.HistogramType;
 import org.rocksdb.RocksDB;
@@ -175,6 +179,22 @@ public class RocksDbStats implements AutoCloseable {
     HistogramType.READ_NUM_MERGE_OPERANDS,
   };
 
+  // Column family properties - reported per column as the Statistics above are database wide
+  static final Map<String, String> COLUMN_PROPERTIES =
+      ImmutableMap.<String, String>builder()
+          .put("column_estimated_num_keys", "rocksdb.estimate-num-keys")
+          .put("column_total_sst_files_size", "rocksdb.total-sst-files-size")
+          .put("column_live_data_size", "rocksdb.estimate-live-data-size")
+          .put("column_current_size_all_mem_tables", "rocksdb.cur-size-all-mem-tables")
+          .put("column_num_entries_active_mem_table", "rocksdb.num-entries-active-mem-table")
+          .put("column_num_deletes_active_mem_table", "rocksdb.num-deletes-active-mem-table")
+          .put(
+              "column_estimated_pending_compaction_bytes",
+              "rocksdb.estimate-pending-compaction-bytes")
+          .put("column_compaction_pending", "rocksdb.compaction-pending")
+          .put("column_estimated_table_readers_memory", "rocksdb.estimate-table-readers-mem")
+          .build();
+
   private boolean closed = false;
   private final Statistics stats;
   private final MetricsSystem metricsSystem;
@@ -219,6 +239,37 @@ public class RocksDbStats implements AutoCloseable {
     }
   }
 
+  public void registerColumnMetrics(
+      final RocksDB database, final Map<String, ColumnFamilyHandle> columnHandles) {
+    COLUMN_PROPERTIES.forEach(
+        (metricName, property) -> {
+          final LabelledGauge gauge =
+              metricsSystem.createLabelledGauge(
+                  category,
+                  metricName,
+                  "RocksDB reported property " + property + " for each column",
+                  "column");
+          columnHandles.forEach(
+              (columnName, handle) ->
+                  gauge.labels(
+                      () -> getLongProperty(database, handle, property), columnName.toLowerCase()));
+        });
+  }
+
+  private long getLongProperty(
+      final RocksDB database, final ColumnFamilyHandle handle, final String name) {
+    return ifOpen(
+        () -> {
+          try {
+            return database.getLongProperty(handle, name);
+          } catch (RocksDBException e) {
+            LOG.warn("Failed to load " + name + " column property for RocksDB metrics");
+            return 0L;
+          }
+        },
+        0L);
+  }
+
   private long getLongProperty(final RocksDB database, final String name) {
     return ifOpen(
         () -> {
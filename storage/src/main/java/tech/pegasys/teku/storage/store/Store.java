@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
@@ -54,6 +55,7 @@ import tech.pegasys.teku.spec.datastructures.blocks.StateAndBlockSummary;
 import tech.pegasys.teku.spec.datastructures.execution.SlotAndExecutionPayloadSummary;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater.VoteVisitor;
 import tech.pegasys.teku.spec.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.spec.datastructures.state.BlockRootAndState;
@@ -94,7 +96,7 @@ class Store implements UpdatableStore {
   final CachingTaskQueue<Bytes32, StateAndBlockSummary> states;
   final Map<Bytes32, SignedBeaconBlock> blocks;
   final CachingTaskQueue<SlotAndBlockRoot, BeaconState> checkpointStates;
-  VoteTracker[] votes;
+  final VoteTable votes;
   UInt64 highestVotedValidatorIndex;
 
   private Store(
@@ -141,8 +143,10 @@ class Store implements UpdatableStore {
     this.highestVotedValidatorIndex =
         votes.keySet().stream().max(Comparator.naturalOrder()).orElse(UInt64.ZERO);
     this.votes =
-        new VoteTracker[this.highestVotedValidatorIndex.intValue() + VOTE_TRACKER_SPARE_CAPACITY];
-    votes.forEach((key, value) -> this.votes[key.intValue()] = value);
+        new VoteTable(
+            this.highestVotedValidatorIndex.intValue() + VOTE_TRACKER_SPARE_CAPACITY,
+            VOTE_TRACKER_SPARE_CAPACITY);
+    votes.forEach((key, value) -> this.votes.put(key.intValue(), value));
 
     // Track latest finalized block
     this.finalizedAnchor = finalizedAnchor;
@@ -196,7 +200,8 @@ class Store implements UpdatableStore {
         ForkChoiceStrategy.initialize(
             spec,
             buildProtoArray(
-                spec, blockInfoByRoot, initialCheckpoint, justifiedCheckpoint, finalizedAnchor));
+                spec, blockInfoByRoot, initialCheckpoint, justifiedCheckpoint, finalizedAnchor),
+            metricsSystem);
 
     return new Store(
         metricsSystem,
@@ -278,6 +283,18 @@ class Store implements UpdatableStore {
     return forkChoiceStrategy;
   }
 
+  @Override
+  public List<BeaconState> getCachedBlockStates() {
+    return states.getCachedValues().stream()
+        .map(StateAndBlockSummary::getState)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<BeaconState> getCachedCheckpointStates() {
+    return checkpointStates.getCachedValues();
+  }
+
   @Override
   public StoreTransaction startTransaction(final StorageUpdateChannel storageUpdateChannel) {
     return startTransaction(storageUpdateChannel, StoreUpdateHandler.NOOP);
@@ -521,10 +538,16 @@ class Store implements UpdatableStore {
   VoteTracker getVote(UInt64 validatorIndex) {
     readLock.lock();
     try {
-      if (validatorIndex.intValue() >= votes.length) {
-        return null;
-      }
-      return votes[validatorIndex.intValue()];
+      return votes.get(validatorIndex.intValue());
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  void forEachVote(final int voteCount, final VoteVisitor visitor) {
+    readLock.lock();
+    try {
+      votes.forEach(voteCount, visitor);
     } finally {
       readLock.unlock();
     }
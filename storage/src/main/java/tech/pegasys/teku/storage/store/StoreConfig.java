@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.util.Objects;
 import tech.pegasys.teku.infrastructure.exceptions.InvalidConfigurationException;
+import tech.pegasys.teku.infrastructure.ssz.tree.SerializedSubtreeCache;
 
 public class StoreConfig {
   public static final int MAX_CACHE_SIZE = 10_000;
@@ -26,21 +27,34 @@ public class StoreConfig {
   public static final int DEFAULT_BLOCK_CACHE_SIZE = DEFAULT_STATE_CACHE_SIZE * 2;
   public static final int DEFAULT_CHECKPOINT_STATE_CACHE_SIZE = 20;
   public static final int DEFAULT_HOT_STATE_PERSISTENCE_FREQUENCY_IN_EPOCHS = 2;
+  public static final long DEFAULT_SERIALIZED_BLOCK_CACHE_SIZE_IN_BYTES = 64 * 1024 * 1024;
+  public static final long DEFAULT_SERIALIZED_SUBTREE_CACHE_SIZE_IN_BYTES =
+      SerializedSubtreeCache.DEFAULT_MAX_SIZE_IN_BYTES;
+  public static final boolean DEFAULT_VALIDATOR_PUBLIC_KEY_PERSISTENCE_ENABLED = false;
 
   private final int stateCacheSize;
   private final int blockCacheSize;
   private final int checkpointStateCacheSize;
   private final int hotStatePersistenceFrequencyInEpochs;
+  private final long serializedBlockCacheSizeInBytes;
+  private final long serializedSubtreeCacheSizeInBytes;
+  private final boolean validatorPublicKeyPersistenceEnabled;
 
   private StoreConfig(
       final int stateCacheSize,
       final int blockCacheSize,
       final int checkpointStateCacheSize,
-      final int hotStatePersistenceFrequencyInEpochs) {
+      final int hotStatePersistenceFrequencyInEpochs,
+      final long serializedBlockCacheSizeInBytes,
+      final long serializedSubtreeCacheSizeInBytes,
+      final boolean validatorPublicKeyPersistenceEnabled) {
     this.stateCacheSize = stateCacheSize;
     this.blockCacheSize = blockCacheSize;
     this.checkpointStateCacheSize = checkpointStateCacheSize;
     this.hotStatePersistenceFrequencyInEpochs = hotStatePersistenceFrequencyInEpochs;
+    this.serializedBlockCacheSizeInBytes = serializedBlockCacheSizeInBytes;
+    this.serializedSubtreeCacheSizeInBytes = serializedSubtreeCacheSizeInBytes;
+    this.validatorPublicKeyPersistenceEnabled = validatorPublicKeyPersistenceEnabled;
   }
 
   public static Builder builder() {
@@ -67,6 +81,18 @@ public class StoreConfig {
     return hotStatePersistenceFrequencyInEpochs;
   }
 
+  public long getSerializedBlockCacheSizeInBytes() {
+    return serializedBlockCacheSizeInBytes;
+  }
+
+  public long getSerializedSubtreeCacheSizeInBytes() {
+    return serializedSubtreeCacheSizeInBytes;
+  }
+
+  public boolean isValidatorPublicKeyPersistenceEnabled() {
+    return validatorPublicKeyPersistenceEnabled;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -79,7 +105,10 @@ public class StoreConfig {
     return stateCacheSize == that.stateCacheSize
         && blockCacheSize == that.blockCacheSize
         && checkpointStateCacheSize == that.checkpointStateCacheSize
-        && hotStatePersistenceFrequencyInEpochs == that.hotStatePersistenceFrequencyInEpochs;
+        && hotStatePersistenceFrequencyInEpochs == that.hotStatePersistenceFrequencyInEpochs
+        && serializedBlockCacheSizeInBytes == that.serializedBlockCacheSizeInBytes
+        && serializedSubtreeCacheSizeInBytes == that.serializedSubtreeCacheSizeInBytes
+        && validatorPublicKeyPersistenceEnabled == that.validatorPublicKeyPersistenceEnabled;
   }
 
   @Override
@@ -88,7 +117,10 @@ public class StoreConfig {
         stateCacheSize,
         blockCacheSize,
         checkpointStateCacheSize,
-        hotStatePersistenceFrequencyInEpochs);
+        hotStatePersistenceFrequencyInEpochs,
+        serializedBlockCacheSizeInBytes,
+        serializedSubtreeCacheSizeInBytes,
+        validatorPublicKeyPersistenceEnabled);
   }
 
   public static class Builder {
@@ -97,6 +129,11 @@ public class StoreConfig {
     private int checkpointStateCacheSize = DEFAULT_CHECKPOINT_STATE_CACHE_SIZE;
     private int hotStatePersistenceFrequencyInEpochs =
         DEFAULT_HOT_STATE_PERSISTENCE_FREQUENCY_IN_EPOCHS;
+    private long serializedBlockCacheSizeInBytes = DEFAULT_SERIALIZED_BLOCK_CACHE_SIZE_IN_BYTES;
+    private long serializedSubtreeCacheSizeInBytes =
+        DEFAULT_SERIALIZED_SUBTREE_CACHE_SIZE_IN_BYTES;
+    private boolean validatorPublicKeyPersistenceEnabled =
+        DEFAULT_VALIDATOR_PUBLIC_KEY_PERSISTENCE_ENABLED;
 
     private Builder() {}
 
@@ -105,7 +142,10 @@ public class StoreConfig {
           stateCacheSize,
           blockCacheSize,
           checkpointStateCacheSize,
-          hotStatePersistenceFrequencyInEpochs);
+          hotStatePersistenceFrequencyInEpochs,
+          serializedBlockCacheSizeInBytes,
+          serializedSubtreeCacheSizeInBytes,
+          validatorPublicKeyPersistenceEnabled);
     }
 
     public Builder stateCacheSize(final int stateCacheSize) {
@@ -138,6 +178,33 @@ public class StoreConfig {
       return this;
     }
 
+    public Builder serializedBlockCacheSizeInBytes(final long serializedBlockCacheSizeInBytes) {
+      if (serializedBlockCacheSizeInBytes < 0) {
+        throw new InvalidConfigurationException(
+            String.format(
+                "Invalid serializedBlockCacheSizeInBytes: %d", serializedBlockCacheSizeInBytes));
+      }
+      this.serializedBlockCacheSizeInBytes = serializedBlockCacheSizeInBytes;
+      return this;
+    }
+
+    public Builder serializedSubtreeCacheSizeInBytes(final long serializedSubtreeCacheSizeInBytes) {
+      if (serializedSubtreeCacheSizeInBytes < 0) {
+        throw new InvalidConfigurationException(
+            String.format(
+                "Invalid serializedSubtreeCacheSizeInBytes: %d",
+                serializedSubtreeCacheSizeInBytes));
+      }
+      this.serializedSubtreeCacheSizeInBytes = serializedSubtreeCacheSizeInBytes;
+      return this;
+    }
+
+    public Builder validatorPublicKeyPersistenceEnabled(
+        final boolean validatorPublicKeyPersistenceEnabled) {
+      this.validatorPublicKeyPersistenceEnabled = validatorPublicKeyPersistenceEnabled;
+      return this;
+    }
+
     private void validateCacheSize(final int cacheSize) {
       checkArgument(cacheSize >= 0, "Cache size cannot be negative");
       checkArgument(
@@ -13,7 +13,10 @@
 
 package tech.pegasys.teku.storage.store;
 
-import java.util.Arrays;
+import static java.lang.Math.toIntExact;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +29,15 @@ import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.storage.api.VoteUpdateChannel;
 
+/**
+ * Buffers vote changes for a transaction and applies them to the store {@link VoteTable} on commit.
+ *
+ * <p>Changes are kept as {@link VoteTracker}s rather than as a copy of the vote columns because the
+ * same changes are sent to the {@link VoteUpdateChannel} to be persisted, and copying the columns
+ * would cost memory proportional to the validator count for every transaction. Applying the
+ * buffered changes under the store write lock costs time proportional to the number of changed
+ * votes only.
+ */
 public class StoreVoteUpdater implements VoteUpdater {
 
   private final Store store;
@@ -47,8 +59,7 @@ public class StoreVoteUpdater implements VoteUpdater {
     if (txVote != null) {
       return txVote;
     } else {
-      VoteTracker storeVote = store.getVote(validatorIndex);
-      return storeVote != null ? storeVote : VoteTracker.DEFAULT;
+      return store.getVote(validatorIndex);
     }
   }
 
@@ -57,6 +68,45 @@ public class StoreVoteUpdater implements VoteUpdater {
     return highestVotedValidatorIndex.max(store.getHighestVotedValidatorIndex());
   }
 
+  @Override
+  public void forEachVote(final VoteVisitor visitor) {
+    final int voteCount = toIntExact(getHighestVotedValidatorIndex().longValue()) + 1;
+    if (votes.isEmpty()) {
+      store.forEachVote(voteCount, visitor);
+      return;
+    }
+    // Pending votes are few, so index them by int rather than boxing every validator index
+    final Int2ObjectMap<VoteTracker> pendingVotes = new Int2ObjectOpenHashMap<>(votes.size());
+    votes.forEach((validatorIndex, vote) -> pendingVotes.put(validatorIndex.intValue(), vote));
+    store.forEachVote(
+        voteCount,
+        (validatorIndex,
+            currentRoot,
+            nextRoot,
+            nextEpoch,
+            currentEquivocating,
+            nextEquivocating) -> {
+          final VoteTracker pendingVote = pendingVotes.get(validatorIndex);
+          if (pendingVote == null) {
+            visitor.onVote(
+                validatorIndex,
+                currentRoot,
+                nextRoot,
+                nextEpoch,
+                currentEquivocating,
+                nextEquivocating);
+          } else {
+            visitor.onVote(
+                validatorIndex,
+                pendingVote.getCurrentRoot(),
+                pendingVote.getNextRoot(),
+                pendingVote.getNextEpoch().longValue(),
+                pendingVote.isCurrentEquivocating(),
+                pendingVote.isNextEquivocating());
+          }
+        });
+  }
+
   @Override
   public void putVote(UInt64 validatorIndex, VoteTracker vote) {
     votes.put(validatorIndex, vote);
@@ -95,17 +145,15 @@ public class StoreVoteUpdater implements VoteUpdater {
     // Votes are applied to the store immediately since the changes to the in-memory ProtoArray
     // can't be rolled back.
 
-    store.highestVotedValidatorIndex = getHighestVotedValidatorIndex();
-
-    if (store.highestVotedValidatorIndex.intValue() >= store.votes.length) {
-      store.votes =
-          Arrays.copyOf(
-              store.votes,
-              store.highestVotedValidatorIndex.intValue() + Store.VOTE_TRACKER_SPARE_CAPACITY);
+    lock.writeLock().lock();
+    try {
+      store.highestVotedValidatorIndex = getHighestVotedValidatorIndex();
+      votes.forEach((key, value) -> store.votes.put(key.intValue(), value));
+      store.votes.compactRootsIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
     }
 
-    votes.forEach((key, value) -> store.votes[key.intValue()] = value);
-
     voteUpdateChannel.onVotesUpdated(votes);
   }
 }
@@ -13,12 +13,14 @@
 
 package tech.pegasys.teku.storage.store;
 
+import java.util.List;
 import java.util.function.Consumer;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.spec.datastructures.forkchoice.MutableStore;
 import tech.pegasys.teku.spec.datastructures.forkchoice.ReadOnlyStore;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 import tech.pegasys.teku.storage.api.VoteUpdateChannel;
 import tech.pegasys.teku.storage.protoarray.ForkChoiceStrategy;
@@ -37,6 +39,12 @@ public interface UpdatableStore extends ReadOnlyStore {
   @Override
   ForkChoiceStrategy getForkChoiceStrategy();
 
+  /** Returns the block states currently held in memory. */
+  List<BeaconState> getCachedBlockStates();
+
+  /** Returns the checkpoint states currently held in memory. */
+  List<BeaconState> getCachedCheckpointStates();
+
   interface StoreTransaction extends MutableStore {
     SafeFuture<Void> commit();
 
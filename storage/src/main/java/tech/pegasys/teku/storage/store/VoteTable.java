@@ -0,0 +1,177 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater.VoteVisitor;
+
+/**
+ * Latest votes of all validators stored as a struct of arrays indexed by validator index.
+ *
+ * <p>Vote roots are interned to int handles, so each vote takes two ints, a long epoch and a flags
+ * byte rather than a {@link VoteTracker} instance. Handle 0 is always {@link Bytes32#ZERO}, so
+ * unset entries read as {@link VoteTracker#DEFAULT}. Roots of finalized blocks stop being
+ * referenced as validators move their votes, so the interned roots are periodically compacted to
+ * those still in use.
+ *
+ * <p>Fork choice reads the columns through {@link #forEach(int, VoteVisitor)}, which passes the
+ * fields of each vote without creating a {@link VoteTracker}. {@link #get(int)} materialises a
+ * tracker and is meant for reading individual votes.
+ *
+ * <p>This class is not thread safe, access should be guarded by the {@link Store} lock.
+ */
+class VoteTable {
+  private static final int ZERO_ROOT_HANDLE = 0;
+  private static final int MIN_ROOTS_TO_COMPACT = 1024;
+
+  private static final byte NEXT_EQUIVOCATING = 1;
+  private static final byte CURRENT_EQUIVOCATING = 1 << 1;
+
+  private final int spareCapacity;
+  private List<Bytes32> roots;
+  private Object2IntMap<Bytes32> rootHandles;
+  private int rootCountToCompact = MIN_ROOTS_TO_COMPACT;
+
+  private int[] currentRoots;
+  private int[] nextRoots;
+  private long[] nextEpochs;
+  private byte[] flags;
+
+  VoteTable(final int initialCapacity, final int spareCapacity) {
+    this.spareCapacity = spareCapacity;
+    currentRoots = new int[initialCapacity];
+    nextRoots = new int[initialCapacity];
+    nextEpochs = new long[initialCapacity];
+    flags = new byte[initialCapacity];
+    resetRoots(MIN_ROOTS_TO_COMPACT);
+  }
+
+  int capacity() {
+    return flags.length;
+  }
+
+  int getRootCount() {
+    return roots.size();
+  }
+
+  VoteTracker get(final int validatorIndex) {
+    if (validatorIndex >= capacity()) {
+      return VoteTracker.DEFAULT;
+    }
+    final int currentRoot = currentRoots[validatorIndex];
+    final int nextRoot = nextRoots[validatorIndex];
+    final long nextEpoch = nextEpochs[validatorIndex];
+    final byte voteFlags = flags[validatorIndex];
+    if (currentRoot == ZERO_ROOT_HANDLE
+        && nextRoot == ZERO_ROOT_HANDLE
+        && nextEpoch == 0
+        && voteFlags == 0) {
+      return VoteTracker.DEFAULT;
+    }
+    return new VoteTracker(
+        roots.get(currentRoot),
+        roots.get(nextRoot),
+        UInt64.fromLongBits(nextEpoch),
+        (voteFlags & NEXT_EQUIVOCATING) != 0,
+        (voteFlags & CURRENT_EQUIVOCATING) != 0);
+  }
+
+  /**
+   * Passes the votes of validators 0 to <code>voteCount - 1</code> to the visitor in validator
+   * index order. Validators past the capacity of the table are passed as unset votes.
+   */
+  void forEach(final int voteCount, final VoteVisitor visitor) {
+    final int storedCount = Math.min(voteCount, capacity());
+    for (int validatorIndex = 0; validatorIndex < storedCount; validatorIndex++) {
+      final byte voteFlags = flags[validatorIndex];
+      visitor.onVote(
+          validatorIndex,
+          roots.get(currentRoots[validatorIndex]),
+          roots.get(nextRoots[validatorIndex]),
+          nextEpochs[validatorIndex],
+          (voteFlags & CURRENT_EQUIVOCATING) != 0,
+          (voteFlags & NEXT_EQUIVOCATING) != 0);
+    }
+    for (int validatorIndex = storedCount; validatorIndex < voteCount; validatorIndex++) {
+      visitor.onVote(validatorIndex, Bytes32.ZERO, Bytes32.ZERO, 0, false, false);
+    }
+  }
+
+  void put(final int validatorIndex, final VoteTracker vote) {
+    ensureCapacity(validatorIndex + 1);
+    currentRoots[validatorIndex] = intern(vote.getCurrentRoot());
+    nextRoots[validatorIndex] = intern(vote.getNextRoot());
+    nextEpochs[validatorIndex] = vote.getNextEpoch().longValue();
+    byte voteFlags = 0;
+    if (vote.isNextEquivocating()) {
+      voteFlags |= NEXT_EQUIVOCATING;
+    }
+    if (vote.isCurrentEquivocating()) {
+      voteFlags |= CURRENT_EQUIVOCATING;
+    }
+    flags[validatorIndex] = voteFlags;
+  }
+
+  /**
+   * Drops interned roots which are no longer referenced by any vote once enough roots have been
+   * added since the last compaction.
+   */
+  void compactRootsIfNeeded() {
+    if (roots.size() < rootCountToCompact) {
+      return;
+    }
+    final List<Bytes32> oldRoots = roots;
+    resetRoots(oldRoots.size());
+    for (int i = 0; i < capacity(); i++) {
+      currentRoots[i] = intern(oldRoots.get(currentRoots[i]));
+      nextRoots[i] = intern(oldRoots.get(nextRoots[i]));
+    }
+    rootCountToCompact = Math.max(MIN_ROOTS_TO_COMPACT, roots.size() * 2);
+  }
+
+  private void resetRoots(final int expectedSize) {
+    roots = new ArrayList<>(expectedSize);
+    rootHandles = new Object2IntOpenHashMap<>(expectedSize);
+    rootHandles.defaultReturnValue(-1);
+    intern(Bytes32.ZERO);
+  }
+
+  private int intern(final Bytes32 root) {
+    int handle = rootHandles.getInt(root);
+    if (handle < 0) {
+      handle = roots.size();
+      roots.add(root);
+      rootHandles.put(root, handle);
+    }
+    return handle;
+  }
+
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity <= capacity()) {
+      return;
+    }
+    final int newCapacity = requiredCapacity + spareCapacity;
+    currentRoots = Arrays.copyOf(currentRoots, newCapacity);
+    nextRoots = Arrays.copyOf(nextRoots, newCapacity);
+    nextEpochs = Arrays.copyOf(nextEpochs, newCapacity);
+    flags = Arrays.copyOf(flags, newCapacity);
+  }
+}
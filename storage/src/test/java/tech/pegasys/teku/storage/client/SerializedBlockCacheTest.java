@@ -0,0 +1,123 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class SerializedBlockCacheTest {
+  private final Spec spec = TestSpecFactory.createMinimalAltair();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+
+  private final SignedBeaconBlock block1 = createBlock(1);
+  private final SignedBeaconBlock block2 = createBlock(2);
+  private final SignedBeaconBlock block3 = createBlock(3);
+  private final long blockSize = block1.sszSerialize().size();
+
+  @Test
+  void shouldReturnBlockByRoot() {
+    final SerializedBlockCache cache = createCache(blockSize * 3);
+    cache.addBlock(block1);
+
+    assertThat(cache.getByRoot(block1.getRoot())).contains(block1);
+    assertThat(cache.getByRoot(block2.getRoot())).isEmpty();
+  }
+
+  @Test
+  void shouldReturnSerializedBlockWithoutDeserializing() {
+    final SerializedBlockCache cache = createCache(blockSize * 3);
+    cache.addFinalizedBlock(block1);
+
+    assertThat(cache.getSerializedByRoot(block1.getRoot())).contains(block1.sszSerialize());
+    assertThat(cache.getSerializedFinalizedBySlot(block1.getSlot()))
+        .contains(block1.sszSerialize());
+    assertThat(cache.getSerializedByRoot(block2.getRoot())).isEmpty();
+  }
+
+  @Test
+  void shouldOnlyIndexFinalizedBlocksBySlot() {
+    final SerializedBlockCache cache = createCache(blockSize * 3);
+    cache.addBlock(block1);
+    cache.addFinalizedBlock(block2);
+
+    assertThat(cache.getFinalizedBySlot(block1.getSlot())).isEmpty();
+    assertThat(cache.getFinalizedBySlot(block2.getSlot())).contains(block2);
+  }
+
+  @Test
+  void shouldIndexBySlotWhenExistingBlockIsFinalized() {
+    final SerializedBlockCache cache = createCache(blockSize * 3);
+    cache.addBlock(block1);
+    cache.addFinalizedBlock(block1);
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getFinalizedBySlot(block1.getSlot())).contains(block1);
+  }
+
+  @Test
+  void shouldEvictUnreferencedBlocksWhenOverBudget() {
+    assertThat(block2.sszSerialize().size()).isEqualTo(blockSize);
+    assertThat(block3.sszSerialize().size()).isEqualTo(blockSize);
+    final SerializedBlockCache cache = createCache(blockSize * 2);
+    cache.addFinalizedBlock(block1);
+    cache.addFinalizedBlock(block2);
+
+    // First sweep clears all reference bits and evicts block1
+    cache.addFinalizedBlock(block3);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getCurrentSizeInBytes()).isLessThanOrEqualTo(blockSize * 2);
+    assertThat(cache.getFinalizedBySlot(block1.getSlot())).isEmpty();
+
+    // block3 is now referenced again so block2 is the one to go
+    assertThat(cache.getByRoot(block3.getRoot())).contains(block3);
+    cache.addFinalizedBlock(block1);
+    assertThat(cache.getByRoot(block2.getRoot())).isEmpty();
+    assertThat(cache.getByRoot(block3.getRoot())).contains(block3);
+    assertThat(cache.getByRoot(block1.getRoot())).contains(block1);
+  }
+
+  @Test
+  void shouldNotCacheBlocksLargerThanBudget() {
+    final SerializedBlockCache cache = createCache(blockSize - 1);
+    cache.addBlock(block1);
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getByRoot(block1.getRoot())).isEmpty();
+  }
+
+  @Test
+  void shouldNotCacheAnythingWhenDisabled() {
+    final SerializedBlockCache cache = SerializedBlockCache.disabled(spec);
+    cache.addBlock(block1);
+
+    assertThat(cache.isEnabled()).isFalse();
+    assertThat(cache.getByRoot(block1.getRoot())).isEmpty();
+  }
+
+  private SignedBeaconBlock createBlock(final long slot) {
+    return dataStructureUtil.randomSignedBeaconBlock(
+        slot, dataStructureUtil.randomBytes32(), false);
+  }
+
+  private SerializedBlockCache createCache(final long maxSizeInBytes) {
+    return SerializedBlockCache.create(spec, new StubMetricsSystem(), maxSizeInBytes);
+  }
+}
@@ -457,6 +457,15 @@ public class ForkChoiceStrategyTest extends AbstractBlockMetadataStoreTest {
     assertThat(transaction3.getVote(ZERO).getNextRoot()).isEqualTo(block1.getRoot());
   }
 
+  @Test
+  void getNodeCountLabel_shouldBucketNodeCounts() {
+    assertThat(ForkChoiceStrategy.getNodeCountLabel(0)).isEqualTo("lt_256");
+    assertThat(ForkChoiceStrategy.getNodeCountLabel(255)).isEqualTo("lt_256");
+    assertThat(ForkChoiceStrategy.getNodeCountLabel(256)).isEqualTo("lt_1024");
+    assertThat(ForkChoiceStrategy.getNodeCountLabel(16383)).isEqualTo("lt_16384");
+    assertThat(ForkChoiceStrategy.getNodeCountLabel(16384)).isEqualTo("ge_16384");
+  }
+
   @Test
   void shouldConsiderHeadOptimisticWhenItIsNotViable() {
     // If we optimistically import blocks which include enough attestations to update the justified
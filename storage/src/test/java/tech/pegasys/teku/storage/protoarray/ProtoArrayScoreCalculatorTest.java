@@ -19,9 +19,11 @@ import static tech.pegasys.teku.storage.protoarray.ProtoArrayScoreCalculator.com
 import static tech.pegasys.teku.storage.protoarray.ProtoArrayTestUtil.createStoreToManipulateVotes;
 import static tech.pegasys.teku.storage.protoarray.ProtoArrayTestUtil.getHash;
 
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -581,6 +583,91 @@ public class ProtoArrayScoreCalculatorTest {
     }
   }
 
+  @Test
+  void computeDeltas_movingVotesAcrossParallelChunks() {
+    final int validatorCount = ProtoArrayScoreCalculator.MIN_VALIDATORS_FOR_PARALLEL + 17;
+    final int blockCount = 4;
+    for (int i = 0; i < blockCount; i++) {
+      indices.put(getHash(i), i);
+    }
+
+    final long[] expectedDeltas = new long[blockCount];
+    for (int i = 0; i < validatorCount; i++) {
+      final int currentBlock = i % blockCount;
+      final int nextBlock = (i / 3) % blockCount;
+      final long oldBalance = i % 7;
+      final long newBalance = i % 5;
+      final VoteTracker vote = store.getVote(UInt64.valueOf(i));
+      store.putVote(
+          UInt64.valueOf(i),
+          new VoteTracker(getHash(currentBlock), getHash(nextBlock), vote.getNextEpoch()));
+      oldBalances.add(UInt64.valueOf(oldBalance));
+      newBalances.add(UInt64.valueOf(newBalance));
+      if (currentBlock != nextBlock || oldBalance != newBalance) {
+        expectedDeltas[currentBlock] -= oldBalance;
+        expectedDeltas[nextBlock] += newBalance;
+      }
+    }
+
+    List<Long> deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            oldBalances,
+            newBalances,
+            oldProposerBoostRoot,
+            newProposerBoostRoot,
+            oldProposerBoostAmount,
+            newProposerBoostAmount);
+
+    assertThat(deltas.stream().mapToLong(Long::longValue).toArray())
+        .containsExactly(expectedDeltas);
+    votesShouldBeUpdated(store);
+  }
+
+  @Test
+  void calculateDeltas_shouldOnlyCountChangedVotesWhenColumnsAreReused() {
+    final ProtoArrayScoreCalculator calculator = new ProtoArrayScoreCalculator();
+    final int validatorCount = 16;
+    final long balance = 42;
+    final long[] balances = new long[validatorCount];
+    Arrays.fill(balances, balance);
+    for (int i = 0; i < 3; i++) {
+      indices.put(getHash(i), i);
+    }
+    for (int i = 0; i < validatorCount; i++) {
+      store.putVote(UInt64.valueOf(i), new VoteTracker(getHash(0), getHash(1), ZERO));
+    }
+
+    final LongList deltas1 = calculateDeltas(calculator, balances);
+    assertThat(deltas1.toLongArray())
+        .containsExactly(-balance * validatorCount, balance * validatorCount, 0);
+
+    // Only the first half of the validators move their vote on the second run
+    for (int i = 0; i < validatorCount / 2; i++) {
+      store.putVote(UInt64.valueOf(i), new VoteTracker(getHash(1), getHash(2), ZERO));
+    }
+    final LongList deltas2 = calculateDeltas(calculator, balances);
+    assertThat(deltas2.toLongArray())
+        .containsExactly(0, -balance * validatorCount / 2, balance * validatorCount / 2);
+    votesShouldBeUpdated(store);
+  }
+
+  private LongList calculateDeltas(
+      final ProtoArrayScoreCalculator calculator, final long[] balances) {
+    return calculator.calculateDeltas(
+        store,
+        indices.size(),
+        this::getIndex,
+        balances,
+        balances,
+        oldProposerBoostRoot,
+        newProposerBoostRoot,
+        oldProposerBoostAmount,
+        newProposerBoostAmount);
+  }
+
   private void votesShouldBeUpdated(VoteUpdater store) {
     UInt64.rangeClosed(ZERO, store.getHighestVotedValidatorIndex())
         .forEach(
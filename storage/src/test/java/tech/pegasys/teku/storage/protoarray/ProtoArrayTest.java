@@ -18,10 +18,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoInteractions;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -499,6 +502,68 @@ class ProtoArrayTest {
     assertThat(protoArray.getProtoNode(block1b).orElseThrow().isOptimistic()).isTrue();
   }
 
+  @Test
+  void applyScoreChanges_incrementalUpdatesShouldMatchFullSweep() {
+    final ProtoArray fullSweepArray =
+        new ProtoArrayBuilder()
+            .statusLog(statusLog)
+            .justifiedCheckpoint(GENESIS_CHECKPOINT)
+            .finalizedCheckpoint(GENESIS_CHECKPOINT)
+            .build();
+    final Random random = new Random(42);
+    final List<Bytes32> roots = new ArrayList<>(List.of(Bytes32.ZERO));
+    addBlock(fullSweepArray, 0, Bytes32.ZERO, Bytes32.ZERO);
+    final List<Long> votesByNode = new ArrayList<>(List.of(0L));
+
+    for (int round = 0; round < 50; round++) {
+      for (int i = 0; i < 3; i++) {
+        final Bytes32 root = dataStructureUtil.randomBytes32();
+        final Bytes32 parentRoot = roots.get(random.nextInt(roots.size()));
+        addBlock(protoArray, round + 1, root, parentRoot);
+        addBlock(fullSweepArray, round + 1, root, parentRoot);
+        roots.add(root);
+        votesByNode.add(0L);
+      }
+
+      // Move a few votes between random non-genesis blocks, including away from the best child
+      final long[] deltas = new long[roots.size()];
+      for (int i = 0; i < 4; i++) {
+        final int from = 1 + random.nextInt(roots.size() - 1);
+        final int to = 1 + random.nextInt(roots.size() - 1);
+        final long amount = Math.min(votesByNode.get(from), random.nextInt(10));
+        votesByNode.set(from, votesByNode.get(from) - amount);
+        votesByNode.set(to, votesByNode.get(to) + amount);
+        deltas[from] -= amount;
+        deltas[to] += amount;
+      }
+      final int addedVotesIndex = 1 + random.nextInt(roots.size() - 1);
+      final long addedVotes = random.nextInt(10);
+      votesByNode.set(addedVotesIndex, votesByNode.get(addedVotesIndex) + addedVotes);
+      deltas[addedVotesIndex] += addedVotes;
+
+      protoArray.applyScoreChanges(
+          new LongArrayList(deltas), GENESIS_CHECKPOINT, GENESIS_CHECKPOINT);
+      fullSweepArray.applyDeltasFullSweep(new LongArrayList(deltas));
+
+      for (int i = 0; i < roots.size(); i++) {
+        final ProtoNode node = protoArray.getNodeByIndex(i);
+        final ProtoNode expected = fullSweepArray.getNodeByIndex(i);
+        assertThat(node.getWeight()).describedAs("weight %s", i).isEqualTo(expected.getWeight());
+        assertThat(node.getBestChildIndex())
+            .describedAs("best child %s", i)
+            .isEqualTo(expected.getBestChildIndex());
+        assertThat(node.getBestDescendantIndex())
+            .describedAs("best descendant %s", i)
+            .isEqualTo(expected.getBestDescendantIndex());
+      }
+      final Bytes32 expectedHead =
+          fullSweepArray.findOptimisticHead(GENESIS_CHECKPOINT, GENESIS_CHECKPOINT).getBlockRoot();
+      assertThat(
+              protoArray.findOptimisticHead(GENESIS_CHECKPOINT, GENESIS_CHECKPOINT).getBlockRoot())
+          .isEqualTo(expectedHead);
+    }
+  }
+
   private void assertHead(final Bytes32 expectedBlockHash) {
     final ProtoNode node = protoArray.getProtoNode(expectedBlockHash).orElseThrow();
     assertThat(protoArray.findOptimisticHead(GENESIS_CHECKPOINT, GENESIS_CHECKPOINT))
@@ -543,6 +608,19 @@ class ProtoArrayTest {
         true);
   }
 
+  private void addBlock(
+      final ProtoArray array, final long slot, final Bytes32 blockRoot, final Bytes32 parentRoot) {
+    array.onBlock(
+        UInt64.valueOf(slot),
+        blockRoot,
+        parentRoot,
+        Bytes32.ZERO,
+        new BlockCheckpoints(
+            GENESIS_CHECKPOINT, GENESIS_CHECKPOINT, GENESIS_CHECKPOINT, GENESIS_CHECKPOINT),
+        Bytes32.ZERO,
+        false);
+  }
+
   private Bytes32 getExecutionBlockHash(final Bytes32 blockRoot) {
     return Hash.sha256(blockRoot);
   }
@@ -0,0 +1,259 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunnerFactory;
+import tech.pegasys.teku.infrastructure.async.eventthread.AsyncRunnerEventThread;
+import tech.pegasys.teku.infrastructure.async.eventthread.EventThread;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpoints;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.storage.api.StorageUpdate;
+import tech.pegasys.teku.storage.api.StorageUpdateChannel;
+import tech.pegasys.teku.storage.api.UpdateResult;
+import tech.pegasys.teku.storage.api.WeakSubjectivityUpdate;
+
+class BatchingStorageUpdateChannelTest {
+  private final Spec spec = TestSpecFactory.createMinimalPhase0();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final StorageUpdateChannel delegate = mock(StorageUpdateChannel.class);
+  private final StubAsyncRunnerFactory asyncRunnerFactory = new StubAsyncRunnerFactory();
+  private final StubAsyncRunner delayRunner = new StubAsyncRunner();
+  private final EventThread eventThread =
+      new AsyncRunnerEventThread("group-commit-test", asyncRunnerFactory);
+  private StubAsyncRunner eventThreadRunner;
+
+  private final BatchingStorageUpdateChannel channel =
+      new BatchingStorageUpdateChannel(
+          delegate,
+          eventThread,
+          delayRunner,
+          new StubMetricsSystem(),
+          StubTimeProvider.withTimeInMillis(1000),
+          Duration.ZERO,
+          3,
+          10);
+
+  @BeforeEach
+  void setUp() {
+    eventThread.start();
+    eventThreadRunner = asyncRunnerFactory.getStubAsyncRunners().get(0);
+    when(delegate.onStorageUpdate(any()))
+        .thenReturn(SafeFuture.completedFuture(UpdateResult.EMPTY));
+    when(delegate.onWeakSubjectivityUpdate(any())).thenReturn(SafeFuture.COMPLETE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    eventThread.stop();
+  }
+
+  @Test
+  void shouldMergeUpdatesReceivedBeforeExecutionOccurs() {
+    final StorageUpdate update1 = hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block()));
+    final StorageUpdate update2 = hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block()));
+
+    final SafeFuture<UpdateResult> result1 = channel.onStorageUpdate(update1);
+    final SafeFuture<UpdateResult> result2 = channel.onStorageUpdate(update2);
+    verifyNoInteractions(delegate);
+
+    eventThreadRunner.executeQueuedActions();
+
+    final StorageUpdate merged = captureSingleUpdate();
+    assertThat(merged.getHotBlocks())
+        .containsAllEntriesOf(update1.getHotBlocks())
+        .containsAllEntriesOf(update2.getHotBlocks());
+    assertThat(result1).isCompletedWithValue(UpdateResult.EMPTY);
+    assertThat(result2).isCompletedWithValue(UpdateResult.EMPTY);
+  }
+
+  @Test
+  void shouldNotMergeAcrossBarriers() {
+    final StorageUpdate update1 = hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block()));
+    final WeakSubjectivityUpdate wsUpdate =
+        WeakSubjectivityUpdate.clearWeakSubjectivityCheckpoint();
+    final StorageUpdate update2 = hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block()));
+
+    channel.onStorageUpdate(update1);
+    channel.onWeakSubjectivityUpdate(wsUpdate);
+    channel.onStorageUpdate(update2);
+    eventThreadRunner.executeQueuedActions();
+
+    final InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).onStorageUpdate(update1);
+    inOrder.verify(delegate).onWeakSubjectivityUpdate(wsUpdate);
+    inOrder.verify(delegate).onStorageUpdate(update2);
+  }
+
+  @Test
+  void shouldLimitBatchSize() {
+    for (int i = 0; i < 4; i++) {
+      channel.onStorageUpdate(hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block())));
+    }
+    eventThreadRunner.executeQueuedActions();
+
+    final ArgumentCaptor<StorageUpdate> captor = ArgumentCaptor.forClass(StorageUpdate.class);
+    verify(delegate, times(2)).onStorageUpdate(captor.capture());
+    assertThat(captor.getAllValues().get(0).getHotBlocks()).hasSize(3);
+    assertThat(captor.getAllValues().get(1).getHotBlocks()).hasSize(1);
+  }
+
+  @Test
+  void shouldFailAllUpdatesInBatchWhenWriteFails() {
+    final RuntimeException error = new RuntimeException("Nope");
+    when(delegate.onStorageUpdate(any())).thenReturn(SafeFuture.failedFuture(error));
+
+    final SafeFuture<UpdateResult> result1 =
+        channel.onStorageUpdate(hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block())));
+    final SafeFuture<UpdateResult> result2 =
+        channel.onStorageUpdate(hotUpdate(Map.of(dataStructureUtil.randomBytes32(), block())));
+    eventThreadRunner.executeQueuedActions();
+
+    assertThat(result1).isCompletedExceptionally();
+    assertThat(result2).isCompletedExceptionally();
+  }
+
+  @Test
+  void mergeUpdates_shouldDropBlocksDeletedLaterInBatch() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    final BeaconState state = mock(BeaconState.class);
+    final StorageUpdate added =
+        new StorageUpdate(
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Map.of(root, block()),
+            Map.of(root, state),
+            Collections.emptySet(),
+            Collections.emptyMap(),
+            false,
+            Optional.empty());
+    final StorageUpdate deleted = deleteUpdate(root);
+
+    final StorageUpdate merged = BatchingStorageUpdateChannel.mergeUpdates(List.of(added, deleted));
+
+    assertThat(merged.getHotBlocks()).isEmpty();
+    assertThat(merged.getHotStates()).isEmpty();
+    assertThat(merged.getDeletedHotBlocks()).containsExactly(root);
+  }
+
+  @Test
+  void mergeUpdates_shouldKeepBlocksReAddedLaterInBatch() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    final BlockAndCheckpoints block = block();
+
+    final StorageUpdate merged =
+        BatchingStorageUpdateChannel.mergeUpdates(
+            List.of(deleteUpdate(root), hotUpdate(Map.of(root, block))));
+
+    assertThat(merged.getHotBlocks()).containsEntry(root, block);
+    assertThat(merged.getDeletedHotBlocks()).isEmpty();
+  }
+
+  @Test
+  void mergeUpdates_shouldUseLatestCheckpoints() {
+    final Checkpoint justified1 = dataStructureUtil.randomCheckpoint();
+    final Checkpoint justified2 = dataStructureUtil.randomCheckpoint();
+    final StorageUpdate update1 = checkpointUpdate(justified1);
+    final StorageUpdate update2 = checkpointUpdate(justified2);
+
+    final StorageUpdate merged =
+        BatchingStorageUpdateChannel.mergeUpdates(List.of(update1, update2));
+
+    assertThat(merged.getJustifiedCheckpoint()).contains(justified2);
+    assertThat(merged.getGenesisTime()).contains(UInt64.ONE);
+  }
+
+  private StorageUpdate captureSingleUpdate() {
+    final ArgumentCaptor<StorageUpdate> captor = ArgumentCaptor.forClass(StorageUpdate.class);
+    verify(delegate).onStorageUpdate(captor.capture());
+    return captor.getValue();
+  }
+
+  private BlockAndCheckpoints block() {
+    return mock(BlockAndCheckpoints.class);
+  }
+
+  private StorageUpdate hotUpdate(final Map<Bytes32, BlockAndCheckpoints> blocks) {
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        blocks,
+        Collections.emptyMap(),
+        Collections.emptySet(),
+        Collections.emptyMap(),
+        false,
+        Optional.empty());
+  }
+
+  private StorageUpdate deleteUpdate(final Bytes32 root) {
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Set.of(root),
+        Collections.emptyMap(),
+        false,
+        Optional.empty());
+  }
+
+  private StorageUpdate checkpointUpdate(final Checkpoint justified) {
+    return new StorageUpdate(
+        Optional.of(UInt64.ONE),
+        Optional.empty(),
+        Optional.of(justified),
+        Optional.empty(),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Collections.emptySet(),
+        Collections.emptyMap(),
+        false,
+        Optional.empty());
+  }
+}
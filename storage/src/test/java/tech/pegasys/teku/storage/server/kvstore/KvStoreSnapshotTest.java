@@ -0,0 +1,130 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.DatabaseVersion;
+import tech.pegasys.teku.storage.server.ShuttingDownException;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
+import tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer;
+import tech.pegasys.teku.storage.server.leveldb.LevelDbInstanceFactory;
+import tech.pegasys.teku.storage.server.rocksdb.RocksDbInstanceFactory;
+
+class KvStoreSnapshotTest {
+  private static final KvStoreColumn<UInt64, UInt64> COLUMN =
+      KvStoreColumn.create(
+          1, KvStoreSerializer.UINT64_SERIALIZER, KvStoreSerializer.UINT64_SERIALIZER);
+
+  @TempDir Path tempDir;
+  private KvStoreAccessor db;
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (db != null) {
+      db.close();
+    }
+  }
+
+  static Stream<Arguments> databaseTypes() {
+    return Stream.of(Arguments.of(DatabaseVersion.V6), Arguments.of(DatabaseVersion.LEVELDB2));
+  }
+
+  @ParameterizedTest
+  @MethodSource("databaseTypes")
+  void shouldNotSeeWritesMadeAfterSnapshotWasTaken(final DatabaseVersion version) {
+    db = createDatabase(version);
+    put(UInt64.ONE, UInt64.valueOf(10));
+
+    try (final KvStoreSnapshot snapshot = db.snapshot()) {
+      put(UInt64.ONE, UInt64.valueOf(11));
+      put(UInt64.valueOf(2), UInt64.valueOf(20));
+
+      assertThat(snapshot.get(COLUMN, UInt64.ONE)).contains(UInt64.valueOf(10));
+      assertThat(snapshot.getLastKey(COLUMN)).contains(UInt64.ONE);
+      try (final Stream<ColumnEntry<UInt64, UInt64>> entries = snapshot.stream(COLUMN)) {
+        assertThat(entries.collect(Collectors.toList()))
+            .containsExactly(ColumnEntry.create(UInt64.ONE, UInt64.valueOf(10)));
+      }
+    }
+
+    assertThat(db.getAll(COLUMN))
+        .isEqualTo(Map.of(UInt64.ONE, UInt64.valueOf(11), UInt64.valueOf(2), UInt64.valueOf(20)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("databaseTypes")
+  void shouldRejectReadsAfterSnapshotIsClosed(final DatabaseVersion version) {
+    db = createDatabase(version);
+    put(UInt64.ONE, UInt64.valueOf(10));
+
+    final KvStoreSnapshot snapshot = db.snapshot();
+    snapshot.close();
+
+    assertThatThrownBy(() -> snapshot.get(COLUMN, UInt64.ONE))
+        .isInstanceOf(ShuttingDownException.class);
+    assertThat(db.get(COLUMN, UInt64.ONE)).contains(UInt64.valueOf(10));
+  }
+
+  @ParameterizedTest
+  @MethodSource("databaseTypes")
+  void shouldReleaseOpenSnapshotsWhenDatabaseIsClosed(final DatabaseVersion version)
+      throws Exception {
+    db = createDatabase(version);
+    final KvStoreSnapshot snapshot = db.snapshot();
+
+    db.close();
+
+    assertThatThrownBy(() -> snapshot.get(COLUMN, UInt64.ONE))
+        .isInstanceOf(ShuttingDownException.class);
+    // Closing after the database has gone away is a no-op
+    snapshot.close();
+  }
+
+  private void put(final UInt64 key, final UInt64 value) {
+    try (final KvStoreTransaction transaction = db.startTransaction()) {
+      transaction.put(COLUMN, key, value);
+      transaction.commit();
+    }
+  }
+
+  private KvStoreAccessor createDatabase(final DatabaseVersion version) {
+    final KvStoreConfiguration configuration =
+        KvStoreConfiguration.v6SingleDefaults().withDatabaseDir(tempDir);
+    if (version == DatabaseVersion.LEVELDB2) {
+      assumeThat(DatabaseVersion.isLevelDbSupported()).describedAs("LevelDB support").isTrue();
+      return LevelDbInstanceFactory.create(
+          new NoOpMetricsSystem(), TekuMetricCategory.STORAGE, configuration, List.of(COLUMN));
+    }
+    assumeThat(DatabaseVersion.isRocksDbSupported()).describedAs("RocksDB support").isTrue();
+    return RocksDbInstanceFactory.create(
+        new NoOpMetricsSystem(), TekuMetricCategory.STORAGE, configuration, Map.of("TEST", COLUMN));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.dataaccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
+import tech.pegasys.teku.storage.server.kvstore.MockKvStoreInstance;
+import tech.pegasys.teku.storage.server.kvstore.dataaccess.KvStoreCombinedDaoBlinded.FinalizedUpdaterBlinded;
+import tech.pegasys.teku.storage.server.kvstore.schema.SchemaCombinedTreeState;
+import tech.pegasys.teku.storage.server.kvstore.schema.V6SchemaCombinedTreeState;
+
+class CombinedKvStoreDaoTest {
+
+  private final Spec spec = TestSpecFactory.createDefault();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final V6SchemaCombinedTreeState schema = new V6SchemaCombinedTreeState(spec, true);
+  private final KvStoreAccessor db =
+      spy(MockKvStoreInstance.createEmpty(schema.getAllColumns(), schema.getAllVariables()));
+
+  private final CombinedKvStoreDao<SchemaCombinedTreeState> dao =
+      new CombinedKvStoreDao<>(
+          db, schema, new V4FinalizedStateTreeStorageLogic(new NoOpMetricsSystem(), spec, 1000));
+
+  @Test
+  void streamBlindedFinalizedBlocks_shouldNotSeeBlocksDeletedAfterStreamOpened() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    final SignedBeaconBlock block3 = dataStructureUtil.randomSignedBeaconBlock(3);
+    try (final FinalizedUpdaterBlinded updater = dao.finalizedUpdaterBlinded()) {
+      List.of(block1, block2, block3)
+          .forEach(block -> updater.addBlindedFinalizedBlock(block, block.getRoot(), spec));
+      updater.commit();
+    }
+
+    try (final Stream<SignedBeaconBlock> blocks =
+        dao.streamBlindedFinalizedBlocks(UInt64.ZERO, UInt64.valueOf(3))) {
+      try (final FinalizedUpdaterBlinded updater = dao.finalizedUpdaterBlinded()) {
+        updater.deleteBlindedBlock(block2.getRoot());
+        updater.commit();
+      }
+
+      assertThat(blocks.collect(Collectors.toList())).containsExactly(block1, block2, block3);
+    }
+
+    try (final Stream<SignedBeaconBlock> blocks =
+        dao.streamBlindedFinalizedBlocks(UInt64.ZERO, UInt64.valueOf(3))) {
+      assertThat(blocks.collect(Collectors.toList())).containsExactly(block1, block3);
+    }
+  }
+
+  @Test
+  void getLatestBlindedBlockAtSlot_shouldReadFromSnapshot() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(2);
+    try (final FinalizedUpdaterBlinded updater = dao.finalizedUpdaterBlinded()) {
+      updater.addBlindedFinalizedBlock(block, block.getRoot(), spec);
+      updater.commit();
+    }
+
+    assertThat(dao.getLatestBlindedBlockAtSlot(UInt64.valueOf(5))).contains(block);
+    verify(db).snapshot();
+  }
+
+  @Test
+  void getLatestAvailableFinalizedState_shouldLoadLazyStateNodesFromLiveDatabase() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(UInt64.valueOf(3));
+    try (final FinalizedUpdaterBlinded updater = dao.finalizedUpdaterBlinded()) {
+      updater.addFinalizedState(state.hashTreeRoot(), state);
+      updater.commit();
+    }
+
+    final BeaconState loaded =
+        dao.getLatestAvailableFinalizedState(UInt64.valueOf(5)).orElseThrow();
+    assertThat(loaded.getValidators().asList()).isEqualTo(state.getValidators().asList());
+    assertThat(loaded.getBalances().asListUnboxed()).isEqualTo(state.getBalances().asListUnboxed());
+    verify(db, never()).snapshot();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.dataaccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
+import tech.pegasys.teku.storage.server.kvstore.MockKvStoreInstance;
+import tech.pegasys.teku.storage.server.kvstore.schema.SchemaHotAdapter;
+import tech.pegasys.teku.storage.server.kvstore.schema.V6SchemaCombinedSnapshot;
+
+class VoteLogStorageLogicTest {
+  private static final int SNAPSHOT_INTERVAL = 4;
+
+  private final Spec spec = TestSpecFactory.createDefault();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final SchemaHotAdapter schema =
+      V6SchemaCombinedSnapshot.createV4(spec, true).asSchemaHot();
+  private final MockKvStoreInstance db =
+      MockKvStoreInstance.createEmpty(schema.getAllColumns(), schema.getAllVariables());
+
+  private final VoteLogStorageLogic logic =
+      new VoteLogStorageLogic(
+          schema.getColumnVotes(), schema.getColumnVoteLog(), SNAPSHOT_INTERVAL);
+
+  @Test
+  void shouldApplySegmentsInOrder() {
+    final UInt64 validator = UInt64.valueOf(5);
+    final VoteTracker vote1 = dataStructureUtil.randomVoteTracker();
+    final VoteTracker vote2 = dataStructureUtil.randomVoteTracker();
+    final VoteTracker otherVote = dataStructureUtil.randomVoteTracker();
+
+    addVotes(Map.of(validator, vote1, UInt64.ONE, otherVote));
+    addVotes(Map.of(validator, vote2));
+
+    assertThat(db.size(schema.getColumnVoteLog())).isEqualTo(2);
+    assertThat(logic.getVotes(db)).isEqualTo(Map.of(validator, vote2, UInt64.ONE, otherVote));
+  }
+
+  @Test
+  void shouldNotWriteEmptySegments() {
+    addVotes(Map.of());
+
+    assertThat(db.size(schema.getColumnVoteLog())).isZero();
+  }
+
+  @Test
+  void shouldFoldLogIntoSnapshotAtInterval() {
+    final Map<UInt64, VoteTracker> expected = new HashMap<>();
+    for (int i = 1; i <= SNAPSHOT_INTERVAL; i++) {
+      final Map<UInt64, VoteTracker> votes =
+          Map.of(UInt64.valueOf(i), dataStructureUtil.randomVoteTracker());
+      expected.putAll(votes);
+      addVotes(votes);
+    }
+
+    assertThat(db.getAll(schema.getColumnVoteLog()))
+        .containsOnlyKeys(UInt64.valueOf(SNAPSHOT_INTERVAL));
+    assertThat(logic.getVotes(db)).isEqualTo(expected);
+  }
+
+  @Test
+  void shouldIncludeAndThenMigrateLegacyVotes() {
+    final VoteTracker legacyVote = dataStructureUtil.randomVoteTracker();
+    final VoteTracker replacedLegacyVote = dataStructureUtil.randomVoteTracker();
+    final VoteTracker newVote = dataStructureUtil.randomVoteTracker();
+    try (final KvStoreTransaction transaction = db.startTransaction()) {
+      transaction.put(schema.getColumnVotes(), UInt64.ZERO, legacyVote);
+      transaction.put(schema.getColumnVotes(), UInt64.ONE, replacedLegacyVote);
+      transaction.commit();
+    }
+
+    addVotes(Map.of(UInt64.ONE, newVote));
+    final Map<UInt64, VoteTracker> expected = Map.of(UInt64.ZERO, legacyVote, UInt64.ONE, newVote);
+    assertThat(logic.getVotes(db)).isEqualTo(expected);
+
+    for (int i = 2; i <= SNAPSHOT_INTERVAL; i++) {
+      addVotes(Map.of(UInt64.ONE, newVote));
+    }
+    assertThat(db.size(schema.getColumnVotes())).isZero();
+    assertThat(logic.getVotes(db)).isEqualTo(expected);
+  }
+
+  private void addVotes(final Map<UInt64, VoteTracker> votes) {
+    try (final KvStoreTransaction transaction = db.startTransaction()) {
+      logic.addVotes(db, transaction, votes);
+      transaction.commit();
+    }
+  }
+}
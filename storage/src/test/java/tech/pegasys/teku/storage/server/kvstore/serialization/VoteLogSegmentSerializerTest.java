@@ -0,0 +1,104 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class VoteLogSegmentSerializerTest {
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createDefault());
+  private final VoteLogSegmentSerializer serializerNoEquivocation =
+      new VoteLogSegmentSerializer(false);
+  private final VoteLogSegmentSerializer serializerWithEquivocation =
+      new VoteLogSegmentSerializer(true);
+
+  @Test
+  void shouldRoundTripEmptySegment() {
+    final byte[] serialized = serializerWithEquivocation.serialize(Map.of());
+
+    assertThat(serializerWithEquivocation.deserialize(serialized)).isEmpty();
+  }
+
+  @Test
+  void shouldRoundTripVotesWithGapsBetweenIndices() {
+    final Map<UInt64, VoteTracker> votes = new HashMap<>();
+    for (long index : new long[] {0, 1, 2, 7, 8, 100, 4_000_000_000L}) {
+      votes.put(UInt64.valueOf(index), dataStructureUtil.randomVoteTracker());
+    }
+
+    assertThat(serializerNoEquivocation.deserialize(serializerNoEquivocation.serialize(votes)))
+        .isEqualTo(votes);
+  }
+
+  @Test
+  void shouldRoundTripDecreasingEpochs() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    final Map<UInt64, VoteTracker> votes =
+        Map.of(
+            UInt64.valueOf(1), new VoteTracker(root, root, UInt64.valueOf(10)),
+            UInt64.valueOf(2), new VoteTracker(root, root, UInt64.valueOf(3)),
+            UInt64.valueOf(3), new VoteTracker(root, root, UInt64.MAX_VALUE));
+
+    assertThat(serializerNoEquivocation.deserialize(serializerNoEquivocation.serialize(votes)))
+        .isEqualTo(votes);
+  }
+
+  @Test
+  void shouldRoundTripEquivocationFlags() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    final UInt64 epoch = UInt64.valueOf(12);
+    final Map<UInt64, VoteTracker> votes =
+        Map.of(
+            UInt64.valueOf(1), new VoteTracker(root, root, epoch, true, false),
+            UInt64.valueOf(2), new VoteTracker(root, root, epoch, false, false),
+            UInt64.valueOf(3), new VoteTracker(root, root, epoch, true, true),
+            UInt64.valueOf(4), new VoteTracker(root, root, epoch, false, true));
+
+    assertThat(serializerWithEquivocation.deserialize(serializerWithEquivocation.serialize(votes)))
+        .isEqualTo(votes);
+  }
+
+  @Test
+  void shouldDropEquivocationWhenNotStoringEquivocation() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    final Map<UInt64, VoteTracker> votes = Map.of(UInt64.ONE, vote.createNextEquivocating());
+
+    assertThat(serializerNoEquivocation.deserialize(serializerWithEquivocation.serialize(votes)))
+        .isEqualTo(Map.of(UInt64.ONE, vote));
+  }
+
+  @Test
+  void shouldEncodeVotesForSharedRootsCompactly() {
+    final Bytes32 currentRoot = dataStructureUtil.randomBytes32();
+    final Bytes32 nextRoot = dataStructureUtil.randomBytes32();
+    final Map<UInt64, VoteTracker> votes = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      votes.put(UInt64.valueOf(i), new VoteTracker(currentRoot, nextRoot, UInt64.valueOf(5000)));
+    }
+
+    final byte[] serialized = serializerWithEquivocation.serialize(votes);
+    // Two roots plus a few bytes per vote rather than a full 72 byte record each
+    assertThat(serialized.length).isLessThan(2 * Bytes32.SIZE + 4 * votes.size());
+    assertThat(serializerWithEquivocation.deserialize(serialized)).isEqualTo(votes);
+  }
+}
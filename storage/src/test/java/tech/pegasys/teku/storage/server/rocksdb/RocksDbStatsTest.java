@@ -14,12 +14,15 @@
 package tech.pegasys.teku.storage.server.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
@@ -27,6 +30,7 @@ import org.hyperledger.besu.metrics.Observation;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.storage.server.DatabaseVersion;
@@ -55,4 +59,29 @@ class RocksDbStatsTest {
         metricsSystem.streamObservations().collect(Collectors.toList());
     assertThat(metrics).isNotEmpty();
   }
+
+  @Test
+  void shouldReportPropertiesForEachColumn() throws Exception {
+    final ObservableMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(Set.of(TekuMetricCategory.STORAGE_HOT_DB), true);
+    final ColumnFamilyHandle blocksHandle = mock(ColumnFamilyHandle.class);
+    final ColumnFamilyHandle votesHandle = mock(ColumnFamilyHandle.class);
+    when(database.getLongProperty(eq(blocksHandle), any())).thenReturn(10L);
+    when(database.getLongProperty(eq(votesHandle), any())).thenReturn(20L);
+
+    try (RocksDbStats stats = new RocksDbStats(metricsSystem, TekuMetricCategory.STORAGE_HOT_DB)) {
+      stats.registerColumnMetrics(
+          database, Map.of("HOT_BLOCKS_BY_ROOT", blocksHandle, "VOTES", votesHandle));
+
+      final List<Observation> metrics =
+          metricsSystem
+              .streamObservations(TekuMetricCategory.STORAGE_HOT_DB)
+              .filter(metric -> metric.getMetricName().equals("column_estimated_num_keys"))
+              .collect(Collectors.toList());
+      assertThat(metrics)
+          .extracting(Observation::getLabels, Observation::getValue)
+          .containsExactlyInAnyOrder(
+              tuple(List.of("hot_blocks_by_root"), 10d), tuple(List.of("votes"), 20d));
+    }
+  }
 }
@@ -18,6 +18,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -69,6 +71,41 @@ class StoreVoteUpdaterTest extends AbstractStoreTest {
     assertThat(voteUpdater.getHighestVotedValidatorIndex()).isEqualTo(UInt64.valueOf(2));
   }
 
+  @Test
+  void forEachVote_shouldOverlayUncommittedVotesOnStoredVotes() {
+    final VoteTracker storedVote = dataStructureUtil.randomVoteTracker();
+    final VoteTracker replacedVote = dataStructureUtil.randomVoteTracker();
+    final VoteTracker pendingVote = dataStructureUtil.randomVoteTracker();
+    setVote(UInt64.ZERO, storedVote);
+    setVote(UInt64.ONE, replacedVote);
+
+    final VoteUpdater voteUpdater = store.startVoteUpdate(voteUpdateChannel);
+    final VoteTracker replacingVote = dataStructureUtil.randomVoteTracker();
+    voteUpdater.putVote(UInt64.ONE, replacingVote);
+    voteUpdater.putVote(UInt64.valueOf(3), pendingVote);
+
+    final List<VoteTracker> visitedVotes = new ArrayList<>();
+    voteUpdater.forEachVote(
+        (validatorIndex,
+            currentRoot,
+            nextRoot,
+            nextEpoch,
+            currentEquivocating,
+            nextEquivocating) -> {
+          assertThat(validatorIndex).isEqualTo(visitedVotes.size());
+          visitedVotes.add(
+              new VoteTracker(
+                  currentRoot,
+                  nextRoot,
+                  UInt64.fromLongBits(nextEpoch),
+                  nextEquivocating,
+                  currentEquivocating));
+        });
+
+    assertThat(visitedVotes)
+        .containsExactly(storedVote, replacingVote, VoteTracker.DEFAULT, pendingVote);
+  }
+
   private void setVote(final UInt64 validatorIndex, final VoteTracker vote) {
     final VoteUpdater voteUpdater = store.startVoteUpdate(voteUpdateChannel);
     voteUpdater.putVote(validatorIndex, vote);
@@ -0,0 +1,129 @@
+/*
+ * Copyright ConsenSys Software Inc., 2022
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class VoteTableTest {
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createDefault());
+
+  private final VoteTable voteTable = new VoteTable(4, 4);
+
+  @Test
+  void get_shouldReturnDefaultForUnsetVotes() {
+    assertThat(voteTable.get(1)).isSameAs(VoteTracker.DEFAULT);
+    assertThat(voteTable.get(1000)).isSameAs(VoteTracker.DEFAULT);
+  }
+
+  @Test
+  void put_shouldStoreAllVoteFields() {
+    final VoteTracker vote =
+        new VoteTracker(
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomUInt64(),
+            true,
+            false);
+    voteTable.put(2, vote);
+
+    assertThat(voteTable.get(2)).isEqualTo(vote);
+    assertThat(voteTable.get(1)).isSameAs(VoteTracker.DEFAULT);
+  }
+
+  @Test
+  void put_shouldGrowCapacity() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    voteTable.put(10, vote);
+
+    assertThat(voteTable.capacity()).isEqualTo(15);
+    assertThat(voteTable.get(10)).isEqualTo(vote);
+  }
+
+  @Test
+  void forEach_shouldVisitStoredAndUnsetVotesInOrder() {
+    final VoteTracker vote =
+        new VoteTracker(
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomUInt64(),
+            false,
+            true);
+    voteTable.put(1, vote);
+
+    final List<VoteTracker> visitedVotes = new ArrayList<>();
+    voteTable.forEach(
+        6,
+        (validatorIndex,
+            currentRoot,
+            nextRoot,
+            nextEpoch,
+            currentEquivocating,
+            nextEquivocating) -> {
+          assertThat(validatorIndex).isEqualTo(visitedVotes.size());
+          visitedVotes.add(
+              new VoteTracker(
+                  currentRoot,
+                  nextRoot,
+                  UInt64.fromLongBits(nextEpoch),
+                  nextEquivocating,
+                  currentEquivocating));
+        });
+
+    assertThat(visitedVotes)
+        .containsExactly(
+            VoteTracker.DEFAULT,
+            vote,
+            VoteTracker.DEFAULT,
+            VoteTracker.DEFAULT,
+            VoteTracker.DEFAULT,
+            VoteTracker.DEFAULT);
+  }
+
+  @Test
+  void put_shouldInternSameRootOnce() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    voteTable.put(0, vote);
+    voteTable.put(1, vote);
+
+    // Zero root plus the current and next roots of the vote
+    assertThat(voteTable.getRootCount()).isEqualTo(3);
+  }
+
+  @Test
+  void compactRootsIfNeeded_shouldDropUnreferencedRoots() {
+    for (int i = 0; i < 2000; i++) {
+      voteTable.put(0, dataStructureUtil.randomVoteTracker());
+    }
+    final VoteTracker lastVote = dataStructureUtil.randomVoteTracker();
+    voteTable.put(0, lastVote);
+    final VoteTracker otherVote =
+        new VoteTracker(lastVote.getNextRoot(), lastVote.getNextRoot(), UInt64.ONE);
+    voteTable.put(1, otherVote);
+
+    voteTable.compactRootsIfNeeded();
+
+    assertThat(voteTable.getRootCount()).isEqualTo(3);
+    assertThat(voteTable.get(0)).isEqualTo(lastVote);
+    assertThat(voteTable.get(1)).isEqualTo(otherVote);
+  }
+}
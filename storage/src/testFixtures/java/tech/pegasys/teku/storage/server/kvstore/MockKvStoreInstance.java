@@ -33,7 +33,7 @@ import tech.pegasys.teku.storage.server.ShuttingDownException;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreColumn;
 import tech.pegasys.teku.storage.server.kvstore.schema.KvStoreVariable;
 
-public class MockKvStoreInstance implements KvStoreAccessor {
+public class MockKvStoreInstance implements KvStoreAccessor, KvStoreSnapshot {
   private final Set<KvStoreColumn<?, ?>> columns;
   private final Set<KvStoreVariable<?>> variables;
 
@@ -41,6 +41,8 @@ public class MockKvStoreInstance implements KvStoreAccessor {
   private final Map<KvStoreVariable<?>, Bytes> variableData;
 
   private AtomicBoolean closed = new AtomicBoolean(false);
+  // Snapshots share the closed flag of the database they were taken from
+  private final AtomicBoolean databaseClosed;
 
   public MockKvStoreInstance(
       Collection<KvStoreColumn<?, ?>> columns,
@@ -51,6 +53,20 @@ public class MockKvStoreInstance implements KvStoreAccessor {
     this.variables = new HashSet<>(variables);
     this.columnData = columnData;
     this.variableData = variableData;
+    this.databaseClosed = closed;
+  }
+
+  private MockKvStoreInstance(
+      final Set<KvStoreColumn<?, ?>> columns,
+      final Set<KvStoreVariable<?>> variables,
+      final Map<KvStoreColumn<?, ?>, NavigableMap<Bytes, Bytes>> columnData,
+      final Map<KvStoreVariable<?>, Bytes> variableData,
+      final AtomicBoolean databaseClosed) {
+    this.columns = columns;
+    this.variables = variables;
+    this.columnData = columnData;
+    this.variableData = variableData;
+    this.databaseClosed = databaseClosed;
   }
 
   public MockKvStoreInstance reopen() {
@@ -179,6 +195,18 @@ public class MockKvStoreInstance implements KvStoreAccessor {
     return new MockKvStoreTransaction(this);
   }
 
+  @Override
+  public KvStoreSnapshot snapshot() {
+    assertOpen();
+    final Map<KvStoreColumn<?, ?>, NavigableMap<Bytes, Bytes>> columnDataCopy =
+        columnData.entrySet().stream()
+            .collect(
+                Collectors.toConcurrentMap(
+                    Map.Entry::getKey, entry -> new ConcurrentSkipListMap<>(entry.getValue())));
+    return new MockKvStoreInstance(
+        columns, variables, columnDataCopy, new ConcurrentHashMap<>(variableData), closed);
+  }
+
   private <K, V> Optional<V> columnValue(final KvStoreColumn<K, V> column, final Bytes bytes) {
     return Optional.ofNullable(bytes)
         .map(Bytes::toArrayUnsafe)
@@ -222,7 +250,7 @@ public class MockKvStoreInstance implements KvStoreAccessor {
   }
 
   private void assertOpen() {
-    if (closed.get()) {
+    if (closed.get() || databaseClosed.get()) {
       throw new ShuttingDownException();
     }
   }
@@ -98,6 +98,34 @@ public class BeaconNodeDataOptions extends ValidatorClientDataOptions {
   private int blockMigrationBatchDelayMillis =
       StorageConfiguration.DEFAULT_BLOCK_MIGRATION_BATCH_DELAY_MS;
 
+  @CommandLine.Option(
+      names = {"--Xdata-storage-group-commit-window-ms"},
+      paramLabel = "<INTEGER>",
+      showDefaultValue = Visibility.ALWAYS,
+      description =
+          "Time in millis to wait for further storage updates to merge into the same database write",
+      hidden = true,
+      arity = "1")
+  private int groupCommitWindowMillis = StorageConfiguration.DEFAULT_GROUP_COMMIT_WINDOW_MS;
+
+  @CommandLine.Option(
+      names = {"--Xdata-storage-group-commit-max-batch-size"},
+      paramLabel = "<INTEGER>",
+      showDefaultValue = Visibility.ALWAYS,
+      description = "Maximum number of storage updates to merge into a single database write",
+      hidden = true,
+      arity = "1")
+  private int groupCommitMaxBatchSize = StorageConfiguration.DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE;
+
+  @CommandLine.Option(
+      names = {"--Xdata-storage-group-commit-max-queue-size"},
+      paramLabel = "<INTEGER>",
+      showDefaultValue = Visibility.ALWAYS,
+      description = "Maximum number of storage operations waiting to be written",
+      hidden = true,
+      arity = "1")
+  private int groupCommitMaxQueueSize = StorageConfiguration.DEFAULT_GROUP_COMMIT_MAX_QUEUE_SIZE;
+
   /**
    * Default value selected based on experimentation to minimise memory usage without affecting sync
    * time. Not that states later in the chain with more validators have more branches so need a
@@ -140,6 +168,9 @@ public class BeaconNodeDataOptions extends ValidatorClientDataOptions {
                 .storeBlockExecutionPayloadSeparately(storeBlockExecutionPayloadSeparately)
                 .blockMigrationBatchSize(blockMigrationBatchSize)
                 .blockMigrationBatchDelay(blockMigrationBatchDelayMillis)
+                .groupCommitWindowMillis(groupCommitWindowMillis)
+                .groupCommitMaxBatchSize(groupCommitMaxBatchSize)
+                .groupCommitMaxQueueSize(groupCommitMaxQueueSize)
                 .maxKnownNodeCacheSize(maxKnownNodeCacheSize));
     builder.sync(b -> b.isReconstructHistoricStatesEnabled(reconstructHistoricStates));
   }
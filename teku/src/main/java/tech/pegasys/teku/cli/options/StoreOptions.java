@@ -18,6 +18,8 @@ import tech.pegasys.teku.config.TekuConfiguration;
 import tech.pegasys.teku.storage.store.StoreConfig;
 
 public class StoreOptions {
+  private static final long BYTES_PER_MB = 1024 * 1024;
+
   @Option(
       hidden = true,
       names = {"--Xhot-state-persistence-frequency"},
@@ -52,12 +54,46 @@ public class StoreOptions {
       arity = "1")
   private int checkpointStateCacheSize = StoreConfig.DEFAULT_CHECKPOINT_STATE_CACHE_SIZE;
 
+  @Option(
+      hidden = true,
+      names = {"--Xstore-serialized-block-cache-size-mb"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Size in megabytes of the off-heap cache of serialized blocks served to peers and REST",
+      arity = "1")
+  private long serializedBlockCacheSizeInMb =
+      StoreConfig.DEFAULT_SERIALIZED_BLOCK_CACHE_SIZE_IN_BYTES / BYTES_PER_MB;
+
+  @Option(
+      hidden = true,
+      names = {"--Xstore-serialized-subtree-cache-size-mb"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Size in megabytes of the cache of serialized state subtrees reused when serializing similar states. 0 disables the cache",
+      arity = "1")
+  private long serializedSubtreeCacheSizeInMb =
+      StoreConfig.DEFAULT_SERIALIZED_SUBTREE_CACHE_SIZE_IN_BYTES / BYTES_PER_MB;
+
+  @Option(
+      hidden = true,
+      names = {"--Xstore-validator-public-keys-persistence-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Save decompressed validator public keys on shutdown so they don't need to be decompressed again after a restart",
+      fallbackValue = "true",
+      arity = "0..1")
+  private boolean validatorPublicKeyPersistenceEnabled =
+      StoreConfig.DEFAULT_VALIDATOR_PUBLIC_KEY_PERSISTENCE_ENABLED;
+
   public void configure(final TekuConfiguration.Builder builder) {
     builder.store(
         b ->
             b.hotStatePersistenceFrequencyInEpochs(hotStatePersistenceFrequencyInEpochs)
                 .blockCacheSize(blockCacheSize)
                 .stateCacheSize(stateCacheSize)
-                .checkpointStateCacheSize(checkpointStateCacheSize));
+                .checkpointStateCacheSize(checkpointStateCacheSize)
+                .serializedBlockCacheSizeInBytes(serializedBlockCacheSizeInMb * BYTES_PER_MB)
+                .serializedSubtreeCacheSizeInBytes(serializedSubtreeCacheSizeInMb * BYTES_PER_MB)
+                .validatorPublicKeyPersistenceEnabled(validatorPublicKeyPersistenceEnabled));
   }
 }
@@ -21,7 +21,9 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 import org.apache.commons.io.IOUtils;
@@ -35,6 +37,7 @@ import tech.pegasys.teku.infrastructure.json.JsonUtil;
 import tech.pegasys.teku.infrastructure.logging.SubCommandLogger;
 import tech.pegasys.teku.infrastructure.ssz.SszData;
 import tech.pegasys.teku.infrastructure.ssz.schema.SszSchema;
+import tech.pegasys.teku.infrastructure.ssz.sos.SszReader;
 import tech.pegasys.teku.spec.SpecMilestone;
 import tech.pegasys.teku.spec.SpecVersion;
 import tech.pegasys.teku.spec.config.SpecConfigLoader;
@@ -96,17 +99,25 @@ public class PrettyPrintCommand implements Callable<Integer> {
   public Integer call() throws IOException {
     final SpecVersion spec =
         SpecVersion.create(milestone, SpecConfigLoader.loadConfig(network)).orElseThrow();
-    final Bytes inputData;
-    try (final InputStream in = openStream()) {
-      inputData = Bytes.wrap(IOUtils.toByteArray(in));
-    }
     final SszSchema<?> schema = type.getSchema(spec);
-    final String json = prettyPrint(schema, inputData);
+    final String json;
+    if (input == null || input.getName().endsWith(".ssz_snappy")) {
+      final Bytes inputData;
+      try (final InputStream in = openStream()) {
+        inputData = Bytes.wrap(IOUtils.toByteArray(in));
+      }
+      json = prettyPrint(schema, SszReader.fromBytes(inputData));
+    } else {
+      // Stream uncompressed files rather than loading potentially large states into memory
+      try (final FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+        json = prettyPrint(schema, SszReader.fromChannel(channel, Math.toIntExact(channel.size())));
+      }
+    }
     SubCommandLogger.SUB_COMMAND_LOG.display(json);
     return 0;
   }
 
-  private <T extends SszData> String prettyPrint(final SszSchema<T> schema, final Bytes ssz)
+  private <T extends SszData> String prettyPrint(final SszSchema<T> schema, final SszReader ssz)
       throws JsonProcessingException {
     final T value = schema.sszDeserialize(ssz);
     return JsonUtil.serialize(
@@ -121,11 +132,9 @@ public class PrettyPrintCommand implements Callable<Integer> {
   private InputStream openStream() throws IOException {
     if (input == null) {
       return System.in;
-    } else if (input.getName().endsWith(".ssz_snappy")) {
+    } else {
       final byte[] data = IOUtils.toByteArray(Files.newInputStream(input.toPath()));
       return new ByteArrayInputStream(Snappy.uncompress(data));
-    } else {
-      return Files.newInputStream(input.toPath());
     }
   }
 
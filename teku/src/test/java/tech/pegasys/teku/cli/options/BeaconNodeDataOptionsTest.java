@@ -195,4 +195,57 @@ public class BeaconNodeDataOptionsTest extends AbstractBeaconNodeCommandTest {
         .isInstanceOf(InvalidConfigurationException.class)
         .hasMessage("Cannot reconstruct historic states when using prune data storage mode");
   }
+
+  @Test
+  public void groupCommitOptions_shouldDefault() {
+    final StorageConfiguration config = getTekuConfigurationFromArguments().storageConfiguration();
+    assertThat(config.getGroupCommitWindowMillis())
+        .isEqualTo(StorageConfiguration.DEFAULT_GROUP_COMMIT_WINDOW_MS);
+    assertThat(config.getGroupCommitMaxBatchSize())
+        .isEqualTo(StorageConfiguration.DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE);
+    assertThat(config.getGroupCommitMaxQueueSize())
+        .isEqualTo(StorageConfiguration.DEFAULT_GROUP_COMMIT_MAX_QUEUE_SIZE);
+  }
+
+  @Test
+  public void groupCommitOptions_shouldAcceptNonDefaultValues() {
+    final StorageConfiguration config =
+        getTekuConfigurationFromArguments(
+                "--Xdata-storage-group-commit-window-ms",
+                "5",
+                "--Xdata-storage-group-commit-max-batch-size",
+                "16",
+                "--Xdata-storage-group-commit-max-queue-size",
+                "16")
+            .storageConfiguration();
+    assertThat(config.getGroupCommitWindowMillis()).isEqualTo(5);
+    assertThat(config.getGroupCommitMaxBatchSize()).isEqualTo(16);
+    assertThat(config.getGroupCommitMaxQueueSize()).isEqualTo(16);
+  }
+
+  @Test
+  public void groupCommitMaxQueueSize_shouldRejectValueLessThanMaxBatchSize() {
+    final int result =
+        beaconNodeCommand.parse(
+            new String[] {
+              "--Xdata-storage-group-commit-max-batch-size",
+              "16",
+              "--Xdata-storage-group-commit-max-queue-size",
+              "8"
+            });
+
+    assertThat(result).isNotZero();
+    assertThat(getCommandLineOutput())
+        .contains(
+            "Invalid groupCommitMaxQueueSize: 8 must be at least groupCommitMaxBatchSize 16");
+  }
+
+  @Test
+  public void groupCommitMaxBatchSize_shouldRejectZero() {
+    final int result =
+        beaconNodeCommand.parse(new String[] {"--Xdata-storage-group-commit-max-batch-size", "0"});
+
+    assertThat(result).isNotZero();
+    assertThat(getCommandLineOutput()).contains("Invalid groupCommitMaxBatchSize: 0");
+  }
 }
@@ -43,6 +43,39 @@ public class StoreOptionsTest extends AbstractBeaconNodeCommandTest {
     assertThat(globalConfiguration.getHotStatePersistenceFrequencyInEpochs()).isEqualTo(2);
   }
 
+  @Test
+  public void serializedSubtreeCacheSize_shouldSetDefaultValue() {
+    final StoreConfig globalConfiguration =
+        getTekuConfigurationFromArguments().beaconChain().storeConfig();
+    assertThat(globalConfiguration.getSerializedSubtreeCacheSizeInBytes())
+        .isEqualTo(StoreConfig.DEFAULT_SERIALIZED_SUBTREE_CACHE_SIZE_IN_BYTES);
+  }
+
+  @Test
+  public void serializedSubtreeCacheSize_shouldRespectCLIArg() {
+    final StoreConfig globalConfiguration =
+        getTekuConfigurationFromArguments("--Xstore-serialized-subtree-cache-size-mb", "0")
+            .beaconChain()
+            .storeConfig();
+    assertThat(globalConfiguration.getSerializedSubtreeCacheSizeInBytes()).isZero();
+  }
+
+  @Test
+  public void validatorPublicKeyPersistence_shouldBeDisabledByDefault() {
+    final StoreConfig globalConfiguration =
+        getTekuConfigurationFromArguments().beaconChain().storeConfig();
+    assertThat(globalConfiguration.isValidatorPublicKeyPersistenceEnabled()).isFalse();
+  }
+
+  @Test
+  public void validatorPublicKeyPersistence_shouldRespectCLIArg() {
+    final StoreConfig globalConfiguration =
+        getTekuConfigurationFromArguments("--Xstore-validator-public-keys-persistence-enabled")
+            .beaconChain()
+            .storeConfig();
+    assertThat(globalConfiguration.isValidatorPublicKeyPersistenceEnabled()).isTrue();
+  }
+
   @Test
   public void hotStatePersistenceFrequency_invalidNumber() {
     final String[] args = {